@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.integration.tests.server.redis;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.integration.tests.util.RedisTestUtil;
+import org.eclipse.leshan.server.redis.RedisRegistrationStore;
+import org.eclipse.leshan.server.registration.Deregistration;
+import org.eclipse.leshan.server.registration.Registration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+public class RedisRegistrationStoreAsyncTest {
+
+    private static final String PREFIX = "LESHAN_TEST_ASYNC_REGSTORE#";
+
+    private final List<RedisRegistrationStore> stores = new ArrayList<>();
+    private final List<ExecutorService> executors = new ArrayList<>();
+    private final List<String> registrationIds = new ArrayList<>();
+
+    @AfterEach
+    public void stop() {
+        for (String registrationId : registrationIds) {
+            stores.get(0).removeRegistration(registrationId);
+        }
+        for (RedisRegistrationStore store : stores) {
+            store.destroy();
+        }
+        for (ExecutorService executor : executors) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void operations_complete_with_store_results() throws Exception {
+        // given
+        RedisRegistrationStore store = givenAStore(new RedisRegistrationStore.Builder(RedisTestUtil.createJedisPool()));
+        Registration registration = givenARegistration("1");
+        registrationIds.add("1");
+
+        // when
+        Deregistration previous = get(store.async().addRegistration(registration));
+
+        // then
+        assertNull(previous);
+        assertEquals("1", get(store.async().getRegistration("1")).getId());
+        assertEquals("1", get(store.async().getRegistrationByEndpoint("urn:endpoint1")).getId());
+        assertEquals("1", get(store.async().getRegistrationByAdress(registration.getSocketAddress())).getId());
+        assertNull(get(store.async().getRegistration("unknown")));
+        assertNotNull(get(store.async().removeRegistration("1")));
+        assertNull(store.getRegistration("1"));
+    }
+
+    @Test
+    public void operations_complete_exceptionally_on_redis_error() {
+        // given : a store using a Redis which is not reachable
+        RedisRegistrationStore store = givenAStore(new RedisRegistrationStore.Builder(
+                new JedisPool(InetAddress.getLoopbackAddress().getHostAddress(), 1)));
+
+        // then
+        assertFailsWith(JedisConnectionException.class, store.async().addRegistration(givenARegistration("1")));
+        assertFailsWith(JedisConnectionException.class, store.async().getRegistration("1"));
+        assertFailsWith(JedisConnectionException.class, store.async().getRegistrationByEndpoint("urn:endpoint1"));
+    }
+
+    @Test
+    public void given_executor_is_not_shut_down_by_store() throws Exception {
+        // given
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executors.add(executor);
+        RedisRegistrationStore store = givenAStore(new RedisRegistrationStore.Builder(RedisTestUtil.createJedisPool()) //
+                .setAsyncExecutor(executor));
+        get(store.async().getRegistration("1"));
+
+        // when
+        store.destroy();
+
+        // then
+        assertFalse(executor.isShutdown());
+        assertEquals("done", executor.submit(() -> "done").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void default_executor_is_shut_down_by_store() throws Exception {
+        // given
+        RedisRegistrationStore store = givenAStore(new RedisRegistrationStore.Builder(RedisTestUtil.createJedisPool()));
+        get(store.async().getRegistration("1"));
+
+        // when
+        store.destroy();
+
+        // then
+        assertFailsWith(RejectedExecutionException.class, store.async().getRegistration("1"));
+    }
+
+    private RedisRegistrationStore givenAStore(RedisRegistrationStore.Builder builder) {
+        RedisRegistrationStore store = builder.setPrefix(PREFIX).build();
+        stores.add(store);
+        return store;
+    }
+
+    private Registration givenARegistration(String registrationId) {
+        return new Registration.Builder(registrationId, "urn:endpoint" + registrationId,
+                new IpPeer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 5000 + registrationId.hashCode())),
+                uriHandler.createUri("coap://localhost:5683")).lifeTimeInSec(10000L)
+                        .objectLinks(new Link[] { new Link("/3") }).build();
+    }
+
+    private <T> T get(CompletableFuture<T> future) throws Exception {
+        return future.get(5, TimeUnit.SECONDS);
+    }
+
+    private void assertFailsWith(Class<? extends Throwable> expected, CompletableFuture<?> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> get(future));
+        assertInstanceOf(expected, e.getCause());
+        assertTrue(future.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.integration.tests.server.redis;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.integration.tests.util.RedisTestUtil;
+import org.eclipse.leshan.server.redis.RedisRegistrationStore;
+import org.eclipse.leshan.server.registration.Registration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class RedisRegistrationStoreCleanerTest {
+
+    private static final String PREFIX = "LESHAN_TEST_CLEANER_REGSTORE#";
+
+    private final List<RedisRegistrationStore> stores = new ArrayList<>();
+    private final List<String> registrationIds = new ArrayList<>();
+    // registration id => stores which raised an expiration event for it
+    private final Map<String, List<RedisRegistrationStore>> expiredBy = new ConcurrentHashMap<>();
+
+    @AfterEach
+    public void stop() {
+        for (String registrationId : registrationIds) {
+            stores.get(0).removeRegistration(registrationId);
+        }
+        for (RedisRegistrationStore store : stores) {
+            store.destroy();
+        }
+    }
+
+    @Test
+    public void expired_registrations_are_removed_by_batches_in_scripts_mode() throws InterruptedException {
+        // given : more expired registrations than batch size
+        RedisRegistrationStore store = givenAStore(new RedisRegistrationStore.Builder(RedisTestUtil.createJedisPool()) //
+                .setUseScripts(true) //
+                .setBatchSize(2));
+        for (int i = 1; i <= 5; i++) {
+            givenAnExpiredRegistration(store, Integer.toString(i));
+        }
+        givenARegistration(store, "6", new Date(), 10000L);
+
+        // when
+        store.start();
+
+        // then
+        waitForExpiration("1", "2", "3", "4", "5");
+        for (int i = 1; i <= 5; i++) {
+            assertNull(store.getRegistration(Integer.toString(i)));
+        }
+        assertNotNull(store.getRegistration("6"));
+        assertFalse(expiredBy.containsKey("6"));
+    }
+
+    @Test
+    public void only_lease_holder_cleans_expired_registrations() throws InterruptedException {
+        // given
+        RedisRegistrationStore store = givenAStoreWithLease();
+        RedisRegistrationStore otherStore = givenAStoreWithLease();
+        store.start();
+        otherStore.start();
+
+        // when
+        for (int i = 1; i <= 5; i++) {
+            givenAnExpiredRegistration(store, Integer.toString(i));
+        }
+
+        // then : each registration expires once and all by the same store
+        waitForExpiration("1", "2", "3", "4", "5");
+        RedisRegistrationStore leaseHolder = expiredBy.get("1").get(0);
+        for (List<RedisRegistrationStore> expiringStores : expiredBy.values()) {
+            assertEquals(1, expiringStores.size());
+            assertEquals(leaseHolder, expiringStores.get(0));
+        }
+
+        // when : lease holder stops
+        leaseHolder.stop();
+        givenAnExpiredRegistration(store, "6");
+
+        // then : the other store takes over
+        waitForExpiration("6");
+        assertEquals(1, expiredBy.get("6").size());
+        assertNotSame(leaseHolder, expiredBy.get("6").get(0));
+    }
+
+    private RedisRegistrationStore givenAStoreWithLease() {
+        return givenAStore(new RedisRegistrationStore.Builder(RedisTestUtil.createJedisPool()) //
+                .setCleanerLeaseDuration(10));
+    }
+
+    private RedisRegistrationStore givenAStore(RedisRegistrationStore.Builder builder) {
+        RedisRegistrationStore store = builder //
+                .setPrefix(PREFIX) //
+                .setCleanPeriod(1) //
+                .build();
+        store.setExpirationListener((registration, observations) -> expiredBy
+                .computeIfAbsent(registration.getId(), id -> new CopyOnWriteArrayList<>()).add(store));
+        stores.add(store);
+        return store;
+    }
+
+    private Registration givenAnExpiredRegistration(RedisRegistrationStore store, String registrationId) {
+        return givenARegistration(store, registrationId, new Date(System.currentTimeMillis() - 10000), 1L);
+    }
+
+    private Registration givenARegistration(RedisRegistrationStore store, String registrationId, Date lastUpdate,
+            Long lifetime) {
+        Registration registration = new Registration.Builder(registrationId, "urn:endpoint" + registrationId,
+                new IpPeer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 5000 + registrationId.hashCode())),
+                uriHandler.createUri("coap://localhost:5683")).lifeTimeInSec(lifetime).lastUpdate(lastUpdate)
+                        .objectLinks(new Link[] { new Link("/3") }).build();
+        store.addRegistration(registration);
+        registrationIds.add(registrationId);
+        return registration;
+    }
+
+    private void waitForExpiration(String... registrationIds) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 10000;
+        for (String registrationId : registrationIds) {
+            while (!expiredBy.containsKey(registrationId)) {
+                assertTrue(System.currentTimeMillis() < timeout, "registration " + registrationId + " did not expire");
+                Thread.sleep(10);
+            }
+        }
+    }
+}
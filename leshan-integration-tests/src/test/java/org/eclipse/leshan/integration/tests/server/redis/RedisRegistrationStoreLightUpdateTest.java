@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.integration.tests.server.redis;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Iterator;
+
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.peer.LwM2mPeer;
+import org.eclipse.leshan.integration.tests.util.RedisTestUtil;
+import org.eclipse.leshan.server.redis.RedisRegistrationStore;
+import org.eclipse.leshan.server.registration.Deregistration;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationUpdate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.util.Pool;
+
+public class RedisRegistrationStoreLightUpdateTest {
+
+    private static final String PREFIX = "LESHAN_TEST_LIGHTUPDATE_REGSTORE#";
+    private static final String ENDPOINT = "urn:endpoint1";
+    private static final String REGISTRATION_ID = "1";
+
+    private Pool<Jedis> pool;
+    private RedisRegistrationStore store;
+
+    @BeforeEach
+    public void start() {
+        pool = RedisTestUtil.createJedisPool();
+        store = new RedisRegistrationStore.Builder(pool) //
+                .setPrefix(PREFIX) //
+                .setUseLightUpdates(true) //
+                .build();
+    }
+
+    @AfterEach
+    public void stop() {
+        store.removeRegistration(REGISTRATION_ID);
+        store.destroy();
+        pool.close();
+    }
+
+    @Test
+    public void registration_is_not_flagged_until_lightly_updated() {
+        // when
+        store.addRegistration(givenARegistration(givenAPeer(5001)));
+
+        // then
+        assertFalse(isFlagged());
+        assertFalse(hasUpdateKey());
+        assertEquals(10000L, store.getRegistration(REGISTRATION_ID).getLifeTimeInSec());
+    }
+
+    @Test
+    public void light_update_only_writes_update_key_and_flag() {
+        // given
+        store.addRegistration(givenARegistration(givenAPeer(5001)));
+        byte[] registrationData = getRegistrationData();
+
+        // when
+        store.updateRegistration(givenALightUpdate(givenAPeer(5001), 20000L));
+
+        // then
+        assertTrue(isFlagged());
+        assertTrue(hasUpdateKey());
+        byte[] flaggedData = getRegistrationData();
+        flaggedData[0] = registrationData[0];
+        assertEquals(new String(registrationData), new String(flaggedData));
+        assertEquals(20000L, store.getRegistration(REGISTRATION_ID).getLifeTimeInSec());
+        assertEquals(20000L, store.getRegistrationByEndpoint(ENDPOINT).getLifeTimeInSec());
+        Iterator<Registration> all = store.getAllRegistrations();
+        assertEquals(20000L, all.next().getLifeTimeInSec());
+        assertFalse(all.hasNext());
+    }
+
+    @Test
+    public void light_update_changing_address_updates_address_index() {
+        // given
+        store.addRegistration(givenARegistration(givenAPeer(5001)));
+
+        // when
+        store.updateRegistration(givenALightUpdate(givenAPeer(5002), 20000L));
+
+        // then
+        assertNull(store.getRegistrationByAdress(givenAPeer(5001).getSocketAddress()));
+        Registration registration = store.getRegistrationByAdress(givenAPeer(5002).getSocketAddress());
+        assertNotNull(registration);
+        assertEquals(givenAPeer(5002), registration.getClientTransportData());
+        assertEquals(20000L, registration.getLifeTimeInSec());
+    }
+
+    @Test
+    public void full_update_after_light_update_removes_update_key() {
+        // given
+        store.addRegistration(givenARegistration(givenAPeer(5001)));
+        store.updateRegistration(givenALightUpdate(givenAPeer(5001), 20000L));
+
+        // when
+        store.updateRegistration(new RegistrationUpdate(REGISTRATION_ID, givenAPeer(5001), null, "0171", null, null,
+                null, null, null, null, null, null));
+
+        // then
+        assertFalse(isFlagged());
+        assertFalse(hasUpdateKey());
+        Registration registration = store.getRegistration(REGISTRATION_ID);
+        assertEquals(20000L, registration.getLifeTimeInSec());
+        assertEquals("0171", registration.getSmsNumber());
+    }
+
+    @Test
+    public void new_registration_replaces_lightly_updated_registration() {
+        // given
+        store.addRegistration(givenARegistration(givenAPeer(5001)));
+        store.updateRegistration(givenALightUpdate(givenAPeer(5001), 20000L));
+
+        // when
+        Deregistration deregistration = store.addRegistration(givenARegistration(givenAPeer(5001)));
+
+        // then
+        assertEquals(20000L, deregistration.getRegistration().getLifeTimeInSec());
+        assertFalse(isFlagged());
+        assertFalse(hasUpdateKey());
+        assertEquals(10000L, store.getRegistration(REGISTRATION_ID).getLifeTimeInSec());
+    }
+
+    @Test
+    public void removal_of_lightly_updated_registration_removes_update_key() {
+        // given
+        store.addRegistration(givenARegistration(givenAPeer(5001)));
+        store.updateRegistration(givenALightUpdate(givenAPeer(5001), 20000L));
+
+        // when
+        Deregistration deregistration = store.removeRegistration(REGISTRATION_ID);
+
+        // then
+        assertEquals(20000L, deregistration.getRegistration().getLifeTimeInSec());
+        assertNull(getRegistrationData());
+        assertFalse(hasUpdateKey());
+    }
+
+    private IpPeer givenAPeer(int port) {
+        return new IpPeer(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    private Registration givenARegistration(LwM2mPeer peer) {
+        return new Registration.Builder(REGISTRATION_ID, ENDPOINT, peer, uriHandler.createUri("coap://localhost:5683"))
+                .lifeTimeInSec(10000L).objectLinks(new Link[] { new Link("/3") }).build();
+    }
+
+    private RegistrationUpdate givenALightUpdate(LwM2mPeer peer, Long lifetime) {
+        return new RegistrationUpdate(REGISTRATION_ID, peer, lifetime, null, null, null, null, null, null, null, null,
+                null);
+    }
+
+    private byte[] getRegistrationData() {
+        try (Jedis j = pool.getResource()) {
+            return j.get((PREFIX + "REG#EP#" + ENDPOINT).getBytes());
+        }
+    }
+
+    private boolean isFlagged() {
+        return getRegistrationData()[0] != 0;
+    }
+
+    private boolean hasUpdateKey() {
+        try (Jedis j = pool.getResource()) {
+            return j.exists(PREFIX + "REGUPD#EP#" + ENDPOINT);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.integration.tests.server.redis;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.integration.tests.util.RedisTestUtil;
+import org.eclipse.leshan.server.redis.RedisRegistrationStore;
+import org.eclipse.leshan.server.redis.serialization.RegistrationSerDes;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationUpdate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class RedisRegistrationStoreNearCacheTest {
+
+    private static final String PREFIX = "LESHAN_TEST_NEARCACHE_REGSTORE#";
+
+    private final List<RedisRegistrationStore> stores = new ArrayList<>();
+    private final List<String> registrationIds = new ArrayList<>();
+
+    @AfterEach
+    public void stop() {
+        for (String registrationId : registrationIds) {
+            stores.get(0).removeRegistration(registrationId);
+        }
+        for (RedisRegistrationStore store : stores) {
+            store.destroy();
+        }
+    }
+
+    @Test
+    public void cache_is_bypassed_while_not_subscribed() throws InterruptedException {
+        // given
+        CountingSerDes serDes = new CountingSerDes();
+        RedisRegistrationStore store = givenAStore(serDes, 100);
+        Registration registration = givenARegistration(store, "1");
+
+        // then : store is not started so invalidations are not received
+        store.getRegistration("1");
+        store.getRegistration("1");
+        assertEquals(2, serDes.deserialized.get());
+
+        // then : registrations are cached once subscribed
+        store.start();
+        waitForSubscription(store, serDes, registration);
+        int deserialized = serDes.deserialized.get();
+        store.getRegistrationByEndpoint(registration.getEndpoint());
+        store.getRegistrationByAdress(registration.getSocketAddress());
+        assertEquals(deserialized, serDes.deserialized.get());
+
+        // then : cache is bypassed again once stopped
+        store.stop();
+        store.getRegistration("1");
+        assertEquals(deserialized + 1, serDes.deserialized.get());
+    }
+
+    @Test
+    public void modification_by_other_store_invalidates_cache() throws InterruptedException {
+        // given
+        CountingSerDes serDes = new CountingSerDes();
+        RedisRegistrationStore store = givenAStartedStore(serDes, 100);
+        RedisRegistrationStore otherStore = givenAStartedStore(new CountingSerDes(), 100);
+        Registration registration = givenARegistration(store, "1");
+        waitForSubscription(store, serDes, registration);
+
+        // when
+        otherStore.updateRegistration(givenAnUpdate(registration, 20000L));
+
+        // then
+        long timeout = System.currentTimeMillis() + 5000;
+        while (store.getRegistration("1").getLifeTimeInSec() != 20000L) {
+            assertTrue(System.currentTimeMillis() < timeout, "cache was not invalidated");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void value_read_before_invalidation_is_not_cached() throws Exception {
+        // given
+        CountingSerDes serDes = new CountingSerDes();
+        RedisRegistrationStore store = givenAStartedStore(serDes, 100);
+        Registration registration = givenARegistration(store, "1");
+        waitForSubscription(store, serDes, registration);
+        store.updateRegistration(givenAnUpdate(registration, 10000L));
+
+        // when : registration is modified while a lookup is reading the previous value
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch reading = serDes.blockNextDeserialization();
+            Future<Registration> lookup = executor.submit(() -> store.getRegistration("1"));
+            assertTrue(reading.await(5, TimeUnit.SECONDS));
+            store.updateRegistration(givenAnUpdate(registration, 20000L));
+            serDes.unblock();
+
+            // then
+            assertEquals(10000L, lookup.get(5, TimeUnit.SECONDS).getLifeTimeInSec());
+            assertEquals(20000L, store.getRegistration("1").getLifeTimeInSec());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void concurrent_lookups_share_the_same_load() throws Exception {
+        // given
+        CountingSerDes serDes = new CountingSerDes();
+        RedisRegistrationStore store = givenAStartedStore(serDes, 100);
+        Registration registration = givenARegistration(store, "1");
+        waitForSubscription(store, serDes, registration);
+        store.updateRegistration(givenAnUpdate(registration, 10000L));
+        int deserialized = serDes.deserialized.get();
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch reading = serDes.blockNextDeserialization();
+            List<Future<Registration>> lookups = new ArrayList<>();
+            lookups.add(executor.submit(() -> store.getRegistration("1")));
+            assertTrue(reading.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < 8; i++) {
+                lookups.add(executor.submit(() -> store.getRegistration("1")));
+            }
+            // let other lookups start
+            Thread.sleep(100);
+            serDes.unblock();
+
+            // then
+            for (Future<Registration> lookup : lookups) {
+                assertEquals("1", lookup.get(5, TimeUnit.SECONDS).getId());
+            }
+            assertEquals(deserialized + 1, serDes.deserialized.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void least_recently_used_keys_are_evicted() throws InterruptedException {
+        // given : a cache for 2 registrations (4 lookup keys each : endpoint, id, address and identity)
+        CountingSerDes serDes = new CountingSerDes();
+        RedisRegistrationStore store = givenAStartedStore(serDes, 8);
+        Registration registration = givenARegistration(store, "1");
+        givenARegistration(store, "2");
+        givenARegistration(store, "3");
+        waitForSubscription(store, serDes, registration);
+        store.getRegistration("2");
+
+        // when : id key of registration 1 is used, then registration 3 evicts 4 least recently used keys
+        store.getRegistration("1");
+        store.getRegistration("3");
+        int deserialized = serDes.deserialized.get();
+
+        // then
+        store.getRegistration("1");
+        store.getRegistration("3");
+        assertEquals(deserialized, serDes.deserialized.get());
+        store.getRegistrationByEndpoint("urn:endpoint2");
+        assertEquals(deserialized + 1, serDes.deserialized.get());
+    }
+
+    private RedisRegistrationStore givenAStore(CountingSerDes serDes, int nearCacheSize) {
+        RedisRegistrationStore store = new RedisRegistrationStore.Builder(RedisTestUtil.createJedisPool()) //
+                .setPrefix(PREFIX) //
+                .setRegistrationSerDes(serDes) //
+                .setNearCacheSize(nearCacheSize) //
+                .build();
+        stores.add(store);
+        return store;
+    }
+
+    private RedisRegistrationStore givenAStartedStore(CountingSerDes serDes, int nearCacheSize) {
+        RedisRegistrationStore store = givenAStore(serDes, nearCacheSize);
+        store.start();
+        return store;
+    }
+
+    private Registration givenARegistration(RedisRegistrationStore store, String registrationId) {
+        Registration registration = new Registration.Builder(registrationId, "urn:endpoint" + registrationId,
+                new IpPeer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 5000 + registrationId.hashCode())),
+                uriHandler.createUri("coap://localhost:5683")).lifeTimeInSec(10000L)
+                        .objectLinks(new Link[] { new Link("/3") }).build();
+        store.addRegistration(registration);
+        registrationIds.add(registrationId);
+        return registration;
+    }
+
+    private RegistrationUpdate givenAnUpdate(Registration registration, Long lifetime) {
+        return new RegistrationUpdate(registration.getId(), registration.getClientTransportData(), lifetime, null, null,
+                null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Wait until the near cache of the store is subscribed, so the given registration is cached.
+     */
+    private void waitForSubscription(RedisRegistrationStore store, CountingSerDes serDes, Registration registration)
+            throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 5000;
+        while (true) {
+            store.getRegistration(registration.getId());
+            int deserialized = serDes.deserialized.get();
+            store.getRegistration(registration.getId());
+            if (deserialized == serDes.deserialized.get()) {
+                return;
+            }
+            assertTrue(System.currentTimeMillis() < timeout, "near cache is not subscribed");
+            Thread.sleep(10);
+        }
+    }
+
+    private static class CountingSerDes extends RegistrationSerDes {
+        private final AtomicInteger deserialized = new AtomicInteger();
+        private volatile CountDownLatch blocking;
+        private volatile CountDownLatch unblocking;
+
+        /**
+         * Block next deserialization until {@link #unblock()} is called.
+         *
+         * @return a latch released when next deserialization is blocked.
+         */
+        public synchronized CountDownLatch blockNextDeserialization() {
+            blocking = new CountDownLatch(1);
+            unblocking = new CountDownLatch(1);
+            return blocking;
+        }
+
+        public void unblock() {
+            unblocking.countDown();
+        }
+
+        @Override
+        public Registration deserialize(byte[] data) {
+            CountDownLatch toRelease = null;
+            CountDownLatch toWait = null;
+            synchronized (this) {
+                if (blocking != null) {
+                    toRelease = blocking;
+                    toWait = unblocking;
+                    blocking = null;
+                }
+            }
+            if (toRelease != null) {
+                toRelease.countDown();
+                try {
+                    toWait.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            deserialized.incrementAndGet();
+            return super.deserialize(data);
+        }
+    }
+}
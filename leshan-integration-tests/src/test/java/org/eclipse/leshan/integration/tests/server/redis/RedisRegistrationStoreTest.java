@@ -17,6 +17,7 @@
 package org.eclipse.leshan.integration.tests.server.redis;
 
 import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -25,7 +26,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
@@ -55,8 +58,14 @@ import org.eclipse.leshan.integration.tests.util.RedisTestUtil;
 import org.eclipse.leshan.server.endpoint.EffectiveEndpointUriProvider;
 import org.eclipse.leshan.server.observation.LwM2mNotificationReceiver;
 import org.eclipse.leshan.server.profile.ClientProfile;
+import org.eclipse.leshan.server.redis.RedisRegistrationStore;
+import org.eclipse.leshan.server.registration.Deregistration;
 import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationPage;
+import org.eclipse.leshan.server.registration.RegistrationQuery;
 import org.eclipse.leshan.server.registration.RegistrationStore;
+import org.eclipse.leshan.server.registration.RegistrationUpdate;
+import org.eclipse.leshan.server.registration.UpdatedRegistration;
 import org.eclipse.leshan.transport.californium.ObserveUtil;
 import org.eclipse.leshan.transport.californium.server.observation.LwM2mObservationStore;
 import org.eclipse.leshan.transport.californium.server.observation.ObservationSerDes;
@@ -73,11 +82,14 @@ public class RedisRegistrationStoreTest {
     private final EnumSet<BindingMode> binding = EnumSet.of(BindingMode.U, BindingMode.Q, BindingMode.S);
     private final Link[] objectLinks = new Link[] { new Link("/3") };
     private final String registrationId = "4711";
+    private final String anotherRegistrationId = "4712";
     private final Token aToken = Token.EMPTY;
     private final EndpointUri endpointUri = uriHandler.createUri("coap://localhost:5683");
     private final ObservationIdentifier anObservationId = new ObservationIdentifier(endpointUri, aToken.getBytes());
 
-    RegistrationStore store;
+    RedisRegistrationStore store;
+    // all stores used by the test, cleaned and destroyed after the test
+    List<RedisRegistrationStore> stores = new ArrayList<>();
     LwM2mObservationStore observationStore;
     InetAddress address;
     Registration registration;
@@ -86,7 +98,12 @@ public class RedisRegistrationStoreTest {
     public void setUp() throws UnknownHostException {
         address = InetAddress.getLocalHost();
         store = RedisTestUtil.createRedisRegistrationStore();
-        observationStore = new LwM2mObservationStore(new EffectiveEndpointUriProvider() {
+        stores.add(store);
+        observationStore = createObservationStore(store);
+    }
+
+    private LwM2mObservationStore createObservationStore(RegistrationStore store) {
+        return new LwM2mObservationStore(new EffectiveEndpointUriProvider() {
             @Override
             public EndpointUri getEndpointUri() {
                 return endpointUri;
@@ -119,7 +136,11 @@ public class RedisRegistrationStoreTest {
 
     @AfterEach
     public void stop() {
-        store.removeRegistration(registrationId);
+        for (RedisRegistrationStore createdStore : stores) {
+            createdStore.removeRegistration(registrationId);
+            createdStore.removeRegistration(anotherRegistrationId);
+            createdStore.destroy();
+        }
     }
 
     @Test
@@ -166,6 +187,31 @@ public class RedisRegistrationStoreTest {
         assertEquals(examplePaths, observation.getPaths());
     }
 
+    @Test
+    public void get_observations_by_paths() {
+        // given
+        List<LwM2mPath> examplePaths = Arrays.asList(new LwM2mPath("/1/2/3"), new LwM2mPath("/4/5/6"));
+        givenASimpleRegistration(lifetime);
+        store.addRegistration(registration);
+        store.addObservation(registrationId, givenAnObservation(new Token(new byte[] { 1 }), "/1/2/3"), false);
+        store.addObservation(registrationId, givenAnObservation(new Token(new byte[] { 2 }), "/1/2"), false);
+        store.addObservation(registrationId,
+                new CompositeObservation(new ObservationIdentifier(endpointUri, new byte[] { 3 }), registrationId,
+                        examplePaths, ContentFormat.DEFAULT, ContentFormat.DEFAULT, null, null),
+                false);
+
+        // then
+        Collection<Observation> single = store.getObservations(registrationId, new LwM2mPath("/1/2/3"));
+        assertEquals(1, single.size());
+        assertArrayEquals(new byte[] { 1 }, single.iterator().next().getId().getBytes());
+        assertTrue(store.getObservations(registrationId, new LwM2mPath("/1")).isEmpty());
+
+        Collection<Observation> composite = store.getCompositeObservations(registrationId, examplePaths);
+        assertEquals(1, composite.size());
+        assertArrayEquals(new byte[] { 3 }, composite.iterator().next().getId().getBytes());
+        assertTrue(store.getCompositeObservations(registrationId, examplePaths.subList(0, 1)).isEmpty());
+    }
+
     @Test
     public void remove_observation() {
         // given
@@ -184,6 +230,142 @@ public class RedisRegistrationStoreTest {
         assertNull(leshanObservation);
     }
 
+    @Test
+    public void query_registrations_with_hash_tags() {
+        // given
+        RedisRegistrationStore hashTagStore = createStore(
+                new RedisRegistrationStore.Builder(RedisTestUtil.createJedisPool()) //
+                        .setPrefix("LESHAN_TEST_HASHTAG_REGSTORE#") //
+                        .setUseHashTags(true));
+        givenASimpleRegistration(lifetime);
+        hashTagStore.addRegistration(registration);
+        observationStore = createObservationStore(hashTagStore);
+        observationStore.put(aToken, prepareCoapObservationOnSingle("/1/2/3"));
+
+        // when
+        RegistrationPage page = hashTagStore.getRegistrations(RegistrationQuery.ALL, null, 10);
+        Collection<Observation> removed = hashTagStore.removeObservations(registrationId);
+
+        // then
+        assertEquals(1, page.getRegistrations().size());
+        assertEquals(registrationId, page.getRegistrations().get(0).getId());
+        assertEquals(1, removed.size());
+        assertNull(hashTagStore.getObservation(registrationId, anObservationId));
+    }
+
+    @Test
+    public void observations_are_removed_with_registration_in_scripts_mode() {
+        // given
+        RedisRegistrationStore scriptsStore = createScriptsStore();
+        givenASimpleRegistration(lifetime);
+        scriptsStore.addRegistration(registration);
+        observationStore = createObservationStore(scriptsStore);
+        observationStore.put(aToken, prepareCoapObservationOnSingle("/1/2/3"));
+        assertNotNull(scriptsStore.getObservation(registrationId, anObservationId));
+
+        // when
+        Deregistration deregistration = scriptsStore.removeRegistration(registrationId);
+
+        // then
+        assertNotNull(deregistration);
+        assertEquals(1, deregistration.getObservations().size());
+        assertNull(scriptsStore.getObservation(anObservationId));
+        assertNull(scriptsStore.getRegistration(registrationId));
+    }
+
+    @Test
+    public void update_registration_in_scripts_mode() {
+        // given
+        RedisRegistrationStore scriptsStore = createScriptsStore();
+        givenASimpleRegistration(lifetime);
+        scriptsStore.addRegistration(registration);
+
+        // when
+        UpdatedRegistration updated = scriptsStore.updateRegistration(
+                new RegistrationUpdate(registrationId, new IpPeer(new InetSocketAddress(address, port + 1)), 20000L,
+                        null, null, null, null, null, null, null, null, null));
+
+        // then
+        assertNotNull(updated);
+        assertEquals(lifetime, updated.getPreviousRegistration().getLifeTimeInSec());
+        assertEquals(20000L, updated.getUpdatedRegistration().getLifeTimeInSec());
+        assertEquals(20000L, scriptsStore.getRegistration(registrationId).getLifeTimeInSec());
+        assertNotNull(scriptsStore.getRegistrationByAdress(new InetSocketAddress(address, port + 1)));
+        assertNull(scriptsStore.getRegistrationByAdress(new InetSocketAddress(address, port)));
+    }
+
+    @Test
+    public void replace_registration_of_same_endpoint_in_scripts_mode() {
+        // given
+        RedisRegistrationStore scriptsStore = createScriptsStore();
+        givenASimpleRegistration(lifetime);
+        Registration newRegistration = new Registration.Builder(anotherRegistrationId, ep,
+                new IpPeer(new InetSocketAddress(address, port)), endpointUri).objectLinks(objectLinks).build();
+        scriptsStore.addRegistration(registration);
+        scriptsStore.addObservation(registrationId, givenAnObservation(aToken, "/1/2/3"), false);
+
+        // when : first attempt expects no registration for this endpoint, so it conflicts and is retried
+        Deregistration deregistration = scriptsStore.addRegistration(newRegistration);
+
+        // then
+        assertNotNull(deregistration);
+        assertEquals(registrationId, deregistration.getRegistration().getId());
+        assertEquals(1, deregistration.getObservations().size());
+        assertNull(scriptsStore.getRegistration(registrationId));
+        assertEquals(anotherRegistrationId, scriptsStore.getRegistrationByEndpoint(ep).getId());
+    }
+
+    @Test
+    public void replace_observation_of_same_path_in_scripts_mode() {
+        // given
+        RedisRegistrationStore scriptsStore = createScriptsStore();
+        givenASimpleRegistration(lifetime);
+        Token otherToken = new Token(new byte[] { 1 });
+        scriptsStore.addRegistration(registration);
+        scriptsStore.addObservation(registrationId, givenAnObservation(aToken, "/1/2/3"), false);
+        scriptsStore.addObservation(registrationId, givenAnObservation(new Token(new byte[] { 2 }), "/4/5/6"), false);
+
+        // when
+        Collection<Observation> removed = scriptsStore.addObservation(registrationId,
+                givenAnObservation(otherToken, "/1/2/3"), false);
+
+        // then
+        assertEquals(1, removed.size());
+        assertEquals(anObservationId, removed.iterator().next().getId());
+        assertNull(scriptsStore.getObservation(anObservationId));
+        assertEquals(2, scriptsStore.getObservations(registrationId).size());
+
+        // when
+        Observation observation = scriptsStore.removeObservation(registrationId,
+                new ObservationIdentifier(endpointUri, otherToken.getBytes()));
+
+        // then
+        assertNotNull(observation);
+        assertEquals(1, scriptsStore.getObservations(registrationId).size());
+        assertEquals(1, scriptsStore.removeObservations(registrationId).size());
+        assertTrue(scriptsStore.getObservations(registrationId).isEmpty());
+    }
+
+    private RedisRegistrationStore createScriptsStore() {
+        return createStore(new RedisRegistrationStore.Builder(RedisTestUtil.createJedisPool()) //
+                .setPrefix("LESHAN_TEST_SCRIPTS_REGSTORE#") //
+                .setUseScripts(true));
+    }
+
+    /**
+     * Create a store which is cleaned and destroyed after the test.
+     */
+    private RedisRegistrationStore createStore(RedisRegistrationStore.Builder builder) {
+        RedisRegistrationStore createdStore = builder.build();
+        stores.add(createdStore);
+        return createdStore;
+    }
+
+    private Observation givenAnObservation(Token token, String path) {
+        return new SingleObservation(new ObservationIdentifier(endpointUri, token.getBytes()), registrationId,
+                new LwM2mPath(path), ContentFormat.DEFAULT, null, null);
+    }
+
     private void givenASimpleRegistration(Long lifetime) {
         Registration.Builder builder = new Registration.Builder(registrationId, ep,
                 new IpPeer(new InetSocketAddress(address, port)), uriHandler.createUri("coap://localhost:5683"));
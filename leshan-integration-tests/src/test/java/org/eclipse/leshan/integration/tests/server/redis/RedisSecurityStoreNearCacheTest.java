@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.integration.tests.server.redis;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.leshan.integration.tests.util.RedisTestUtil;
+import org.eclipse.leshan.server.redis.RedisSecurityStore;
+import org.eclipse.leshan.server.redis.serialization.SecurityInfoSerDes;
+import org.eclipse.leshan.servers.security.NonUniqueSecurityInfoException;
+import org.eclipse.leshan.servers.security.SecurityInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.util.Pool;
+
+public class RedisSecurityStoreNearCacheTest {
+
+    private static final String PREFIX = "LESHAN_TEST_NEARCACHE_SECSTORE#";
+
+    private Pool<Jedis> pool;
+    private final List<RedisSecurityStore> stores = new ArrayList<>();
+    private final List<String> endpoints = new ArrayList<>();
+    private int keyVersion;
+
+    @BeforeEach
+    public void start() {
+        pool = RedisTestUtil.createJedisPool();
+    }
+
+    @AfterEach
+    public void stop() {
+        for (String endpoint : endpoints) {
+            stores.get(0).remove(endpoint, false);
+        }
+        for (RedisSecurityStore store : stores) {
+            store.stop();
+        }
+        pool.close();
+    }
+
+    @Test
+    public void cache_is_bypassed_while_not_started() throws NonUniqueSecurityInfoException, InterruptedException {
+        // given
+        RedisSecurityStore store = givenAStore(100);
+        givenAnInfo(store, "1");
+
+        // then : store is not started so data modified in Redis is read
+        byte[] key = modifyKeyInRedis("1");
+        assertArrayEquals(key, store.getByEndpoint("urn:endpoint1").getPreSharedKey());
+
+        // then : info is cached once subscribed
+        store.start();
+        waitForSubscription(store, "1");
+        byte[] cachedKey = store.getByEndpoint("urn:endpoint1").getPreSharedKey();
+        modifyKeyInRedis("1");
+        assertArrayEquals(cachedKey, store.getByEndpoint("urn:endpoint1").getPreSharedKey());
+        assertArrayEquals(cachedKey, store.getByIdentity("identity1").getPreSharedKey());
+
+        // then : cache is bypassed again once stopped
+        store.stop();
+        key = modifyKeyInRedis("1");
+        assertArrayEquals(key, store.getByEndpoint("urn:endpoint1").getPreSharedKey());
+    }
+
+    @Test
+    public void modification_by_other_store_invalidates_cache()
+            throws NonUniqueSecurityInfoException, InterruptedException {
+        // given
+        RedisSecurityStore store = givenAStartedStore(100);
+        RedisSecurityStore otherStore = givenAStartedStore(100);
+        givenAnInfo(store, "1");
+        waitForSubscription(store, "1");
+
+        // when
+        SecurityInfo modified = SecurityInfo.newPreSharedKeyInfo("urn:endpoint1", "identity1", "modified".getBytes());
+        otherStore.add(modified);
+
+        // then
+        long timeout = System.currentTimeMillis() + 5000;
+        while (!modified.equals(store.getByIdentity("identity1"))) {
+            assertTrue(System.currentTimeMillis() < timeout, "cache was not invalidated");
+            Thread.sleep(10);
+        }
+        assertEquals(modified, store.getByEndpoint("urn:endpoint1"));
+    }
+
+    @Test
+    public void removal_by_other_store_invalidates_cache() throws NonUniqueSecurityInfoException, InterruptedException {
+        // given
+        RedisSecurityStore store = givenAStartedStore(100);
+        RedisSecurityStore otherStore = givenAStartedStore(100);
+        givenAnInfo(store, "1");
+        waitForSubscription(store, "1");
+        store.getByIdentity("identity1");
+
+        // when
+        otherStore.remove("urn:endpoint1", false);
+
+        // then
+        long timeout = System.currentTimeMillis() + 5000;
+        while (store.getByIdentity("identity1") != null || store.getByEndpoint("urn:endpoint1") != null) {
+            assertTrue(System.currentTimeMillis() < timeout, "cache was not invalidated");
+            Thread.sleep(10);
+        }
+        assertNull(store.getByEndpoint("urn:endpoint1"));
+    }
+
+    @Test
+    public void least_recently_used_keys_are_evicted() throws NonUniqueSecurityInfoException, InterruptedException {
+        // given : a cache for 2 security infos (2 lookup keys each : endpoint and PSK identity)
+        RedisSecurityStore store = givenAStartedStore(4);
+        givenAnInfo(store, "1");
+        givenAnInfo(store, "2");
+        givenAnInfo(store, "3");
+        waitForSubscription(store, "1");
+        store.getByEndpoint("urn:endpoint2");
+
+        // when : endpoint key of info 1 is used, then info 3 evicts the 2 least recently used keys
+        byte[] key1 = store.getByEndpoint("urn:endpoint1").getPreSharedKey();
+        byte[] key3 = store.getByEndpoint("urn:endpoint3").getPreSharedKey();
+        modifyKeyInRedis("1");
+        byte[] key2 = modifyKeyInRedis("2");
+        modifyKeyInRedis("3");
+
+        // then
+        assertArrayEquals(key1, store.getByEndpoint("urn:endpoint1").getPreSharedKey());
+        assertArrayEquals(key3, store.getByEndpoint("urn:endpoint3").getPreSharedKey());
+        assertArrayEquals(key2, store.getByEndpoint("urn:endpoint2").getPreSharedKey());
+    }
+
+    private RedisSecurityStore givenAStore(int nearCacheSize) {
+        RedisSecurityStore store = new RedisSecurityStore.Builder(pool) //
+                .setPrefix(PREFIX) //
+                .setNearCacheSize(nearCacheSize) //
+                .build();
+        stores.add(store);
+        return store;
+    }
+
+    private RedisSecurityStore givenAStartedStore(int nearCacheSize) {
+        RedisSecurityStore store = givenAStore(nearCacheSize);
+        store.start();
+        return store;
+    }
+
+    private void givenAnInfo(RedisSecurityStore store, String id) throws NonUniqueSecurityInfoException {
+        store.add(SecurityInfo.newPreSharedKeyInfo("urn:endpoint" + id, "identity" + id, ("key" + id).getBytes()));
+        endpoints.add("urn:endpoint" + id);
+    }
+
+    /**
+     * Modify the key of the given security info directly in Redis, so near caches are not invalidated.
+     *
+     * @return the new key
+     */
+    private byte[] modifyKeyInRedis(String id) {
+        byte[] key = ("key" + id + "#" + keyVersion++).getBytes();
+        try (Jedis j = pool.getResource()) {
+            j.set((PREFIX + "SEC#EP#urn:endpoint" + id).getBytes(), SecurityInfoSerDes
+                    .serialize(SecurityInfo.newPreSharedKeyInfo("urn:endpoint" + id, "identity" + id, key)));
+        }
+        return key;
+    }
+
+    /**
+     * Wait until the near cache of the store is subscribed, so the given security info is cached.
+     */
+    private void waitForSubscription(RedisSecurityStore store, String id) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 5000;
+        while (true) {
+            byte[] key = store.getByEndpoint("urn:endpoint" + id).getPreSharedKey();
+            modifyKeyInRedis(id);
+            if (Arrays.equals(key, store.getByEndpoint("urn:endpoint" + id).getPreSharedKey())) {
+                return;
+            }
+            assertTrue(System.currentTimeMillis() < timeout, "near cache is not subscribed");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.eclipse.leshan.client.servers.ServerInfo;
 import org.eclipse.leshan.core.CertificateUsage;
 import org.eclipse.leshan.core.security.certificate.util.X509CertUtil;
 import org.eclipse.leshan.core.security.certificate.verifier.CaConstraintCertificateVerifier;
+import org.eclipse.leshan.core.security.certificate.verifier.CertPathValidationCache;
 import org.eclipse.leshan.core.security.certificate.verifier.DomainIssuerCertificateVerifier;
 import org.eclipse.leshan.core.security.certificate.verifier.ServiceCertificateConstraintCertificateVerifier;
 import org.eclipse.leshan.core.security.certificate.verifier.TrustAnchorAssertionCertificateVerifier;
@@ -33,6 +34,21 @@ import org.eclipse.leshan.core.security.certificate.verifier.X509CertificateVeri
  */
 public class CertificateVerifierFactory {
 
+    private final CertPathValidationCache validationCache;
+
+    public CertificateVerifierFactory() {
+        this(null);
+    }
+
+    /**
+     * @param validationCache a cache of validated certificate chains shared by created verifiers, could be
+     *        <code>null</code>.
+     * @since 2.0
+     */
+    public CertificateVerifierFactory(CertPathValidationCache validationCache) {
+        this.validationCache = validationCache;
+    }
+
     public X509CertificateVerifier create(ServerInfo serverInfo, List<Certificate> trustStore) {
 
         // LWM2M v1.1.1 - 5.2.8.7. Certificate Usage Field
@@ -69,7 +85,7 @@ public class CertificateVerifierFactory {
                         .toArray(new X509Certificate[trustStore.size()]);
             }
             return new CaConstraintCertificateVerifier(serverInfo.serverCertificate, trustedCertificates,
-                    serverInfo.sni);
+                    serverInfo.sni, validationCache);
         } else if (certificateUsage == CertificateUsage.SERVICE_CERTIFICATE_CONSTRAINT) {
             X509Certificate[] trustedCertificates = null;
 
@@ -80,10 +96,10 @@ public class CertificateVerifierFactory {
             }
 
             return new ServiceCertificateConstraintCertificateVerifier(serverInfo.serverCertificate,
-                    trustedCertificates, serverInfo.sni);
+                    trustedCertificates, serverInfo.sni, validationCache);
         } else if (certificateUsage == CertificateUsage.TRUST_ANCHOR_ASSERTION) {
             return new TrustAnchorAssertionCertificateVerifier((X509Certificate) serverInfo.serverCertificate,
-                    serverInfo.sni);
+                    serverInfo.sni, validationCache);
         } else if (certificateUsage == CertificateUsage.DOMAIN_ISSUER_CERTIFICATE) {
             return new DomainIssuerCertificateVerifier(serverInfo.serverCertificate);
         }
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.core.response;
+
+import java.util.List;
+
+import org.eclipse.leshan.core.node.TimestampedLwM2mNode;
+import org.eclipse.leshan.core.node.codec.CodecException;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.core.request.exception.InvalidResponseException;
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A response payload kept in its encoded form and decoded only on first access.
+ * <p>
+ * This allows to forward raw payloads (e.g. to a message bus) without paying for decoding. Decoded nodes are memoized,
+ * so payload is decoded at most once (or a few times if several threads access it concurrently for the first time).
+ *
+ * @since 2.0
+ */
+public class EncodedContent {
+
+    /**
+     * Decode a payload in time-stamped nodes, generally by calling a
+     * {@link org.eclipse.leshan.core.node.codec.LwM2mDecoder} with expected path and model.
+     */
+    public interface Decoder {
+        List<TimestampedLwM2mNode> decode(byte[] payload, ContentFormat contentFormat) throws CodecException;
+    }
+
+    private final byte[] payload;
+    private final ContentFormat contentFormat;
+    private final Decoder decoder;
+
+    private volatile List<TimestampedLwM2mNode> decodedNodes;
+
+    public EncodedContent(byte[] payload, ContentFormat contentFormat, Decoder decoder) {
+        Validate.notNull(decoder);
+        this.payload = payload;
+        this.contentFormat = contentFormat;
+        this.decoder = decoder;
+    }
+
+    /**
+     * @return the raw payload as received.
+     */
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    /**
+     * @return the content format of the payload or <code>null</code> if it was not provided.
+     */
+    public ContentFormat getContentFormat() {
+        return contentFormat;
+    }
+
+    /**
+     * @return <code>true</code> if payload was already decoded.
+     */
+    public boolean isDecoded() {
+        return decodedNodes != null;
+    }
+
+    /**
+     * Decode the payload if not already done.
+     *
+     * @return the decoded time-stamped nodes, never empty.
+     * @throws InvalidResponseException if payload can not be decoded.
+     */
+    public List<TimestampedLwM2mNode> getTimestampedNodes() {
+        List<TimestampedLwM2mNode> nodes = decodedNodes;
+        if (nodes == null) {
+            try {
+                nodes = decoder.decode(payload, contentFormat);
+            } catch (CodecException e) {
+                throw new InvalidResponseException(e, "Unable to decode payload in %s", contentFormat);
+            }
+            if (nodes == null || nodes.isEmpty()) {
+                throw new InvalidResponseException("Unable to decode payload in %s : no node found", contentFormat);
+            }
+            decodedNodes = nodes;
+        }
+        return nodes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EncodedContent [contentFormat=%s, size=%d, decoded=%s]", contentFormat,
+                payload == null ? 0 : payload.length, isDecoded());
+    }
+}
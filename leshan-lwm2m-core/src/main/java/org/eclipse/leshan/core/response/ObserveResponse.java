@@ -65,6 +65,18 @@ public class ObserveResponse extends ReadResponse {
         this.observation = observation;
     }
 
+    /**
+     * Create a successful response which keeps its payload encoded, it will be decoded on first access to content.
+     *
+     * @since 2.0
+     */
+    public ObserveResponse(ResponseCode code, EncodedContent encodedContent, SingleObservation observation,
+            Object coapResponse) {
+        super(code, encodedContent, coapResponse);
+        this.timestampedValues = null;
+        this.observation = observation;
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -73,6 +85,9 @@ public class ObserveResponse extends ReadResponse {
      */
     @Override
     public LwM2mChildNode getContent() {
+        if (encodedContent != null) {
+            return toChildNode(encodedContent.getTimestampedNodes().get(0).getNode());
+        }
         return super.getContent();
     }
 
@@ -85,6 +100,10 @@ public class ObserveResponse extends ReadResponse {
      */
     @Override
     public TimestampedLwM2mNode getTimestampedLwM2mNode() {
+        if (encodedContent != null) {
+            List<TimestampedLwM2mNode> nodes = encodedContent.getTimestampedNodes();
+            return nodes.size() == 1 && !nodes.get(0).isTimestamped() ? null : nodes.get(0);
+        }
         if (timestampedValues != null && !timestampedValues.isEmpty()) {
             return timestampedValues.get(0);
         } else {
@@ -104,6 +123,10 @@ public class ObserveResponse extends ReadResponse {
      *         Storing When Disabled or Offline" is not used.
      */
     public List<TimestampedLwM2mNode> getTimestampedLwM2mNodes() {
+        if (encodedContent != null) {
+            List<TimestampedLwM2mNode> nodes = encodedContent.getTimestampedNodes();
+            return nodes.size() == 1 && !nodes.get(0).isTimestamped() ? null : nodes;
+        }
         return timestampedValues;
     }
 
@@ -117,6 +140,9 @@ public class ObserveResponse extends ReadResponse {
     public String toString() {
         if (errorMessage != null)
             return String.format("ObserveResponse [code=%s, errormessage=%s]", code, errorMessage);
+        else if (encodedContent != null)
+            return String.format("ObserveResponse [code=%s, encodedContent=%s, observation=%s]", code, encodedContent,
+                    observation);
         else if (timestampedValues != null)
             return String.format("ObserveResponse [code=%s, content=%s, observation=%s, timestampedValues= %d nodes]",
                     code, content, observation, timestampedValues.size());
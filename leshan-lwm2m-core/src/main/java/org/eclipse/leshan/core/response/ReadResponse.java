@@ -16,6 +16,7 @@
 package org.eclipse.leshan.core.response;
 
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.leshan.core.ResponseCode;
@@ -35,6 +36,9 @@ public class ReadResponse extends AbstractLwM2mResponse {
 
     protected final TimestampedLwM2mNode timestampedValue;
 
+    // not null if payload is decoded lazily
+    protected final EncodedContent encodedContent;
+
     public ReadResponse(ResponseCode code, LwM2mNode content, TimestampedLwM2mNode timestampedValue,
             String errorMessage) {
         this(code, content, timestampedValue, errorMessage, null);
@@ -43,6 +47,7 @@ public class ReadResponse extends AbstractLwM2mResponse {
     public ReadResponse(ResponseCode code, LwM2mNode content, TimestampedLwM2mNode timestampedValue,
             String errorMessage, Object coapResponse) {
         super(code, errorMessage, coapResponse);
+        this.encodedContent = null;
 
         LwM2mNode responseContent;
         if (timestampedValue != null) {
@@ -76,6 +81,21 @@ public class ReadResponse extends AbstractLwM2mResponse {
 
     }
 
+    /**
+     * Create a successful response which keeps its payload encoded, it will be decoded on first access to content.
+     *
+     * @since 2.0
+     */
+    public ReadResponse(ResponseCode code, EncodedContent encodedContent, Object coapResponse) {
+        super(code, null, coapResponse);
+        if (encodedContent == null) {
+            throw new InvalidResponseException("Content is mandatory for successful response");
+        }
+        this.encodedContent = encodedContent;
+        this.content = null;
+        this.timestampedValue = null;
+    }
+
     @Override
     public boolean isSuccess() {
         return getCode() == ResponseCode.CONTENT;
@@ -103,6 +123,9 @@ public class ReadResponse extends AbstractLwM2mResponse {
      * @return the value or <code>null</code> if the client returned an error response.
      */
     public LwM2mChildNode getContent() {
+        if (encodedContent != null) {
+            return toChildNode(getDecodedNode().getNode());
+        }
         return content;
     }
 
@@ -113,13 +136,45 @@ public class ReadResponse extends AbstractLwM2mResponse {
      * @return the value or <code>null</code> if the value is not timestamped OR if this is an error response.
      */
     public TimestampedLwM2mNode getTimestampedLwM2mNode() {
+        if (encodedContent != null) {
+            TimestampedLwM2mNode node = getDecodedNode();
+            return node.isTimestamped() ? node : null;
+        }
         return timestampedValue;
     }
 
+    /**
+     * Get the payload as received if this response is decoded lazily. This allows to forward payload without decoding
+     * it.
+     *
+     * @return the encoded content or <code>null</code> if payload was decoded when response was created.
+     * @since 2.0
+     */
+    public EncodedContent getEncodedContent() {
+        return encodedContent;
+    }
+
+    private TimestampedLwM2mNode getDecodedNode() {
+        List<TimestampedLwM2mNode> nodes = encodedContent.getTimestampedNodes();
+        if (nodes.size() != 1) {
+            throw new InvalidResponseException("Should receive only 1 timestamped node but received %s", nodes.size());
+        }
+        return nodes.get(0);
+    }
+
+    protected static LwM2mChildNode toChildNode(LwM2mNode node) {
+        if (!(node instanceof LwM2mChildNode))
+            throw new InvalidResponseException("Invalid Content : node should be a LwM2mChildNode not a %s",
+                    node == null ? null : node.getClass().getSimpleName());
+        return (LwM2mChildNode) node;
+    }
+
     @Override
     public String toString() {
         if (errorMessage != null)
             return String.format("ReadResponse [code=%s, errormessage=%s]", code, errorMessage);
+        else if (encodedContent != null)
+            return String.format("ReadResponse [code=%s, encodedContent=%s]", code, encodedContent);
         else if (timestampedValue != null)
             return String.format("ReadResponse [code=%s, timestampedValues= %s]", code, timestampedValue);
         else
@@ -16,15 +16,45 @@
 package org.eclipse.leshan.core.security.certificate.verifier;
 
 import java.net.InetSocketAddress;
+import java.security.GeneralSecurityException;
 import java.security.cert.CertPath;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 
+import org.eclipse.leshan.core.security.certificate.util.PKIValidator;
 import org.eclipse.leshan.core.security.certificate.util.X509CertUtil;
 
 public abstract class BaseCertificateVerifier implements X509CertificateVerifier {
 
+    private final CertPathValidationCache validationCache; // null if cache is not used
+
+    protected BaseCertificateVerifier() {
+        this(null);
+    }
+
+    /**
+     * @param validationCache used to not validate again the same certificate chain, could be <code>null</code>.
+     * @since 2.0
+     */
+    protected BaseCertificateVerifier(CertPathValidationCache validationCache) {
+        this.validationCache = validationCache;
+    }
+
+    /**
+     * Apply PKIX validation (see {@link PKIValidator#applyPKIXValidation(CertPath, X509Certificate[])}) using the
+     * validation cache if any.
+     *
+     * @since 2.0
+     */
+    protected CertPath applyPKIXValidation(CertPath certPath, X509Certificate[] trustedCertificates)
+            throws GeneralSecurityException {
+        if (validationCache != null) {
+            return validationCache.applyPKIXValidation(certPath, trustedCertificates);
+        }
+        return PKIValidator.applyPKIXValidation(certPath, trustedCertificates);
+    }
+
     /**
      * Ensure that chain is not empty
      */
@@ -22,7 +22,6 @@ import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 
-import org.eclipse.leshan.core.security.certificate.util.PKIValidator;
 import org.eclipse.leshan.core.util.Validate;
 
 /**
@@ -61,6 +60,16 @@ public class CaConstraintCertificateVerifier extends BaseCertificateVerifier {
 
     public CaConstraintCertificateVerifier(Certificate caCertificate, X509Certificate[] trustedCertificates,
             String expectedServerName) {
+        this(caCertificate, trustedCertificates, expectedServerName, null);
+    }
+
+    /**
+     * @param validationCache the cache of validated certificate chains, could be <code>null</code>.
+     * @since 2.0
+     */
+    public CaConstraintCertificateVerifier(Certificate caCertificate, X509Certificate[] trustedCertificates,
+            String expectedServerName, CertPathValidationCache validationCache) {
+        super(validationCache);
         Validate.notNull(caCertificate);
         Validate.notNull(trustedCertificates);
         Validate.notEmpty(trustedCertificates);
@@ -81,7 +90,7 @@ public class CaConstraintCertificateVerifier extends BaseCertificateVerifier {
         // - must do PKIX validation with trustStore
         CertPath certPath;
         try {
-            certPath = PKIValidator.applyPKIXValidation(remotePeerCertChain, trustedCertificates);
+            certPath = applyPKIXValidation(remotePeerCertChain, trustedCertificates);
         } catch (GeneralSecurityException e) {
             throw new CertificateException("Certificate chain could not be validated");
         }
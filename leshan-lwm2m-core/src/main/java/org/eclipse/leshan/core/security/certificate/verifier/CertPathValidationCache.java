@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.core.security.certificate.verifier;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.cert.CertPath;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.security.certificate.util.PKIValidator;
+import org.eclipse.leshan.core.util.Hex;
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A bounded cache of successful PKIX validations (see
+ * {@link PKIValidator#applyPKIXValidation(CertPath, X509Certificate[])}), which can be shared by
+ * {@link X509CertificateVerifier}s to not validate again the same certificate chain at each handshake.
+ * <p>
+ * Results are cached by fingerprint of the certificate chain and of the trusted certificates. They expire after a
+ * configured time to live or when a certificate of the validated path expires if it happens before. Failed validations
+ * are not cached.
+ * <p>
+ * As revocation is not checked by PKIX validation, the time to live does not delay revocation, it only bounds how long
+ * a modification of validation rules (e.g. current time) is ignored.
+ *
+ * @since 2.0
+ */
+public class CertPathValidationCache {
+
+    // trusted certificates fingerprints are computed once as there is generally few different trust stores
+    private static final int MAX_TRUST_FINGERPRINTS = 64;
+
+    private final int maxSize;
+    private final long timeToLive; // in ms
+
+    private final Map<String, CachedValidation> entries; // guarded by this
+    private final Map<List<X509Certificate>, String> trustFingerprints = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxSize the maximum number of cached validations, least recently used ones are evicted first.
+     * @param timeToLive the maximum time a validation result is reused.
+     * @param unit the unit of {@code timeToLive}
+     */
+    public CertPathValidationCache(int maxSize, long timeToLive, TimeUnit unit) {
+        Validate.isTrue(maxSize > 0, "maxSize must be strictly positive");
+        Validate.isTrue(timeToLive > 0, "timeToLive must be strictly positive");
+        this.maxSize = maxSize;
+        this.timeToLive = unit.toMillis(timeToLive);
+        this.entries = new LinkedHashMap<String, CachedValidation>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedValidation> eldest) {
+                return size() > CertPathValidationCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Same as {@link PKIValidator#applyPKIXValidation(CertPath, X509Certificate[])} but returns the previous result if
+     * the same certificate chain was already successfully validated with the same trusted certificates.
+     */
+    public CertPath applyPKIXValidation(CertPath certPath, X509Certificate[] trustedCertificates)
+            throws GeneralSecurityException {
+        String key = getFingerprint(certPath.getCertificates()) + getTrustFingerprint(trustedCertificates);
+        long now = System.currentTimeMillis();
+
+        synchronized (this) {
+            CachedValidation entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiration > now) {
+                    return entry.validatedPath;
+                }
+                entries.remove(key);
+            }
+        }
+
+        CertPath validatedPath = PKIValidator.applyPKIXValidation(certPath, trustedCertificates);
+
+        long expiration = now + timeToLive;
+        for (Certificate certificate : validatedPath.getCertificates()) {
+            if (certificate instanceof X509Certificate) {
+                expiration = Math.min(expiration, ((X509Certificate) certificate).getNotAfter().getTime());
+            }
+        }
+        if (expiration > now) {
+            synchronized (this) {
+                entries.put(key, new CachedValidation(validatedPath, expiration));
+            }
+        }
+        return validatedPath;
+    }
+
+    /**
+     * Remove all cached validations, e.g. after a modification of trusted certificates content.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private String getTrustFingerprint(X509Certificate[] trustedCertificates) throws GeneralSecurityException {
+        List<X509Certificate> trust = Arrays.asList(trustedCertificates);
+        String fingerprint = trustFingerprints.get(trust);
+        if (fingerprint == null) {
+            fingerprint = getFingerprint(trust);
+            if (trustFingerprints.size() >= MAX_TRUST_FINGERPRINTS) {
+                trustFingerprints.clear();
+            }
+            trustFingerprints.put(trust, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private String getFingerprint(List<? extends Certificate> certificates) throws GeneralSecurityException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (Certificate certificate : certificates) {
+            digest.update(certificate.getEncoded());
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    private static class CachedValidation {
+        private final CertPath validatedPath;
+        private final long expiration; // in ms
+
+        public CachedValidation(CertPath validatedPath, long expiration) {
+            this.validatedPath = validatedPath;
+            this.expiration = expiration;
+        }
+    }
+}
@@ -22,8 +22,6 @@ import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.util.List;
 
-import org.eclipse.leshan.core.security.certificate.util.PKIValidator;
-
 /**
  * Will do PKIX validation using given certificate as trust anchor.
  */
@@ -40,6 +38,18 @@ public class DefaultCertificateVerifier extends BaseCertificateVerifier {
      *        allowed.
      */
     public DefaultCertificateVerifier(List<X509Certificate> trustedCertificates) {
+        this(trustedCertificates, null);
+    }
+
+    /**
+     * Same as {@link #DefaultCertificateVerifier(List)} using a cache of validated certificate chains.
+     *
+     * @param validationCache the cache of validated certificate chains, could be <code>null</code>.
+     * @since 2.0
+     */
+    public DefaultCertificateVerifier(List<X509Certificate> trustedCertificates,
+            CertPathValidationCache validationCache) {
+        super(validationCache);
         this.trustedCertificates = trustedCertificates;
     }
 
@@ -59,7 +69,7 @@ public class DefaultCertificateVerifier extends BaseCertificateVerifier {
         // - must do PKIX validation with trustStore
         CertPath certPath;
         try {
-            certPath = PKIValidator.applyPKIXValidation(remotePeerCertChain,
+            certPath = applyPKIXValidation(remotePeerCertChain,
                     trustedCertificates.toArray(new X509Certificate[trustedCertificates.size()]));
         } catch (GeneralSecurityException e) {
             throw new CertificateException("Certificate chain could not be validated");
@@ -22,7 +22,6 @@ import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 
-import org.eclipse.leshan.core.security.certificate.util.PKIValidator;
 import org.eclipse.leshan.core.util.Validate;
 
 /**
@@ -52,6 +51,16 @@ public class ServiceCertificateConstraintCertificateVerifier extends BaseCertifi
 
     public ServiceCertificateConstraintCertificateVerifier(Certificate serviceCertificate,
             X509Certificate[] trustedCertificates, String expectedServerName) {
+        this(serviceCertificate, trustedCertificates, expectedServerName, null);
+    }
+
+    /**
+     * @param validationCache the cache of validated certificate chains, could be <code>null</code>.
+     * @since 2.0
+     */
+    public ServiceCertificateConstraintCertificateVerifier(Certificate serviceCertificate,
+            X509Certificate[] trustedCertificates, String expectedServerName, CertPathValidationCache validationCache) {
+        super(validationCache);
         Validate.notNull(serviceCertificate);
         Validate.notNull(trustedCertificates);
         Validate.notEmpty(trustedCertificates);
@@ -72,7 +81,7 @@ public class ServiceCertificateConstraintCertificateVerifier extends BaseCertifi
         // - must do PKIX validation with trustStore
         CertPath certPath;
         try {
-            certPath = PKIValidator.applyPKIXValidation(remotePeerCertChain, trustedCertificates);
+            certPath = applyPKIXValidation(remotePeerCertChain, trustedCertificates);
         } catch (GeneralSecurityException cause) {
             throw new CertificateException("Certificate chain could not be validated.", cause);
         }
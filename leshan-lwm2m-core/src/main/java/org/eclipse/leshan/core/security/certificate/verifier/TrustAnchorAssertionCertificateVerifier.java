@@ -21,7 +21,6 @@ import java.security.cert.CertPath;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 
-import org.eclipse.leshan.core.security.certificate.util.PKIValidator;
 import org.eclipse.leshan.core.util.Validate;
 
 /**
@@ -52,6 +51,16 @@ public class TrustAnchorAssertionCertificateVerifier extends BaseCertificateVeri
     private final String expectedServerName; // for SNI
 
     public TrustAnchorAssertionCertificateVerifier(X509Certificate trustAnchor, String expectedServerName) {
+        this(trustAnchor, expectedServerName, null);
+    }
+
+    /**
+     * @param validationCache the cache of validated certificate chains, could be <code>null</code>.
+     * @since 2.0
+     */
+    public TrustAnchorAssertionCertificateVerifier(X509Certificate trustAnchor, String expectedServerName,
+            CertPathValidationCache validationCache) {
+        super(validationCache);
         Validate.notNull(trustAnchor);
         this.trustAnchor = new X509Certificate[] { trustAnchor };
         this.expectedServerName = expectedServerName;
@@ -68,7 +77,7 @@ public class TrustAnchorAssertionCertificateVerifier extends BaseCertificateVeri
         // - must do PKIX validation with trustStore
         CertPath certPath;
         try {
-            certPath = PKIValidator.applyPKIXValidation(remotePeerCertChain, trustAnchor);
+            certPath = applyPKIXValidation(remotePeerCertChain, trustAnchor);
         } catch (GeneralSecurityException cause) {
             throw new CertificateException("Certificate chain could not be validated.", cause);
         }
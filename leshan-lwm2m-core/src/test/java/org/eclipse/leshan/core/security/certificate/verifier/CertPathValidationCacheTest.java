@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.core.security.certificate.verifier;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.security.GeneralSecurityException;
+import java.security.cert.CertPath;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.security.util.SecurityUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CertPathValidationCacheTest {
+
+    private CertPath clientChain;
+    private X509Certificate[] trustedCertificates;
+    private CertPathValidationCache cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        X509Certificate[] chain = SecurityUtil.certificateChain.readFromResource("credentials/client_chain.der");
+        clientChain = CertificateFactory.getInstance("X.509").generateCertPath(Arrays.asList(chain));
+        trustedCertificates = new X509Certificate[] {
+                SecurityUtil.certificate.readFromResource("credentials/root_cert.der") };
+        cache = new CertPathValidationCache(10, 1, TimeUnit.HOURS);
+    }
+
+    @Test
+    void validated_chain_is_reused() throws GeneralSecurityException {
+        CertPath first = cache.applyPKIXValidation(clientChain, trustedCertificates);
+        CertPath second = cache.applyPKIXValidation(clientChain, trustedCertificates);
+        assertSame(first, second);
+
+        cache.clear();
+        assertNotSame(first, cache.applyPKIXValidation(clientChain, trustedCertificates));
+    }
+
+    @Test
+    void failed_validation_is_not_cached() throws Exception {
+        X509Certificate[] untrusted = new X509Certificate[] {
+                SecurityUtil.certificate.readFromResource("credentials/server_cert.der") };
+        assertThrows(GeneralSecurityException.class, () -> cache.applyPKIXValidation(clientChain, untrusted));
+        assertThrows(GeneralSecurityException.class, () -> cache.applyPKIXValidation(clientChain, untrusted));
+    }
+}
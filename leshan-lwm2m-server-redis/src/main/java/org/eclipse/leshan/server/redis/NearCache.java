@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import redis.clients.jedis.BinaryJedisPubSub;
+import redis.clients.jedis.commands.JedisBinaryCommands;
+
+/**
+ * A local cache of values read from Redis by a store (e.g. {@link RedisRegistrationStore} or
+ * {@link RedisSecurityStore}).
+ * <p>
+ * Values are cached by lookup key (the Redis key of the primary key or of a secondary index). Each store modifying a
+ * value publishes the keys of the previous and new value on an invalidation channel, so all near caches of a cluster
+ * remove them.
+ * <p>
+ * The cache is only used while subscribed to this channel : invalidations published while not subscribed would be lost,
+ * so the cache is cleared at each (re)subscription and is bypassed in the meantime.
+ * <p>
+ * When the cache is full, least recently used lookup keys are evicted first.
+ *
+ * @param <V> type of cached values
+ */
+class NearCache<V> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NearCache.class);
+    private static final long RESUBSCRIBE_DELAY = 1000; // in ms
+
+    private final RedisClient client;
+    private final byte[] channel;
+    private final int maxSize;
+    private final String name;
+
+    // guarded by this
+    private final Map<String, V> values;
+    // loads in progress by lookup key, used to not read same value from Redis concurrently.
+    private final ConcurrentMap<String, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+    // incremented at each invalidation, used to not cache a value read before an invalidation.
+    private long version = 0;
+    private volatile boolean active = false;
+
+    private volatile boolean running = false;
+    private volatile Subscriber subscriber;
+    private Thread subscriberThread;
+
+    /**
+     * @param name name of the cache, used to name the subscriber thread
+     */
+    public NearCache(RedisClient client, byte[] channel, int maxSize, String name) {
+        this.client = client;
+        this.channel = channel;
+        this.maxSize = maxSize;
+        this.name = name;
+        // Least recently used entries are evicted first
+        this.values = new LinkedHashMap<String, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                // removing a key can not make the cache incoherent
+                return size() > NearCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the cached value for this key or {@code null}
+     */
+    public V get(String key) {
+        if (!active) {
+            return null;
+        }
+        synchronized (this) {
+            return values.get(key);
+        }
+    }
+
+    /**
+     * Get the cached value for this key or load it using the given loader.
+     * <p>
+     * Concurrent calls for the same key missing in the cache share the same load, so the value is read only once from
+     * Redis.
+     *
+     * @param loader read the value from Redis, could return {@code null}
+     * @param keysOf give all lookup keys of a loaded value
+     * @return the value or {@code null}
+     */
+    public V get(String key, Supplier<V> loader, Function<V, Collection<String>> keysOf) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> currentLoad = loads.putIfAbsent(key, load);
+        if (currentLoad != null) {
+            // wait for the load in progress
+            try {
+                return currentLoad.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        try {
+            long readVersion = version();
+            V value = loader.get();
+            if (value != null) {
+                put(keysOf.apply(value), value, readVersion);
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    /**
+     * @return the current version of the cache, to get before reading a value from Redis and to give to
+     *         {@link #put(Collection, Object, long)}.
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Cache a value read from Redis for the given keys, unless an invalidation happened since the given version was
+     * get.
+     */
+    public synchronized void put(Collection<String> keys, V value, long readVersion) {
+        if (!active || readVersion != version) {
+            return;
+        }
+        for (String key : keys) {
+            values.put(key, value);
+        }
+    }
+
+    /**
+     * Remove given keys from this cache and publish them to invalidate other caches.
+     */
+    public void invalidate(JedisBinaryCommands j, Collection<String> keys) {
+        invalidateLocally(keys);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(keys.size());
+            for (String key : keys) {
+                out.writeUTF(key);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to encode invalidation message", e);
+        }
+        client.publish(j, channel, bytes.toByteArray());
+    }
+
+    private synchronized void invalidateLocally(Collection<String> keys) {
+        version++;
+        for (String key : keys) {
+            values.remove(key);
+        }
+    }
+
+    private synchronized void activate(boolean active) {
+        version++;
+        values.clear();
+        this.active = active;
+    }
+
+    /* *************** Subscription **************** */
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        subscriberThread = new NamedThreadFactory(name + " NearCache Subscriber").newThread(() -> {
+            while (running) {
+                try {
+                    subscriber = new Subscriber();
+                    // blocks until unsubscribed or disconnected
+                    client.subscribe(subscriber, channel);
+                } catch (RuntimeException e) {
+                    LOG.warn("Near cache invalidation subscription failed, cache is disabled until resubscription", e);
+                }
+                activate(false);
+                if (running) {
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(RESUBSCRIBE_DELAY);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        });
+        subscriberThread.setDaemon(true);
+        subscriberThread.start();
+    }
+
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Subscriber s = subscriber;
+        if (s != null && s.isSubscribed()) {
+            s.unsubscribe();
+        }
+        subscriberThread.interrupt();
+        subscriberThread = null;
+        activate(false);
+    }
+
+    private class Subscriber extends BinaryJedisPubSub {
+
+        @Override
+        public void onSubscribe(byte[] channel, int subscribedChannels) {
+            if (!running) {
+                // stopped before subscription succeed
+                unsubscribe();
+                return;
+            }
+            activate(true);
+        }
+
+        @Override
+        public void onMessage(byte[] channel, byte[] message) {
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(message))) {
+                int size = in.readInt();
+                List<String> keys = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    keys.add(in.readUTF());
+                }
+                invalidateLocally(keys);
+            } catch (IOException e) {
+                // we can not know which values are concerned.
+                LOG.warn("Unable to decode near cache invalidation message, clearing cache", e);
+                activate(active);
+            }
+        }
+    }
+}
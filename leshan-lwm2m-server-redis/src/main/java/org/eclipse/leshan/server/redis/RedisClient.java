@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+import redis.clients.jedis.BinaryJedisPubSub;
+import redis.clients.jedis.ClusterPipeline;
+import redis.clients.jedis.ConnectionPool;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.commands.JedisBinaryCommands;
+import redis.clients.jedis.commands.PipelineBinaryCommands;
+import redis.clients.jedis.util.JedisClusterCRC16;
+import redis.clients.jedis.util.Pool;
+
+/**
+ * Gives access to Redis for the Redis stores, either through a {@link Pool} of {@link Jedis} connections to a single
+ * Redis instance or through a {@link JedisCluster} client to a Redis Cluster.
+ * <p>
+ * Stores mainly use single key commands of {@link JedisBinaryCommands} which are available in both cases. Other
+ * operations (multi-keys commands, pub/sub, connection bound commands like {@code WATCH}/{@code MULTI}) are done using
+ * this class which handles the differences.
+ */
+class RedisClient {
+
+    private final Pool<Jedis> pool;
+    private final JedisCluster cluster;
+
+    public RedisClient(Pool<Jedis> pool) {
+        this.pool = pool;
+        this.cluster = null;
+    }
+
+    public RedisClient(JedisCluster cluster) {
+        this.pool = null;
+        this.cluster = cluster;
+    }
+
+    /**
+     * @return {@code true} if this client targets a Redis Cluster.
+     */
+    public boolean isCluster() {
+        return cluster != null;
+    }
+
+    /**
+     * @return a connection which must be closed once used.
+     */
+    public Connection getConnection() {
+        if (cluster != null) {
+            // cluster client is shared and must not be closed
+            return new Connection(cluster, null);
+        }
+        Jedis jedis = pool.getResource();
+        return new Connection(jedis, jedis);
+    }
+
+    /**
+     * Execute a function with a {@link Jedis} connection to the Redis node hosting the given key.
+     * <p>
+     * With a single instance, the given connection is used.
+     */
+    public <T> T executeOnKeyNode(JedisBinaryCommands j, byte[] key, Function<Jedis, T> function) {
+        if (cluster == null) {
+            return function.apply((Jedis) j);
+        }
+        try (Jedis node = new Jedis(cluster.getConnectionFromSlot(JedisClusterCRC16.getSlot(key)))) {
+            return function.apply(node);
+        }
+    }
+
+    /**
+     * @return a {@link Jedis} connection for each Redis node, connections must be closed once used.
+     */
+    public List<Jedis> getNodeConnections() {
+        List<Jedis> nodes = new ArrayList<>();
+        if (cluster == null) {
+            nodes.add(pool.getResource());
+        } else {
+            for (Entry<String, ConnectionPool> node : cluster.getClusterNodes().entrySet()) {
+                nodes.add(new Jedis(node.getValue().getResource()));
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Get values of given keys, keys can be located on different nodes.
+     */
+    public List<byte[]> mget(JedisBinaryCommands j, List<byte[]> keys) {
+        if (cluster == null) {
+            return j.mget(keys.toArray(new byte[keys.size()][]));
+        }
+        List<Response<byte[]>> responses = new ArrayList<>(keys.size());
+        try (ClusterPipeline p = cluster.pipelined()) {
+            for (byte[] key : keys) {
+                responses.add(p.get(key));
+            }
+            p.sync();
+        }
+        List<byte[]> values = new ArrayList<>(responses.size());
+        for (Response<byte[]> response : responses) {
+            values.add(response.get());
+        }
+        return values;
+    }
+
+    /**
+     * Delete given keys, keys can be located on different nodes.
+     */
+    public void del(JedisBinaryCommands j, List<byte[]> keys) {
+        if (cluster == null) {
+            j.del(keys.toArray(new byte[keys.size()][]));
+            return;
+        }
+        try (ClusterPipeline p = cluster.pipelined()) {
+            for (byte[] key : keys) {
+                p.del(key);
+            }
+            p.sync();
+        }
+    }
+
+    /**
+     * Add a member (with a score of 0) to some sorted sets and remove it from other ones using one pipeline, sorted
+     * sets can be located on different nodes.
+     */
+    public void updateSortedSets(JedisBinaryCommands j, byte[] member, List<byte[]> keysToAdd,
+            List<byte[]> keysToRemove) {
+        if (keysToAdd.isEmpty() && keysToRemove.isEmpty()) {
+            return;
+        }
+        if (cluster == null) {
+            Pipeline p = ((Jedis) j).pipelined();
+            queueSortedSetsUpdate(p, member, keysToAdd, keysToRemove);
+            p.sync();
+            return;
+        }
+        try (ClusterPipeline p = cluster.pipelined()) {
+            queueSortedSetsUpdate(p, member, keysToAdd, keysToRemove);
+            p.sync();
+        }
+    }
+
+    private static void queueSortedSetsUpdate(PipelineBinaryCommands p, byte[] member, List<byte[]> keysToAdd,
+            List<byte[]> keysToRemove) {
+        for (byte[] key : keysToRemove) {
+            p.zrem(key, member);
+        }
+        for (byte[] key : keysToAdd) {
+            p.zadd(key, 0, member);
+        }
+    }
+
+    public void publish(JedisBinaryCommands j, byte[] channel, byte[] message) {
+        if (cluster == null) {
+            ((Jedis) j).publish(channel, message);
+        } else {
+            cluster.publish(channel, message);
+        }
+    }
+
+    /**
+     * Subscribe to given channel, this blocks until the subscriber is unsubscribed or the connection is lost.
+     */
+    public void subscribe(BinaryJedisPubSub subscriber, byte[] channel) {
+        if (cluster == null) {
+            try (Jedis j = pool.getResource()) {
+                j.subscribe(subscriber, channel);
+            }
+        } else {
+            cluster.subscribe(subscriber, channel);
+        }
+    }
+
+    /**
+     * @return the {@link Jedis} connection, only available with a single Redis instance.
+     */
+    public Jedis toJedis(JedisBinaryCommands j) {
+        if (cluster != null) {
+            throw new IllegalStateException("Not supported with Redis Cluster");
+        }
+        return (Jedis) j;
+    }
+
+    /**
+     * A connection to Redis, to be closed once used.
+     */
+    public static class Connection implements AutoCloseable {
+
+        private final JedisBinaryCommands commands;
+        private final Jedis pooledJedis;
+
+        private Connection(JedisBinaryCommands commands, Jedis pooledJedis) {
+            this.commands = commands;
+            this.pooledJedis = pooledJedis;
+        }
+
+        public JedisBinaryCommands commands() {
+            return commands;
+        }
+
+        @Override
+        public void close() {
+            if (pooledJedis != null) {
+                pooledJedis.close();
+            }
+        }
+    }
+}
@@ -31,15 +31,25 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Queue;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.eclipse.leshan.core.Destroyable;
 import org.eclipse.leshan.core.Startable;
 import org.eclipse.leshan.core.Stoppable;
+import org.eclipse.leshan.core.endpoint.DefaultEndPointUriHandler;
 import org.eclipse.leshan.core.observation.CompositeObservation;
 import org.eclipse.leshan.core.observation.Observation;
 import org.eclipse.leshan.core.observation.ObservationIdentifier;
@@ -48,13 +58,19 @@ import org.eclipse.leshan.core.peer.LwM2mIdentity;
 import org.eclipse.leshan.core.peer.LwM2mPeer;
 import org.eclipse.leshan.core.util.NamedThreadFactory;
 import org.eclipse.leshan.core.util.Validate;
+import org.eclipse.leshan.server.redis.RedisClient.Connection;
 import org.eclipse.leshan.server.redis.serialization.LwM2mIdentitySerDes;
 import org.eclipse.leshan.server.redis.serialization.LwM2mPeerSerDes;
 import org.eclipse.leshan.server.redis.serialization.ObservationSerDes;
 import org.eclipse.leshan.server.redis.serialization.RegistrationSerDes;
+import org.eclipse.leshan.server.redis.serialization.SerializationFormat;
+import org.eclipse.leshan.server.registration.AsyncRegistrationStore;
 import org.eclipse.leshan.server.registration.Deregistration;
 import org.eclipse.leshan.server.registration.ExpirationListener;
 import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationPage;
+import org.eclipse.leshan.server.registration.RegistrationQuery;
+import org.eclipse.leshan.server.registration.RegistrationQueryIterator;
 import org.eclipse.leshan.server.registration.RegistrationStore;
 import org.eclipse.leshan.server.registration.RegistrationUpdate;
 import org.eclipse.leshan.server.registration.UpdatedRegistration;
@@ -62,9 +78,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.Transaction;
+import redis.clients.jedis.commands.JedisBinaryCommands;
 import redis.clients.jedis.params.ScanParams;
 import redis.clients.jedis.resps.ScanResult;
+import redis.clients.jedis.resps.Tuple;
 import redis.clients.jedis.util.Pool;
 
 /**
@@ -73,57 +94,109 @@ import redis.clients.jedis.util.Pool;
 public class RedisRegistrationStore implements RegistrationStore, Startable, Stoppable, Destroyable {
     private static final Logger LOG = LoggerFactory.getLogger(RedisRegistrationStore.class);
 
+    // flag preceding registrations stored when light updates are used (see Builder#setUseLightUpdates(boolean))
+    private static final byte NOT_LIGHTLY_UPDATED = 0;
+    private static final byte LIGHTLY_UPDATED = 1;
+
     // Redis key prefixes
     private final String registrationByEndpointPrefix; // (Endpoint => Registration)
+    private final String registrationUpdateByEndpointPrefix; // (Endpoint => data modified by light updates)
     private final String endpointByRegistrationIdPrefix; // secondary index key (Registration ID => Endpoint)
     private final String endpointBySocketAddressPrefix; // secondary index key (Socket Address => Endpoint)
     private final String endpointByIdentityPrefix; // secondary index key (Identity => Endpoint)
     private final String endpointLockPrefix;
     private final byte[] observationByIdPrefix;
     private final String observationIdsByRegistrationIdPrefix; // secondary index (Registration => observation id list)
+    private final String observationPathsByRegistrationIdPrefix; // scripts mode (Registration => observation paths)
+    private final String registrationIdsByQueryKeyPrefix; // query index (Query Key => sorted set of registration ids)
     private final byte[] endpointExpirationKey; // a sorted set used for registration expiration (expiration date,
                                                 // Endpoint)
+    private final byte[] cleanerLeaseKey; // (Lease => id of the store in charge of cleaning expired registrations)
 
-    private final Pool<Jedis> pool;
+    private final Pool<Jedis> pool; // null when using Redis Cluster
+    private final RedisClient client;
 
     // Listener used to notify about a registration expiration
     private ExpirationListener expirationListener;
 
     private final ScheduledExecutorService schedExecutor;
+    private final ExecutorService asyncExecutor;
+    private final boolean ownsAsyncExecutor; // true if asyncExecutor was created by this store
+    private final int asyncConcurrency; // maximum number of lookup batches executed concurrently
+    private final AsyncStore asyncStore = new AsyncStore();
     private ScheduledFuture<?> cleanerTask;
     private boolean started = false;
 
     private final long cleanPeriod; // in seconds
     private final int cleanLimit; // maximum number to clean in a clean period
     private final long gracePeriod; // in seconds
+    private final int batchSize; // maximum number of keys fetched in one bulk read
+    private final long cleanerLeaseDuration; // in seconds, 0 if cleaner lease is not used
+    private final byte[] storeId = UUID.randomUUID().toString().getBytes(UTF_8);
 
     private final JedisLock lock;
+    private final boolean useScripts;
+    private final boolean useHashTags;
+    private final boolean useLightUpdates;
     private final RegistrationSerDes registrationSerDes;
     private final ObservationSerDes observationSerDes;
     private final LwM2mIdentitySerDes identitySerDes;
+    private final NearCache<Registration> nearCache; // null if near cache is disabled
 
     public RedisRegistrationStore(Pool<Jedis> p) {
         this(new Builder(p).generateDefaultValue());
     }
 
+    /**
+     * Create a store using a Redis Cluster.
+     *
+     * @since 2.0
+     */
+    public RedisRegistrationStore(JedisCluster cluster) {
+        this(new Builder(cluster).generateDefaultValue());
+    }
+
     public RedisRegistrationStore(Builder builder) {
         this.pool = builder.pool;
+        this.client = builder.cluster != null ? new RedisClient(builder.cluster) : new RedisClient(builder.pool);
+        this.useHashTags = builder.useHashTags;
         this.registrationByEndpointPrefix = builder.registrationByEndpointPrefix;
+        this.registrationUpdateByEndpointPrefix = builder.registrationUpdateByEndpointPrefix;
         this.endpointByRegistrationIdPrefix = builder.endpointByRegistrationIdPrefix;
         this.endpointBySocketAddressPrefix = builder.endpointBySocketAddressPrefix;
         this.endpointByIdentityPrefix = builder.endpointByIdentityPrefix;
         this.endpointLockPrefix = builder.endpointLockPrefix;
         this.observationByIdPrefix = builder.observationByIdPrefix.getBytes(UTF_8);
         this.observationIdsByRegistrationIdPrefix = builder.observationIdsByRegistrationIdPrefix;
+        this.observationPathsByRegistrationIdPrefix = builder.observationPathsByRegistrationIdPrefix;
+        this.registrationIdsByQueryKeyPrefix = builder.registrationIdsByQueryKeyPrefix;
         this.endpointExpirationKey = builder.endpointExpirationKey.getBytes(UTF_8);
+        this.cleanerLeaseKey = builder.cleanerLeaseKey.getBytes(UTF_8);
         this.cleanPeriod = builder.cleanPeriod;
         this.cleanLimit = builder.cleanLimit;
         this.gracePeriod = builder.gracePeriod;
+        this.batchSize = builder.batchSize;
+        this.cleanerLeaseDuration = builder.cleanerLeaseDuration;
         this.schedExecutor = builder.schedExecutor;
+        if (builder.asyncExecutor == null) {
+            this.asyncExecutor = Executors.newFixedThreadPool(builder.asyncConcurrency,
+                    new NamedThreadFactory("RedisRegistrationStore Async#%d"));
+            this.ownsAsyncExecutor = true;
+        } else {
+            this.asyncExecutor = builder.asyncExecutor;
+            this.ownsAsyncExecutor = false;
+        }
+        this.asyncConcurrency = builder.asyncConcurrency;
         this.lock = builder.lock;
+        this.useScripts = builder.useScripts;
+        this.useLightUpdates = builder.useLightUpdates;
         this.registrationSerDes = builder.registrationSerDes;
         this.observationSerDes = builder.observationSerDes;
         this.identitySerDes = builder.identitySerDes;
+        this.nearCache = builder.nearCacheSize > 0
+                ? new NearCache<>(client, builder.nearCacheInvalidationChannel.getBytes(UTF_8), builder.nearCacheSize,
+                        "RedisRegistrationStore")
+                : null;
     }
 
     /* *************** Redis Key utility function **************** */
@@ -150,173 +223,239 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
     }
 
     private byte[] toLockKey(String endpoint) {
-        return toKey(endpointLockPrefix, endpoint);
+        return toKey(endpointLockPrefix, toHashTag(endpoint));
     }
 
     private byte[] toLockKey(byte[] endpoint) {
-        return toKey(endpointLockPrefix.getBytes(UTF_8), endpoint);
+        return toKey(endpointLockPrefix.getBytes(UTF_8), toHashTag(endpoint));
+    }
+
+    private String toHashTag(String id) {
+        return useHashTags ? "{" + id + "}" : id;
+    }
+
+    private byte[] toHashTag(byte[] id) {
+        return useHashTags ? toKey(HASH_TAG_START, id, HASH_TAG_END) : id;
     }
 
     /* *************** Leshan Registration API **************** */
 
     @Override
     public Deregistration addRegistration(Registration registration) {
-        try (Jedis j = pool.getResource()) {
-            byte[] lockValue = null;
-            byte[] lockKey = toLockKey(registration.getEndpoint());
+        try (Connection c = client.getConnection()) {
+            JedisBinaryCommands j = c.commands();
+            Deregistration deregistration = addRegistration(j, registration);
+            invalidateNearCache(j, registration, deregistration == null ? null : deregistration.getRegistration());
+            return deregistration;
+        }
+    }
 
-            try {
-                lockValue = lock.acquire(j, lockKey);
-
-                // add registration
-                byte[] k = toEndpointKey(registration.getEndpoint());
-                byte[] old = j.getSet(k, serializeReg(registration));
-
-                // add registration: secondary indexes
-                byte[] regidIdx = toRegIdKey(registration.getId());
-                j.set(regidIdx, registration.getEndpoint().getBytes(UTF_8));
-                byte[] addrIdx = toRegAddrKey(registration.getSocketAddress());
-                j.set(addrIdx, registration.getEndpoint().getBytes(UTF_8));
-                byte[] identityIdx = toRegIdentityKey(registration.getClientTransportData().getIdentity());
-                j.set(identityIdx, registration.getEndpoint().getBytes(UTF_8));
-
-                // Add or update expiration
-                addOrUpdateExpiration(j, registration);
-
-                if (old != null) {
-                    Registration oldRegistration = deserializeReg(old);
-                    // remove old secondary index
-                    if (!registration.getId().equals(oldRegistration.getId()))
-                        j.del(toRegIdKey(oldRegistration.getId()));
-                    if (!oldRegistration.getSocketAddress().equals(registration.getSocketAddress())) {
-                        removeAddrIndex(j, oldRegistration);
-                    }
-                    if (!oldRegistration.getClientTransportData().getIdentity()
-                            .equals(registration.getClientTransportData().getIdentity())) {
-                        removeIdentityIndex(j, oldRegistration);
-                    }
-                    // remove old observation
-                    Collection<Observation> obsRemoved = unsafeRemoveAllObservations(j, oldRegistration.getId());
+    private Deregistration addRegistration(JedisBinaryCommands j, Registration registration) {
+        if (useScripts) {
+            return scriptedAddRegistration(j, registration);
+        }
+
+        byte[] lockValue = null;
+        byte[] lockKey = toLockKey(registration.getEndpoint());
 
-                    return new Deregistration(oldRegistration, obsRemoved);
+        try {
+            lockValue = acquireLock(j, lockKey);
+
+            // add registration
+            byte[] k = toEndpointKey(registration.getEndpoint());
+            byte[] old = j.getSet(k, toStoredRegistration(registration));
+            byte[] oldUpdatableData = null;
+            if (old != null && isLightlyUpdated(old)) {
+                byte[] updateKey = toRegistrationUpdateKey(k);
+                oldUpdatableData = j.get(updateKey);
+                j.del(updateKey);
+            }
+
+            // add registration: secondary indexes
+            byte[] regidIdx = toRegIdKey(registration.getId());
+            j.set(regidIdx, registration.getEndpoint().getBytes(UTF_8));
+            byte[] addrIdx = toRegAddrKey(registration.getSocketAddress());
+            j.set(addrIdx, registration.getEndpoint().getBytes(UTF_8));
+            byte[] identityIdx = toRegIdentityKey(registration.getClientTransportData().getIdentity());
+            j.set(identityIdx, registration.getEndpoint().getBytes(UTF_8));
+
+            // Add or update expiration
+            addOrUpdateExpiration(j, registration);
+
+            if (old != null) {
+                Registration oldRegistration = deserializeStoredReg(old, oldUpdatableData);
+                // remove old secondary index
+                updateQueryIndex(j, oldRegistration, registration);
+                if (!registration.getId().equals(oldRegistration.getId()))
+                    j.del(toRegIdKey(oldRegistration.getId()));
+                if (!oldRegistration.getSocketAddress().equals(registration.getSocketAddress())) {
+                    removeAddrIndex(j, oldRegistration);
+                }
+                if (!oldRegistration.getClientTransportData().getIdentity()
+                        .equals(registration.getClientTransportData().getIdentity())) {
+                    removeIdentityIndex(j, oldRegistration);
                 }
+                // remove old observation
+                Collection<Observation> obsRemoved = unsafeRemoveAllObservations(j, oldRegistration.getId());
 
-                return null;
-            } finally {
-                lock.release(j, lockKey, lockValue);
+                return new Deregistration(oldRegistration, obsRemoved);
             }
+            addQueryIndex(j, registration);
+
+            return null;
+        } finally {
+            releaseLock(j, lockKey, lockValue);
         }
     }
 
     @Override
     public UpdatedRegistration updateRegistration(RegistrationUpdate update) {
-        try (Jedis j = pool.getResource()) {
-
-            // Fetch the registration ep by registration ID index
-            byte[] ep = j.get(toRegIdKey(update.getRegistrationId()));
-            if (ep == null) {
-                return null;
+        try (Connection c = client.getConnection()) {
+            JedisBinaryCommands j = c.commands();
+            UpdatedRegistration updatedRegistration = updateRegistration(j, update);
+            if (updatedRegistration != null) {
+                invalidateNearCache(j, updatedRegistration.getUpdatedRegistration(),
+                        updatedRegistration.getPreviousRegistration());
             }
+            return updatedRegistration;
+        }
+    }
 
-            byte[] lockValue = null;
-            byte[] lockKey = toLockKey(ep);
-            try {
-                lockValue = lock.acquire(j, lockKey);
-
-                // Fetch the registration
-                byte[] data = j.get(toEndpointKey(ep));
-                if (data == null) {
-                    return null;
-                }
+    private UpdatedRegistration updateRegistration(JedisBinaryCommands j, RegistrationUpdate update) {
+        if (useScripts) {
+            return scriptedUpdateRegistration(j, update);
+        }
 
-                Registration r = deserializeReg(data);
+        // Fetch the registration ep by registration ID index
+        byte[] ep = j.get(toRegIdKey(update.getRegistrationId()));
+        if (ep == null) {
+            return null;
+        }
 
-                Registration updatedRegistration = update.update(r);
+        byte[] lockValue = null;
+        byte[] lockKey = toLockKey(ep);
+        try {
+            lockValue = acquireLock(j, lockKey);
 
+            // Fetch the registration
+            byte[] endpointKey = toEndpointKey(ep);
+            byte[] stored = j.get(endpointKey);
+            if (stored == null) {
+                return null;
+            }
+            boolean lightlyUpdated = isLightlyUpdated(stored);
+            Registration r = deserializeStoredReg(stored,
+                    lightlyUpdated ? j.get(toRegistrationUpdateKey(endpointKey)) : null);
+
+            Registration updatedRegistration = update.update(r);
+
+            boolean lightUpdate = useLightUpdates && isLightUpdate(update);
+            if (lightUpdate) {
+                // Store only data modified by the update, then flag the registration so readers apply it
+                j.set(toRegistrationUpdateKey(endpointKey),
+                        registrationSerDes.bSerializeUpdatableData(updatedRegistration));
+                if (!lightlyUpdated) {
+                    j.setrange(endpointKey, 0, new byte[] { LIGHTLY_UPDATED });
+                }
+            } else {
                 // Store the new registration
-                j.set(toEndpointKey(updatedRegistration.getEndpoint()), serializeReg(updatedRegistration));
+                j.set(endpointKey, toStoredRegistration(updatedRegistration));
+                if (lightlyUpdated) {
+                    j.del(toRegistrationUpdateKey(endpointKey));
+                }
+            }
+
+            // Add or update expiration
+            addOrUpdateExpiration(j, updatedRegistration);
 
-                // Add or update expiration
-                addOrUpdateExpiration(j, updatedRegistration);
+            // Update query index : light update does not modify indexed data
+            if (!lightUpdate) {
+                updateQueryIndex(j, r, updatedRegistration);
+            }
 
-                // Update secondary index :
-                // If registration is already associated to this address we don't care as we only want to keep the most
-                // recent binding.
+            // Update secondary index :
+            // If registration is already associated to this address we don't care as we only want to keep the most
+            // recent binding.
+            boolean addrChanged = !r.getSocketAddress().equals(updatedRegistration.getSocketAddress());
+            if (!lightUpdate || addrChanged) {
                 byte[] addrIdx = toRegAddrKey(updatedRegistration.getSocketAddress());
                 j.set(addrIdx, updatedRegistration.getEndpoint().getBytes(UTF_8));
-                if (!r.getSocketAddress().equals(updatedRegistration.getSocketAddress())) {
-                    removeAddrIndex(j, r);
-                }
-                // update secondary index :
+            }
+            if (addrChanged) {
+                removeAddrIndex(j, r);
+            }
+            // update secondary index :
+            boolean identityChanged = !r.getClientTransportData().getIdentity()
+                    .equals(updatedRegistration.getClientTransportData().getIdentity());
+            if (!lightUpdate || identityChanged) {
                 byte[] identityIdx = toRegIdentityKey(updatedRegistration.getClientTransportData().getIdentity());
                 j.set(identityIdx, updatedRegistration.getEndpoint().getBytes(UTF_8));
-                if (!r.getClientTransportData().getIdentity()
-                        .equals(updatedRegistration.getClientTransportData().getIdentity())) {
-                    removeIdentityIndex(j, r);
-                }
+            }
+            if (identityChanged) {
+                removeIdentityIndex(j, r);
+            }
 
-                return new UpdatedRegistration(r, updatedRegistration);
+            return new UpdatedRegistration(r, updatedRegistration);
 
-            } finally {
-                lock.release(j, lockKey, lockValue);
-            }
+        } finally {
+            releaseLock(j, lockKey, lockValue);
         }
     }
 
     @Override
     public Registration getRegistration(String registrationId) {
-        try (Jedis j = pool.getResource()) {
-            return getRegistration(j, registrationId);
-        }
+        return getRegistrationByLookupKey(toRegIdKey(registrationId), r -> r.getId().equals(registrationId),
+                j -> getRegistration(j, registrationId));
     }
 
     @Override
     public Registration getRegistrationByEndpoint(String endpoint) {
         Validate.notNull(endpoint);
-        try (Jedis j = pool.getResource()) {
-            byte[] data = j.get(toEndpointKey(endpoint));
-            if (data == null) {
-                return null;
+        return getRegistrationByLookupKey(toEndpointKey(endpoint), r -> r.getEndpoint().equals(endpoint),
+                j -> getRegistrationByEndpointKey(j, toEndpointKey(endpoint)));
+    }
+
+    @Override
+    public Collection<Registration> getRegistrations(Collection<String> endpoints) {
+        Validate.notNull(endpoints);
+        List<byte[]> keys = new ArrayList<>(endpoints.size());
+        for (String endpoint : endpoints) {
+            keys.add(toEndpointKey(endpoint));
+        }
+        Collection<Registration> result = new ArrayList<>(keys.size());
+        try (Connection c = client.getConnection()) {
+            JedisBinaryCommands j = c.commands();
+            for (Registration registration : getRegistrationsByEndpointKeys(j, keys)) {
+                if (registration != null) {
+                    result.add(registration);
+                }
             }
-            return deserializeReg(data);
         }
+        return result;
     }
 
     @Override
     public Registration getRegistrationByAdress(InetSocketAddress address) {
         Validate.notNull(address);
-        try (Jedis j = pool.getResource()) {
-            byte[] ep = j.get(toRegAddrKey(address));
-            if (ep == null) {
-                return null;
-            }
-            byte[] data = j.get(toEndpointKey(ep));
-            if (data == null) {
-                return null;
-            }
-            return deserializeReg(data);
-        }
+        return getRegistrationByLookupKey(toRegAddrKey(address), r -> r.getSocketAddress().equals(address),
+                j -> getRegistrationByIndex(j, toRegAddrKey(address)));
     }
 
     @Override
     public Registration getRegistrationByIdentity(LwM2mIdentity identity) {
         Validate.notNull(identity);
-        try (Jedis j = pool.getResource()) {
-            byte[] ep = j.get(toRegIdentityKey(identity));
-            if (ep == null) {
-                return null;
-            }
-            byte[] data = j.get(toEndpointKey(ep));
-            if (data == null) {
-                return null;
-            }
-            return deserializeReg(data);
-        }
+        return getRegistrationByLookupKey(toRegIdentityKey(identity),
+                r -> r.getClientTransportData().getIdentity().equals(identity),
+                j -> getRegistrationByIndex(j, toRegIdentityKey(identity)));
     }
 
     @Override
     public Iterator<Registration> getAllRegistrations() {
-        return new RedisIterator(pool, new ScanParams().match(registrationByEndpointPrefix + "*").count(100));
+        if (client.isCluster()) {
+            // SCAN only iterates over keys of 1 node, so we use the expiration sorted set which contains all endpoints.
+            return new ExpirationSetIterator(new ScanParams().count(batchSize));
+        }
+        return new RedisIterator(pool, new ScanParams().match(registrationByEndpointPrefix + "*").count(batchSize));
     }
 
     protected class RedisIterator implements Iterator<Registration> {
@@ -341,8 +480,10 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
 
                     this.scanResult = new ArrayList<>();
                     if (sr.getResult() != null && !sr.getResult().isEmpty()) {
-                        for (byte[] value : j.mget(sr.getResult().toArray(new byte[][] {}))) {
-                            this.scanResult.add(deserializeReg(value));
+                        for (Registration registration : getRegistrationsByEndpointKeys(j, sr.getResult())) {
+                            if (registration != null) {
+                                this.scanResult.add(registration);
+                            }
                         }
                     }
 
@@ -382,14 +523,212 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
         }
     }
 
+    private class ExpirationSetIterator implements Iterator<Registration> {
+
+        private final ScanParams scanParams;
+
+        private byte[] cursor;
+        private List<Registration> scanResult;
+
+        public ExpirationSetIterator(ScanParams scanParams) {
+            this.scanParams = scanParams;
+            // init scan result
+            scanNext(ScanParams.SCAN_POINTER_START_BINARY);
+        }
+
+        private void scanNext(byte[] cursor) {
+            try (Connection c = client.getConnection()) {
+                JedisBinaryCommands j = c.commands();
+                ScanResult<Tuple> sr;
+                do {
+                    sr = j.zscan(endpointExpirationKey, cursor, scanParams);
+
+                    this.scanResult = new ArrayList<>();
+                    List<byte[]> endpointKeys = new ArrayList<>();
+                    for (Tuple endpoint : sr.getResult()) {
+                        endpointKeys.add(toEndpointKey(endpoint.getBinaryElement()));
+                    }
+                    for (Registration registration : getRegistrationsByEndpointKeys(j, endpointKeys)) {
+                        if (registration != null) {
+                            this.scanResult.add(registration);
+                        }
+                    }
+
+                    cursor = sr.getCursorAsBytes();
+                } while (!sr.isCompleteIteration() && scanResult.isEmpty());
+
+                this.cursor = sr.isCompleteIteration() ? null : cursor;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!scanResult.isEmpty()) {
+                return true;
+            }
+            if (cursor == null) {
+                // no more elements to scan
+                return false;
+            }
+
+            // read more elements
+            scanNext(cursor);
+            return !scanResult.isEmpty();
+        }
+
+        @Override
+        public Registration next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return scanResult.remove(0);
+        }
+    }
+
+    @Override
+    public RegistrationPage getRegistrations(RegistrationQuery query, String cursor, int pageSize) {
+        Validate.notNull(query);
+        try (Connection c = client.getConnection()) {
+            JedisBinaryCommands j = c.commands();
+            // Use the most selective index key, other criteria are checked on the registration itself.
+            byte[] indexKey = null;
+            long size = Long.MAX_VALUE;
+            for (String key : new HashSet<>(query.getIndexKeys())) {
+                byte[] k = toQueryIndexKey(key);
+                long card = j.zcard(k);
+                if (card == 0) {
+                    return new RegistrationPage(new ArrayList<>(), null);
+                }
+                if (card < size) {
+                    indexKey = k;
+                    size = card;
+                }
+            }
+
+            // All members have the same score, so registration ids are sorted lexicographically
+            List<Registration> registrations = new ArrayList<>(pageSize);
+            String lastId = cursor;
+            while (true) {
+                byte[] min = lastId == null ? "-".getBytes(UTF_8) : ("(" + lastId).getBytes(UTF_8);
+                List<byte[]> ids = j.zrangeByLex(indexKey, min, "+".getBytes(UTF_8), 0, pageSize);
+                if (ids.isEmpty()) {
+                    return new RegistrationPage(registrations, null);
+                }
+                List<Registration> candidates = getRegistrations(j, ids);
+                for (int i = 0; i < ids.size(); i++) {
+                    lastId = new String(ids.get(i), UTF_8);
+                    Registration registration = candidates.get(i);
+                    if (registration != null && registration.getId().equals(lastId) && query.matches(registration)) {
+                        registrations.add(registration);
+                        if (registrations.size() >= pageSize) {
+                            return new RegistrationPage(registrations, lastId);
+                        }
+                    }
+                }
+                if (ids.size() < pageSize) {
+                    return new RegistrationPage(registrations, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get registrations for the given registration ids, result list contains <code>null</code> for registration ids
+     * which does not exist anymore.
+     */
+    private List<Registration> getRegistrations(JedisBinaryCommands j, List<byte[]> registrationIds) {
+        List<byte[]> regIdKeys = new ArrayList<>(registrationIds.size());
+        for (byte[] registrationId : registrationIds) {
+            regIdKeys.add(toRegIdKey(registrationId));
+        }
+        List<byte[]> endpoints = mget(j, regIdKeys);
+
+        List<byte[]> endpointKeys = new ArrayList<>(endpoints.size());
+        for (byte[] ep : endpoints) {
+            if (ep != null) {
+                endpointKeys.add(toEndpointKey(ep));
+            }
+        }
+        Iterator<Registration> it = getRegistrationsByEndpointKeys(j, endpointKeys).iterator();
+
+        List<Registration> registrations = new ArrayList<>(endpoints.size());
+        for (byte[] ep : endpoints) {
+            registrations.add(ep == null ? null : it.next());
+        }
+        return registrations;
+    }
+
+    /**
+     * Get registrations stored at the given endpoint keys, result list contains <code>null</code> for keys which does
+     * not exist.
+     */
+    private List<Registration> getRegistrationsByEndpointKeys(JedisBinaryCommands j, List<byte[]> endpointKeys) {
+        List<byte[]> values = mget(j, endpointKeys);
+
+        // fetch data modified by light updates only for registrations which were lightly updated
+        List<byte[]> updateKeys = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i) != null && isLightlyUpdated(values.get(i))) {
+                updateKeys.add(toRegistrationUpdateKey(endpointKeys.get(i)));
+            }
+        }
+        Iterator<byte[]> updatableData = mget(j, updateKeys).iterator();
+
+        List<Registration> registrations = new ArrayList<>(endpointKeys.size());
+        for (byte[] data : values) {
+            if (data == null) {
+                registrations.add(null);
+            } else {
+                registrations.add(deserializeStoredReg(data, isLightlyUpdated(data) ? updatableData.next() : null));
+            }
+        }
+        return registrations;
+    }
+
+    private Registration getRegistrationByEndpointKey(JedisBinaryCommands j, byte[] endpointKey) {
+        byte[] data = j.get(endpointKey);
+        if (data == null) {
+            return null;
+        }
+        return deserializeStoredReg(data, isLightlyUpdated(data) ? j.get(toRegistrationUpdateKey(endpointKey)) : null);
+    }
+
+    /**
+     * Get values of the given keys using MGET commands of at most {@code batchSize} keys. Result list contains
+     * <code>null</code> for keys which does not exist.
+     */
+    private List<byte[]> mget(JedisBinaryCommands j, List<byte[]> keys) {
+        List<byte[]> values = new ArrayList<>(keys.size());
+        for (int from = 0; from < keys.size(); from += batchSize) {
+            List<byte[]> batch = keys.subList(from, Math.min(from + batchSize, keys.size()));
+            values.addAll(client.mget(j, batch));
+        }
+        return values;
+    }
+
+    @Override
+    public Iterator<Registration> getRegistrations(RegistrationQuery query) {
+        return new RegistrationQueryIterator(this, query);
+    }
+
     @Override
     public Deregistration removeRegistration(String registrationId) {
-        try (Jedis j = pool.getResource()) {
-            return removeRegistration(j, registrationId, false);
+        try (Connection c = client.getConnection()) {
+            JedisBinaryCommands j = c.commands();
+            Deregistration deregistration = removeRegistration(j, registrationId, false);
+            if (deregistration != null) {
+                invalidateNearCache(j, deregistration.getRegistration(), null);
+            }
+            return deregistration;
         }
     }
 
-    private Deregistration removeRegistration(Jedis j, String registrationId, boolean removeOnlyIfNotAlive) {
+    private Deregistration removeRegistration(JedisBinaryCommands j, String registrationId,
+            boolean removeOnlyIfNotAlive) {
+        if (useScripts) {
+            return scriptedRemoveRegistration(j, registrationId, removeOnlyIfNotAlive);
+        }
+
         // fetch the client ep by registration ID index
         byte[] ep = j.get(toRegIdKey(registrationId));
         if (ep == null) {
@@ -399,70 +738,135 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
         byte[] lockValue = null;
         byte[] lockKey = toLockKey(ep);
         try {
-            lockValue = lock.acquire(j, lockKey);
+            lockValue = acquireLock(j, lockKey);
 
             // fetch the client
-            byte[] data = j.get(toEndpointKey(ep));
-            if (data == null) {
+            byte[] endpointKey = toEndpointKey(ep);
+            byte[] stored = j.get(endpointKey);
+            if (stored == null) {
                 return null;
             }
-            Registration r = deserializeReg(data);
+            boolean lightlyUpdated = isLightlyUpdated(stored);
+            Registration r = deserializeStoredReg(stored,
+                    lightlyUpdated ? j.get(toRegistrationUpdateKey(endpointKey)) : null);
 
             if (!removeOnlyIfNotAlive || !r.isAlive(gracePeriod)) {
                 long nbRemoved = j.del(toRegIdKey(r.getId()));
                 if (nbRemoved > 0) {
-                    j.del(toEndpointKey(r.getEndpoint()));
+                    j.del(endpointKey);
+                    if (lightlyUpdated) {
+                        j.del(toRegistrationUpdateKey(endpointKey));
+                    }
                     Collection<Observation> obsRemoved = unsafeRemoveAllObservations(j, r.getId());
                     removeAddrIndex(j, r);
                     removeIdentityIndex(j, r);
                     removeExpiration(j, r);
+                    removeQueryIndex(j, r);
                     return new Deregistration(r, obsRemoved);
                 }
             }
             return null;
         } finally {
-            lock.release(j, lockKey, lockValue);
+            releaseLock(j, lockKey, lockValue);
         }
     }
 
-    private void removeAddrIndex(Jedis j, Registration r) {
+    private void removeAddrIndex(JedisBinaryCommands j, Registration r) {
         removeSecondaryIndex(j, toRegAddrKey(r.getSocketAddress()), r.getEndpoint());
     }
 
-    private void removeIdentityIndex(Jedis j, Registration r) {
+    private void removeIdentityIndex(JedisBinaryCommands j, Registration r) {
         removeSecondaryIndex(j, toRegIdentityKey(r.getClientTransportData().getIdentity()), r.getEndpoint());
     }
 
-    private void removeSecondaryIndex(Jedis j, byte[] indexKey, String endpointName) {
-        // Watch the key to remove.
-        j.watch(indexKey);
+    private void removeSecondaryIndex(JedisBinaryCommands j, byte[] indexKey, String endpointName) {
+        client.executeOnKeyNode(j, indexKey, node -> {
+            // Watch the key to remove.
+            node.watch(indexKey);
+
+            byte[] epFromAddr = node.get(indexKey);
+            // Delete the key if needed.
+            if (Arrays.equals(epFromAddr, endpointName.getBytes(UTF_8))) {
+                // Try to delete the key
+                Transaction transaction = node.multi();
+                transaction.del(indexKey);
+                transaction.exec();
+                // if transaction failed this is not an issue as the index is probably reused and we don't need to
+                // delete it anymore.
+            } else {
+                // the key must not be deleted.
+                node.unwatch();
+            }
+            return null;
+        });
+    }
+
+    private byte[] acquireLock(JedisBinaryCommands j, byte[] lockKey) {
+        return client.executeOnKeyNode(j, lockKey, node -> lock.acquire(node, lockKey));
+    }
 
-        byte[] epFromAddr = j.get(indexKey);
-        // Delete the key if needed.
-        if (Arrays.equals(epFromAddr, endpointName.getBytes(UTF_8))) {
-            // Try to delete the key
-            Transaction transaction = j.multi();
-            transaction.del(indexKey);
-            transaction.exec();
-            // if transaction failed this is not an issue as the index is probably reused and we don't need to
-            // delete it anymore.
-        } else {
-            // the key must not be deleted.
-            j.unwatch();
-        }
+    private void releaseLock(JedisBinaryCommands j, byte[] lockKey, byte[] lockValue) {
+        client.executeOnKeyNode(j, lockKey, node -> {
+            lock.release(node, lockKey, lockValue);
+            return null;
+        });
     }
 
-    private void addOrUpdateExpiration(Jedis j, Registration registration) {
+    private void addOrUpdateExpiration(JedisBinaryCommands j, Registration registration) {
         j.zadd(endpointExpirationKey, registration.getExpirationTimeStamp(gracePeriod),
                 registration.getEndpoint().getBytes(UTF_8));
     }
 
-    private void removeExpiration(Jedis j, Registration registration) {
+    private void removeExpiration(JedisBinaryCommands j, Registration registration) {
         j.zrem(endpointExpirationKey, registration.getEndpoint().getBytes(UTF_8));
     }
 
+    private void addQueryIndex(JedisBinaryCommands j, Registration registration) {
+        updateQueryIndex(j, null, registration);
+    }
+
+    private void removeQueryIndex(JedisBinaryCommands j, Registration registration) {
+        updateQueryIndex(j, registration, null);
+    }
+
+    /**
+     * Update query indexes of a registration, <code>previous</code> or <code>updated</code> registration can be
+     * <code>null</code>. All sorted sets are updated using one pipeline.
+     */
+    private void updateQueryIndex(JedisBinaryCommands j, Registration previous, Registration updated) {
+        if (previous != null && updated != null && !previous.getId().equals(updated.getId())) {
+            removeQueryIndex(j, previous);
+            addQueryIndex(j, updated);
+            return;
+        }
+        Set<String> previousKeys = previous == null ? Collections.emptySet() : RegistrationQuery.getIndexKeys(previous);
+        Set<String> updatedKeys = updated == null ? Collections.emptySet() : RegistrationQuery.getIndexKeys(updated);
+        List<byte[]> keysToRemove = new ArrayList<>();
+        for (String key : previousKeys) {
+            if (!updatedKeys.contains(key)) {
+                keysToRemove.add(toQueryIndexKey(key));
+            }
+        }
+        List<byte[]> keysToAdd = new ArrayList<>();
+        for (String key : updatedKeys) {
+            if (!previousKeys.contains(key)) {
+                keysToAdd.add(toQueryIndexKey(key));
+            }
+        }
+        byte[] regId = (updated != null ? updated : previous).getId().getBytes(UTF_8);
+        client.updateSortedSets(j, regId, keysToAdd, keysToRemove);
+    }
+
+    private byte[] toQueryIndexKey(String queryKey) {
+        return toKey(registrationIdsByQueryKeyPrefix, queryKey);
+    }
+
     private byte[] toRegIdKey(String registrationId) {
-        return toKey(endpointByRegistrationIdPrefix, registrationId);
+        return toKey(endpointByRegistrationIdPrefix, toHashTag(registrationId));
+    }
+
+    private byte[] toRegIdKey(byte[] registrationId) {
+        return toKey(endpointByRegistrationIdPrefix.getBytes(UTF_8), toHashTag(registrationId));
     }
 
     private byte[] toRegAddrKey(InetSocketAddress addr) {
@@ -474,11 +878,26 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
     }
 
     private byte[] toEndpointKey(String endpoint) {
-        return toKey(registrationByEndpointPrefix, endpoint);
+        return toKey(registrationByEndpointPrefix, toHashTag(endpoint));
     }
 
     private byte[] toEndpointKey(byte[] endpoint) {
-        return toKey(registrationByEndpointPrefix.getBytes(UTF_8), endpoint);
+        return toKey(registrationByEndpointPrefix.getBytes(UTF_8), toHashTag(endpoint));
+    }
+
+    private byte[] toRegistrationUpdateKey(byte[] endpointKey) {
+        // same suffix (and so same hash tag) than the endpoint key
+        int prefixLength = registrationByEndpointPrefix.getBytes(UTF_8).length;
+        return toKey(registrationUpdateByEndpointPrefix.getBytes(UTF_8),
+                Arrays.copyOfRange(endpointKey, prefixLength, endpointKey.length));
+    }
+
+    private byte[] toObservationIdsKey(String registrationId) {
+        return toKey(observationIdsByRegistrationIdPrefix, toHashTag(registrationId));
+    }
+
+    private byte[] toObservationPathsKey(String registrationId) {
+        return toKey(observationPathsByRegistrationIdPrefix, toHashTag(registrationId));
     }
 
     private byte[] toObservationKey(ObservationIdentifier observationId) {
@@ -501,13 +920,59 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
         return registrationSerDes.deserialize(data);
     }
 
+    /**
+     * @return value stored at the endpoint key : when light updates are used, serialized registration is preceded by a
+     *         flag byte telling if data of a light update must be applied (see {@link #isLightlyUpdated(byte[])}).
+     */
+    private byte[] toStoredRegistration(Registration registration) {
+        byte[] data = serializeReg(registration);
+        if (!useLightUpdates) {
+            return data;
+        }
+        byte[] stored = new byte[data.length + 1];
+        stored[0] = NOT_LIGHTLY_UPDATED;
+        System.arraycopy(data, 0, stored, 1, data.length);
+        return stored;
+    }
+
+    /**
+     * @return true if data stored at the registration update key must be applied to the given stored registration.
+     */
+    private boolean isLightlyUpdated(byte[] stored) {
+        return useLightUpdates && stored[0] == LIGHTLY_UPDATED;
+    }
+
+    private Registration deserializeStoredReg(byte[] stored, byte[] updatableData) {
+        if (!useLightUpdates) {
+            return deserializeReg(stored);
+        }
+        Registration registration = deserializeReg(Arrays.copyOfRange(stored, 1, stored.length));
+        return updatableData == null ? registration
+                : registrationSerDes.applyUpdatableData(registration, updatableData);
+    }
+
+    /**
+     * @return true if the update only modifies lifetime, last update date or client transport data.
+     */
+    private boolean isLightUpdate(RegistrationUpdate update) {
+        return update.getSmsNumber() == null && update.getBindingMode() == null && update.getObjectLinks() == null
+                && update.getAlternatePath() == null && update.getSupportedContentFormats() == null
+                && update.getSupportedObjects() == null && update.getAvailableInstances() == null
+                && update.getProfile() == null && update.getAdditionalAttributes().isEmpty()
+                && update.getApplicationData().isEmpty();
+    }
+
     /* *************** Leshan Observation API **************** */
 
     @Override
     public Collection<Observation> addObservation(String registrationId, Observation observation, boolean addIfAbsent) {
 
         List<Observation> removed = new ArrayList<>();
-        try (Jedis j = pool.getResource()) {
+        try (Connection c = client.getConnection()) {
+            JedisBinaryCommands j = c.commands();
+            if (useScripts) {
+                return scriptedAddObservation(j, registrationId, observation, addIfAbsent);
+            }
 
             // fetch the client ep by registration ID index
             byte[] ep = j.get(toRegIdKey(registrationId));
@@ -519,7 +984,7 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
             byte[] lockValue = null;
             byte[] lockKey = toLockKey(ep);
             try {
-                lockValue = lock.acquire(j, lockKey);
+                lockValue = acquireLock(j, lockKey);
 
                 // Add and Get previous observation
                 byte[] previousValue;
@@ -536,7 +1001,7 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
                 }
 
                 // secondary index to get the list by registrationId
-                j.lpush(toKey(observationIdsByRegistrationIdPrefix, registrationId), obsId);
+                j.lpush(toObservationIdsKey(registrationId), obsId);
 
                 // log any collisions
                 Observation previousObservation;
@@ -554,7 +1019,7 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
                 }
 
             } finally {
-                lock.release(j, lockKey, lockValue);
+                releaseLock(j, lockKey, lockValue);
             }
         }
         return removed;
@@ -572,7 +1037,11 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
 
     @Override
     public Observation removeObservation(String registrationId, ObservationIdentifier observationId) {
-        try (Jedis j = pool.getResource()) {
+        try (Connection c = client.getConnection()) {
+            JedisBinaryCommands j = c.commands();
+            if (useScripts) {
+                return scriptedRemoveObservation(j, registrationId, observationId);
+            }
 
             // fetch the client ep by registration ID index
             byte[] ep = j.get(toRegIdKey(registrationId));
@@ -584,7 +1053,7 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
             byte[] lockValue = null;
             byte[] lockKey = toLockKey(ep);
             try {
-                lockValue = lock.acquire(j, lockKey);
+                lockValue = acquireLock(j, lockKey);
 
                 Observation observation = unsafeGetObservation(j, observationId);
                 if (observation != null
@@ -595,14 +1064,15 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
                 return null;
 
             } finally {
-                lock.release(j, lockKey, lockValue);
+                releaseLock(j, lockKey, lockValue);
             }
         }
     }
 
     @Override
     public Observation getObservation(String registrationId, ObservationIdentifier observationId) {
-        try (Jedis j = pool.getResource()) {
+        try (Connection c = client.getConnection()) {
+            JedisBinaryCommands j = c.commands();
             Observation observation = unsafeGetObservation(j, observationId);
             if (observation != null && registrationId.equals(observation.getRegistrationId())) {
                 return observation;
@@ -613,21 +1083,28 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
 
     @Override
     public Observation getObservation(ObservationIdentifier observationId) {
-        try (Jedis j = pool.getResource()) {
+        try (Connection c = client.getConnection()) {
+            JedisBinaryCommands j = c.commands();
             return unsafeGetObservation(j, observationId);
         }
     }
 
     @Override
     public Collection<Observation> getObservations(String registrationId) {
-        try (Jedis j = pool.getResource()) {
+        try (Connection c = client.getConnection()) {
+            JedisBinaryCommands j = c.commands();
             return unsafeGetObservations(j, registrationId);
         }
     }
 
     @Override
     public Collection<Observation> removeObservations(String registrationId) {
-        try (Jedis j = pool.getResource()) {
+        try (Connection c = client.getConnection()) {
+            JedisBinaryCommands j = c.commands();
+            if (useScripts) {
+                return scriptedRemoveAllObservations(j, registrationId);
+            }
+
             // check registration exists
             Registration registration = getRegistration(j, registrationId);
             if (registration == null)
@@ -636,71 +1113,151 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
             // get endpoint and create lock
             String endpoint = registration.getEndpoint();
             byte[] lockValue = null;
-            byte[] lockKey = toKey(endpointLockPrefix, endpoint);
+            byte[] lockKey = toLockKey(endpoint);
             try {
-                lockValue = lock.acquire(j, lockKey);
+                lockValue = acquireLock(j, lockKey);
 
                 return unsafeRemoveAllObservations(j, registrationId);
             } finally {
-                lock.release(j, lockKey, lockValue);
+                releaseLock(j, lockKey, lockValue);
             }
         }
     }
 
-    /* *************** Observation utility functions **************** */
-
-    private Registration getRegistration(Jedis j, String registrationId) {
-        byte[] ep = j.get(toRegIdKey(registrationId));
-        if (ep == null) {
-            return null;
-        }
-        byte[] data = j.get(toEndpointKey(ep));
-        if (data == null) {
-            return null;
-        }
+    /* *************** Near cache utility functions **************** */
 
-        return deserializeReg(data);
+    private List<String> toNearCacheKeys(Registration registration) {
+        return Arrays.asList( //
+                new String(toEndpointKey(registration.getEndpoint()), UTF_8), //
+                new String(toRegIdKey(registration.getId()), UTF_8), //
+                new String(toRegAddrKey(registration.getSocketAddress()), UTF_8), //
+                new String(toRegIdentityKey(registration.getClientTransportData().getIdentity()), UTF_8));
     }
 
-    private Collection<Observation> unsafeGetObservations(Jedis j, String registrationId) {
-        Collection<Observation> result = new ArrayList<>();
-        for (byte[] obsId : j.lrange(toKey(observationIdsByRegistrationIdPrefix, registrationId), 0, -1)) {
-            byte[] obs = j.get(toObservationKey(obsId));
-            if (obs != null) {
-                result.add(deserializeObs(obs));
+    /**
+     * Get the registration for the given lookup key from the near cache or load it from Redis. Concurrent loads of the
+     * same key share the same read.
+     *
+     * @param matches check that the cached registration is the one looked up.
+     * @param loader read the registration from Redis.
+     */
+    private Registration getRegistrationByLookupKey(byte[] key, Predicate<Registration> matches,
+            Function<JedisBinaryCommands, Registration> loader) {
+        if (nearCache != null) {
+            Registration registration = nearCache.get(new String(key, UTF_8), () -> load(loader),
+                    this::toNearCacheKeys);
+            if (registration == null || matches.test(registration)) {
+                return registration;
             }
         }
-        return result;
+        return load(loader);
     }
 
-    private Observation unsafeGetObservation(Jedis j, ObservationIdentifier observationId) {
-        byte[] obs = j.get(toObservationKey(observationId));
-        if (obs == null) {
-            return null;
-        } else {
-            return deserializeObs(obs);
+    private Registration load(Function<JedisBinaryCommands, Registration> loader) {
+        try (Connection c = client.getConnection()) {
+            return loader.apply(c.commands());
         }
     }
 
-    private void unsafeRemoveObservation(Jedis j, String registrationId, ObservationIdentifier observationId) {
-        byte[] obsId = toObservationId(observationId);
+    private Registration getFromNearCache(byte[] key) {
+        if (nearCache == null) {
+            return null;
+        }
+        return nearCache.get(new String(key, UTF_8));
+    }
+
+    private long nearCacheVersion() {
+        return nearCache == null ? 0 : nearCache.version();
+    }
+
+    private Registration putInNearCache(Registration registration, long version) {
+        if (nearCache != null && registration != null) {
+            nearCache.put(toNearCacheKeys(registration), registration, version);
+        }
+        return registration;
+    }
+
+    private void invalidateNearCache(JedisBinaryCommands j, Registration registration, Registration previous) {
+        if (nearCache == null || registration == null) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(toNearCacheKeys(registration));
+        if (previous != null) {
+            keys.addAll(toNearCacheKeys(previous));
+        }
+        nearCache.invalidate(j, keys);
+    }
+
+    /* *************** Observation utility functions **************** */
+
+    private Registration getRegistration(JedisBinaryCommands j, String registrationId) {
+        return getRegistrationByIndex(j, toRegIdKey(registrationId));
+    }
+
+    private Registration getRegistrationByIndex(JedisBinaryCommands j, byte[] indexKey) {
+        if (useScripts) {
+            byte[] data = scriptedGetByIndex(j, indexKey);
+            return data == null ? null : deserializeReg(data);
+        }
+
+        byte[] ep = j.get(indexKey);
+        if (ep == null) {
+            return null;
+        }
+        return getRegistrationByEndpointKey(j, toEndpointKey(ep));
+    }
+
+    private Collection<Observation> unsafeGetObservations(JedisBinaryCommands j, String registrationId) {
+        List<byte[]> keys = new ArrayList<>();
+        for (byte[] obsId : j.lrange(toObservationIdsKey(registrationId), 0, -1)) {
+            keys.add(toObservationKey(obsId));
+        }
+
+        Collection<Observation> result = new ArrayList<>(keys.size());
+        for (byte[] obs : mget(j, keys)) {
+            if (obs != null) {
+                result.add(deserializeObs(obs));
+            }
+        }
+        return result;
+    }
+
+    private Observation unsafeGetObservation(JedisBinaryCommands j, ObservationIdentifier observationId) {
+        byte[] obs = j.get(toObservationKey(observationId));
+        if (obs == null) {
+            return null;
+        } else {
+            return deserializeObs(obs);
+        }
+    }
+
+    private void unsafeRemoveObservation(JedisBinaryCommands j, String registrationId,
+            ObservationIdentifier observationId) {
+        byte[] obsId = toObservationId(observationId);
         if (j.del(toObservationKey(obsId)) > 0L) {
-            j.lrem(toKey(observationIdsByRegistrationIdPrefix, registrationId), 0, obsId);
+            j.lrem(toObservationIdsKey(registrationId), 0, obsId);
         }
     }
 
-    private Collection<Observation> unsafeRemoveAllObservations(Jedis j, String registrationId) {
+    private Collection<Observation> unsafeRemoveAllObservations(JedisBinaryCommands j, String registrationId) {
         Collection<Observation> removed = new ArrayList<>();
-        byte[] regIdKey = toKey(observationIdsByRegistrationIdPrefix, registrationId);
+        byte[] regIdKey = toObservationIdsKey(registrationId);
 
         // fetch all observations by token
+        List<byte[]> keys = new ArrayList<>();
         for (byte[] obsId : j.lrange(regIdKey, 0, -1)) {
-            byte[] key = toObservationKey(obsId);
-            byte[] obs = j.get(key);
+            keys.add(toObservationKey(obsId));
+        }
+        for (byte[] obs : mget(j, keys)) {
             if (obs != null) {
                 removed.add(deserializeObs(obs));
             }
-            j.del(key);
+        }
+
+        // delete them
+        for (int from = 0; from < keys.size(); from += batchSize) {
+            List<byte[]> batch = keys.subList(from, Math.min(from + batchSize, keys.size()));
+            client.del(j, batch);
         }
         j.del(regIdKey);
 
@@ -715,8 +1272,525 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
         return observationSerDes.deserialize(data);
     }
 
+    /* *************** Scripts mode **************** */
+
+    private static final int MAX_ATTEMPTS = 10;
+    private static final byte[] EMPTY = new byte[0];
+    private static final byte[] HASH_TAG_START = "{".getBytes(UTF_8);
+    private static final byte[] HASH_TAG_END = "}".getBytes(UTF_8);
+    private static final byte[] TRUE = "1".getBytes(UTF_8);
+    private static final byte[] FALSE = "0".getBytes(UTF_8);
+
+    /**
+     * Get the serialized registration referenced by the given secondary index key or <code>null</code> if there is
+     * none.
+     */
+    private byte[] scriptedGetByIndex(JedisBinaryCommands j, byte[] indexKey) {
+        return (byte[]) RegistrationStoreScripts.GET_BY_INDEX.eval(j, Collections.singletonList(indexKey),
+                Arrays.asList(registrationByEndpointKeyStart(), useHashTags ? HASH_TAG_END : EMPTY));
+    }
+
+    private byte[] registrationByEndpointKeyStart() {
+        byte[] prefix = registrationByEndpointPrefix.getBytes(UTF_8);
+        return useHashTags ? toKey(prefix, HASH_TAG_START) : prefix;
+    }
+
+    private Deregistration scriptedAddRegistration(JedisBinaryCommands j, Registration registration) {
+        byte[] data = serializeReg(registration);
+        // optimistically expect there is no registration for this endpoint
+        byte[] expectedData = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Registration expected = expectedData == null ? null : deserializeReg(expectedData);
+            WriteResult result = writeRegistration(j, expectedData, expected, registration, data, true);
+            if (result.succeed) {
+                return expected == null ? null : new Deregistration(expected, result.removedObservations);
+            }
+            expectedData = result.current;
+        }
+        throw new IllegalStateException(String.format("Unable to add registration for endpoint %s after %d attempts",
+                registration.getEndpoint(), MAX_ATTEMPTS));
+    }
+
+    private UpdatedRegistration scriptedUpdateRegistration(JedisBinaryCommands j, RegistrationUpdate update) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            byte[] data = scriptedGetByIndex(j, toRegIdKey(update.getRegistrationId()));
+            if (data == null) {
+                return null;
+            }
+            Registration r = deserializeReg(data);
+            if (!r.getId().equals(update.getRegistrationId())) {
+                return null;
+            }
+
+            Registration updatedRegistration = update.update(r);
+            if (writeRegistration(j, data, r, updatedRegistration, serializeReg(updatedRegistration), false).succeed) {
+                return new UpdatedRegistration(r, updatedRegistration);
+            }
+        }
+        throw new IllegalStateException(String.format("Unable to update registration %s after %d attempts",
+                update.getRegistrationId(), MAX_ATTEMPTS));
+    }
+
+    private Deregistration scriptedRemoveRegistration(JedisBinaryCommands j, String registrationId,
+            boolean removeOnlyIfNotAlive) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            byte[] data = scriptedGetByIndex(j, toRegIdKey(registrationId));
+            if (data == null) {
+                return null;
+            }
+            Registration r = deserializeReg(data);
+            if (!r.getId().equals(registrationId) || (removeOnlyIfNotAlive && r.isAlive(gracePeriod))) {
+                return null;
+            }
+
+            WriteResult result = writeRegistration(j, data, r, null, null, true);
+            if (result.succeed) {
+                return new Deregistration(r, result.removedObservations);
+            }
+        }
+        throw new IllegalStateException(
+                String.format("Unable to remove registration %s after %d attempts", registrationId, MAX_ATTEMPTS));
+    }
+
+    /**
+     * Atomically replace the <code>expected</code> registration by the <code>registration</code> one and maintain all
+     * indexes. Nothing is modified if the stored registration is not the expected one anymore.
+     *
+     * @param expectedData the serialized expected registration or <code>null</code> if no registration is expected.
+     * @param expected the expected registration or <code>null</code> if no registration is expected.
+     * @param registration the new registration or <code>null</code> to remove the expected one.
+     * @param data the serialized new registration or <code>null</code> to remove the expected one.
+     * @param removeObservations <code>true</code> if observations of the expected registration must be removed.
+     */
+    private WriteResult writeRegistration(JedisBinaryCommands j, byte[] expectedData, Registration expected,
+            Registration registration, byte[] data, boolean removeObservations) {
+        List<byte[]> keys = new ArrayList<>();
+        List<byte[]> args = new ArrayList<>();
+        prepareWriteRegistration(keys, args, expectedData, expected, registration, data, removeObservations);
+        return toWriteResult(RegistrationStoreScripts.WRITE_REGISTRATION.eval(j, keys, args));
+    }
+
+    /**
+     * Remove given expired registrations, sending all scripts in one pipeline.
+     *
+     * @return the write results, in the same order than given registrations.
+     */
+    private List<WriteResult> removeExpiredRegistrations(JedisBinaryCommands j, List<byte[]> data,
+            List<Registration> registrations) {
+        Jedis jedis = client.toJedis(j);
+        RegistrationStoreScripts.WRITE_REGISTRATION.load(jedis);
+        Pipeline p = jedis.pipelined();
+        List<Response<Object>> responses = new ArrayList<>(registrations.size());
+        for (int i = 0; i < registrations.size(); i++) {
+            List<byte[]> keys = new ArrayList<>();
+            List<byte[]> args = new ArrayList<>();
+            prepareWriteRegistration(keys, args, data.get(i), registrations.get(i), null, null, true);
+            responses.add(RegistrationStoreScripts.WRITE_REGISTRATION.eval(p, keys, args));
+        }
+        p.sync();
+
+        List<WriteResult> results = new ArrayList<>(responses.size());
+        for (Response<Object> response : responses) {
+            results.add(toWriteResult(response.get()));
+        }
+        return results;
+    }
+
+    private void prepareWriteRegistration(List<byte[]> keys, List<byte[]> args, byte[] expectedData,
+            Registration expected, Registration registration, byte[] data, boolean removeObservations) {
+        boolean removeExpectedObservations = removeObservations && expected != null;
+
+        Registration reference = registration != null ? registration : expected;
+        byte[] endpoint = reference.getEndpoint().getBytes(UTF_8);
+
+        // secondary indexes to set
+        List<byte[]> indexesToSet = new ArrayList<>();
+        if (registration != null) {
+            indexesToSet.add(toRegIdKey(registration.getId()));
+            indexesToSet.add(toRegAddrKey(registration.getSocketAddress()));
+            indexesToSet.add(toRegIdentityKey(registration.getClientTransportData().getIdentity()));
+        }
+        // secondary indexes to delete if they still refer to this endpoint
+        List<byte[]> indexesToDelete = new ArrayList<>();
+        if (expected != null) {
+            for (byte[] key : Arrays.asList(toRegIdKey(expected.getId()), toRegAddrKey(expected.getSocketAddress()),
+                    toRegIdentityKey(expected.getClientTransportData().getIdentity()))) {
+                if (!containsKey(indexesToSet, key)) {
+                    indexesToDelete.add(key);
+                }
+            }
+        }
+        // query indexes
+        Set<String> previousKeys = expected == null ? Collections.emptySet() : RegistrationQuery.getIndexKeys(expected);
+        Set<String> updatedKeys = registration == null ? Collections.emptySet()
+                : RegistrationQuery.getIndexKeys(registration);
+        boolean sameId = expected != null && registration != null && expected.getId().equals(registration.getId());
+        List<byte[]> queryIndexesToAdd = new ArrayList<>();
+        for (String key : updatedKeys) {
+            if (!sameId || !previousKeys.contains(key)) {
+                queryIndexesToAdd.add(toQueryIndexKey(key));
+            }
+        }
+        List<byte[]> queryIndexesToRemove = new ArrayList<>();
+        for (String key : previousKeys) {
+            if (!sameId || !updatedKeys.contains(key)) {
+                queryIndexesToRemove.add(toQueryIndexKey(key));
+            }
+        }
+
+        keys.add(toEndpointKey(reference.getEndpoint()));
+        keys.add(endpointExpirationKey);
+        keys.add(toObservationIdsKey(expected == null ? "" : expected.getId()));
+        keys.add(toObservationPathsKey(expected == null ? "" : expected.getId()));
+        keys.addAll(indexesToSet);
+        keys.addAll(indexesToDelete);
+        keys.addAll(queryIndexesToAdd);
+        keys.addAll(queryIndexesToRemove);
+
+        args.add(expectedData == null ? EMPTY : expectedData);
+        args.add(data == null ? EMPTY : data);
+        args.add(endpoint);
+        args.add(registration == null ? EMPTY
+                : Long.toString(registration.getExpirationTimeStamp(gracePeriod)).getBytes(UTF_8));
+        args.add(registration == null ? EMPTY : registration.getId().getBytes(UTF_8));
+        args.add(expected == null ? EMPTY : expected.getId().getBytes(UTF_8));
+        args.add(removeExpectedObservations ? TRUE : FALSE);
+        args.add(Integer.toString(indexesToSet.size()).getBytes(UTF_8));
+        args.add(Integer.toString(indexesToDelete.size()).getBytes(UTF_8));
+        args.add(Integer.toString(queryIndexesToAdd.size()).getBytes(UTF_8));
+        args.add(Integer.toString(queryIndexesToRemove.size()).getBytes(UTF_8));
+        args.add(observationByIdPrefix);
+    }
+
+    private WriteResult toWriteResult(Object scriptResult) {
+        List<Object> result = toList(scriptResult);
+        if (((Long) result.get(0)) == 0L) {
+            return new WriteResult(result.size() > 1 ? (byte[]) result.get(1) : null);
+        }
+        List<Observation> removedObservations = new ArrayList<>(result.size() - 1);
+        for (Object obs : result.subList(1, result.size())) {
+            removedObservations.add(deserializeObs((byte[]) obs));
+        }
+        return new WriteResult(removedObservations);
+    }
+
+    private static boolean containsKey(List<byte[]> keys, byte[] key) {
+        for (byte[] k : keys) {
+            if (Arrays.equals(k, key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> toList(Object scriptResult) {
+        return (List<Object>) scriptResult;
+    }
+
+    private static class WriteResult {
+        private final boolean succeed;
+        private final byte[] current;
+        private final List<Observation> removedObservations;
+
+        // write failed because current registration is not the expected one
+        public WriteResult(byte[] current) {
+            this.succeed = false;
+            this.current = current;
+            this.removedObservations = null;
+        }
+
+        // write succeed
+        public WriteResult(List<Observation> removedObservations) {
+            this.succeed = true;
+            this.current = null;
+            this.removedObservations = removedObservations;
+        }
+    }
+
+    private Collection<Observation> scriptedAddObservation(JedisBinaryCommands j, String registrationId,
+            Observation observation, boolean addIfAbsent) {
+        byte[] obsId = toObservationId(observation.getId());
+        List<Object> result = toList(RegistrationStoreScripts.ADD_OBSERVATION.eval(j, //
+                Arrays.asList(toRegIdKey(registrationId), toObservationKey(obsId), toObservationIdsKey(registrationId),
+                        toObservationPathsKey(registrationId)),
+                Arrays.asList(serializeObs(observation), obsId, addIfAbsent ? TRUE : FALSE,
+                        toObservedPaths(observation), observationByIdPrefix)));
+        if (result == null) {
+            throw new IllegalStateException(String.format(
+                    "can not add observation %s there is no registration with id %s", observation, registrationId));
+        }
+
+        // log any collisions
+        byte[] previousValue = (byte[]) result.get(0);
+        if (previousValue.length != 0) {
+            LOG.warn("Token collision ? observation [{}] will be replaced by observation [{}] ",
+                    deserializeObs(previousValue), observation);
+        }
+
+        // existing observations for the same path and registration id were cancelled by the script.
+        List<Observation> removed = new ArrayList<>(result.size() - 1);
+        for (Object obs : result.subList(1, result.size())) {
+            removed.add(deserializeObs((byte[]) obs));
+        }
+        return removed;
+    }
+
+    /**
+     * @return the paths observed by given observation, two observations have the same value if they have the same paths
+     *         (see {@link #areTheSamePaths(Observation, Observation)}).
+     */
+    private byte[] toObservedPaths(Observation observation) {
+        if (observation instanceof SingleObservation) {
+            return ("S" + ((SingleObservation) observation).getPath()).getBytes(UTF_8);
+        }
+        if (observation instanceof CompositeObservation) {
+            return ("C" + ((CompositeObservation) observation).getPaths()).getBytes(UTF_8);
+        }
+        throw new IllegalArgumentException(String.format("Unsupported kind of Observation : %s", observation));
+    }
+
+    private Observation scriptedRemoveObservation(JedisBinaryCommands j, String registrationId,
+            ObservationIdentifier observationId) {
+        if (registrationId == null) {
+            // registration must be known to find observation indexes
+            Observation observation = unsafeGetObservation(j, observationId);
+            if (observation == null) {
+                return null;
+            }
+            registrationId = observation.getRegistrationId();
+        }
+        byte[] obsId = toObservationId(observationId);
+        byte[] removed = (byte[]) RegistrationStoreScripts.REMOVE_OBSERVATION.eval(j,
+                Arrays.asList(toObservationIdsKey(registrationId), toObservationPathsKey(registrationId),
+                        toObservationKey(obsId)),
+                Collections.singletonList(obsId));
+        return removed == null ? null : deserializeObs(removed);
+    }
+
+    private Collection<Observation> scriptedRemoveAllObservations(JedisBinaryCommands j, String registrationId) {
+        List<Object> result = toList(RegistrationStoreScripts.REMOVE_ALL_OBSERVATIONS.eval(j,
+                Arrays.asList(toObservationIdsKey(registrationId), toObservationPathsKey(registrationId)),
+                Collections.singletonList(observationByIdPrefix)));
+        Collection<Observation> removed = new ArrayList<>(result.size());
+        for (Object obs : result) {
+            removed.add(deserializeObs((byte[]) obs));
+        }
+        return removed;
+    }
+
     /* *************** Expiration handling **************** */
 
+    /* *************** Leshan Asynchronous API **************** */
+
+    /**
+     * @return an asynchronous access to this store.
+     *         <p>
+     *         Jedis does blocking I/O, so this API does not make operations non-blocking : it offloads them to the
+     *         asynchronous executor (see {@link Builder#setAsyncExecutor(ExecutorService)}) to free the calling thread.
+     *         Lookups of registrations are queued and executed by batches of up to {@code batchSize} lookups needing 2
+     *         round trips per batch, other operations are the blocking operations of this store each executed by a
+     *         thread of the executor.
+     */
+    public AsyncRegistrationStore async() {
+        return asyncStore;
+    }
+
+    private class AsyncStore implements AsyncRegistrationStore {
+
+        private final Queue<Lookup> pendingLookups = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger runningBatches = new AtomicInteger();
+
+        @Override
+        public CompletableFuture<Deregistration> addRegistration(Registration registration) {
+            return CompletableFuture.supplyAsync(() -> RedisRegistrationStore.this.addRegistration(registration),
+                    asyncExecutor);
+        }
+
+        @Override
+        public CompletableFuture<UpdatedRegistration> updateRegistration(RegistrationUpdate update) {
+            return CompletableFuture.supplyAsync(() -> RedisRegistrationStore.this.updateRegistration(update),
+                    asyncExecutor);
+        }
+
+        @Override
+        public CompletableFuture<Deregistration> removeRegistration(String registrationId) {
+            return CompletableFuture.supplyAsync(() -> RedisRegistrationStore.this.removeRegistration(registrationId),
+                    asyncExecutor);
+        }
+
+        @Override
+        public CompletableFuture<Registration> getRegistration(String registrationId) {
+            Registration cached = getFromNearCache(toRegIdKey(registrationId));
+            if (cached != null && cached.getId().equals(registrationId)) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            return lookup(toRegIdKey(registrationId), null);
+        }
+
+        @Override
+        public CompletableFuture<Registration> getRegistrationByEndpoint(String endpoint) {
+            Validate.notNull(endpoint);
+            Registration cached = getFromNearCache(toEndpointKey(endpoint));
+            if (cached != null && cached.getEndpoint().equals(endpoint)) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            return lookup(null, toEndpointKey(endpoint));
+        }
+
+        @Override
+        public CompletableFuture<Registration> getRegistrationByAdress(InetSocketAddress address) {
+            Validate.notNull(address);
+            Registration cached = getFromNearCache(toRegAddrKey(address));
+            if (cached != null && cached.getSocketAddress().equals(address)) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            return lookup(toRegAddrKey(address), null);
+        }
+
+        @Override
+        public CompletableFuture<Registration> getRegistrationByIdentity(LwM2mIdentity identity) {
+            Validate.notNull(identity);
+            Registration cached = getFromNearCache(toRegIdentityKey(identity));
+            if (cached != null && cached.getClientTransportData().getIdentity().equals(identity)) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            return lookup(toRegIdentityKey(identity), null);
+        }
+
+        @Override
+        public CompletableFuture<Collection<Observation>> addObservation(String registrationId, Observation observation,
+                boolean addIfAbsent) {
+            return CompletableFuture.supplyAsync(
+                    () -> RedisRegistrationStore.this.addObservation(registrationId, observation, addIfAbsent),
+                    asyncExecutor);
+        }
+
+        @Override
+        public CompletableFuture<Observation> removeObservation(String registrationId,
+                ObservationIdentifier observationId) {
+            return CompletableFuture.supplyAsync(
+                    () -> RedisRegistrationStore.this.removeObservation(registrationId, observationId), asyncExecutor);
+        }
+
+        @Override
+        public CompletableFuture<Collection<Observation>> getObservations(String registrationId) {
+            return CompletableFuture.supplyAsync(() -> RedisRegistrationStore.this.getObservations(registrationId),
+                    asyncExecutor);
+        }
+
+        @Override
+        public CompletableFuture<Collection<Observation>> removeObservations(String registrationId) {
+            return CompletableFuture.supplyAsync(() -> RedisRegistrationStore.this.removeObservations(registrationId),
+                    asyncExecutor);
+        }
+
+        /**
+         * Queue a lookup by secondary index key or by endpoint key.
+         */
+        private CompletableFuture<Registration> lookup(byte[] indexKey, byte[] endpointKey) {
+            Lookup lookup = new Lookup(indexKey, endpointKey, nearCacheVersion());
+            pendingLookups.add(lookup);
+            scheduleBatch();
+            return lookup.future;
+        }
+
+        private void scheduleBatch() {
+            int running;
+            do {
+                running = runningBatches.get();
+                if (running >= asyncConcurrency) {
+                    // a running batch will handle pending lookups
+                    return;
+                }
+            } while (!runningBatches.compareAndSet(running, running + 1));
+
+            try {
+                asyncExecutor.execute(this::executeBatches);
+            } catch (RejectedExecutionException e) {
+                runningBatches.decrementAndGet();
+                Lookup lookup;
+                while ((lookup = pendingLookups.poll()) != null) {
+                    lookup.future.completeExceptionally(e);
+                }
+            }
+        }
+
+        private void executeBatches() {
+            try {
+                List<Lookup> batch = new ArrayList<>(batchSize);
+                do {
+                    batch.clear();
+                    Lookup lookup;
+                    while (batch.size() < batchSize && (lookup = pendingLookups.poll()) != null) {
+                        batch.add(lookup);
+                    }
+                    if (!batch.isEmpty()) {
+                        executeBatch(batch);
+                    }
+                } while (!batch.isEmpty());
+            } finally {
+                runningBatches.decrementAndGet();
+                // lookups could be added after last poll but before decrement
+                if (!pendingLookups.isEmpty()) {
+                    scheduleBatch();
+                }
+            }
+        }
+
+        private void executeBatch(List<Lookup> batch) {
+            try (Connection c = client.getConnection()) {
+                JedisBinaryCommands j = c.commands();
+
+                // get endpoints of lookups by secondary index
+                List<byte[]> indexKeys = new ArrayList<>();
+                for (Lookup lookup : batch) {
+                    if (lookup.indexKey != null) {
+                        indexKeys.add(lookup.indexKey);
+                    }
+                }
+                Iterator<byte[]> endpoints = mget(j, indexKeys).iterator();
+                List<byte[]> endpointKeys = new ArrayList<>(batch.size());
+                for (Lookup lookup : batch) {
+                    if (lookup.indexKey != null) {
+                        byte[] endpoint = endpoints.next();
+                        lookup.endpointKey = endpoint == null ? null : toEndpointKey(endpoint);
+                    }
+                    if (lookup.endpointKey != null) {
+                        endpointKeys.add(lookup.endpointKey);
+                    }
+                }
+
+                // get registrations
+                Iterator<Registration> registrations = getRegistrationsByEndpointKeys(j, endpointKeys).iterator();
+                for (Lookup lookup : batch) {
+                    if (lookup.endpointKey == null) {
+                        lookup.future.complete(null);
+                    } else {
+                        lookup.future.complete(putInNearCache(registrations.next(), lookup.version));
+                    }
+                }
+            } catch (RuntimeException e) {
+                for (Lookup lookup : batch) {
+                    lookup.future.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private static class Lookup {
+        private final byte[] indexKey;
+        private byte[] endpointKey;
+        private final long version;
+        private final CompletableFuture<Registration> future = new CompletableFuture<>();
+
+        public Lookup(byte[] indexKey, byte[] endpointKey, long version) {
+            this.indexKey = indexKey;
+            this.endpointKey = endpointKey;
+            this.version = version;
+        }
+    }
+
     /**
      * Start regular cleanup of dead registrations.
      */
@@ -725,6 +1799,9 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
         if (!started) {
             started = true;
             cleanerTask = schedExecutor.scheduleAtFixedRate(new Cleaner(), cleanPeriod, cleanPeriod, TimeUnit.SECONDS);
+            if (nearCache != null) {
+                nearCache.start();
+            }
         }
     }
 
@@ -739,18 +1816,34 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
                 cleanerTask.cancel(false);
                 cleanerTask = null;
             }
+            if (cleanerLeaseDuration > 0) {
+                releaseCleanerLease();
+            }
+            if (nearCache != null) {
+                nearCache.stop();
+            }
         }
     }
 
     /**
-     * Destroy "cleanup" scheduler.
+     * Destroy "cleanup" scheduler and asynchronous executor if it was created by this store (see
+     * {@link Builder#setAsyncExecutor(ExecutorService)}).
      */
     @Override
     public synchronized void destroy() {
         started = false;
+        if (nearCache != null) {
+            nearCache.stop();
+        }
         schedExecutor.shutdownNow();
+        if (ownsAsyncExecutor) {
+            asyncExecutor.shutdownNow();
+        }
         try {
             schedExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            if (ownsAsyncExecutor) {
+                asyncExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            }
         } catch (InterruptedException e) {
             LOG.warn("Destroying RedisRegistrationStore was interrupted.", e);
             Thread.currentThread().interrupt();
@@ -762,21 +1855,70 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
         @Override
         public void run() {
 
-            try (Jedis j = pool.getResource()) {
+            try (Connection c = client.getConnection()) {
+
+                JedisBinaryCommands j = c.commands();
+                if (cleanerLeaseDuration > 0 && !acquireCleanerLease(j)) {
+                    // another store is in charge of cleaning
+                    return;
+                }
+
                 List<byte[]> endpointsExpired = j.zrangeByScore(endpointExpirationKey, Double.NEGATIVE_INFINITY,
                         System.currentTimeMillis(), 0, cleanLimit);
 
+                List<byte[]> endpointKeys = new ArrayList<>(endpointsExpired.size());
                 for (byte[] endpoint : endpointsExpired) {
-                    byte[] regBytes = j.get(toEndpointKey(endpoint));
-                    if (regBytes != null) {
-                        Registration r = deserializeReg(regBytes);
-                        if (!r.isAlive(gracePeriod)) {
+                    endpointKeys.add(toEndpointKey(endpoint));
+                }
+
+                List<byte[]> expiredData = new ArrayList<>();
+                List<Registration> expiredRegistrations = new ArrayList<>();
+                if (useScripts) {
+                    // scripts need serialized data to check registrations were not modified in the meantime
+                    for (byte[] regBytes : mget(j, endpointKeys)) {
+                        if (regBytes != null) {
+                            Registration r = deserializeReg(regBytes);
+                            if (!r.isAlive(gracePeriod)) {
+                                expiredData.add(regBytes);
+                                expiredRegistrations.add(r);
+                            }
+                        }
+                    }
+                } else {
+                    for (Registration r : getRegistrationsByEndpointKeys(j, endpointKeys)) {
+                        if (r != null && !r.isAlive(gracePeriod)) {
+                            expiredRegistrations.add(r);
+                        }
+                    }
+                }
+
+                for (int from = 0; from < expiredRegistrations.size(); from += batchSize) {
+                    int to = Math.min(from + batchSize, expiredRegistrations.size());
+                    List<Registration> batch = expiredRegistrations.subList(from, to);
+
+                    List<Deregistration> deregs = new ArrayList<>(batch.size());
+                    if (useScripts) {
+                        List<WriteResult> results = removeExpiredRegistrations(j, expiredData.subList(from, to), batch);
+                        for (int i = 0; i < batch.size(); i++) {
+                            // registration or its observations were modified in the meantime if write fails, it
+                            // will be checked again at next cleaning.
+                            if (results.get(i).succeed) {
+                                deregs.add(new Deregistration(batch.get(i), results.get(i).removedObservations));
+                            }
+                        }
+                    } else {
+                        for (Registration r : batch) {
                             Deregistration dereg = removeRegistration(j, r.getId(), true);
-                            if (dereg != null)
-                                expirationListener.registrationExpired(dereg.getRegistration(),
-                                        dereg.getObservations());
+                            if (dereg != null) {
+                                deregs.add(dereg);
+                            }
                         }
                     }
+
+                    for (Deregistration dereg : deregs) {
+                        invalidateNearCache(j, dereg.getRegistration(), null);
+                        expirationListener.registrationExpired(dereg.getRegistration(), dereg.getObservations());
+                    }
                 }
             } catch (RuntimeException e) {
                 LOG.warn("Unexpected Exception while registration cleaning", e);
@@ -784,6 +1926,22 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
         }
     }
 
+    private boolean acquireCleanerLease(JedisBinaryCommands j) {
+        Object owned = RegistrationStoreScripts.ACQUIRE_LEASE.eval(j, Collections.singletonList(cleanerLeaseKey),
+                Arrays.asList(storeId, Long.toString(TimeUnit.SECONDS.toMillis(cleanerLeaseDuration)).getBytes(UTF_8)));
+        return ((Long) owned) == 1L;
+    }
+
+    private void releaseCleanerLease() {
+        try (Connection c = client.getConnection()) {
+            JedisBinaryCommands j = c.commands();
+            RegistrationStoreScripts.RELEASE_LEASE.eval(j, Collections.singletonList(cleanerLeaseKey),
+                    Collections.singletonList(storeId));
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to release registration cleaner lease", e);
+        }
+    }
+
     @Override
     public void setExpirationListener(ExpirationListener listener) {
         expirationListener = listener;
@@ -795,29 +1953,44 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
     public static class Builder {
 
         private final Pool<Jedis> pool;
+        private final JedisCluster cluster;
 
         private String prefix;
         private String registrationByEndpointPrefix;
+        private String registrationUpdateByEndpointPrefix;
         private String endpointByRegistrationIdPrefix;
         private String endpointBySocketAddressPrefix;
         private String endpointByIdentityPrefix;
         private String endpointLockPrefix;
         private String observationByIdPrefix;
         private String observationIdsByRegistrationIdPrefix;
+        private String observationPathsByRegistrationIdPrefix;
+        private String registrationIdsByQueryKeyPrefix;
         private String endpointExpirationKey;
+        private String cleanerLeaseKey;
 
         /** Time in seconds between 2 cleaning tasks (used to remove expired registration) */
         private long cleanPeriod;
         private int cleanLimit;
         /** extra time for registration lifetime in seconds */
         private long gracePeriod;
+        private int batchSize;
+        private long cleanerLeaseDuration;
 
         private ScheduledExecutorService schedExecutor;
+        private ExecutorService asyncExecutor;
+        private int asyncConcurrency;
         private JedisLock lock;
+        private boolean useScripts;
+        private boolean useHashTags;
+        private boolean useLightUpdates;
         private RegistrationSerDes registrationSerDes;
         private ObservationSerDes observationSerDes;
         private LwM2mIdentitySerDes identitySerDes;
         private LwM2mPeerSerDes peerSerDes;
+        private SerializationFormat serializationFormat;
+        private int nearCacheSize;
+        private String nearCacheInvalidationChannel;
 
         /**
          * Set the prefix for all keys and prefixes.
@@ -840,6 +2013,18 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
             return this;
         }
 
+        /**
+         * Set the key prefix for data modified by light registration updates lookup by endpoint (see
+         * {@link #setUseLightUpdates(boolean)}).
+         * <p>
+         * Default value is {@literal REGUPD#EP#}. Should not be {@code null} or empty and should not start with the
+         * registration by endpoint prefix.
+         */
+        public Builder setRegistrationUpdateByEndpointPrefix(String registrationUpdateByEndpointPrefix) {
+            this.registrationUpdateByEndpointPrefix = registrationUpdateByEndpointPrefix;
+            return this;
+        }
+
         /**
          * Set the key prefix for endpoint lookup by registration ID.
          * <p>
@@ -906,6 +2091,32 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
             return this;
         }
 
+        /**
+         * Set the key prefix for observation paths lookup by registration ID. It is a hash (observation id, observed
+         * paths) only used in scripts mode (see {@link #setUseScripts(boolean)}).
+         * <p>
+         * Default value is {@literal OBSPATHS#REGID#}. Should not be {@code null} or empty.
+         */
+        public Builder setObservationPathsByRegistrationIdPrefix(String observationPathsByRegistrationIdPrefix) {
+            this.observationPathsByRegistrationIdPrefix = observationPathsByRegistrationIdPrefix;
+            return this;
+        }
+
+        /**
+         * Set the prefix for query index lookup. For each key of a {@link RegistrationQuery}, it is a sorted set of
+         * registration ids.
+         * <p>
+         * Each registration is in the sorted set of {@link RegistrationQuery#ALL_KEY} and most registrations share the
+         * sorted sets of common objects, so with a Redis Cluster, these keys are hot keys located on a single node
+         * which handles all registration writes and all queries on them.
+         * <p>
+         * Default value is {@literal REGIDS#QUERY#}. Should not be {@code null} or empty.
+         */
+        public Builder setRegistrationIdsByQueryKeyPrefix(String registrationIdsByQueryKeyPrefix) {
+            this.registrationIdsByQueryKeyPrefix = registrationIdsByQueryKeyPrefix;
+            return this;
+        }
+
         /**
          * Set the key for expiration key lookup. It is a sorted set used for registration expiration (expiration date,
          * endpoint).
@@ -917,6 +2128,17 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
             return this;
         }
 
+        /**
+         * Set the key of the lease used to elect the store in charge of cleaning expired registrations (see
+         * {@link #setCleanerLeaseDuration(long)}).
+         * <p>
+         * Default value is {@literal CLEANER#LEASE}. Should not be {@code null} or empty.
+         */
+        public Builder setCleanerLeaseKey(String cleanerLeaseKey) {
+            this.cleanerLeaseKey = cleanerLeaseKey;
+            return this;
+        }
+
         /**
          * Set time between 2 periodic task about cleaning expired registration.
          * <p>
@@ -937,6 +2159,22 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
             return this;
         }
 
+        /**
+         * Set duration of the lease used to coordinate cleaning of expired registrations between several servers
+         * sharing the same Redis.
+         * <p>
+         * When set, at each clean period a store tries to acquire or renew the lease and only the store holding it
+         * cleans expired registrations, so servers do not compete for the same entries. If this store stops, the lease
+         * is released, if it crashes, another store takes over once the lease expired. The duration must be greater
+         * than the clean period.
+         * <p>
+         * Default value is {@literal 0 seconds}, meaning no lease is used and each store cleans expired registrations.
+         */
+        public Builder setCleanerLeaseDuration(long cleanerLeaseDuration) {
+            this.cleanerLeaseDuration = cleanerLeaseDuration;
+            return this;
+        }
+
         /**
          * Set some extra time added to registration lifetime when calculating if a registration expired.
          * <p>
@@ -947,6 +2185,17 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
             return this;
         }
 
+        /**
+         * Set maximum number of keys fetched with one command during bulk reads (e.g. when iterating over all
+         * registrations, getting observations of a registration or cleaning expired registrations).
+         * <p>
+         * Default value is {@literal 100}.
+         */
+        public Builder setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
         /**
          * Set {@link ScheduledExecutorService} used to launch period task about cleaning expired registration.
          */
@@ -955,6 +2204,29 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
             return this;
         }
 
+        /**
+         * Set {@link ExecutorService} used to execute the blocking operations offloaded by
+         * {@link RedisRegistrationStore#async()}.
+         * <p>
+         * An executor set here is not shut down by {@link RedisRegistrationStore#destroy()}, so it can be shared.
+         * Default implementation is a fixed thread pool of {@code asyncConcurrency} threads owned by the store.
+         */
+        public Builder setAsyncExecutor(ExecutorService asyncExecutor) {
+            this.asyncExecutor = asyncExecutor;
+            return this;
+        }
+
+        /**
+         * Set maximum number of registration lookup batches executed concurrently by
+         * {@link RedisRegistrationStore#async()}, so maximum number of Redis connections used for that.
+         * <p>
+         * Default value is {@literal 4}.
+         */
+        public Builder setAsyncConcurrency(int asyncConcurrency) {
+            this.asyncConcurrency = asyncConcurrency;
+            return this;
+        }
+
         /**
          * Set {@link JedisLock} implementation used to handle concurrent access to this store.
          * <p>
@@ -965,6 +2237,26 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
             return this;
         }
 
+        /**
+         * Use server side Lua scripts instead of {@link JedisLock} to handle concurrent access to this store.
+         * <p>
+         * Each write is executed atomically by a script which maintains all indexes and checks that the registration
+         * was not modified concurrently (in which case the operation is retried). No lock key is used : lookups, new
+         * registrations and observation operations need 1 round trip, registration updates and removals need 2 (the
+         * registration is read, then conditionally written), instead of about ten.
+         * <p>
+         * Scripts access keys which depend on stored data (e.g. observations of a registration), so this mode is only
+         * supported with a single Redis instance (see {@link #Builder(Pool)}). All stores sharing a Redis instance
+         * should use the same mode : observations added without scripts mode are not replaced by observations of the
+         * same paths added in scripts mode (see {@link #setObservationPathsByRegistrationIdPrefix(String)}).
+         * <p>
+         * Default value is {@code false}.
+         */
+        public Builder setUseScripts(boolean useScripts) {
+            this.useScripts = useScripts;
+            return this;
+        }
+
         /**
          * Set {@link RegistrationSerDes} instance used to serialize/de-serialize {@link Registration} to/from this
          * store.
@@ -999,20 +2291,122 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
             return this;
         }
 
+        /**
+         * Set {@link SerializationFormat} used by default {@link RegistrationSerDes} and {@link ObservationSerDes}.
+         * Data already stored in the other format can still be read.
+         * <p>
+         * Default value is {@link SerializationFormat#JSON}.
+         */
+        public Builder setSerializationFormat(SerializationFormat serializationFormat) {
+            this.serializationFormat = serializationFormat;
+            return this;
+        }
+
+        /**
+         * Enable a local cache of registrations in front of Redis, used to resolve registration by id, endpoint, socket
+         * address or identity (e.g. on each uplink request) without accessing Redis.
+         * <p>
+         * The cache is kept coherent using a Redis pub/sub channel (see
+         * {@link #setNearCacheInvalidationChannel(String)}) where each store modifying a registration publishes
+         * invalidations. So in a cluster, <strong>all servers sharing the Redis instance must enable it</strong>. The
+         * cache is only used between {@link RedisRegistrationStore#start()} and {@link RedisRegistrationStore#stop()},
+         * while subscribed to the channel.
+         * <p>
+         * Default value is {@literal 0} which means near cache is disabled, else it is the maximum number of cached
+         * entries (a registration uses up to 4 entries, 1 by lookup key).
+         */
+        public Builder setNearCacheSize(int nearCacheSize) {
+            this.nearCacheSize = nearCacheSize;
+            return this;
+        }
+
+        /**
+         * Set the pub/sub channel used to invalidate near caches (see {@link #setNearCacheSize(int)}).
+         * <p>
+         * Default value is {@literal NEARCACHE#REG}. Should not be {@code null} or empty.
+         */
+        public Builder setNearCacheInvalidationChannel(String nearCacheInvalidationChannel) {
+            this.nearCacheInvalidationChannel = nearCacheInvalidationChannel;
+            return this;
+        }
+
+        /**
+         * Wrap parts of keys identifying an endpoint or a registration in a
+         * <a href="https://redis.io/docs/reference/cluster-spec/#hash-tags">hash tag</a>, so all keys about one
+         * endpoint (registration and lock) or about one registration id (endpoint index and observation list) are
+         * stored in the same Redis Cluster slot.
+         * <p>
+         * Changing this value changes the keys used, so it can not be changed while registrations are stored.
+         * <p>
+         * Default value is {@code true} when using a {@link JedisCluster}, else {@code false}.
+         */
+        public Builder setUseHashTags(boolean useHashTags) {
+            this.useHashTags = useHashTags;
+            return this;
+        }
+
+        /**
+         * Store data modified by a registration update (lifetime, last update date and client transport data) in a
+         * separate small key next to the registration.
+         * <p>
+         * Then an update which does not modify object links, binding, SMS number or attributes (e.g. a plain lifetime
+         * refresh) only writes this small key and the expiration sorted set, instead of the whole registration and its
+         * indexes. The registration is flagged when lightly updated, so reads only fetch the small key of lightly
+         * updated registrations (with one more round trip) until the next full write.
+         * <p>
+         * Scripts mode (see {@link #setUseScripts(boolean)}) is not supported. Changing this value changes how
+         * registrations are stored, so it can not be changed while registrations are stored.
+         * <p>
+         * Default value is {@code false}.
+         */
+        public Builder setUseLightUpdates(boolean useLightUpdates) {
+            this.useLightUpdates = useLightUpdates;
+            return this;
+        }
+
         public Builder(Pool<Jedis> pool) {
+            this(pool, null);
+        }
+
+        /**
+         * Create a builder for a store using a Redis Cluster.
+         * <p>
+         * With a cluster, keys of the store are spread on all nodes : operations are executed using single key commands
+         * or commands grouping keys by node. Scripts mode (see {@link #setUseScripts(boolean)}) is not supported as
+         * scripts atomically access keys of several slots.
+         *
+         * @since 2.0
+         */
+        public Builder(JedisCluster cluster) {
+            this(null, cluster);
+        }
+
+        private Builder(Pool<Jedis> pool, JedisCluster cluster) {
             this.pool = pool;
+            this.cluster = cluster;
+            this.useHashTags = cluster != null;
             this.prefix = "REGSTORE#";
             this.registrationByEndpointPrefix = "REG#EP#";
+            this.registrationUpdateByEndpointPrefix = "REGUPD#EP#";
             this.endpointByRegistrationIdPrefix = "EP#REGID#";
             this.endpointBySocketAddressPrefix = "EP#ADDR#";
             this.endpointByIdentityPrefix = "EP#IDENTITY#";
             this.endpointLockPrefix = "LOCK#EP#";
             this.observationByIdPrefix = "OBS#OBSID#";
             this.observationIdsByRegistrationIdPrefix = "OBSIDS#REGID#";
+            this.observationPathsByRegistrationIdPrefix = "OBSPATHS#REGID#";
+            this.registrationIdsByQueryKeyPrefix = "REGIDS#QUERY#";
             this.endpointExpirationKey = "EXP#EP";
+            this.cleanerLeaseKey = "CLEANER#LEASE";
             this.cleanPeriod = 60;
             this.cleanLimit = 500;
             this.gracePeriod = 0;
+            this.batchSize = 100;
+            this.asyncConcurrency = 4;
+            this.cleanerLeaseDuration = 0;
+            this.serializationFormat = SerializationFormat.JSON;
+            this.nearCacheSize = 0;
+            this.nearCacheInvalidationChannel = "NEARCACHE#REG";
         }
 
         protected Builder generateDefaultValue() {
@@ -1029,7 +2423,7 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
                 if (peerSerDes == null) {
                     this.peerSerDes = new LwM2mPeerSerDes();
                 }
-                this.registrationSerDes = new RegistrationSerDes(peerSerDes);
+                this.registrationSerDes = new RegistrationSerDes(peerSerDes, serializationFormat);
             }
 
             if (this.identitySerDes == null) {
@@ -1037,7 +2431,7 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
             }
 
             if (this.observationSerDes == null) {
-                this.observationSerDes = new ObservationSerDes();
+                this.observationSerDes = new ObservationSerDes(new DefaultEndPointUriHandler(), serializationFormat);
             }
 
             return this;
@@ -1053,6 +2447,15 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
                 throw new IllegalArgumentException("registrationByEndpointPrefix should not be empty");
             }
 
+            if (this.registrationUpdateByEndpointPrefix == null || this.registrationUpdateByEndpointPrefix.isEmpty()) {
+                throw new IllegalArgumentException("registrationUpdateByEndpointPrefix should not be empty");
+            }
+
+            if (this.registrationUpdateByEndpointPrefix.startsWith(this.registrationByEndpointPrefix)) {
+                throw new IllegalArgumentException(
+                        "registrationUpdateByEndpointPrefix should not start with registrationByEndpointPrefix");
+            }
+
             if (this.endpointByRegistrationIdPrefix == null || this.endpointByRegistrationIdPrefix.isEmpty()) {
                 throw new IllegalArgumentException("endpointByRegistrationIdPrefix should not be empty");
             }
@@ -1078,14 +2481,58 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
                 throw new IllegalArgumentException("observationIdsByRegistrationIdPrefix should not be empty");
             }
 
+            if (this.observationPathsByRegistrationIdPrefix == null
+                    || this.observationPathsByRegistrationIdPrefix.isEmpty()) {
+                throw new IllegalArgumentException("observationPathsByRegistrationIdPrefix should not be empty");
+            }
+
+            if (this.registrationIdsByQueryKeyPrefix == null || this.registrationIdsByQueryKeyPrefix.isEmpty()) {
+                throw new IllegalArgumentException("registrationIdsByQueryKeyPrefix should not be empty");
+            }
+
             if (this.endpointExpirationKey == null || this.endpointExpirationKey.isEmpty()) {
                 throw new IllegalArgumentException("endpointExpirationKey should not be empty");
             }
 
+            if (this.cleanerLeaseKey == null || this.cleanerLeaseKey.isEmpty()) {
+                throw new IllegalArgumentException("cleanerLeaseKey should not be empty");
+            }
+
+            if (this.cleanerLeaseDuration != 0 && this.cleanerLeaseDuration <= this.cleanPeriod) {
+                throw new IllegalArgumentException("cleanerLeaseDuration must be greater than cleanPeriod");
+            }
+
+            if (this.batchSize <= 0) {
+                throw new IllegalArgumentException("batchSize must be strictly positive");
+            }
+
+            if (this.asyncConcurrency <= 0) {
+                throw new IllegalArgumentException("asyncConcurrency must be strictly positive");
+            }
+
+            if (this.cluster != null && this.useScripts) {
+                throw new IllegalArgumentException("scripts mode is not supported with Redis Cluster");
+            }
+
+            if (this.useScripts && this.useLightUpdates) {
+                throw new IllegalArgumentException("light updates are not supported in scripts mode");
+            }
+
+            if (this.nearCacheSize < 0) {
+                throw new IllegalArgumentException("nearCacheSize must be positive");
+            }
+
+            if (this.nearCacheInvalidationChannel == null || this.nearCacheInvalidationChannel.isEmpty()) {
+                throw new IllegalArgumentException("nearCacheInvalidationChannel should not be empty");
+            }
+
             // Make sure same prefix is not used more than once
-            String[] prefixes = new String[] { this.registrationByEndpointPrefix, this.endpointByRegistrationIdPrefix,
+            String[] prefixes = new String[] { this.registrationByEndpointPrefix,
+                    this.registrationUpdateByEndpointPrefix, this.endpointByRegistrationIdPrefix,
                     this.endpointBySocketAddressPrefix, this.endpointByIdentityPrefix, this.endpointLockPrefix,
-                    this.observationByIdPrefix, this.observationIdsByRegistrationIdPrefix, this.endpointExpirationKey };
+                    this.observationByIdPrefix, this.observationIdsByRegistrationIdPrefix,
+                    this.observationPathsByRegistrationIdPrefix, this.registrationIdsByQueryKeyPrefix,
+                    this.endpointExpirationKey, this.cleanerLeaseKey };
             Set<String> uniquePrefixes = new HashSet<>();
 
             for (String p : prefixes) {
@@ -1096,13 +2543,18 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
 
             if (this.prefix != null) {
                 this.registrationByEndpointPrefix = this.prefix + this.registrationByEndpointPrefix;
+                this.registrationUpdateByEndpointPrefix = this.prefix + this.registrationUpdateByEndpointPrefix;
                 this.endpointByRegistrationIdPrefix = this.prefix + this.endpointByRegistrationIdPrefix;
                 this.endpointBySocketAddressPrefix = this.prefix + this.endpointBySocketAddressPrefix;
                 this.endpointByIdentityPrefix = this.prefix + this.endpointByIdentityPrefix;
                 this.endpointLockPrefix = this.prefix + this.endpointLockPrefix;
                 this.observationByIdPrefix = this.prefix + this.observationByIdPrefix;
                 this.observationIdsByRegistrationIdPrefix = this.prefix + this.observationIdsByRegistrationIdPrefix;
+                this.observationPathsByRegistrationIdPrefix = this.prefix + this.observationPathsByRegistrationIdPrefix;
+                this.registrationIdsByQueryKeyPrefix = this.prefix + this.registrationIdsByQueryKeyPrefix;
                 this.endpointExpirationKey = this.prefix + this.endpointExpirationKey;
+                this.cleanerLeaseKey = this.prefix + this.cleanerLeaseKey;
+                this.nearCacheInvalidationChannel = this.prefix + this.nearCacheInvalidationChannel;
             }
 
             generateDefaultValue();
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import org.eclipse.leshan.core.util.Hex;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.commands.JedisBinaryCommands;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+
+/**
+ * A Lua script executed server side using <a href="https://redis.io/commands/evalsha/">EVALSHA</a>.
+ * <p>
+ * The SHA1 digest of the script is computed locally, so the script body is only sent to Redis when it is not already in
+ * its script cache (e.g. after a restart or a {@code SCRIPT FLUSH}).
+ */
+class RedisScript {
+
+    private final byte[] script;
+    private final byte[] sha1;
+
+    public RedisScript(String script) {
+        this.script = script.getBytes(UTF_8);
+        try {
+            this.sha1 = Hex.encodeHexString(MessageDigest.getInstance("SHA-1").digest(this.script)).getBytes(UTF_8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 algorithm is not available", e);
+        }
+    }
+
+    /**
+     * Execute the script.
+     *
+     * @param j a Redis connection
+     * @param keys the keys accessed by the script (KEYS in Lua)
+     * @param args the other arguments of the script (ARGV in Lua)
+     * @return the script result
+     */
+    public Object eval(JedisBinaryCommands j, List<byte[]> keys, List<byte[]> args) {
+        try {
+            return j.evalsha(sha1, keys, args);
+        } catch (JedisNoScriptException e) {
+            // EVAL also loads the script in server cache, next calls will succeed using EVALSHA.
+            return j.eval(script, keys, args);
+        }
+    }
+
+    /**
+     * Load the script in Redis script cache, this must be done before using {@link #eval(Pipeline, List, List)}.
+     *
+     * @param j a Redis connection
+     */
+    public void load(Jedis j) {
+        j.scriptLoad(script);
+    }
+
+    /**
+     * Queue the script execution in a pipeline. The script must already be loaded (see {@link #load(Jedis)}).
+     *
+     * @param p a Redis pipeline
+     * @param keys the keys accessed by the script (KEYS in Lua)
+     * @param args the other arguments of the script (ARGV in Lua)
+     * @return the script result, available once the pipeline is synchronized
+     */
+    public Response<Object> eval(Pipeline p, List<byte[]> keys, List<byte[]> args) {
+        return p.evalsha(sha1, keys, args);
+    }
+}
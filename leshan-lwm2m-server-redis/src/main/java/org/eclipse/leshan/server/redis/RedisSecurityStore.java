@@ -15,15 +15,22 @@
  *******************************************************************************/
 package org.eclipse.leshan.server.redis;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.eclipse.leshan.core.Startable;
+import org.eclipse.leshan.core.Stoppable;
 import org.eclipse.leshan.core.peer.OscoreIdentity;
 import org.eclipse.leshan.core.util.Hex;
+import org.eclipse.leshan.server.redis.RedisClient.Connection;
 import org.eclipse.leshan.server.redis.serialization.SecurityInfoSerDes;
+import org.eclipse.leshan.server.redis.serialization.SerializationFormat;
 import org.eclipse.leshan.servers.security.EditableSecurityStore;
 import org.eclipse.leshan.servers.security.NonUniqueSecurityInfoException;
 import org.eclipse.leshan.servers.security.SecurityInfo;
@@ -31,6 +38,8 @@ import org.eclipse.leshan.servers.security.SecurityStore;
 import org.eclipse.leshan.servers.security.SecurityStoreListener;
 
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.commands.JedisBinaryCommands;
 import redis.clients.jedis.params.ScanParams;
 import redis.clients.jedis.resps.ScanResult;
 import redis.clients.jedis.util.Pool;
@@ -40,13 +49,18 @@ import redis.clients.jedis.util.Pool;
  * <p>
  * Security info are stored using the endpoint as primary key and secondary indexes are created for endpoint lookup by
  * PSK identity and OSCORE Recipient ID (RID).
+ * <p>
+ * A local cache of security info can be enabled (see {@link Builder#setNearCacheSize(int)}) to avoid a Redis access on
+ * each DTLS handshake.
  */
-public class RedisSecurityStore implements EditableSecurityStore {
+public class RedisSecurityStore implements EditableSecurityStore, Startable, Stoppable {
 
     private final String securityInfoByEndpointPrefix;
     private final String endpointByPskIdKey;
     private final byte[] endpointByOscoreRecipientIdKey;
-    private final Pool<Jedis> pool;
+    private final RedisClient client;
+    private final SerializationFormat serializationFormat;
+    private final NearCache<SecurityInfo> nearCache; // null if near cache is disabled
 
     private final List<SecurityStoreListener> listeners = new CopyOnWriteArrayList<>();
 
@@ -54,16 +68,38 @@ public class RedisSecurityStore implements EditableSecurityStore {
         this(new Builder(pool));
     }
 
+    /**
+     * Create a store using a Redis Cluster.
+     *
+     * @since 2.0
+     */
+    public RedisSecurityStore(JedisCluster cluster) {
+        this(new Builder(cluster));
+    }
+
     protected RedisSecurityStore(Builder builder) {
-        this.pool = builder.pool;
+        this.client = builder.cluster != null ? new RedisClient(builder.cluster) : new RedisClient(builder.pool);
         this.securityInfoByEndpointPrefix = builder.securityInfoByEndpointPrefix;
         this.endpointByPskIdKey = builder.endpointByPskIdKey;
         this.endpointByOscoreRecipientIdKey = builder.endpointByOscoreRecipientIdKey.getBytes();
+        this.serializationFormat = builder.serializationFormat;
+        this.nearCache = builder.nearCacheSize > 0
+                ? new NearCache<>(client, builder.nearCacheInvalidationChannel.getBytes(), builder.nearCacheSize,
+                        "RedisSecurityStore")
+                : null;
     }
 
     @Override
     public SecurityInfo getByEndpoint(String endpoint) {
-        try (Jedis j = pool.getResource()) {
+        if (nearCache != null) {
+            return nearCache.get(toEndpointCacheKey(endpoint), () -> loadByEndpoint(endpoint), this::toCacheKeys);
+        }
+        return loadByEndpoint(endpoint);
+    }
+
+    private SecurityInfo loadByEndpoint(String endpoint) {
+        try (Connection c = client.getConnection()) {
+            JedisBinaryCommands j = c.commands();
             byte[] data = j.get((securityInfoByEndpointPrefix + endpoint).getBytes());
             if (data == null) {
                 return null;
@@ -75,8 +111,17 @@ public class RedisSecurityStore implements EditableSecurityStore {
 
     @Override
     public SecurityInfo getByIdentity(String identity) {
-        try (Jedis j = pool.getResource()) {
-            String ep = j.hget(endpointByPskIdKey, identity);
+        if (nearCache != null) {
+            return nearCache.get(toPskIdCacheKey(identity), () -> loadByIdentity(identity), this::toCacheKeys);
+        }
+        return loadByIdentity(identity);
+    }
+
+    private SecurityInfo loadByIdentity(String identity) {
+        try (Connection c = client.getConnection()) {
+            JedisBinaryCommands j = c.commands();
+            byte[] epBytes = j.hget(endpointByPskIdKey.getBytes(), identity.getBytes());
+            String ep = (epBytes != null) ? new String(epBytes) : null;
             if (ep == null) {
                 return null;
             } else {
@@ -92,7 +137,16 @@ public class RedisSecurityStore implements EditableSecurityStore {
 
     @Override
     public SecurityInfo getByOscoreIdentity(OscoreIdentity identity) {
-        try (Jedis j = pool.getResource()) {
+        if (nearCache != null) {
+            return nearCache.get(toOscoreRecipientIdCacheKey(identity.getRecipientId()),
+                    () -> loadByOscoreIdentity(identity), this::toCacheKeys);
+        }
+        return loadByOscoreIdentity(identity);
+    }
+
+    private SecurityInfo loadByOscoreIdentity(OscoreIdentity identity) {
+        try (Connection c = client.getConnection()) {
+            JedisBinaryCommands j = c.commands();
             byte[] epBytes = j.hget(endpointByOscoreRecipientIdKey, identity.getRecipientId());
             String ep = (epBytes != null) ? new String(epBytes) : null;
             if (ep == null) {
@@ -110,18 +164,29 @@ public class RedisSecurityStore implements EditableSecurityStore {
 
     @Override
     public Collection<SecurityInfo> getAll() {
-        try (Jedis j = pool.getResource()) {
+        try (Connection c = client.getConnection()) {
+            JedisBinaryCommands j = c.commands();
             ScanParams params = new ScanParams().match(securityInfoByEndpointPrefix + "*").count(100);
             Collection<SecurityInfo> list = new LinkedList<>();
-            String cursor = "0";
-            do {
-                ScanResult<byte[]> res = j.scan(cursor.getBytes(), params);
-                for (byte[] key : res.getResult()) {
-                    byte[] element = j.get(key);
-                    list.add(deserialize(element));
+            // with a cluster, keys are scanned on each node, replicas included
+            Set<String> scannedKeys = new HashSet<>();
+            for (Jedis node : client.getNodeConnections()) {
+                try (Jedis n = node) {
+                    String cursor = "0";
+                    do {
+                        ScanResult<byte[]> res = n.scan(cursor.getBytes(), params);
+                        for (byte[] key : res.getResult()) {
+                            if (scannedKeys.add(new String(key))) {
+                                byte[] element = j.get(key);
+                                if (element != null) {
+                                    list.add(deserialize(element));
+                                }
+                            }
+                        }
+                        cursor = res.getCursor();
+                    } while (!"0".equals(cursor));
                 }
-                cursor = res.getCursor();
-            } while (!"0".equals(cursor));
+            }
             return list;
         }
     }
@@ -130,7 +195,9 @@ public class RedisSecurityStore implements EditableSecurityStore {
     public SecurityInfo add(SecurityInfo info) throws NonUniqueSecurityInfoException {
         byte[] data = serialize(info);
 
-        try (Jedis j = pool.getResource()) {
+        try (Connection c = client.getConnection()) {
+
+            JedisBinaryCommands j = c.commands();
 
             updateSecondaryIndexByPskIdentity(j, info);
             updateSecondaryIndexByOscoreIdentity(j, info);
@@ -139,14 +206,17 @@ public class RedisSecurityStore implements EditableSecurityStore {
             SecurityInfo previous = previousData == null ? null : deserialize(previousData);
 
             cleanupPreviousSecondaryIndexes(j, previous, info);
+            invalidateNearCache(j, info, previous);
 
             return previous;
         }
     }
 
-    private void updateSecondaryIndexByPskIdentity(Jedis j, SecurityInfo info) throws NonUniqueSecurityInfoException {
+    private void updateSecondaryIndexByPskIdentity(JedisBinaryCommands j, SecurityInfo info)
+            throws NonUniqueSecurityInfoException {
         if (info.getPskIdentity() != null) {
-            String oldEndpoint = j.hget(endpointByPskIdKey, info.getPskIdentity());
+            byte[] oldEndpointBytes = j.hget(endpointByPskIdKey.getBytes(), info.getPskIdentity().getBytes());
+            String oldEndpoint = (oldEndpointBytes != null) ? new String(oldEndpointBytes) : null;
             if (oldEndpoint != null && !oldEndpoint.equals(info.getEndpoint())) {
                 throw new NonUniqueSecurityInfoException("PSK Identity " + info.getPskIdentity() + " is already used");
             }
@@ -154,7 +224,7 @@ public class RedisSecurityStore implements EditableSecurityStore {
         }
     }
 
-    private void updateSecondaryIndexByOscoreIdentity(Jedis j, SecurityInfo info)
+    private void updateSecondaryIndexByOscoreIdentity(JedisBinaryCommands j, SecurityInfo info)
             throws NonUniqueSecurityInfoException {
         if (info.getOscoreSetting() != null) {
             byte[] oldEndpointBytes = j.hget(endpointByOscoreRecipientIdKey, info.getOscoreSetting().getRecipientId());
@@ -171,14 +241,14 @@ public class RedisSecurityStore implements EditableSecurityStore {
         }
     }
 
-    private void cleanupPreviousSecondaryIndexes(Jedis j, SecurityInfo previousSecurityInfo,
+    private void cleanupPreviousSecondaryIndexes(JedisBinaryCommands j, SecurityInfo previousSecurityInfo,
             SecurityInfo newSecurityInfo) {
         if (previousSecurityInfo != null) {
             // we remove previous secondary index (PSK or OSCORE) only if it is not used by the new security info
 
             if (previousSecurityInfo.usePSK()
                     && !previousSecurityInfo.getPskIdentity().equals(newSecurityInfo.getPskIdentity())) {
-                j.hdel(endpointByPskIdKey, previousSecurityInfo.getPskIdentity());
+                j.hdel(endpointByPskIdKey.getBytes(), previousSecurityInfo.getPskIdentity().getBytes());
             }
 
             if (previousSecurityInfo.useOSCORE()
@@ -194,7 +264,8 @@ public class RedisSecurityStore implements EditableSecurityStore {
 
     @Override
     public SecurityInfo remove(String endpoint, boolean infosAreCompromised) {
-        try (Jedis j = pool.getResource()) {
+        try (Connection c = client.getConnection()) {
+            JedisBinaryCommands j = c.commands();
             byte[] data = j.get((securityInfoByEndpointPrefix + endpoint).getBytes());
 
             if (data != null) {
@@ -207,6 +278,7 @@ public class RedisSecurityStore implements EditableSecurityStore {
                     j.hdel(endpointByOscoreRecipientIdKey, recipientId);
                 }
                 j.del((securityInfoByEndpointPrefix + endpoint).getBytes());
+                invalidateNearCache(j, info, null);
                 for (SecurityStoreListener listener : listeners) {
                     listener.securityInfoRemoved(infosAreCompromised, info);
                 }
@@ -216,14 +288,65 @@ public class RedisSecurityStore implements EditableSecurityStore {
         return null;
     }
 
+    /* *************** Near cache utility functions **************** */
+
+    private String toEndpointCacheKey(String endpoint) {
+        return securityInfoByEndpointPrefix + endpoint;
+    }
+
+    private String toPskIdCacheKey(String identity) {
+        return endpointByPskIdKey + "#" + identity;
+    }
+
+    private String toOscoreRecipientIdCacheKey(byte[] recipientId) {
+        return new String(endpointByOscoreRecipientIdKey) + "#" + Hex.encodeHexString(recipientId);
+    }
+
+    private List<String> toCacheKeys(SecurityInfo info) {
+        List<String> keys = new ArrayList<>(2);
+        keys.add(toEndpointCacheKey(info.getEndpoint()));
+        if (info.getPskIdentity() != null) {
+            keys.add(toPskIdCacheKey(info.getPskIdentity()));
+        }
+        if (info.getOscoreSetting() != null && info.getOscoreSetting().getRecipientId() != null) {
+            keys.add(toOscoreRecipientIdCacheKey(info.getOscoreSetting().getRecipientId()));
+        }
+        return keys;
+    }
+
+    private void invalidateNearCache(JedisBinaryCommands j, SecurityInfo info, SecurityInfo previous) {
+        if (nearCache == null) {
+            return;
+        }
+        List<String> keys = toCacheKeys(info);
+        if (previous != null) {
+            keys.addAll(toCacheKeys(previous));
+        }
+        nearCache.invalidate(j, keys);
+    }
+
     private byte[] serialize(SecurityInfo secInfo) {
-        return SecurityInfoSerDes.serialize(secInfo);
+        return SecurityInfoSerDes.serialize(secInfo, serializationFormat);
     }
 
     private SecurityInfo deserialize(byte[] data) {
         return SecurityInfoSerDes.deserialize(data);
     }
 
+    @Override
+    public void start() {
+        if (nearCache != null) {
+            nearCache.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (nearCache != null) {
+            nearCache.stop();
+        }
+    }
+
     @Override
     public void addListener(SecurityStoreListener listener) {
         listeners.add(listener);
@@ -244,10 +367,14 @@ public class RedisSecurityStore implements EditableSecurityStore {
     public static class Builder {
 
         private final Pool<Jedis> pool;
+        private final JedisCluster cluster;
         private String securityInfoByEndpointPrefix;
         private String endpointByPskIdKey;
         private String prefix;
         private String endpointByOscoreRecipientIdKey;
+        private SerializationFormat serializationFormat;
+        private int nearCacheSize;
+        private String nearCacheInvalidationChannel;
 
         /**
          * Set the key prefix for security info lookup by endpoint.
@@ -290,12 +417,72 @@ public class RedisSecurityStore implements EditableSecurityStore {
             return this;
         }
 
+        /**
+         * Set {@link SerializationFormat} used to store security info. Data already stored in the other format can
+         * still be read.
+         * <p>
+         * Default value is {@link SerializationFormat#JSON}.
+         */
+        public Builder setSerializationFormat(SerializationFormat serializationFormat) {
+            this.serializationFormat = serializationFormat;
+            return this;
+        }
+
+        /**
+         * Enable a local cache of security info in front of Redis, used to resolve security info by endpoint, PSK
+         * identity or OSCORE Recipient ID (e.g. on each DTLS handshake) without accessing Redis. Concurrent lookups of
+         * the same missing entry are merged in one Redis access.
+         * <p>
+         * The cache is kept coherent using a Redis pub/sub channel (see
+         * {@link #setNearCacheInvalidationChannel(String)}) where each store modifying a security info publishes
+         * invalidations. So in a cluster, <strong>all servers sharing the Redis instance must enable it</strong>. The
+         * cache is only used between {@link RedisSecurityStore#start()} and {@link RedisSecurityStore#stop()}, while
+         * subscribed to the channel.
+         * <p>
+         * Default value is {@literal 0} which means near cache is disabled, else it is the maximum number of cached
+         * entries (a security info uses up to 3 entries, 1 by lookup key).
+         */
+        public Builder setNearCacheSize(int nearCacheSize) {
+            this.nearCacheSize = nearCacheSize;
+            return this;
+        }
+
+        /**
+         * Set the pub/sub channel used to invalidate near caches (see {@link #setNearCacheSize(int)}).
+         * <p>
+         * Default value is {@literal NEARCACHE#SEC}. Should not be {@code null} or empty.
+         */
+        public Builder setNearCacheInvalidationChannel(String nearCacheInvalidationChannel) {
+            this.nearCacheInvalidationChannel = nearCacheInvalidationChannel;
+            return this;
+        }
+
         public Builder(Pool<Jedis> pool) {
+            this(pool, null);
+        }
+
+        /**
+         * Create a builder for a store using a Redis Cluster.
+         * <p>
+         * Each security info is stored in its own key and secondary indexes are stored in 1 hash each, so all
+         * operations use single key commands which are routed to the right node.
+         *
+         * @since 2.0
+         */
+        public Builder(JedisCluster cluster) {
+            this(null, cluster);
+        }
+
+        private Builder(Pool<Jedis> pool, JedisCluster cluster) {
             this.pool = pool;
+            this.cluster = cluster;
             this.prefix = "SECSTORE#";
             this.securityInfoByEndpointPrefix = "SEC#EP#";
             this.endpointByPskIdKey = "EP#PSKID";
             this.endpointByOscoreRecipientIdKey = "EP#OSCORERID";
+            this.serializationFormat = SerializationFormat.JSON;
+            this.nearCacheSize = 0;
+            this.nearCacheInvalidationChannel = "NEARCACHE#SEC";
         }
 
         /**
@@ -318,9 +505,18 @@ public class RedisSecurityStore implements EditableSecurityStore {
                         "securityInfoByEndpointPrefix should not be equal to endpointByPskIdKey");
             }
 
+            if (this.nearCacheSize < 0) {
+                throw new IllegalArgumentException("nearCacheSize must be positive");
+            }
+
+            if (this.nearCacheInvalidationChannel == null || this.nearCacheInvalidationChannel.isEmpty()) {
+                throw new IllegalArgumentException("nearCacheInvalidationChannel should not be empty");
+            }
+
             if (this.prefix != null) {
                 this.securityInfoByEndpointPrefix = this.prefix + this.securityInfoByEndpointPrefix;
                 this.endpointByPskIdKey = this.prefix + this.endpointByPskIdKey;
+                this.nearCacheInvalidationChannel = this.prefix + this.nearCacheInvalidationChannel;
             }
 
             return new RedisSecurityStore(this);
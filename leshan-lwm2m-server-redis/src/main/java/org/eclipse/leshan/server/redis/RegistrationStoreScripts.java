@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis;
+
+/**
+ * Lua scripts used by {@link RedisRegistrationStore} when scripts mode is enabled (see
+ * {@link RedisRegistrationStore.Builder#setUseScripts(boolean)}).
+ * <p>
+ * Writes are optimistic : the registration value read (or expected) by the store is given to the script which applies
+ * modifications only if the stored value did not change in the meantime, else the store retries with the current value.
+ * <p>
+ * To need only one round trip, scripts access keys which depend on stored data (e.g. registration referenced by a
+ * secondary index or observations of a registration) : these keys are built by the script from prefixes given in ARGV.
+ * This is not allowed with a Redis Cluster, so scripts mode is only supported with a single Redis instance.
+ */
+final class RegistrationStoreScripts {
+
+    private RegistrationStoreScripts() {
+    }
+
+    /**
+     * Get a registration using a secondary index.
+     *
+     * <pre>
+     * KEYS[1] : secondary index key (e.g. registration id => endpoint)
+     * ARGV[1] : registration by endpoint key prefix
+     * ARGV[2] : registration by endpoint key suffix
+     * returns registration or nil
+     * </pre>
+     */
+    static final RedisScript GET_BY_INDEX = new RedisScript(String.join("\n", //
+            "local ep = redis.call('GET', KEYS[1])", //
+            "if not ep then return false end", //
+            "return redis.call('GET', ARGV[1] .. ep .. ARGV[2])"));
+
+    /**
+     * Add, replace or remove a registration with all its indexes if the current registration is the expected one.
+     *
+     * <pre>
+     * KEYS[1] : registration by endpoint key
+     * KEYS[2] : expiration sorted set key
+     * KEYS[3] : observation ids list key of the expected registration
+     * KEYS[4] : observation paths hash key of the expected registration
+     * KEYS[5..] : index keys : first ARGV[8] keys to set to the endpoint, then ARGV[9] keys to delete if they still
+     *             refer to the endpoint, then ARGV[10] query index keys to add new registration id to, then ARGV[11]
+     *             query index keys to remove previous registration id from
+     * ARGV[1] : expected current registration, empty if there should be no registration
+     * ARGV[2] : new registration, empty to remove registration
+     * ARGV[3] : endpoint
+     * ARGV[4] : expiration timestamp
+     * ARGV[5] : new registration id
+     * ARGV[6] : previous registration id
+     * ARGV[7] : '1' if observations of the expected registration must be removed
+     * ARGV[12] : observation key prefix
+     * returns {0, current registration} on conflict or {1, removed observations...} on success
+     * </pre>
+     */
+    static final RedisScript WRITE_REGISTRATION = new RedisScript(String.join("\n", //
+            "local current = redis.call('GET', KEYS[1])", //
+            "if (current or '') ~= ARGV[1] then return {0, current} end", //
+            "if ARGV[2] == '' then", //
+            "  redis.call('DEL', KEYS[1])", //
+            "  redis.call('ZREM', KEYS[2], ARGV[3])", //
+            "else", //
+            "  redis.call('SET', KEYS[1], ARGV[2])", //
+            "  redis.call('ZADD', KEYS[2], ARGV[4], ARGV[3])", //
+            "end", //
+            "local i = 5", //
+            "for n = 1, tonumber(ARGV[8]) do", //
+            "  redis.call('SET', KEYS[i], ARGV[3])", //
+            "  i = i + 1", //
+            "end", //
+            "for n = 1, tonumber(ARGV[9]) do", //
+            "  if redis.call('GET', KEYS[i]) == ARGV[3] then redis.call('DEL', KEYS[i]) end", //
+            "  i = i + 1", //
+            "end", //
+            "for n = 1, tonumber(ARGV[10]) do", //
+            "  redis.call('ZADD', KEYS[i], 0, ARGV[5])", //
+            "  i = i + 1", //
+            "end", //
+            "for n = 1, tonumber(ARGV[11]) do", //
+            "  redis.call('ZREM', KEYS[i], ARGV[6])", //
+            "  i = i + 1", //
+            "end", //
+            "local result = {1}", //
+            "if ARGV[7] == '1' then", //
+            "  for _, id in ipairs(redis.call('LRANGE', KEYS[3], 0, -1)) do", //
+            "    local key = ARGV[12] .. id", //
+            "    local obs = redis.call('GET', key)", //
+            "    if obs then", //
+            "      table.insert(result, obs)", //
+            "      redis.call('DEL', key)", //
+            "    end", //
+            "  end", //
+            "  redis.call('DEL', KEYS[3], KEYS[4])", //
+            "end", //
+            "return result"));
+
+    /**
+     * Add an observation to an existing registration and remove other observations of this registration targeting the
+     * same paths.
+     *
+     * <pre>
+     * KEYS[1] : endpoint by registration id key
+     * KEYS[2] : observation key
+     * KEYS[3] : observation ids list key of the registration
+     * KEYS[4] : observation paths hash key of the registration (observation id => paths)
+     * ARGV[1] : observation
+     * ARGV[2] : observation id
+     * ARGV[3] : '1' if observation must only be added if absent
+     * ARGV[4] : paths of the observation
+     * ARGV[5] : observation key prefix
+     * returns nil if registration does not exist, else {previous observation or empty, removed observations...}
+     * </pre>
+     */
+    static final RedisScript ADD_OBSERVATION = new RedisScript(String.join("\n", //
+            "if not redis.call('GET', KEYS[1]) then return false end", //
+            "local previous = redis.call('GET', KEYS[2])", //
+            "if ARGV[3] ~= '1' or not previous or previous == '' then", //
+            "  redis.call('SET', KEYS[2], ARGV[1])", //
+            "end", //
+            "redis.call('LREM', KEYS[3], 0, ARGV[2])", //
+            "redis.call('LPUSH', KEYS[3], ARGV[2])", //
+            "redis.call('HSET', KEYS[4], ARGV[2], ARGV[4])", //
+            "local result = {previous or ''}", //
+            "local paths = redis.call('HGETALL', KEYS[4])", //
+            "for n = 1, #paths, 2 do", //
+            "  local id = paths[n]", //
+            "  if paths[n + 1] == ARGV[4] and id ~= ARGV[2] then", //
+            "    local key = ARGV[5] .. id", //
+            "    local obs = redis.call('GET', key)", //
+            "    if obs then", //
+            "      table.insert(result, obs)", //
+            "      redis.call('DEL', key)", //
+            "    end", //
+            "    redis.call('LREM', KEYS[3], 0, id)", //
+            "    redis.call('HDEL', KEYS[4], id)", //
+            "  end", //
+            "end", //
+            "return result"));
+
+    /**
+     * Remove an observation of a registration.
+     *
+     * <pre>
+     * KEYS[1] : observation ids list key of the registration
+     * KEYS[2] : observation paths hash key of the registration
+     * KEYS[3] : observation key
+     * ARGV[1] : observation id
+     * returns the removed observation or nil if this registration has no such observation
+     * </pre>
+     */
+    static final RedisScript REMOVE_OBSERVATION = new RedisScript(String.join("\n", //
+            "if redis.call('LREM', KEYS[1], 0, ARGV[1]) == 0 then return false end", //
+            "redis.call('HDEL', KEYS[2], ARGV[1])", //
+            "local obs = redis.call('GET', KEYS[3])", //
+            "redis.call('DEL', KEYS[3])", //
+            "return obs"));
+
+    /**
+     * Remove all observations of a registration.
+     *
+     * <pre>
+     * KEYS[1] : observation ids list key of the registration
+     * KEYS[2] : observation paths hash key of the registration
+     * ARGV[1] : observation key prefix
+     * returns the removed observations
+     * </pre>
+     */
+    static final RedisScript REMOVE_ALL_OBSERVATIONS = new RedisScript(String.join("\n", //
+            "local removed = {}", //
+            "for _, id in ipairs(redis.call('LRANGE', KEYS[1], 0, -1)) do", //
+            "  local key = ARGV[1] .. id", //
+            "  local obs = redis.call('GET', key)", //
+            "  if obs then", //
+            "    table.insert(removed, obs)", //
+            "    redis.call('DEL', key)", //
+            "  end", //
+            "end", //
+            "redis.call('DEL', KEYS[1], KEYS[2])", //
+            "return removed"));
+
+    /**
+     * Acquire or renew the cleaner lease.
+     *
+     * <pre>
+     * KEYS[1] : lease key
+     * ARGV[1] : id of the store acquiring the lease
+     * ARGV[2] : lease duration in milliseconds
+     * returns 1 if the lease is owned by this store, else 0
+     * </pre>
+     */
+    static final RedisScript ACQUIRE_LEASE = new RedisScript(String.join("\n", //
+            "local owner = redis.call('GET', KEYS[1])", //
+            "if owner and owner ~= ARGV[1] then return 0 end", //
+            "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])", //
+            "return 1"));
+
+    /**
+     * Release the cleaner lease if it is owned by the given store.
+     *
+     * <pre>
+     * KEYS[1] : lease key
+     * ARGV[1] : id of the store releasing the lease
+     * returns 1 if the lease was released, else 0
+     * </pre>
+     */
+    static final RedisScript RELEASE_LEASE = new RedisScript(String.join("\n", //
+            "if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end", //
+            "redis.call('DEL', KEYS[1])", //
+            "return 1"));
+}
@@ -15,10 +15,14 @@
  *******************************************************************************/
 package org.eclipse.leshan.server.redis.serialization;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.net.InetSocketAddress;
 
 import org.eclipse.leshan.core.peer.IpPeer;
 import org.eclipse.leshan.core.peer.LwM2mPeer;
+import org.eclipse.leshan.server.registration.persistence.BinaryRegistrationSerDes;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
@@ -35,6 +39,7 @@ public class LwM2mPeerSerDes {
     protected static final String KEY_PORT = "port";
 
     private final LwM2mIdentitySerDes identitySerDes = new LwM2mIdentitySerDes();
+    private final BinaryRegistrationSerDes binarySerDes = new BinaryRegistrationSerDes();
 
     public JsonNode serialize(LwM2mPeer peer) {
         ObjectNode o = JsonNodeFactory.instance.objectNode();
@@ -62,4 +67,21 @@ public class LwM2mPeerSerDes {
         }
     }
 
+    /**
+     * Serialize a {@link LwM2mPeer} in binary format.
+     *
+     * @see SerializationFormat#BINARY
+     */
+    public void serialize(LwM2mPeer peer, DataOutput out) throws IOException {
+        binarySerDes.serializePeer(peer, out);
+    }
+
+    /**
+     * Deserialize a {@link LwM2mPeer} from binary format.
+     *
+     * @see SerializationFormat#BINARY
+     */
+    public LwM2mPeer deserialize(DataInput in) throws IOException {
+        return binarySerDes.deserializePeer(in);
+    }
 }
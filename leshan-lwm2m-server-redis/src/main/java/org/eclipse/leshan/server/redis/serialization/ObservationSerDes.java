@@ -34,6 +34,7 @@ import org.eclipse.leshan.core.observation.ObservationIdentifier;
 import org.eclipse.leshan.core.observation.SingleObservation;
 import org.eclipse.leshan.core.request.ContentFormat;
 import org.eclipse.leshan.core.util.Hex;
+import org.eclipse.leshan.server.registration.persistence.BinaryObservationSerDes;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -43,7 +44,10 @@ import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 /**
- * Functions for serializing and deserializing a {@link Observation} in JSON.
+ * Functions for serializing and deserializing a {@link Observation} in JSON or in binary format (see
+ * {@link SerializationFormat}).
+ * <p>
+ * {@link #serialize(Observation)} uses the configured format, {@link #deserialize(byte[])} supports both.
  */
 public class ObservationSerDes {
 
@@ -65,16 +69,28 @@ public class ObservationSerDes {
     private static final String KIND_COMPOSITE = "composite";
 
     private final EndPointUriHandler uriHandler;
+    private final SerializationFormat format;
+    private final BinaryObservationSerDes binarySerDes;
 
     public ObservationSerDes() {
         this(new DefaultEndPointUriHandler());
     }
 
     public ObservationSerDes(EndPointUriHandler uriHandler) {
+        this(uriHandler, SerializationFormat.JSON);
+    }
+
+    public ObservationSerDes(EndPointUriHandler uriHandler, SerializationFormat format) {
         this.uriHandler = uriHandler;
+        this.format = format;
+        this.binarySerDes = new BinaryObservationSerDes(uriHandler);
     }
 
     public byte[] serialize(Observation obs) {
+        if (format == SerializationFormat.BINARY) {
+            return binarySerDes.serialize(obs);
+        }
+
         ObjectNode n = JsonNodeFactory.instance.objectNode();
         n.put(OBS_ID, obs.getId().getAsHexString());
         n.put(OBS_EP_URI, obs.getId().getEndpointUri().toString());
@@ -122,6 +138,9 @@ public class ObservationSerDes {
     }
 
     public Observation deserialize(byte[] data) {
+        if (SerializationFormat.of(data) == SerializationFormat.BINARY) {
+            return binarySerDes.deserialize(data);
+        }
         String json = new String(data);
         try {
             JsonNode n = new ObjectMapper().readTree(json);
@@ -16,6 +16,14 @@
  *******************************************************************************/
 package org.eclipse.leshan.server.redis.serialization;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
@@ -43,9 +51,13 @@ import org.eclipse.leshan.core.link.lwm2m.MixedLwM2mLink;
 import org.eclipse.leshan.core.link.lwm2m.attributes.LwM2mAttributes;
 import org.eclipse.leshan.core.link.lwm2m.attributes.MixedLwM2mAttributeSet;
 import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.peer.LwM2mPeer;
 import org.eclipse.leshan.core.request.BindingMode;
 import org.eclipse.leshan.core.request.ContentFormat;
 import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationProfile;
+import org.eclipse.leshan.server.registration.RegistrationProfileInterner;
+import org.eclipse.leshan.server.registration.persistence.BinaryRegistrationSerDes;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -55,15 +67,24 @@ import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 /**
- * Functions for serialize and deserialize a Client in JSON.
+ * Functions for serialize and deserialize a Client in JSON or in binary format (see {@link SerializationFormat}).
+ * <p>
+ * {@link #bSerialize(Registration)} uses the configured format, {@link #deserialize(byte[])} supports both.
  */
 public class RegistrationSerDes {
 
     private final AttributeParser attributeParser;
     private final LwM2mPeerSerDes peerSerDes;
     private final EndPointUriHandler uriHandler;
+    private final RegistrationProfileInterner profileInterner;
+    private final SerializationFormat format;
+    private final BinaryRegistrationSerDes binarySerDes;
 
     public RegistrationSerDes(LwM2mPeerSerDes peerSerDes) {
+        this(peerSerDes, SerializationFormat.JSON);
+    }
+
+    public RegistrationSerDes(LwM2mPeerSerDes peerSerDes, SerializationFormat format) {
         // Define all supported Attributes
         Collection<AttributeModel<?>> suppportedAttributes = new ArrayList<>();
         suppportedAttributes.addAll(Attributes.ALL);
@@ -73,6 +94,9 @@ public class RegistrationSerDes {
         this.attributeParser = new DefaultAttributeParser(suppportedAttributes);
         this.peerSerDes = peerSerDes;
         this.uriHandler = new DefaultEndPointUriHandler();
+        this.profileInterner = RegistrationProfileInterner.getShared();
+        this.format = format;
+        this.binarySerDes = createBinarySerDes();
     }
 
     public RegistrationSerDes() {
@@ -85,9 +109,46 @@ public class RegistrationSerDes {
 
     public RegistrationSerDes(AttributeParser attributeParser, LwM2mPeerSerDes peerSerDes,
             EndPointUriHandler uriHandler) {
+        this(attributeParser, peerSerDes, uriHandler, RegistrationProfileInterner.getShared());
+    }
+
+    /**
+     * @param profileInterner used to share {@link RegistrationProfile} between deserialized registrations with same
+     *        object links, could be <code>null</code> to disable it.
+     */
+    public RegistrationSerDes(AttributeParser attributeParser, LwM2mPeerSerDes peerSerDes,
+            EndPointUriHandler uriHandler, RegistrationProfileInterner profileInterner) {
+        this(attributeParser, peerSerDes, uriHandler, profileInterner, SerializationFormat.JSON);
+    }
+
+    /**
+     * @param profileInterner used to share {@link RegistrationProfile} between deserialized registrations with same
+     *        object links, could be <code>null</code> to disable it.
+     * @param format the format used by {@link #bSerialize(Registration)}.
+     */
+    public RegistrationSerDes(AttributeParser attributeParser, LwM2mPeerSerDes peerSerDes,
+            EndPointUriHandler uriHandler, RegistrationProfileInterner profileInterner, SerializationFormat format) {
         this.attributeParser = attributeParser;
         this.peerSerDes = peerSerDes;
         this.uriHandler = uriHandler;
+        this.profileInterner = profileInterner;
+        this.format = format;
+        this.binarySerDes = createBinarySerDes();
+    }
+
+    private BinaryRegistrationSerDes createBinarySerDes() {
+        // use peerSerDes for LwM2mPeer, so it can still be customized in binary format
+        return new BinaryRegistrationSerDes(attributeParser, uriHandler, profileInterner) {
+            @Override
+            public void serializePeer(LwM2mPeer peer, DataOutput out) throws IOException {
+                peerSerDes.serialize(peer, out);
+            }
+
+            @Override
+            public LwM2mPeer deserializePeer(DataInput in) throws IOException {
+                return peerSerDes.deserialize(in);
+            }
+        };
     }
 
     public JsonNode jSerialize(Registration r) {
@@ -167,6 +228,9 @@ public class RegistrationSerDes {
     }
 
     public byte[] bSerialize(Registration r) {
+        if (format == SerializationFormat.BINARY) {
+            return binarySerDes.serialize(r);
+        }
         return jSerialize(r).toString().getBytes();
     }
 
@@ -312,10 +376,14 @@ public class RegistrationSerDes {
         }
         b.customRegistrationData(appData);
 
+        b.profileInterner(profileInterner);
         return b.build();
     }
 
     public Registration deserialize(byte[] data) {
+        if (SerializationFormat.of(data) == SerializationFormat.BINARY) {
+            return binarySerDes.deserialize(data);
+        }
         String json = new String(data);
         try {
             return deserialize(new ObjectMapper().readTree(json));
@@ -323,4 +391,53 @@ public class RegistrationSerDes {
             throw new IllegalArgumentException(String.format("Unable to deserialize Registration %s", json), e);
         }
     }
+
+    /**
+     * Serialize only data modified by a registration update which does not change object links, binding, SMS number or
+     * attributes : lifetime, last update date and client transport data.
+     *
+     * @see #applyUpdatableData(Registration, byte[])
+     * @since 2.0
+     */
+    public byte[] bSerializeUpdatableData(Registration r) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(r.getLifeTimeInSec());
+            out.writeLong(r.getLastUpdate().getTime());
+            peerSerDes.serialize(r.getClientTransportData(), out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Create a copy of the given registration where data serialized with {@link #bSerializeUpdatableData(Registration)}
+     * is applied.
+     *
+     * @since 2.0
+     */
+    public Registration applyUpdatableData(Registration r, byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            long lifetime = in.readLong();
+            Date lastUpdate = new Date(in.readLong());
+            LwM2mPeer clientTransportData = peerSerDes.deserialize(in);
+
+            return new Registration.Builder(r.getId(), r.getEndpoint(), clientTransportData, r.getEndpointUri()) //
+                    .profile(r.getProfile()) //
+                    .lifeTimeInSec(lifetime) //
+                    .lastUpdate(lastUpdate) //
+                    .registrationDate(r.getRegistrationDate()) //
+                    .lwM2mVersion(r.getLwM2mVersion()) //
+                    .bindingMode(r.getBindingMode()) //
+                    .queueMode(r.getQueueMode()) //
+                    .smsNumber(r.getSmsNumber()) //
+                    .additionalRegistrationAttributes(r.getAdditionalRegistrationAttributes()) //
+                    .customRegistrationData(r.getCustomRegistrationData()) //
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                    String.format("Unable to deserialize updatable data of registration %s", r.getId()), e);
+        }
+    }
 }
@@ -16,8 +16,17 @@
  *******************************************************************************/
 package org.eclipse.leshan.server.redis.serialization;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigInteger;
 import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
 import java.security.KeyFactory;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
@@ -32,6 +41,7 @@ import java.security.spec.KeySpec;
 import java.util.Arrays;
 
 import org.eclipse.leshan.core.oscore.OscoreSetting;
+import org.eclipse.leshan.core.security.util.SecurityUtil;
 import org.eclipse.leshan.core.util.Hex;
 import org.eclipse.leshan.servers.security.SecurityInfo;
 
@@ -42,7 +52,10 @@ import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 /**
- * Functions for serialize and deserialize security information in JSON for storage.
+ * Functions for serialize and deserialize security information in JSON or in binary format (see
+ * {@link SerializationFormat}) for storage.
+ * <p>
+ * {@link #deserialize(byte[])} supports both formats.
  */
 public class SecurityInfoSerDes {
 
@@ -68,9 +81,29 @@ public class SecurityInfoSerDes {
     private static final String KEY_OSCORE_AEAD_ALGORITHM = "aeadAlgorithm";
     private static final String KEY_OSCORE_HMAC_ALGORITHM = "hmacAlgorithm";
 
+    // Binary format
+    private static final byte VERSION_1 = 1;
+    private static final byte TYPE_PSK = 1;
+    private static final byte TYPE_RPK = 2;
+    private static final byte TYPE_X509 = 3;
+    private static final byte TYPE_OSCORE = 4;
+
     private SecurityInfoSerDes() {
     }
 
+    public static byte[] serialize(SecurityInfo s, SerializationFormat format) {
+        if (format == SerializationFormat.BINARY) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                serialize(s, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+        return serialize(s);
+    }
+
     public static byte[] serialize(SecurityInfo s) {
         ObjectNode o = JsonNodeFactory.instance.objectNode();
         o.put(KEY_EP, s.getEndpoint());
@@ -128,6 +161,14 @@ public class SecurityInfoSerDes {
     }
 
     public static SecurityInfo deserialize(byte[] data) {
+        if (SerializationFormat.of(data) == SerializationFormat.BINARY) {
+            try {
+                return deserialize(new DataInputStream(new ByteArrayInputStream(data)));
+            } catch (IOException | GeneralSecurityException e) {
+                throw new IllegalStateException("Invalid security info content", e);
+            }
+        }
+
         SecurityInfo i;
         try {
             JsonNode o = new ObjectMapper().readTree(new String(data));
@@ -182,4 +223,71 @@ public class SecurityInfoSerDes {
         return i;
     }
 
+    /* *************** Binary format **************** */
+
+    private static void serialize(SecurityInfo s, DataOutput out) throws IOException {
+        out.writeByte(VERSION_1);
+        out.writeUTF(s.getEndpoint());
+        if (s.usePSK()) {
+            out.writeByte(TYPE_PSK);
+            out.writeUTF(s.getPskIdentity());
+            writeBytes(s.getPreSharedKey(), out);
+        } else if (s.useRPK()) {
+            out.writeByte(TYPE_RPK);
+            writeBytes(s.getRawPublicKey().getEncoded(), out);
+        } else if (s.useX509Cert()) {
+            out.writeByte(TYPE_X509);
+        } else if (s.useOSCORE()) {
+            OscoreSetting oscoreSetting = s.getOscoreSetting();
+            out.writeByte(TYPE_OSCORE);
+            writeBytes(oscoreSetting.getSenderId(), out);
+            writeBytes(oscoreSetting.getRecipientId(), out);
+            writeBytes(oscoreSetting.getMasterSecret(), out);
+            out.writeInt(oscoreSetting.getAeadAlgorithm().getValue());
+            out.writeInt(oscoreSetting.getHkdfAlgorithm().getValue());
+            writeBytes(oscoreSetting.getMasterSalt(), out);
+        } else {
+            throw new IllegalArgumentException(String.format("Unsupported kind of security info : %s", s));
+        }
+    }
+
+    private static SecurityInfo deserialize(DataInput in) throws IOException, GeneralSecurityException {
+        byte version = in.readByte();
+        if (version != VERSION_1) {
+            throw new IllegalArgumentException(
+                    String.format("Unable to deserialize security info : unsupported version %d", version));
+        }
+        String ep = in.readUTF();
+        byte type = in.readByte();
+        switch (type) {
+        case TYPE_PSK:
+            return SecurityInfo.newPreSharedKeyInfo(ep, in.readUTF(), readBytes(in));
+        case TYPE_RPK:
+            return SecurityInfo.newRawPublicKeyInfo(ep, SecurityUtil.publicKey.decode(readBytes(in)));
+        case TYPE_X509:
+            return SecurityInfo.newX509CertInfo(ep);
+        case TYPE_OSCORE:
+            byte[] senderId = readBytes(in);
+            byte[] recipientId = readBytes(in);
+            byte[] masterSecret = readBytes(in);
+            int aeadAlgId = in.readInt();
+            int hmacAlgId = in.readInt();
+            byte[] masterSalt = readBytes(in);
+            return SecurityInfo.newOscoreInfo(ep,
+                    new OscoreSetting(senderId, recipientId, masterSecret, aeadAlgId, hmacAlgId, masterSalt));
+        default:
+            throw new IllegalArgumentException(String.format("Unsupported kind of security info : %d", type));
+        }
+    }
+
+    private static void writeBytes(byte[] value, DataOutput out) throws IOException {
+        out.writeShort(value.length);
+        out.write(value);
+    }
+
+    private static byte[] readBytes(DataInput in) throws IOException {
+        byte[] value = new byte[in.readUnsignedShort()];
+        in.readFully(value);
+        return value;
+    }
 }
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis.serialization;
+
+/**
+ * Format used to serialize data stored in Redis.
+ * <p>
+ * Both formats can be read whatever the configured format is, so a store can be migrated from one format to the other :
+ * data is rewritten in the configured format the next time it is modified.
+ */
+public enum SerializationFormat {
+    /**
+     * Human readable JSON format (default).
+     */
+    JSON,
+    /**
+     * Compact versioned binary format : smaller and faster to read/write than JSON.
+     */
+    BINARY;
+
+    /**
+     * @return the format of the given serialized data.
+     */
+    public static SerializationFormat of(byte[] data) {
+        // JSON data are always JSON objects, binary data always starts with a version byte.
+        return data.length > 0 && data[0] == '{' ? JSON : BINARY;
+    }
+}
@@ -18,21 +18,25 @@ package org.eclipse.leshan.server.redis.serialization;
 
 import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.Inet4Address;
 import java.net.InetSocketAddress;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
 import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.link.LinkParseException;
 import org.eclipse.leshan.core.link.attributes.AttributeSet;
 import org.eclipse.leshan.core.link.attributes.ContentFormatAttribute;
 import org.eclipse.leshan.core.link.attributes.QuotedStringAttribute;
 import org.eclipse.leshan.core.link.attributes.ResourceTypeAttribute;
 import org.eclipse.leshan.core.link.attributes.UnquotedStringAttribute;
 import org.eclipse.leshan.core.link.attributes.ValuelessAttribute;
+import org.eclipse.leshan.core.link.lwm2m.DefaultLwM2mLinkParser;
 import org.eclipse.leshan.core.peer.IpPeer;
 import org.eclipse.leshan.core.request.ContentFormat;
 import org.eclipse.leshan.server.registration.DefaultRegistrationDataExtractor;
@@ -116,4 +120,51 @@ class RegistrationSerDesTest {
 
         assertEquals(r, r2);
     }
+
+    @Test
+    void binary_ser_and_des_are_equals_and_readable_by_json_serdes() throws LinkParseException {
+        Link[] objs = new DefaultLwM2mLinkParser()
+                .parseCoreLinkFormat("</>;rt=\"oma.lwm2m\",</1/0>,</3>;ver=1.1,</3/0>".getBytes());
+
+        Registration.Builder builder = new Registration.Builder("registrationId", "endpoint",
+                new IpPeer(new InetSocketAddress(Inet4Address.getLoopbackAddress(), 1)),
+                uriHandler.createUri("coap://localhost:5683")).objectLinks(objs).rootPath("/")
+                        .supportedContentFormats(ContentFormat.TLV, ContentFormat.TEXT)
+                        .customRegistrationData(Collections.singletonMap("key", "value"));
+        builder.registrationDate(new Date(100L));
+        builder.lastUpdate(new Date(101L));
+        Registration r = builder.build();
+
+        RegistrationSerDes jsonSerDes = new RegistrationSerDes(new LwM2mPeerSerDes(), SerializationFormat.JSON);
+        RegistrationSerDes binarySerDes = new RegistrationSerDes(new LwM2mPeerSerDes(), SerializationFormat.BINARY);
+        byte[] ser = binarySerDes.bSerialize(r);
+
+        assertEquals(SerializationFormat.BINARY, SerializationFormat.of(ser));
+        assertTrue(ser.length < jsonSerDes.bSerialize(r).length);
+        assertEquals(r, binarySerDes.deserialize(ser));
+        assertEquals(r, jsonSerDes.deserialize(ser));
+    }
+
+    @Test
+    void updatable_data_applied_on_previous_registration_gives_updated_registration() throws LinkParseException {
+        Link[] objs = new DefaultLwM2mLinkParser().parseCoreLinkFormat("</1/0>,</3/0>".getBytes());
+
+        Registration.Builder builder = new Registration.Builder("registrationId", "endpoint",
+                new IpPeer(new InetSocketAddress(Inet4Address.getLoopbackAddress(), 1)),
+                uriHandler.createUri("coap://localhost:5683")).objectLinks(objs).lifeTimeInSec(60L);
+        builder.registrationDate(new Date(100L));
+        builder.lastUpdate(new Date(101L));
+        Registration previous = builder.build();
+
+        Registration.Builder updatedBuilder = new Registration.Builder("registrationId", "endpoint",
+                new IpPeer(new InetSocketAddress(Inet4Address.getLoopbackAddress(), 2)),
+                uriHandler.createUri("coap://localhost:5683")).profile(previous.getProfile()).lifeTimeInSec(120L);
+        updatedBuilder.registrationDate(new Date(100L));
+        updatedBuilder.lastUpdate(new Date(200L));
+        Registration updated = updatedBuilder.build();
+
+        byte[] ser = registrationSerDes.bSerializeUpdatableData(updated);
+
+        assertEquals(updated, registrationSerDes.applyUpdatableData(previous, ser));
+    }
 }
@@ -21,11 +21,13 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import java.math.BigInteger;
 import java.security.AlgorithmParameters;
 import java.security.KeyFactory;
+import java.security.KeyPairGenerator;
 import java.security.spec.ECGenParameterSpec;
 import java.security.spec.ECParameterSpec;
 import java.security.spec.ECPoint;
 import java.security.spec.ECPublicKeySpec;
 import java.security.spec.KeySpec;
+import java.util.Arrays;
 
 import org.eclipse.leshan.core.oscore.AeadAlgorithm;
 import org.eclipse.leshan.core.oscore.HkdfAlgorithm;
@@ -78,6 +80,24 @@ class SecurityInfoSerDesTest {
         assertEquals(si, SecurityInfoSerDes.deserialize(data));
     }
 
+    @Test
+    void security_info_binary_ser_des_then_equal() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        OscoreSetting oscoreSetting = new OscoreSetting(OSCORE_SENDER_ID, OSCORE_RECIPIENT_ID, OSCORE_MASTER_SECRET,
+                AeadAlgorithm.AES_CCM_16_64_128, HkdfAlgorithm.HKDF_HMAC_SHA_256, OSCORE_MASTER_SALT);
+
+        for (SecurityInfo si : Arrays.asList( //
+                SecurityInfo.newPreSharedKeyInfo("myendPoint", "pskIdentity", Hex.decodeHex("deadbeef".toCharArray())),
+                SecurityInfo.newRawPublicKeyInfo("myendPoint", generator.generateKeyPair().getPublic()),
+                SecurityInfo.newX509CertInfo("myendPoint"), //
+                SecurityInfo.newOscoreInfo("myendPoint", oscoreSetting))) {
+            byte[] data = SecurityInfoSerDes.serialize(si, SerializationFormat.BINARY);
+            assertEquals(SerializationFormat.BINARY, SerializationFormat.of(data));
+            assertEquals(si, SecurityInfoSerDes.deserialize(data));
+        }
+    }
+
     @Test
     void security_info_oscore_ser_des_then_equal() {
 
@@ -19,7 +19,9 @@ package org.eclipse.leshan.server;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.leshan.core.Destroyable;
 import org.eclipse.leshan.core.Startable;
@@ -44,6 +46,11 @@ import org.eclipse.leshan.core.response.ErrorCallback;
 import org.eclipse.leshan.core.response.LwM2mResponse;
 import org.eclipse.leshan.core.response.ResponseCallback;
 import org.eclipse.leshan.core.util.Validate;
+import org.eclipse.leshan.server.bulk.BulkOperation;
+import org.eclipse.leshan.server.bulk.BulkRequestFactory;
+import org.eclipse.leshan.server.bulk.BulkRequestOptions;
+import org.eclipse.leshan.server.bulk.BulkRequestSender;
+import org.eclipse.leshan.server.bulk.BulkResponseListener;
 import org.eclipse.leshan.server.endpoint.CompositeServerEndpointsProvider;
 import org.eclipse.leshan.server.endpoint.LwM2mServerEndpoint;
 import org.eclipse.leshan.server.endpoint.LwM2mServerEndpointsProvider;
@@ -63,6 +70,7 @@ import org.eclipse.leshan.server.registration.RegistrationDataExtractor;
 import org.eclipse.leshan.server.registration.RegistrationHandler;
 import org.eclipse.leshan.server.registration.RegistrationIdProvider;
 import org.eclipse.leshan.server.registration.RegistrationListener;
+import org.eclipse.leshan.server.registration.RegistrationQuery;
 import org.eclipse.leshan.server.registration.RegistrationService;
 import org.eclipse.leshan.server.registration.RegistrationServiceImpl;
 import org.eclipse.leshan.server.registration.RegistrationStore;
@@ -108,6 +116,7 @@ public class LeshanServer {
     private final LwM2mModelProvider modelProvider;
     private PresenceServiceImpl presenceService;
     private final DownlinkRequestSender requestSender;
+    private final BulkRequestSender bulkRequestSender;
 
     /**
      * Initialize a server which will bind to the specified address and port.
@@ -176,6 +185,7 @@ public class LeshanServer {
         // create request sender
         requestSender = createRequestSender(endpointsProvider, registrationService, this.modelProvider,
                 presenceService);
+        bulkRequestSender = createBulkRequestSender(requestSender);
 
     }
 
@@ -251,6 +261,13 @@ public class LeshanServer {
         return requestSender;
     }
 
+    /**
+     * @since 2.0
+     */
+    protected BulkRequestSender createBulkRequestSender(DownlinkRequestSender requestSender) {
+        return new BulkRequestSender(requestSender);
+    }
+
     /**
      * Starts the server and binds it to the specified port.
      */
@@ -327,6 +344,8 @@ public class LeshanServer {
             ((Stoppable) requestSender).stop();
         }
 
+        bulkRequestSender.destroy();
+
         if (presenceService != null) {
             presenceService.destroy();
         }
@@ -589,4 +608,95 @@ public class LeshanServer {
             ErrorCallback errorCallback) {
         requestSender.send(destination, request, lowerLayerConfig, timeoutInMs, responseCallback, errorCallback);
     }
+
+    /**
+     * Send a Lightweight M2M {@link DownlinkRequest} asynchronously to a LWM2M client and return a
+     * {@link CompletableFuture} of the response, using the default timeout (2 minutes).
+     *
+     * @see #sendAsync(Registration, DownlinkDeviceManagementRequest, LowerLayerConfig, long)
+     * @since 2.0
+     */
+    public <T extends LwM2mResponse> CompletableFuture<T> sendAsync(Registration destination,
+            DownlinkDeviceManagementRequest<T> request) {
+        return sendAsync(destination, request, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Send a Lightweight M2M {@link DownlinkRequest} asynchronously to a LWM2M client and return a
+     * {@link CompletableFuture} of the response.
+     *
+     * @see #sendAsync(Registration, DownlinkDeviceManagementRequest, LowerLayerConfig, long)
+     * @since 2.0
+     */
+    public <T extends LwM2mResponse> CompletableFuture<T> sendAsync(Registration destination,
+            DownlinkDeviceManagementRequest<T> request, long timeoutInMs) {
+        return sendAsync(destination, request, null, timeoutInMs);
+    }
+
+    /**
+     * Send a Lightweight M2M {@link DownlinkRequest} asynchronously to a LWM2M client and return a
+     * {@link CompletableFuture} of the response. Unlike callbacks, futures can be chained or combined, so a large
+     * number of requests can be orchestrated without a thread per request.
+     * <p>
+     * The future is completed with the response (successful or error response) or completed exceptionally with :
+     * <ul>
+     * <li>{@link RequestRejectedException} if the request is rejected by foreign peer.</li>
+     * <li>{@link RequestCanceledException} if the request is cancelled.</li>
+     * <li>{@link SendFailedException} if the request can not be sent. E.g. error at CoAP or DTLS/UDP layer.</li>
+     * <li>{@link InvalidResponseException} if the response received is malformed.</li>
+     * <li>{@link ClientSleepingException} if client is currently sleeping.</li>
+     * <li>{@link TimeoutException} if the timeout expires (see
+     * https://github.com/eclipse/leshan/wiki/Request-Timeout).</li>
+     * <li>{@link CodecException} if request payload can not be encoded.</li>
+     * <li>or any other RuntimeException for unexpected issue.
+     * </ul>
+     * Cancelling the future cancels the ongoing request.
+     *
+     * @param destination The {@link Registration} associate to the device we want to sent the request.
+     * @param request The request to send to the client.
+     * @param lowerLayerConfig to tweak lower layer request (e.g. coap request)
+     * @param timeoutInMs The global timeout to wait in milliseconds (see
+     *        https://github.com/eclipse/leshan/wiki/Request-Timeout)
+     * @return the future response.
+     *
+     * @since 2.0
+     */
+    public <T extends LwM2mResponse> CompletableFuture<T> sendAsync(Registration destination,
+            DownlinkDeviceManagementRequest<T> request, LowerLayerConfig lowerLayerConfig, long timeoutInMs) {
+        return requestSender.sendAsync(destination, request, lowerLayerConfig, timeoutInMs);
+    }
+
+    /**
+     * Send a request to all devices matching the given query, limiting concurrency and rate as defined by the given
+     * options. This method does not block : results are delivered to the listener as soon as they are available.
+     *
+     * @param selector the query used to select targeted devices.
+     * @param requestFactory create the request to send to each device, can return <code>null</code> to skip a device.
+     * @param options limits and timeout of this operation.
+     * @param listener receives per-device results and operation completion.
+     * @return the running operation, which gives access to progress and allows to cancel it.
+     * @see BulkRequestSender
+     * @since 2.0
+     */
+    public <T extends LwM2mResponse> BulkOperation<T> sendBulk(RegistrationQuery selector,
+            BulkRequestFactory<T> requestFactory, BulkRequestOptions options, BulkResponseListener<T> listener) {
+        return sendBulk(registrationService.getRegistrations(selector), requestFactory, options, listener);
+    }
+
+    /**
+     * Send a request to all devices returned by the given iterator, limiting concurrency and rate as defined by the
+     * given options. This method does not block : results are delivered to the listener as soon as they are available.
+     *
+     * @param registrations the targeted devices, consumed by the thread driving the operation.
+     * @param requestFactory create the request to send to each device, can return <code>null</code> to skip a device.
+     * @param options limits and timeout of this operation.
+     * @param listener receives per-device results and operation completion.
+     * @return the running operation, which gives access to progress and allows to cancel it.
+     * @see BulkRequestSender
+     * @since 2.0
+     */
+    public <T extends LwM2mResponse> BulkOperation<T> sendBulk(Iterator<Registration> registrations,
+            BulkRequestFactory<T> requestFactory, BulkRequestOptions options, BulkResponseListener<T> listener) {
+        return bulkRequestSender.send(registrations, requestFactory, options, listener);
+    }
 }
@@ -0,0 +1,374 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.bulk;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.leshan.core.request.DownlinkDeviceManagementRequest;
+import org.eclipse.leshan.core.response.LwM2mResponse;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.request.DownlinkRequestSender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A running bulk operation, created by {@link BulkRequestSender}. It gives access to progress and allows to cancel the
+ * operation.
+ * <p>
+ * The operation is driven by a single thread which pulls registrations from the selector only when a request can be
+ * sent, so the whole fleet is never loaded in memory.
+ *
+ * @since 2.0
+ */
+public class BulkOperation<T extends LwM2mResponse> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkOperation.class);
+
+    private final Iterator<Registration> registrations;
+    private final BulkRequestFactory<T> requestFactory;
+    private final BulkRequestOptions options;
+    private final BulkResponseListener<T> listener;
+    private final DownlinkRequestSender requestSender;
+    private final TokenBucket tokenBucket;
+
+    // state shared between the thread driving the operation and response callbacks
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition stateChanged = lock.newCondition();
+    private final Map<String, Integer> inFlightByEndpoint = new HashMap<>();
+    private final Map<String, Deque<Registration>> deferredByEndpoint = new HashMap<>();
+    private final Deque<Registration> ready = new ArrayDeque<>();
+    private int inFlight;
+    private boolean exhausted;
+    private boolean stopped;
+    private volatile boolean cancelled;
+
+    private final CountDownLatch completed = new CountDownLatch(1);
+
+    // metrics
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong responseCount = new AtomicLong();
+    private final AtomicLong successCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    BulkOperation(Iterator<Registration> registrations, BulkRequestFactory<T> requestFactory,
+            BulkRequestOptions options, BulkResponseListener<T> listener, DownlinkRequestSender requestSender) {
+        this.registrations = registrations;
+        this.requestFactory = requestFactory;
+        this.options = options;
+        this.listener = listener;
+        this.requestSender = requestSender;
+        this.tokenBucket = options.getRequestsPerSecond() > 0
+                ? new TokenBucket(options.getRequestsPerSecond(), options.getBurst())
+                : null;
+    }
+
+    /**
+     * Send requests until all registrations are processed or the operation is cancelled.
+     */
+    void run() {
+        Registration registration = null;
+        try {
+            while ((registration = next()) != null) {
+                if (tokenBucket != null) {
+                    tokenBucket.acquire();
+                }
+                if (cancelled) {
+                    release(registration);
+                } else {
+                    send(registration);
+                }
+                registration = null;
+            }
+        } catch (InterruptedException e) {
+            cancelled = true;
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to get next registration of bulk operation : operation is cancelled", e);
+            cancelled = true;
+        } finally {
+            if (registration != null) {
+                release(registration);
+            }
+            stop();
+        }
+    }
+
+    /**
+     * Wait until a request can be sent and return the targeted registration, or <code>null</code> if there is no more
+     * registration to process.
+     */
+    private Registration next() throws InterruptedException {
+        while (true) {
+            lock.lock();
+            try {
+                while (!cancelled && inFlight >= options.getMaxConcurrentRequests()) {
+                    stateChanged.await();
+                }
+                if (cancelled) {
+                    return null;
+                }
+                Registration registration = ready.poll();
+                if (registration != null) {
+                    if (tryAcquire(registration)) {
+                        return registration;
+                    }
+                    continue;
+                }
+                if (exhausted) {
+                    if (deferredByEndpoint.isEmpty()) {
+                        return null;
+                    }
+                    // wait for deferred registrations to be ready
+                    stateChanged.await();
+                    continue;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            // registration selector could be slow (e.g. remote store), so do not hold the lock
+            Registration registration = registrations.hasNext() ? registrations.next() : null;
+
+            lock.lock();
+            try {
+                if (registration == null) {
+                    exhausted = true;
+                } else if (tryAcquire(registration)) {
+                    return registration;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Reserve a slot for the given registration or defer it if its endpoint has already too many requests in flight.
+     * Must be called holding the lock.
+     */
+    private boolean tryAcquire(Registration registration) {
+        String endpoint = registration.getEndpoint();
+        Integer count = inFlightByEndpoint.get(endpoint);
+        int endpointInFlight = count == null ? 0 : count;
+        if (endpointInFlight >= options.getMaxConcurrentRequestsPerEndpoint()) {
+            deferredByEndpoint.computeIfAbsent(endpoint, k -> new ArrayDeque<>()).add(registration);
+            return false;
+        }
+        inFlightByEndpoint.put(endpoint, endpointInFlight + 1);
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Free the slot reserved for the given registration.
+     */
+    private void release(Registration registration) {
+        boolean done;
+        lock.lock();
+        try {
+            inFlight--;
+            String endpoint = registration.getEndpoint();
+            int endpointInFlight = inFlightByEndpoint.get(endpoint) - 1;
+            if (endpointInFlight == 0) {
+                inFlightByEndpoint.remove(endpoint);
+            } else {
+                inFlightByEndpoint.put(endpoint, endpointInFlight);
+            }
+            Deque<Registration> deferred = deferredByEndpoint.get(endpoint);
+            if (deferred != null) {
+                ready.add(deferred.poll());
+                if (deferred.isEmpty()) {
+                    deferredByEndpoint.remove(endpoint);
+                }
+            }
+            stateChanged.signal();
+            done = stopped && inFlight == 0;
+        } finally {
+            lock.unlock();
+        }
+        if (done) {
+            complete();
+        }
+    }
+
+    private void stop() {
+        boolean done;
+        lock.lock();
+        try {
+            stopped = true;
+            done = inFlight == 0;
+        } finally {
+            lock.unlock();
+        }
+        if (done) {
+            complete();
+        }
+    }
+
+    private void complete() {
+        try {
+            listener.onCompleted(this);
+        } catch (RuntimeException e) {
+            LOG.warn("Unexpected error in bulk operation listener", e);
+        } finally {
+            completed.countDown();
+        }
+    }
+
+    private void send(Registration registration) {
+        DownlinkDeviceManagementRequest<T> request;
+        try {
+            request = requestFactory.create(registration);
+        } catch (RuntimeException e) {
+            onError(registration, null, e);
+            return;
+        }
+        if (request == null) {
+            skippedCount.incrementAndGet();
+            release(registration);
+            return;
+        }
+
+        sentCount.incrementAndGet();
+        try {
+            requestSender.send(registration, request, null, options.getTimeoutInMs(),
+                    response -> onResponse(registration, request, response),
+                    error -> onError(registration, request, error));
+        } catch (RuntimeException e) {
+            onError(registration, request, e);
+        }
+    }
+
+    private void onResponse(Registration registration, DownlinkDeviceManagementRequest<T> request, T response) {
+        responseCount.incrementAndGet();
+        if (response.isSuccess()) {
+            successCount.incrementAndGet();
+        }
+        try {
+            listener.onResponse(registration, request, response);
+        } catch (RuntimeException e) {
+            LOG.warn("Unexpected error in bulk operation listener", e);
+        } finally {
+            release(registration);
+        }
+    }
+
+    private void onError(Registration registration, DownlinkDeviceManagementRequest<T> request, Exception error) {
+        errorCount.incrementAndGet();
+        try {
+            listener.onError(registration, request, error);
+        } catch (RuntimeException e) {
+            LOG.warn("Unexpected error in bulk operation listener", e);
+        } finally {
+            release(registration);
+        }
+    }
+
+    /**
+     * Stop sending new requests. Requests already sent are not cancelled, their results are still delivered to the
+     * listener before {@link BulkResponseListener#onCompleted(BulkOperation)} is called.
+     */
+    public void cancel() {
+        cancelled = true;
+        lock.lock();
+        try {
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until the operation is completed.
+     *
+     * @return <code>true</code> if the operation is completed, <code>false</code> if the timeout elapsed before.
+     */
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        return completed.await(timeout, unit);
+    }
+
+    public BulkRequestOptions getOptions() {
+        return options;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return true if all results were delivered to the listener.
+     */
+    public boolean isDone() {
+        return completed.getCount() == 0;
+    }
+
+    /**
+     * @return the number of requests sent.
+     */
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    /**
+     * @return the number of responses received, successful or not.
+     */
+    public long getResponseCount() {
+        return responseCount.get();
+    }
+
+    /**
+     * @return the number of successful responses received.
+     */
+    public long getSuccessCount() {
+        return successCount.get();
+    }
+
+    /**
+     * @return the number of requests which could not be created, sent or did not get a valid response.
+     */
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    /**
+     * @return the number of devices skipped by the {@link BulkRequestFactory}.
+     */
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    /**
+     * @return the number of requests waiting for a response.
+     */
+    public int getInFlightCount() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
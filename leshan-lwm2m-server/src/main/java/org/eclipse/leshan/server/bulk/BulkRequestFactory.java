@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.bulk;
+
+import org.eclipse.leshan.core.request.DownlinkDeviceManagementRequest;
+import org.eclipse.leshan.core.response.LwM2mResponse;
+import org.eclipse.leshan.server.registration.Registration;
+
+/**
+ * Create the request to send to each device targeted by a bulk operation.
+ *
+ * @see BulkRequestSender
+ * @since 2.0
+ */
+public interface BulkRequestFactory<T extends LwM2mResponse> {
+
+    /**
+     * Create the request to send to the given device.
+     * <p>
+     * This is called from the thread driving the bulk operation, just before the request is sent.
+     *
+     * @param registration the registration of the targeted device.
+     * @return the request to send or <code>null</code> to skip this device.
+     */
+    DownlinkDeviceManagementRequest<T> create(Registration registration);
+}
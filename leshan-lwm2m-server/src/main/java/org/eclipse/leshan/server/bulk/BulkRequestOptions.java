@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.bulk;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * Limits and timeout applied to a bulk operation.
+ *
+ * @see BulkRequestSender
+ * @since 2.0
+ */
+public class BulkRequestOptions {
+
+    public static final BulkRequestOptions DEFAULT = new Builder().build();
+
+    private final int maxConcurrentRequests;
+    private final int maxConcurrentRequestsPerEndpoint;
+    private final double requestsPerSecond;
+    private final int burst;
+    private final long timeoutInMs;
+
+    protected BulkRequestOptions(Builder builder) {
+        this.maxConcurrentRequests = builder.maxConcurrentRequests;
+        this.maxConcurrentRequestsPerEndpoint = builder.maxConcurrentRequestsPerEndpoint;
+        this.requestsPerSecond = builder.requestsPerSecond;
+        this.burst = builder.burst;
+        this.timeoutInMs = builder.timeoutInMs;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public int getMaxConcurrentRequestsPerEndpoint() {
+        return maxConcurrentRequestsPerEndpoint;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public long getTimeoutInMs() {
+        return timeoutInMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "BulkRequestOptions [maxConcurrentRequests=%s, maxConcurrentRequestsPerEndpoint=%s, requestsPerSecond=%s, burst=%s, timeoutInMs=%s]",
+                maxConcurrentRequests, maxConcurrentRequestsPerEndpoint, requestsPerSecond, burst, timeoutInMs);
+    }
+
+    /**
+     * Class helping to build and configure {@link BulkRequestOptions}.
+     */
+    public static class Builder {
+        private int maxConcurrentRequests = 100;
+        private int maxConcurrentRequestsPerEndpoint = 1;
+        private double requestsPerSecond = 0;
+        private int burst = 1;
+        private long timeoutInMs = 2 * 60 * 1000l; // 2min in ms
+
+        /**
+         * Set the maximum number of requests waiting for a response for the whole operation.
+         * <p>
+         * Default value is 100.
+         */
+        public Builder setMaxConcurrentRequests(int maxConcurrentRequests) {
+            Validate.isTrue(maxConcurrentRequests > 0, "maxConcurrentRequests must be greater than 0");
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of requests waiting for a response for a given endpoint. This only matters when the
+         * registration selector returns several times the same endpoint : extra requests wait until previous ones
+         * complete, other devices are not blocked meanwhile.
+         * <p>
+         * Default value is 1.
+         */
+        public Builder setMaxConcurrentRequestsPerEndpoint(int maxConcurrentRequestsPerEndpoint) {
+            Validate.isTrue(maxConcurrentRequestsPerEndpoint > 0,
+                    "maxConcurrentRequestsPerEndpoint must be greater than 0");
+            this.maxConcurrentRequestsPerEndpoint = maxConcurrentRequestsPerEndpoint;
+            return this;
+        }
+
+        /**
+         * Set the rate at which requests are sent, using a token bucket (see {@link #setBurst(int)}). A value of 0
+         * means no rate limit.
+         * <p>
+         * Default value is 0.
+         */
+        public Builder setRequestsPerSecond(double requestsPerSecond) {
+            Validate.isTrue(requestsPerSecond >= 0, "requestsPerSecond must be positive");
+            this.requestsPerSecond = requestsPerSecond;
+            return this;
+        }
+
+        /**
+         * Set the capacity of the token bucket : the number of requests which can be sent at once after an idle period.
+         * Not used if there is no rate limit.
+         * <p>
+         * Default value is 1.
+         */
+        public Builder setBurst(int burst) {
+            Validate.isTrue(burst > 0, "burst must be greater than 0");
+            this.burst = burst;
+            return this;
+        }
+
+        /**
+         * Set the global timeout of each request (see https://github.com/eclipse/leshan/wiki/Request-Timeout).
+         * <p>
+         * Default value is 2 minutes.
+         */
+        public Builder setTimeout(long timeout, TimeUnit unit) {
+            Validate.isTrue(timeout > 0, "timeout must be greater than 0");
+            this.timeoutInMs = unit.toMillis(timeout);
+            return this;
+        }
+
+        public BulkRequestOptions build() {
+            return new BulkRequestOptions(this);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.bulk;
+
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.response.LwM2mResponse;
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.eclipse.leshan.core.util.Validate;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.request.DownlinkRequestSender;
+
+/**
+ * Send the same kind of request to a large number of devices, without overloading the server, the network or the
+ * devices.
+ * <p>
+ * For each registration returned by the selector, the {@link BulkRequestFactory} creates a request which is sent using
+ * the {@link DownlinkRequestSender}. The number of requests in flight (globally and by endpoint) and the sending rate
+ * are limited as defined by {@link BulkRequestOptions}. Results are streamed to a {@link BulkResponseListener}.
+ * <p>
+ * Usage example :
+ *
+ * <pre>
+ * BulkOperation&lt;ReadResponse&gt; operation = server.sendBulk(query, registration -&gt; new ReadRequest(3, 0, 9),
+ *         new BulkRequestOptions.Builder().setRequestsPerSecond(500).build(), myListener);
+ * </pre>
+ *
+ * @since 2.0
+ */
+public class BulkRequestSender implements Destroyable {
+
+    private final DownlinkRequestSender requestSender;
+    private final ExecutorService executor;
+    private final boolean attachedExecutor;
+
+    /**
+     * Create a {@link BulkRequestSender} which drives each operation with a dedicated thread.
+     */
+    public BulkRequestSender(DownlinkRequestSender requestSender) {
+        this(requestSender, null);
+    }
+
+    /**
+     * @param requestSender the sender used for each request.
+     * @param executor the executor used to drive operations. Each running operation uses 1 thread. It will not be
+     *        shutdown by {@link #destroy()}. If <code>null</code> a cached thread pool owned by this sender is used.
+     */
+    public BulkRequestSender(DownlinkRequestSender requestSender, ExecutorService executor) {
+        Validate.notNull(requestSender);
+        this.requestSender = requestSender;
+        if (executor != null) {
+            this.executor = executor;
+            this.attachedExecutor = false;
+        } else {
+            this.executor = Executors.newCachedThreadPool(new NamedThreadFactory("Leshan Bulk Operation#%d"));
+            this.attachedExecutor = true;
+        }
+    }
+
+    /**
+     * Start a bulk operation. This method does not block.
+     *
+     * @param registrations the targeted devices. It is only used by the thread driving the operation.
+     * @param requestFactory create the request for each device.
+     * @param options limits and timeout of this operation.
+     * @param listener receives results and operation completion.
+     * @return the running operation.
+     */
+    public <T extends LwM2mResponse> BulkOperation<T> send(Iterator<Registration> registrations,
+            BulkRequestFactory<T> requestFactory, BulkRequestOptions options, BulkResponseListener<T> listener) {
+        Validate.notNull(registrations, "registrations cannot be null");
+        Validate.notNull(requestFactory, "requestFactory cannot be null");
+        Validate.notNull(options, "options cannot be null");
+        Validate.notNull(listener, "listener cannot be null");
+
+        BulkOperation<T> operation = new BulkOperation<>(registrations, requestFactory, options, listener,
+                requestSender);
+        executor.execute(operation::run);
+        return operation;
+    }
+
+    /**
+     * Interrupt running operations if the executor was created by this sender. Interrupted operations are cancelled.
+     */
+    @Override
+    public void destroy() {
+        if (attachedExecutor) {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.bulk;
+
+import org.eclipse.leshan.core.request.DownlinkDeviceManagementRequest;
+import org.eclipse.leshan.core.response.LwM2mResponse;
+import org.eclipse.leshan.server.registration.Registration;
+
+/**
+ * Receive results of a bulk operation as soon as they are available.
+ * <p>
+ * Results are delivered from transport threads, so implementations should not block. A device gets either 1 response or
+ * 1 error. {@link #onCompleted(BulkOperation)} is called once, after all results were delivered.
+ *
+ * @see BulkRequestSender
+ * @since 2.0
+ */
+public interface BulkResponseListener<T extends LwM2mResponse> {
+
+    /**
+     * Called when a device answered (successful or error response).
+     */
+    void onResponse(Registration registration, DownlinkDeviceManagementRequest<T> request, T response);
+
+    /**
+     * Called when the request could not be created, sent or when no valid response was received. See
+     * {@link org.eclipse.leshan.server.request.DownlinkRequestSender} for possible errors.
+     */
+    void onError(Registration registration, DownlinkDeviceManagementRequest<T> request, Exception error);
+
+    /**
+     * Called when the operation is finished : all devices were processed or the operation was cancelled and no more
+     * request is in flight.
+     */
+    void onCompleted(BulkOperation<T> operation);
+}
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.bulk;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket used to limit the rate of a bulk operation. Only used by the thread driving the operation, so it is
+ * not thread-safe.
+ */
+class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param ratePerSecond number of tokens added each second.
+     * @param capacity maximum number of tokens the bucket can hold.
+     */
+    public TokenBucket(double ratePerSecond, int capacity) {
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Take 1 token, waiting until one is available.
+     */
+    public void acquire() throws InterruptedException {
+        while (true) {
+            refill();
+            if (tokens >= 1) {
+                tokens -= 1;
+                return;
+            }
+            long waitInNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+            TimeUnit.NANOSECONDS.sleep(waitInNanos);
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
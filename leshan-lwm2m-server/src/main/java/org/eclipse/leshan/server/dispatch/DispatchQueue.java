@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.dispatch;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded queue of events for one listener.
+ * <p>
+ * Events are executed in submission order, one at a time, using the {@link Executor} of the {@link ListenerDispatcher}
+ * which created this queue. This class also exposes metrics about the queue.
+ *
+ * @since 2.0
+ */
+public class DispatchQueue {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DispatchQueue.class);
+
+    // maximum number of events executed before giving the thread back to the executor
+    private static final int MAX_BATCH_SIZE = 64;
+
+    private final String name;
+    private final Executor executor;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final boolean conflateNotifications;
+
+    // guarded by this
+    private final Deque<Event> events = new ArrayDeque<>();
+    private final Map<Object, Event> pendingByKey = new HashMap<>();
+    private boolean scheduled = false;
+
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong conflated = new AtomicLong();
+
+    DispatchQueue(String name, Executor executor, int capacity, OverflowPolicy overflowPolicy,
+            boolean conflateNotifications) {
+        this.name = name;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.conflateNotifications = conflateNotifications;
+    }
+
+    /**
+     * Submit an event to this queue.
+     *
+     * @param conflationKey key identifying events which can replace each others (e.g. an observation identifier), could
+     *        be <code>null</code> if the event must not be conflated.
+     * @param task the event to execute.
+     */
+    void submit(Object conflationKey, Runnable task) {
+        synchronized (this) {
+            // while the listener is busy, keep only the last pending notification of an observation
+            if (conflateNotifications && conflationKey != null && replacePending(conflationKey, task)) {
+                return;
+            }
+            if (events.size() >= capacity) {
+                if (overflowPolicy == OverflowPolicy.CONFLATE && conflationKey != null
+                        && replacePending(conflationKey, task)) {
+                    return;
+                }
+                if (overflowPolicy == OverflowPolicy.BLOCK) {
+                    boolean interrupted = false;
+                    while (events.size() >= capacity) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            interrupted = true;
+                        }
+                    }
+                    if (interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                } else {
+                    while (events.size() >= capacity) {
+                        removePending(events.poll());
+                        dropped.incrementAndGet();
+                    }
+                }
+            }
+
+            Event event = new Event(conflationKey, task);
+            events.add(event);
+            if (conflationKey != null && (conflateNotifications || overflowPolicy == OverflowPolicy.CONFLATE)) {
+                pendingByKey.put(conflationKey, event);
+            }
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                LOG.warn("Unable to dispatch events of {}, {} pending events are dropped", name, events.size());
+                dropped.addAndGet(events.size());
+                events.clear();
+                pendingByKey.clear();
+                scheduled = false;
+                notifyAll();
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+                Runnable task;
+                synchronized (this) {
+                    Event event = events.poll();
+                    if (event == null) {
+                        scheduled = false;
+                        return;
+                    }
+                    removePending(event);
+                    task = event.task;
+                    notifyAll();
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    LOG.warn("Unexpected error in listener of {}", name, e);
+                }
+                dispatched.incrementAndGet();
+            }
+            // let other queues use the executor
+            try {
+                executor.execute(this::drain);
+                return;
+            } catch (RejectedExecutionException e) {
+                // executor is shutting down : keep draining on this thread so pending events are not lost
+            }
+        }
+    }
+
+    private boolean replacePending(Object conflationKey, Runnable task) {
+        Event pending = pendingByKey.get(conflationKey);
+        if (pending != null) {
+            pending.task = task;
+            conflated.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private void removePending(Event event) {
+        if (event.key != null) {
+            pendingByKey.remove(event.key, event);
+        }
+    }
+
+    /* *************** Metrics **************** */
+
+    /**
+     * @return the name of this queue.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the maximum number of pending events.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the current number of pending events.
+     */
+    public synchronized int getDepth() {
+        return events.size();
+    }
+
+    /**
+     * @return the number of events delivered to the listener.
+     */
+    public long getDispatchedCount() {
+        return dispatched.get();
+    }
+
+    /**
+     * @return the number of events dropped because the queue was full.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the number of events which replaced a pending event for the same observation.
+     */
+    public long getConflatedCount() {
+        return conflated.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DispatchQueue [name=%s, depth=%d, capacity=%d, dropped=%d, conflated=%d]", name,
+                getDepth(), capacity, getDroppedCount(), getConflatedCount());
+    }
+
+    private static class Event {
+        private final Object key;
+        private Runnable task; // guarded by DispatchQueue.this
+
+        public Event(Object key, Runnable task) {
+            this.key = key;
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.dispatch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.node.TimestampedLwM2mNodes;
+import org.eclipse.leshan.core.observation.CompositeObservation;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.SingleObservation;
+import org.eclipse.leshan.core.request.SendRequest;
+import org.eclipse.leshan.core.response.ObserveCompositeResponse;
+import org.eclipse.leshan.core.response.ObserveResponse;
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.eclipse.leshan.server.observation.ObservationListener;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationListener;
+import org.eclipse.leshan.server.registration.RegistrationUpdate;
+import org.eclipse.leshan.server.send.SendListener;
+
+/**
+ * Decouples listeners from the threads which produce events (generally transport threads), so a slow listener (e.g.
+ * writing in a database) does not slow down message processing for all devices.
+ * <p>
+ * Each listener wrapped by this dispatcher gets its own bounded {@link DispatchQueue}. Events are delivered to a given
+ * listener in order and never concurrently, using a shared executor. What happens when a queue is full is defined by
+ * the {@link OverflowPolicy}.
+ * <p>
+ * Usage example :
+ *
+ * <pre>
+ * ListenerDispatcher dispatcher = new ListenerDispatcher.Builder().setOverflowPolicy(OverflowPolicy.CONFLATE).build();
+ * server.getObservationService().addListener(dispatcher.dispatch("database", myObservationListener));
+ * </pre>
+ *
+ * @since 2.0
+ */
+public class ListenerDispatcher implements Destroyable {
+
+    private final ExecutorService executor;
+    private final boolean attachedExecutor;
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final boolean conflateNotifications;
+    private final List<DispatchQueue> queues = new CopyOnWriteArrayList<>();
+
+    protected ListenerDispatcher(Builder builder) {
+        if (builder.executor != null) {
+            this.executor = builder.executor;
+            this.attachedExecutor = false;
+        } else {
+            this.executor = Executors.newFixedThreadPool(builder.nbThreads,
+                    new NamedThreadFactory("Leshan Listener Dispatcher#%d"));
+            this.attachedExecutor = true;
+        }
+        this.queueCapacity = builder.queueCapacity;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.conflateNotifications = builder.conflateNotifications;
+    }
+
+    /**
+     * Create a new {@link DispatchQueue} with the configuration of this dispatcher.
+     *
+     * @param name name of the queue, used for logging and metrics.
+     */
+    public DispatchQueue createQueue(String name) {
+        DispatchQueue queue = new DispatchQueue(name, executor, queueCapacity, overflowPolicy, conflateNotifications);
+        queues.add(queue);
+        return queue;
+    }
+
+    /**
+     * Remove a queue created by this dispatcher from metrics. Pending events are still delivered.
+     */
+    public void removeQueue(DispatchQueue queue) {
+        queues.remove(queue);
+    }
+
+    /**
+     * Wrap the given listener, so events are delivered to it asynchronously. Notifications are conflated by observation
+     * when {@link OverflowPolicy#CONFLATE} or {@link Builder#setConflateNotifications(boolean)} is used.
+     *
+     * @param name name of the listener queue, used for logging and metrics.
+     * @return the listener to add to the {@link org.eclipse.leshan.server.observation.ObservationService}
+     */
+    public ObservationListener dispatch(String name, ObservationListener listener) {
+        return new DispatchingObservationListener(createQueue(name), listener);
+    }
+
+    /**
+     * Wrap the given listener, so events are delivered to it asynchronously.
+     *
+     * @param name name of the listener queue, used for logging and metrics.
+     * @return the listener to add to the {@link org.eclipse.leshan.server.send.SendService}
+     */
+    public SendListener dispatch(String name, SendListener listener) {
+        return new DispatchingSendListener(createQueue(name), listener);
+    }
+
+    /**
+     * Wrap the given listener, so events are delivered to it asynchronously.
+     *
+     * @param name name of the listener queue, used for logging and metrics.
+     * @return the listener to add to the {@link org.eclipse.leshan.server.registration.RegistrationService}
+     */
+    public RegistrationListener dispatch(String name, RegistrationListener listener) {
+        return new DispatchingRegistrationListener(createQueue(name), listener);
+    }
+
+    /* *************** Metrics **************** */
+
+    /**
+     * @return all queues created by this dispatcher.
+     */
+    public Collection<DispatchQueue> getQueues() {
+        return new ArrayList<>(queues);
+    }
+
+    /**
+     * @return the number of pending events for all queues.
+     */
+    public long getQueueDepth() {
+        long depth = 0;
+        for (DispatchQueue queue : queues) {
+            depth += queue.getDepth();
+        }
+        return depth;
+    }
+
+    /**
+     * @return the number of events dropped by all queues.
+     */
+    public long getDroppedCount() {
+        long dropped = 0;
+        for (DispatchQueue queue : queues) {
+            dropped += queue.getDroppedCount();
+        }
+        return dropped;
+    }
+
+    /**
+     * @return the number of events conflated by all queues.
+     */
+    public long getConflatedCount() {
+        long conflated = 0;
+        for (DispatchQueue queue : queues) {
+            conflated += queue.getConflatedCount();
+        }
+        return conflated;
+    }
+
+    /**
+     * Shutdown the executor if it was created by this dispatcher. Events submitted before this call are delivered
+     * before threads stop, waiting at most 5 seconds. Events submitted after this call are dropped.
+     */
+    @Override
+    public void destroy() {
+        if (attachedExecutor) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /* *************** Listener wrappers **************** */
+
+    private static class DispatchingObservationListener implements ObservationListener {
+        private final DispatchQueue queue;
+        private final ObservationListener listener;
+
+        public DispatchingObservationListener(DispatchQueue queue, ObservationListener listener) {
+            this.queue = queue;
+            this.listener = listener;
+        }
+
+        @Override
+        public void newObservation(Observation observation, Registration registration) {
+            queue.submit(null, () -> listener.newObservation(observation, registration));
+        }
+
+        @Override
+        public void cancelled(Observation observation) {
+            queue.submit(null, () -> listener.cancelled(observation));
+        }
+
+        @Override
+        public void onResponse(SingleObservation observation, Registration registration, ObserveResponse response) {
+            queue.submit(observation.getId(), () -> listener.onResponse(observation, registration, response));
+        }
+
+        @Override
+        public void onResponse(CompositeObservation observation, Registration registration,
+                ObserveCompositeResponse response) {
+            queue.submit(observation.getId(), () -> listener.onResponse(observation, registration, response));
+        }
+
+        @Override
+        public void onError(Observation observation, Registration registration, Exception error) {
+            queue.submit(null, () -> listener.onError(observation, registration, error));
+        }
+    }
+
+    private static class DispatchingSendListener implements SendListener {
+        private final DispatchQueue queue;
+        private final SendListener listener;
+
+        public DispatchingSendListener(DispatchQueue queue, SendListener listener) {
+            this.queue = queue;
+            this.listener = listener;
+        }
+
+        @Override
+        public void dataReceived(Registration registration, TimestampedLwM2mNodes data, SendRequest request) {
+            queue.submit(null, () -> listener.dataReceived(registration, data, request));
+        }
+
+        @Override
+        public void onError(Registration registration, String errorMessage, Exception error) {
+            queue.submit(null, () -> listener.onError(registration, errorMessage, error));
+        }
+    }
+
+    private static class DispatchingRegistrationListener implements RegistrationListener {
+        private final DispatchQueue queue;
+        private final RegistrationListener listener;
+
+        public DispatchingRegistrationListener(DispatchQueue queue, RegistrationListener listener) {
+            this.queue = queue;
+            this.listener = listener;
+        }
+
+        @Override
+        public void registered(Registration registration, Registration previousReg,
+                Collection<Observation> previousObservations) {
+            queue.submit(null, () -> listener.registered(registration, previousReg, previousObservations));
+        }
+
+        @Override
+        public void updated(RegistrationUpdate update, Registration updatedReg, Registration previousReg) {
+            queue.submit(null, () -> listener.updated(update, updatedReg, previousReg));
+        }
+
+        @Override
+        public void unregistered(Registration registration, Collection<Observation> observations, boolean expired,
+                Registration newReg) {
+            queue.submit(null, () -> listener.unregistered(registration, observations, expired, newReg));
+        }
+    }
+
+    /**
+     * Class helping to build and configure a {@link ListenerDispatcher}.
+     */
+    public static class Builder {
+        private ExecutorService executor;
+        private int nbThreads = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = 10000;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private boolean conflateNotifications = false;
+
+        /**
+         * Set the executor used to deliver events to listeners. It will not be shutdown by
+         * {@link ListenerDispatcher#destroy()}.
+         * <p>
+         * Default value is a fixed thread pool (see {@link #setNbThreads(int)}) owned by the dispatcher.
+         */
+        public Builder setExecutor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Set the number of threads of the default executor. Not used if an executor is set.
+         * <p>
+         * Default value is the number of available processors.
+         */
+        public Builder setNbThreads(int nbThreads) {
+            this.nbThreads = nbThreads;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of pending events per listener.
+         * <p>
+         * Default value is 10000.
+         */
+        public Builder setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Set what to do when an event is submitted to a full queue.
+         * <p>
+         * Default value is {@link OverflowPolicy#BLOCK}.
+         */
+        public Builder setOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Keep only the last pending notification of each observation while the listener is busy, even if the queue is
+         * not full. This is useful for observations of fast changing resources (e.g. with pmin=0) when only the last
+         * value matters: outdated notifications are not delivered and the number of pending notifications is bounded by
+         * the number of observations. Conflated notifications are counted by {@link DispatchQueue#getConflatedCount()}.
+         * <p>
+         * Other events (new observation, cancellation, errors) are never conflated.
+         * <p>
+         * Default value is <code>false</code>.
+         */
+        public Builder setConflateNotifications(boolean conflateNotifications) {
+            this.conflateNotifications = conflateNotifications;
+            return this;
+        }
+
+        public ListenerDispatcher build() {
+            if (executor == null && nbThreads <= 0) {
+                throw new IllegalArgumentException("nbThreads must be strictly positive");
+            }
+            if (queueCapacity <= 0) {
+                throw new IllegalArgumentException("queueCapacity must be strictly positive");
+            }
+            if (overflowPolicy == null) {
+                throw new IllegalArgumentException("overflowPolicy must not be null");
+            }
+            return new ListenerDispatcher(this);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.dispatch;
+
+/**
+ * What a {@link DispatchQueue} does when an event is submitted while it is full.
+ *
+ * @since 2.0
+ */
+public enum OverflowPolicy {
+    /**
+     * The submitting thread waits until there is room in the queue. No event is lost but a slow listener slows down the
+     * thread which produces events (generally a transport thread).
+     */
+    BLOCK,
+    /**
+     * The oldest pending event is dropped to make room for the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * If a notification for the same observation is already pending, it is replaced by the new one (which keeps its
+     * position in the queue). Else, the oldest pending event is dropped like with {@link #DROP_OLDEST}.
+     */
+    CONFLATE
+}
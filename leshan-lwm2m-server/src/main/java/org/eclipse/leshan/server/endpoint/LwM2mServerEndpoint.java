@@ -15,6 +15,8 @@
  *******************************************************************************/
 package org.eclipse.leshan.server.endpoint;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.leshan.core.endpoint.LwM2mEndpoint;
 import org.eclipse.leshan.core.observation.Observation;
 import org.eclipse.leshan.core.request.DownlinkDeviceManagementRequest;
@@ -33,6 +35,28 @@ public interface LwM2mServerEndpoint extends LwM2mEndpoint {
             ResponseCallback<T> responseCallback, ErrorCallback errorCallback, LowerLayerConfig lowerLayerConfig,
             long timeoutInMs);
 
+    /**
+     * Send a request asynchronously and return a future completed with the response (successful or error response) or
+     * completed exceptionally with the same exceptions as the ones given to {@link ErrorCallback}.
+     * <p>
+     * Default implementation adapts
+     * {@link #send(ClientProfile, DownlinkDeviceManagementRequest, ResponseCallback, ErrorCallback, LowerLayerConfig, long)}
+     * and so cancelling the returned future does not cancel the ongoing request. Implementations able to cancel a
+     * single request should override this method.
+     *
+     * @since 2.0
+     */
+    default <T extends LwM2mResponse> CompletableFuture<T> sendAsync(ClientProfile destination,
+            DownlinkDeviceManagementRequest<T> request, LowerLayerConfig lowerLayerConfig, long timeoutInMs) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            send(destination, request, future::complete, future::completeExceptionally, lowerLayerConfig, timeoutInMs);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     void cancelRequests(String sessionID);
 
     void cancelObservation(Observation observation);
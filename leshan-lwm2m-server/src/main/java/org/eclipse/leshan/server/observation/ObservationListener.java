@@ -20,13 +20,15 @@ import org.eclipse.leshan.core.observation.Observation;
 import org.eclipse.leshan.core.observation.SingleObservation;
 import org.eclipse.leshan.core.response.ObserveCompositeResponse;
 import org.eclipse.leshan.core.response.ObserveResponse;
+import org.eclipse.leshan.server.dispatch.ListenerDispatcher;
 import org.eclipse.leshan.server.registration.Registration;
 
 /**
  * Monitor observation lifetime.
  * <p>
  * Those methods are called by the protocol stage thread pool, this means that execution MUST be done in a short delay,
- * if you need to do long time processing use a dedicated thread pool.
+ * if you need to do long time processing use a dedicated thread pool. A {@link ListenerDispatcher} can be used for
+ * that, it can also conflate notifications of a same observation when the listener does not keep up.
  */
 public interface ObservationListener {
 
@@ -170,31 +170,14 @@ public class ObservationServiceImpl implements ObservationService, LwM2mNotifica
         }
 
         // search composite-observation
-        Set<Observation> result = new HashSet<>();
-        for (Observation obs : getObservations(registrationId)) {
-            if (obs instanceof CompositeObservation) {
-                if (lwPaths.equals(((CompositeObservation) obs).getPaths())) {
-                    result.add(obs);
-                }
-            }
-        }
-        return result;
+        return new HashSet<>(registrationStore.getCompositeObservations(registrationId, lwPaths));
     }
 
     private Set<Observation> getObservations(String registrationId, String nodePath) {
         if (registrationId == null || nodePath == null)
             return Collections.emptySet();
 
-        Set<Observation> result = new HashSet<>();
-        LwM2mPath lwPath = new LwM2mPath(nodePath);
-        for (Observation obs : getObservations(registrationId)) {
-            if (obs instanceof SingleObservation) {
-                if (lwPath.equals(((SingleObservation) obs).getPath())) {
-                    result.add(obs);
-                }
-            }
-        }
-        return result;
+        return new HashSet<>(registrationStore.getObservations(registrationId, new LwM2mPath(nodePath)));
     }
 
     @Override
@@ -15,6 +15,8 @@
  *******************************************************************************/
 package org.eclipse.leshan.server.queue;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.leshan.core.request.DownlinkDeviceManagementRequest;
 import org.eclipse.leshan.core.request.exception.ClientSleepingException;
 import org.eclipse.leshan.core.request.exception.TimeoutException;
@@ -136,6 +138,51 @@ public class QueueModeLwM2mRequestSender implements DownlinkRequestSender {
         });
     }
 
+    @Override
+    public <T extends LwM2mResponse> CompletableFuture<T> sendAsync(final Registration destination,
+            DownlinkDeviceManagementRequest<T> request, LowerLayerConfig lowerLayerConfig, long timeout) {
+
+        // If the client does not use Q-Mode, just send
+        if (!destination.usesQueueMode()) {
+            return delegatedSender.sendAsync(destination, request, lowerLayerConfig, timeout);
+        }
+
+        // If the client uses Q-Mode...
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        // If the client is sleeping, warn the user and return
+        if (!presenceService.isClientAwake(destination)) {
+            future.completeExceptionally(
+                    new ClientSleepingException("The destination client is sleeping, request cannot be sent."));
+            return future;
+        }
+
+        // Use delegation to send the request, updating presence before completing the user's future
+        CompletableFuture<T> delegatedFuture = delegatedSender.sendAsync(destination, request, lowerLayerConfig,
+                timeout);
+        delegatedFuture.whenComplete((response, e) -> {
+            if (e == null) {
+                // Set the client awake. This will restart the timer.
+                presenceService.setAwake(destination);
+                future.complete(response);
+            } else {
+                if (e instanceof TimeoutException || e instanceof UnconnectedPeerException) {
+                    // If the timeout expires or peer is not connected, this means the client does not respond.
+                    presenceService.setSleeping(destination);
+                }
+                future.completeExceptionally(e);
+            }
+        });
+
+        // Propagate cancellation to the ongoing request
+        future.whenComplete((response, e) -> {
+            if (future.isCancelled()) {
+                delegatedFuture.cancel(false);
+            }
+        });
+        return future;
+    }
+
     @Override
     public void cancelOngoingRequests(Registration registration) {
         delegatedSender.cancelOngoingRequests(registration);
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.peer.LwM2mIdentity;
+
+/**
+ * An asynchronous access to a {@link RegistrationStore}, for stores doing remote I/O.
+ * <p>
+ * Operations have the same semantic than the {@link RegistrationStore} ones but return a {@link CompletableFuture}
+ * instead of blocking the calling thread. Implementations using a blocking client may only offload blocking calls to
+ * their own threads. Futures may be completed by a thread of the store, so dependent actions doing long or blocking
+ * work should be executed asynchronously.
+ *
+ * @see RegistrationStore
+ */
+public interface AsyncRegistrationStore {
+
+    /**
+     * @see RegistrationStore#addRegistration(Registration)
+     */
+    CompletableFuture<Deregistration> addRegistration(Registration registration);
+
+    /**
+     * @see RegistrationStore#updateRegistration(RegistrationUpdate)
+     */
+    CompletableFuture<UpdatedRegistration> updateRegistration(RegistrationUpdate update);
+
+    /**
+     * @see RegistrationStore#removeRegistration(String)
+     */
+    CompletableFuture<Deregistration> removeRegistration(String registrationId);
+
+    /**
+     * @see RegistrationStore#getRegistration(String)
+     */
+    CompletableFuture<Registration> getRegistration(String registrationId);
+
+    /**
+     * @see RegistrationStore#getRegistrationByEndpoint(String)
+     */
+    CompletableFuture<Registration> getRegistrationByEndpoint(String endpoint);
+
+    /**
+     * @see RegistrationStore#getRegistrationByAdress(InetSocketAddress)
+     */
+    CompletableFuture<Registration> getRegistrationByAdress(InetSocketAddress address);
+
+    /**
+     * @see RegistrationStore#getRegistrationByIdentity(LwM2mIdentity)
+     */
+    CompletableFuture<Registration> getRegistrationByIdentity(LwM2mIdentity identity);
+
+    /**
+     * @see RegistrationStore#addObservation(String, Observation, boolean)
+     */
+    CompletableFuture<Collection<Observation>> addObservation(String registrationId, Observation observation,
+            boolean addIfAbsent);
+
+    /**
+     * @see RegistrationStore#removeObservation(String, ObservationIdentifier)
+     */
+    CompletableFuture<Observation> removeObservation(String registrationId, ObservationIdentifier observationId);
+
+    /**
+     * @see RegistrationStore#getObservations(String)
+     */
+    CompletableFuture<Collection<Observation>> getObservations(String registrationId);
+
+    /**
+     * @see RegistrationStore#removeObservations(String)
+     */
+    CompletableFuture<Collection<Observation>> removeObservations(String registrationId);
+}
@@ -0,0 +1,554 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.Startable;
+import org.eclipse.leshan.core.Stoppable;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.peer.LwM2mIdentity;
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.eclipse.leshan.core.util.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An in memory store for registration and observation designed for highly concurrent access.
+ * <p>
+ * It provides the same semantic than {@link InMemoryRegistrationStore} but instead of a global lock, data are stored in
+ * concurrent maps and modifications are serialized per endpoint using lock striping. This means that :
+ * <ul>
+ * <li>all read operations (<code>get*</code> methods) never block,</li>
+ * <li>modifications of registrations with different endpoints can be done in parallel (unless they share the same
+ * stripe).</li>
+ * </ul>
+ * As a counterpart, a reader could see a registration which is not yet (or no more) present in all indexes while a
+ * modification of this registration is in progress.
+ */
+public class ConcurrentInMemoryRegistrationStore implements RegistrationStore, Startable, Stoppable, Destroyable {
+    private static final Logger LOG = LoggerFactory.getLogger(ConcurrentInMemoryRegistrationStore.class);
+
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 64;
+
+    // Data structure
+    private final ConcurrentMap<String /* end-point */, Registration> regsByEp = new ConcurrentHashMap<>();
+    private final ConcurrentMap<InetSocketAddress, Registration> regsByAddr = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String /* reg-id */, Registration> regsByRegId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<LwM2mIdentity, Registration> regsByIdentity = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ObservationIdentifier, Observation> obsByToken = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<ObservationIdentifier>> tokensByRegId = new ConcurrentHashMap<>();
+    private final ObservationPathIndex pathIndex = new ObservationPathIndex();
+    private final RegistrationExpirationIndex expirationIndex = new RegistrationExpirationIndex();
+    private final RegistrationQueryIndex queryIndex = new RegistrationQueryIndex();
+
+    // Locks used to serialize modification by endpoint
+    private final Lock[] locks;
+
+    // Listener use to notify when a registration expires
+    private volatile ExpirationListener expirationListener;
+
+    private final ScheduledExecutorService schedExecutor;
+    private ScheduledFuture<?> cleanerTask;
+    private boolean started = false;
+    private final long cleanPeriod; // in seconds
+
+    public ConcurrentInMemoryRegistrationStore() {
+        this(2); // default clean period : 2s
+    }
+
+    public ConcurrentInMemoryRegistrationStore(long cleanPeriodInSec) {
+        this(Executors.newScheduledThreadPool(1,
+                new NamedThreadFactory(
+                        String.format("ConcurrentInMemoryRegistrationStore Cleaner (%ds)", cleanPeriodInSec))),
+                cleanPeriodInSec, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * @param schedExecutor executor used to schedule cleaning of expired registrations.
+     * @param cleanPeriodInSec period between 2 cleanings.
+     * @param concurrencyLevel number of locks used to serialize modifications. It will be rounded up to the next power
+     *        of 2. The higher it is, the lower the probability that 2 different endpoints share the same lock.
+     */
+    public ConcurrentInMemoryRegistrationStore(ScheduledExecutorService schedExecutor, long cleanPeriodInSec,
+            int concurrencyLevel) {
+        Validate.isTrue(concurrencyLevel > 0, "concurrencyLevel must be greater than 0");
+        this.schedExecutor = schedExecutor;
+        this.cleanPeriod = cleanPeriodInSec;
+
+        int size = Integer.highestOneBit(concurrencyLevel);
+        if (size < concurrencyLevel) {
+            size = size << 1;
+        }
+        this.locks = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /* *************** Leshan Registration API **************** */
+
+    @Override
+    public Deregistration addRegistration(Registration registration) {
+        Lock lock = getLock(registration.getEndpoint());
+        try {
+            lock.lock();
+
+            Registration registrationRemoved = regsByEp.put(registration.getEndpoint(), registration);
+            if (registrationRemoved != null) {
+                expirationIndex.remove(registrationRemoved);
+                queryIndex.remove(registrationRemoved);
+            }
+            expirationIndex.add(registration);
+            queryIndex.add(registration);
+            regsByRegId.put(registration.getId(), registration);
+            regsByIdentity.put(registration.getClientTransportData().getIdentity(), registration);
+            // If a registration is already associated to this address we don't care as we only want to keep the most
+            // recent binding.
+            if (registration.getSocketAddress() != null) {
+                regsByAddr.put(registration.getSocketAddress(), registration);
+            }
+            if (registrationRemoved != null) {
+                Collection<Observation> observationsRemoved = unsafeRemoveAllObservations(registrationRemoved.getId());
+                if (registrationRemoved.getSocketAddress() != null
+                        && !registrationRemoved.getSocketAddress().equals(registration.getSocketAddress())) {
+                    regsByAddr.remove(registrationRemoved.getSocketAddress(), registrationRemoved);
+                }
+                if (!registrationRemoved.getId().equals(registration.getId())) {
+                    regsByRegId.remove(registrationRemoved.getId(), registrationRemoved);
+                }
+                if (!registrationRemoved.getClientTransportData().getIdentity()
+                        .equals(registration.getClientTransportData().getIdentity())) {
+                    regsByIdentity.remove(registrationRemoved.getClientTransportData().getIdentity(),
+                            registrationRemoved);
+                }
+                return new Deregistration(registrationRemoved, observationsRemoved);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return null;
+    }
+
+    @Override
+    public UpdatedRegistration updateRegistration(RegistrationUpdate update) {
+        while (true) {
+            Registration registration = regsByRegId.get(update.getRegistrationId());
+            if (registration == null) {
+                return null;
+            }
+
+            Lock lock = getLock(registration.getEndpoint());
+            try {
+                lock.lock();
+
+                // check registration was not modified before we get the lock
+                if (regsByRegId.get(update.getRegistrationId()) != registration) {
+                    continue;
+                }
+
+                Registration updatedRegistration = update.update(registration);
+                regsByEp.put(updatedRegistration.getEndpoint(), updatedRegistration);
+                // If registration is already associated to this address we don't care as we only want to keep the most
+                // recent binding.
+                if (updatedRegistration.getSocketAddress() != null) {
+                    regsByAddr.put(updatedRegistration.getSocketAddress(), updatedRegistration);
+                }
+                if (registration.getSocketAddress() != null
+                        && !registration.getSocketAddress().equals(updatedRegistration.getSocketAddress())) {
+                    regsByAddr.remove(registration.getSocketAddress(), registration);
+                }
+                regsByIdentity.put(updatedRegistration.getClientTransportData().getIdentity(), updatedRegistration);
+                if (!registration.getClientTransportData().getIdentity()
+                        .equals(updatedRegistration.getClientTransportData().getIdentity())) {
+                    regsByIdentity.remove(registration.getClientTransportData().getIdentity(), registration);
+                }
+
+                regsByRegId.put(updatedRegistration.getId(), updatedRegistration);
+                expirationIndex.update(registration, updatedRegistration);
+                queryIndex.update(registration, updatedRegistration);
+
+                return new UpdatedRegistration(registration, updatedRegistration);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public Registration getRegistration(String registrationId) {
+        return regsByRegId.get(registrationId);
+    }
+
+    @Override
+    public Registration getRegistrationByEndpoint(String endpoint) {
+        return regsByEp.get(endpoint);
+    }
+
+    @Override
+    public Registration getRegistrationByAdress(InetSocketAddress address) {
+        return regsByAddr.get(address);
+    }
+
+    @Override
+    public Registration getRegistrationByIdentity(LwM2mIdentity identity) {
+        return regsByIdentity.get(identity);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Returned iterator is weakly consistent : it reflects the state of the store at some point at or since its
+     * creation and never throws {@link java.util.ConcurrentModificationException}.
+     */
+    @Override
+    public Iterator<Registration> getAllRegistrations() {
+        return Collections.unmodifiableCollection(regsByEp.values()).iterator();
+    }
+
+    @Override
+    public RegistrationPage getRegistrations(RegistrationQuery query, String cursor, int pageSize) {
+        return queryIndex.query(query, cursor, pageSize, regsByRegId::get);
+    }
+
+    @Override
+    public Iterator<Registration> getRegistrations(RegistrationQuery query) {
+        return new RegistrationQueryIterator(this, query);
+    }
+
+    @Override
+    public Deregistration removeRegistration(String registrationId) {
+        while (true) {
+            Registration registration = regsByRegId.get(registrationId);
+            if (registration == null) {
+                return null;
+            }
+
+            Lock lock = getLock(registration.getEndpoint());
+            try {
+                lock.lock();
+
+                // check registration was not modified before we get the lock
+                if (regsByRegId.get(registrationId) != registration) {
+                    continue;
+                }
+                return unsafeRemoveRegistration(registration);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Deregistration unsafeRemoveRegistration(Registration registration) {
+        Collection<Observation> observationsRemoved = unsafeRemoveAllObservations(registration.getId());
+        regsByEp.remove(registration.getEndpoint(), registration);
+        if (registration.getSocketAddress() != null) {
+            regsByAddr.remove(registration.getSocketAddress(), registration);
+        }
+        regsByRegId.remove(registration.getId(), registration);
+        regsByIdentity.remove(registration.getClientTransportData().getIdentity(), registration);
+        expirationIndex.remove(registration);
+        queryIndex.remove(registration);
+        return new Deregistration(registration, observationsRemoved);
+    }
+
+    /* *************** Leshan Observation API **************** */
+
+    @Override
+    public Collection<Observation> addObservation(String registrationId, Observation observation, boolean addIfAbsent) {
+        List<Observation> removed = new ArrayList<>();
+        Registration registration = regsByRegId.get(registrationId);
+        if (registration == null) {
+            throw new IllegalStateException(String.format(
+                    "can not add observation %s there is no registration with id %s", observation, registrationId));
+        }
+
+        Lock lock = getLock(registration.getEndpoint());
+        try {
+            lock.lock();
+
+            // check registration was not removed before we get the lock
+            if (!regsByRegId.containsKey(registrationId)) {
+                throw new IllegalStateException(String.format(
+                        "can not add observation %s there is no registration with id %s", observation, registrationId));
+            }
+
+            Observation previousObservation;
+            ObservationIdentifier id = observation.getId();
+
+            if (addIfAbsent) {
+                previousObservation = obsByToken.putIfAbsent(id, observation);
+                if (previousObservation == null) {
+                    pathIndex.add(observation);
+                }
+            } else {
+                previousObservation = obsByToken.put(id, observation);
+                if (previousObservation != null) {
+                    pathIndex.remove(previousObservation);
+                }
+                pathIndex.add(observation);
+            }
+            tokensByRegId.computeIfAbsent(registrationId, k -> ConcurrentHashMap.newKeySet()).add(id);
+
+            // log any collisions
+            if (previousObservation != null) {
+                removed.add(previousObservation);
+                LOG.warn("Token collision ? observation [{}] will be replaced by observation [{}] ",
+                        previousObservation, observation);
+            }
+
+            // cancel existing observations for the same path and registration id.
+            for (ObservationIdentifier obsId : pathIndex.getObservationsWithSamePaths(registrationId, observation)) {
+                Observation obs = obsByToken.get(obsId);
+                if (obs != null && !observation.getId().equals(obsId)) {
+                    unsafeRemoveObservation(obsId);
+                    removed.add(obs);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        return removed;
+    }
+
+    @Override
+    public Observation removeObservation(String registrationId, ObservationIdentifier observationId) {
+        Registration registration = regsByRegId.get(registrationId);
+        if (registration == null) {
+            return null;
+        }
+
+        Lock lock = getLock(registration.getEndpoint());
+        try {
+            lock.lock();
+            Observation observation = obsByToken.get(observationId);
+            if (observation != null && registrationId.equals(observation.getRegistrationId())) {
+                unsafeRemoveObservation(observationId);
+                return observation;
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Observation getObservation(String registrationId, ObservationIdentifier observationId) {
+        Observation observation = obsByToken.get(observationId);
+        if (observation != null && registrationId.equals(observation.getRegistrationId())) {
+            return observation;
+        }
+        return null;
+    }
+
+    @Override
+    public Observation getObservation(ObservationIdentifier observationId) {
+        return obsByToken.get(observationId);
+    }
+
+    @Override
+    public Collection<Observation> getObservations(String registrationId) {
+        return unsafeGetObservations(registrationId);
+    }
+
+    @Override
+    public Collection<Observation> getObservations(String registrationId, LwM2mPath path) {
+        return unsafeGetObservations(pathIndex.getObservations(registrationId, path));
+    }
+
+    @Override
+    public Collection<Observation> getCompositeObservations(String registrationId, List<LwM2mPath> paths) {
+        return unsafeGetObservations(pathIndex.getCompositeObservations(registrationId, paths));
+    }
+
+    @Override
+    public Collection<Observation> removeObservations(String registrationId) {
+        Registration registration = regsByRegId.get(registrationId);
+        if (registration == null) {
+            // registration is already removed, so should be its observations
+            return unsafeRemoveAllObservations(registrationId);
+        }
+
+        Lock lock = getLock(registration.getEndpoint());
+        try {
+            lock.lock();
+            return unsafeRemoveAllObservations(registrationId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* *************** Observation utility functions **************** */
+
+    private void unsafeRemoveObservation(ObservationIdentifier observationId) {
+        Observation removed = obsByToken.remove(observationId);
+
+        if (removed != null) {
+            pathIndex.remove(removed);
+            tokensByRegId.computeIfPresent(removed.getRegistrationId(), (regId, tokens) -> {
+                tokens.remove(observationId);
+                return tokens.isEmpty() ? null : tokens;
+            });
+        }
+    }
+
+    private Collection<Observation> unsafeRemoveAllObservations(String registrationId) {
+        Collection<Observation> removed = new ArrayList<>();
+        Set<ObservationIdentifier> ids = tokensByRegId.remove(registrationId);
+        pathIndex.removeAll(registrationId);
+        if (ids != null) {
+            for (ObservationIdentifier id : ids) {
+                Observation observationRemoved = obsByToken.remove(id);
+                if (observationRemoved != null) {
+                    removed.add(observationRemoved);
+                }
+            }
+        }
+        return removed;
+    }
+
+    private Collection<Observation> unsafeGetObservations(String registrationId) {
+        return unsafeGetObservations(tokensByRegId.get(registrationId));
+    }
+
+    private Collection<Observation> unsafeGetObservations(Set<ObservationIdentifier> ids) {
+        Collection<Observation> result = new ArrayList<>();
+        if (ids != null) {
+            for (ObservationIdentifier id : ids) {
+                Observation obs = obsByToken.get(id);
+                if (obs != null) {
+                    result.add(obs);
+                }
+            }
+        }
+        return result;
+    }
+
+    /* *************** Lock striping **************** */
+
+    private Lock getLock(String endpoint) {
+        // spread bits like ConcurrentHashMap does to limit collisions
+        int h = endpoint.hashCode();
+        h ^= (h >>> 16);
+        return locks[h & (locks.length - 1)];
+    }
+
+    /* *************** Expiration handling **************** */
+
+    @Override
+    public void setExpirationListener(ExpirationListener listener) {
+        this.expirationListener = listener;
+    }
+
+    /**
+     * start the registration store, will start regular cleanup of dead registrations.
+     */
+    @Override
+    public synchronized void start() {
+        if (!started) {
+            started = true;
+            cleanerTask = schedExecutor.scheduleAtFixedRate(new Cleaner(), cleanPeriod, cleanPeriod, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stop the underlying cleanup of the registrations.
+     */
+    @Override
+    public synchronized void stop() {
+        if (started) {
+            started = false;
+            if (cleanerTask != null) {
+                cleanerTask.cancel(false);
+                cleanerTask = null;
+            }
+        }
+    }
+
+    /**
+     * Destroy "cleanup" scheduler.
+     */
+    @Override
+    public synchronized void destroy() {
+        started = false;
+        schedExecutor.shutdownNow();
+        try {
+            schedExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            LOG.warn("Destroying ConcurrentInMemoryRegistrationStore was interrupted.", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Remove the given registration only if it is still the current one for its endpoint and it is still expired. (it
+     * could have been updated or removed since we check it)
+     */
+    private Deregistration removeIfExpired(Registration registration) {
+        Lock lock = getLock(registration.getEndpoint());
+        try {
+            lock.lock();
+            Registration current = regsByRegId.get(registration.getId());
+            if (current != null && !current.isAlive()) {
+                return unsafeRemoveRegistration(current);
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private class Cleaner implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                // only handle registrations which are due
+                for (String registrationId : expirationIndex.getExpiredRegistrationIds(System.currentTimeMillis())) {
+                    Registration reg = regsByRegId.get(registrationId);
+                    if (reg != null) {
+                        // force de-registration
+                        Deregistration removedRegistration = removeIfExpired(reg);
+                        if (removedRegistration != null) {
+                            expirationListener.registrationExpired(removedRegistration.getRegistration(),
+                                    removedRegistration.getObservations());
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                LOG.warn("Unexpected Exception while registration cleaning", e);
+            }
+        }
+    }
+}
@@ -15,10 +15,14 @@
  *******************************************************************************/
 package org.eclipse.leshan.server.registration;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
 import org.eclipse.leshan.core.LwM2m.Version;
@@ -32,16 +36,121 @@ import org.eclipse.leshan.core.link.lwm2m.attributes.LwM2mAttributes;
 import org.eclipse.leshan.core.model.LwM2mCoreObjectVersionRegistry;
 import org.eclipse.leshan.core.node.LwM2mPath;
 import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.core.util.Validate;
 
+/**
+ * Default implementation of {@link RegistrationDataExtractor}.
+ * <p>
+ * As devices running the same firmware send identical object links, extracted data are kept in a bounded cache indexed
+ * by object links content and LWM2M version.
+ */
 public class DefaultRegistrationDataExtractor implements RegistrationDataExtractor {
 
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
     protected LwM2mCoreObjectVersionRegistry versionRegistry = new LwM2mCoreObjectVersionRegistry();
 
+    private final Map<CacheKey, RegistrationData> cache;
+    private final int cacheSize;
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    public DefaultRegistrationDataExtractor() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheSize the maximum number of distinct object links for which extracted data are cached, 0 to disable
+     *        the cache.
+     */
+    public DefaultRegistrationDataExtractor(int cacheSize) {
+        Validate.isTrue(cacheSize >= 0, "cacheSize must be positive or 0");
+        this.cacheSize = cacheSize;
+        // Least recently used entries are evicted first
+        this.cache = new LinkedHashMap<CacheKey, RegistrationData>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, RegistrationData> eldest) {
+                return size() > DefaultRegistrationDataExtractor.this.cacheSize;
+            }
+        };
+    }
+
     @Override
     public RegistrationData extractDataFromObjectLinks(Link[] objectLinks, LwM2mVersion lwM2mVersion) {
         if (!lwM2mVersion.isSupported()) {
             return null;
         }
+        if (objectLinks == null || cacheSize == 0) {
+            return extractData(objectLinks, lwM2mVersion);
+        }
+
+        CacheKey key = new CacheKey(objectLinks, lwM2mVersion);
+        RegistrationData data;
+        synchronized (cache) {
+            data = cache.get(key);
+        }
+        if (data != null) {
+            cacheHits.incrementAndGet();
+        } else {
+            cacheMisses.incrementAndGet();
+            data = extractData(objectLinks, lwM2mVersion);
+            if (data == null) {
+                return null;
+            }
+            data = toImmutable(data);
+            synchronized (cache) {
+                cache.put(key.toStorable(), data);
+            }
+        }
+        // return a copy so cached instance can not be modified by caller
+        return copy(data);
+    }
+
+    /**
+     * @return the number of extractions served from cache.
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * @return the number of extractions not served from cache.
+     */
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    /**
+     * Remove all data from cache.
+     */
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private RegistrationData toImmutable(RegistrationData data) {
+        data.setSupportedContentFormats(Collections.unmodifiableSet(data.getSupportedContentFormats()));
+        data.setSupportedObjects(Collections.unmodifiableMap(data.getSupportedObjects()));
+        data.setAvailableInstances(Collections.unmodifiableSet(data.getAvailableInstances()));
+        return data;
+    }
+
+    private RegistrationData copy(RegistrationData data) {
+        RegistrationData copy = new RegistrationData();
+        copy.setAlternatePath(data.getAlternatePath());
+        copy.setSupportedContentFormats(data.getSupportedContentFormats());
+        copy.setSupportedObjects(data.getSupportedObjects());
+        copy.setAvailableInstances(data.getAvailableInstances());
+        return copy;
+    }
+
+    /**
+     * Extract data from object links without using the cache.
+     */
+    protected RegistrationData extractData(Link[] objectLinks, LwM2mVersion lwM2mVersion) {
 
         RegistrationData data = new RegistrationData();
         if (objectLinks != null) {
@@ -166,4 +275,57 @@ public class DefaultRegistrationDataExtractor implements RegistrationDataExtract
             return Version.V1_0;
         }
     }
+
+    /**
+     * Key of extracted data cache.
+     * <p>
+     * Hash code is computed from link URI references only, which is much cheaper than hashing all link attributes.
+     * Links with same URI references but different attributes are rare and distinguished by {@link #equals(Object)}.
+     */
+    private static final class CacheKey {
+        private final Link[] objectLinks;
+        private final LwM2mVersion lwM2mVersion;
+        private final int hashCode;
+
+        private CacheKey(Link[] objectLinks, LwM2mVersion lwM2mVersion) {
+            this(objectLinks, lwM2mVersion, hash(objectLinks, lwM2mVersion));
+        }
+
+        private CacheKey(Link[] objectLinks, LwM2mVersion lwM2mVersion, int hashCode) {
+            this.objectLinks = objectLinks;
+            this.lwM2mVersion = lwM2mVersion;
+            this.hashCode = hashCode;
+        }
+
+        private static int hash(Link[] objectLinks, LwM2mVersion lwM2mVersion) {
+            int result = lwM2mVersion.hashCode();
+            for (Link link : objectLinks) {
+                result = 31 * result + (link == null ? 0 : link.getUriReference().hashCode());
+            }
+            return result;
+        }
+
+        /**
+         * @return a key which can be stored in cache : lookup keys reference the caller array which could be modified.
+         */
+        private CacheKey toStorable() {
+            return new CacheKey(objectLinks.clone(), lwM2mVersion, hashCode);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof CacheKey))
+                return false;
+            CacheKey that = (CacheKey) o;
+            return hashCode == that.hashCode && lwM2mVersion.equals(that.lwM2mVersion)
+                    && Arrays.equals(objectLinks, that.objectLinks);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
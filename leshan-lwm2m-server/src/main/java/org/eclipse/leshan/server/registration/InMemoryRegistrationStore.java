@@ -35,10 +35,9 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.eclipse.leshan.core.Destroyable;
 import org.eclipse.leshan.core.Startable;
 import org.eclipse.leshan.core.Stoppable;
-import org.eclipse.leshan.core.observation.CompositeObservation;
+import org.eclipse.leshan.core.node.LwM2mPath;
 import org.eclipse.leshan.core.observation.Observation;
 import org.eclipse.leshan.core.observation.ObservationIdentifier;
-import org.eclipse.leshan.core.observation.SingleObservation;
 import org.eclipse.leshan.core.peer.LwM2mIdentity;
 import org.eclipse.leshan.core.util.NamedThreadFactory;
 import org.slf4j.Logger;
@@ -57,6 +56,9 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
     private final Map<LwM2mIdentity, Registration> regsByIdentity = new HashMap<>();
     private final Map<ObservationIdentifier, Observation> obsByToken = new HashMap<>();
     private final Map<String, Set<ObservationIdentifier>> tokensByRegId = new HashMap<>();
+    private final ObservationPathIndex pathIndex = new ObservationPathIndex();
+    private final RegistrationExpirationIndex expirationIndex = new RegistrationExpirationIndex();
+    private final RegistrationQueryIndex queryIndex = new RegistrationQueryIndex();
 
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
@@ -91,6 +93,12 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
             lock.writeLock().lock();
 
             Registration registrationRemoved = regsByEp.put(registration.getEndpoint(), registration);
+            if (registrationRemoved != null) {
+                expirationIndex.remove(registrationRemoved);
+                queryIndex.remove(registrationRemoved);
+            }
+            expirationIndex.add(registration);
+            queryIndex.add(registration);
             regsByRegId.put(registration.getId(), registration);
             regsByIdentity.put(registration.getClientTransportData().getIdentity(), registration);
             // If a registration is already associated to this address we don't care as we only want to keep the most
@@ -141,6 +149,8 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
                 }
 
                 regsByRegId.put(updatedRegistration.getId(), updatedRegistration);
+                expirationIndex.update(registration, updatedRegistration);
+                queryIndex.update(registration, updatedRegistration);
 
                 return new UpdatedRegistration(registration, updatedRegistration);
             }
@@ -169,6 +179,23 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
         }
     }
 
+    @Override
+    public Collection<Registration> getRegistrations(Collection<String> endpoints) {
+        try {
+            lock.readLock().lock();
+            Collection<Registration> result = new ArrayList<>(endpoints.size());
+            for (String endpoint : endpoints) {
+                Registration registration = regsByEp.get(endpoint);
+                if (registration != null) {
+                    result.add(registration);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     @Override
     public Registration getRegistrationByAdress(InetSocketAddress address) {
         try {
@@ -199,6 +226,21 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
         }
     }
 
+    @Override
+    public RegistrationPage getRegistrations(RegistrationQuery query, String cursor, int pageSize) {
+        try {
+            lock.readLock().lock();
+            return queryIndex.query(query, cursor, pageSize, regsByRegId::get);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Iterator<Registration> getRegistrations(RegistrationQuery query) {
+        return new RegistrationQueryIterator(this, query);
+    }
+
     @Override
     public Deregistration removeRegistration(String registrationId) {
         try {
@@ -211,6 +253,8 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
                 removeFromMap(regsByAddr, registration.getSocketAddress(), registration);
                 removeFromMap(regsByRegId, registration.getId(), registration);
                 removeFromMap(regsByIdentity, registration.getClientTransportData().getIdentity(), registration);
+                expirationIndex.remove(registration);
+                queryIndex.remove(registration);
                 return new Deregistration(registration, observationsRemoved);
             }
             return null;
@@ -236,12 +280,18 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
             ObservationIdentifier id = observation.getId();
 
             if (addIfAbsent) {
-                if (!obsByToken.containsKey(id))
+                if (!obsByToken.containsKey(id)) {
                     previousObservation = obsByToken.put(id, observation);
-                else
+                    pathIndex.add(observation);
+                } else {
                     previousObservation = obsByToken.get(id);
+                }
             } else {
                 previousObservation = obsByToken.put(id, observation);
+                if (previousObservation != null) {
+                    pathIndex.remove(previousObservation);
+                }
+                pathIndex.add(observation);
             }
             if (!tokensByRegId.containsKey(registrationId)) {
                 tokensByRegId.put(registrationId, new HashSet<>());
@@ -256,9 +306,10 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
             }
 
             // cancel existing observations for the same path and registration id.
-            for (Observation obs : unsafeGetObservations(registrationId)) {
-                if (areTheSamePaths(observation, obs) && !observation.getId().equals(obs.getId())) {
-                    unsafeRemoveObservation(obs.getId());
+            for (ObservationIdentifier obsId : pathIndex.getObservationsWithSamePaths(registrationId, observation)) {
+                Observation obs = obsByToken.get(obsId);
+                if (obs != null && !observation.getId().equals(obsId)) {
+                    unsafeRemoveObservation(obsId);
                     removed.add(obs);
                 }
             }
@@ -269,16 +320,6 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
         return removed;
     }
 
-    private boolean areTheSamePaths(Observation observation, Observation obs) {
-        if (observation instanceof SingleObservation && obs instanceof SingleObservation) {
-            return ((SingleObservation) observation).getPath().equals(((SingleObservation) obs).getPath());
-        }
-        if (observation instanceof CompositeObservation && obs instanceof CompositeObservation) {
-            return ((CompositeObservation) observation).getPaths().equals(((CompositeObservation) obs).getPaths());
-        }
-        return false;
-    }
-
     @Override
     public Observation removeObservation(String registrationId, ObservationIdentifier observationId) {
         try {
@@ -332,6 +373,26 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
         }
     }
 
+    @Override
+    public Collection<Observation> getObservations(String registrationId, LwM2mPath path) {
+        try {
+            lock.readLock().lock();
+            return unsafeGetObservations(pathIndex.getObservations(registrationId, path));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Collection<Observation> getCompositeObservations(String registrationId, List<LwM2mPath> paths) {
+        try {
+            lock.readLock().lock();
+            return unsafeGetObservations(pathIndex.getCompositeObservations(registrationId, paths));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     @Override
     public Collection<Observation> removeObservations(String registrationId) {
         try {
@@ -352,6 +413,7 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
         Observation removed = obsByToken.remove(observationId);
 
         if (removed != null) {
+            pathIndex.remove(removed);
             String registrationId = removed.getRegistrationId();
             Set<ObservationIdentifier> tokens = tokensByRegId.get(registrationId);
             tokens.remove(observationId);
@@ -373,12 +435,16 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
             }
         }
         tokensByRegId.remove(registrationId);
+        pathIndex.removeAll(registrationId);
         return removed;
     }
 
     private Collection<Observation> unsafeGetObservations(String registrationId) {
+        return unsafeGetObservations(tokensByRegId.get(registrationId));
+    }
+
+    private Collection<Observation> unsafeGetObservations(Set<ObservationIdentifier> ids) {
         Collection<Observation> result = new ArrayList<>();
-        Set<ObservationIdentifier> ids = tokensByRegId.get(registrationId);
         if (ids != null) {
             for (ObservationIdentifier id : ids) {
                 Observation obs = unsafeGetObservation(id);
@@ -436,23 +502,30 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
         }
     }
 
+    private Deregistration removeExpiredRegistration(String registrationId) {
+        try {
+            lock.writeLock().lock();
+            // check registration was not updated since we get its id
+            Registration registration = regsByRegId.get(registrationId);
+            if (registration != null && !registration.isAlive()) {
+                // force de-registration
+                return removeRegistration(registrationId);
+            }
+            return null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
     private class Cleaner implements Runnable {
 
         @Override
         public void run() {
             try {
-                Collection<Registration> allRegs = new ArrayList<>();
-                try {
-                    lock.readLock().lock();
-                    allRegs.addAll(regsByEp.values());
-                } finally {
-                    lock.readLock().unlock();
-                }
-
-                for (Registration reg : allRegs) {
-                    if (!reg.isAlive()) {
-                        // force de-registration
-                        Deregistration removedRegistration = removeRegistration(reg.getId());
+                // only handle registrations which are due
+                for (String registrationId : expirationIndex.getExpiredRegistrationIds(System.currentTimeMillis())) {
+                    Deregistration removedRegistration = removeExpiredRegistration(registrationId);
+                    if (removedRegistration != null) {
                         expirationListener.registrationExpired(removedRegistration.getRegistration(),
                                 removedRegistration.getObservations());
                     }
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.observation.CompositeObservation;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.observation.SingleObservation;
+
+/**
+ * Index of {@link Observation} identifiers by registration and by {@link LwM2mPath}.
+ * <p>
+ * For each registration, {@link SingleObservation}s are kept in a trie over path segments (object id, object instance
+ * id, resource id, resource instance id), so lookups do not depend on the number of observations of the registration.
+ * {@link CompositeObservation}s are indexed by their list of paths. Index must be updated each time an observation is
+ * added or removed from the store.
+ * <p>
+ * This class is thread-safe.
+ */
+class ObservationPathIndex {
+
+    private final ConcurrentMap<String, RegistrationEntry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Add the given observation to the index.
+     */
+    public void add(Observation observation) {
+        entries.compute(observation.getRegistrationId(), (regId, entry) -> {
+            if (entry == null) {
+                entry = new RegistrationEntry();
+            }
+            synchronized (entry) {
+                entry.add(observation);
+            }
+            return entry;
+        });
+    }
+
+    /**
+     * Remove the given observation from the index.
+     */
+    public void remove(Observation observation) {
+        entries.computeIfPresent(observation.getRegistrationId(), (regId, entry) -> {
+            synchronized (entry) {
+                entry.remove(observation);
+                return entry.isEmpty() ? null : entry;
+            }
+        });
+    }
+
+    /**
+     * Remove all observations of the given registration from the index.
+     */
+    public void removeAll(String registrationId) {
+        entries.remove(registrationId);
+    }
+
+    /**
+     * @return identifiers of {@link SingleObservation} of the registration targeting exactly the given path.
+     */
+    public Set<ObservationIdentifier> getObservations(String registrationId, LwM2mPath path) {
+        RegistrationEntry entry = entries.get(registrationId);
+        if (entry == null) {
+            return Collections.emptySet();
+        }
+        synchronized (entry) {
+            PathNode node = entry.root.find(path);
+            return node == null ? Collections.emptySet() : new HashSet<>(node.observations);
+        }
+    }
+
+    /**
+     * @return identifiers of {@link CompositeObservation} of the registration targeting exactly the given list of
+     *         paths.
+     */
+    public Set<ObservationIdentifier> getCompositeObservations(String registrationId, List<LwM2mPath> paths) {
+        RegistrationEntry entry = entries.get(registrationId);
+        if (entry == null) {
+            return Collections.emptySet();
+        }
+        synchronized (entry) {
+            Set<ObservationIdentifier> ids = entry.composites.get(paths);
+            return ids == null ? Collections.emptySet() : new HashSet<>(ids);
+        }
+    }
+
+    /**
+     * @return identifiers of observations of the registration targeting the same path(s) than the given observation.
+     */
+    public Set<ObservationIdentifier> getObservationsWithSamePaths(String registrationId, Observation observation) {
+        if (observation instanceof SingleObservation) {
+            return getObservations(registrationId, ((SingleObservation) observation).getPath());
+        } else if (observation instanceof CompositeObservation) {
+            return getCompositeObservations(registrationId, ((CompositeObservation) observation).getPaths());
+        }
+        return Collections.emptySet();
+    }
+
+    /* *************** Index Structure **************** */
+
+    private static class RegistrationEntry {
+        private final PathNode root = new PathNode();
+        private final Map<List<LwM2mPath>, Set<ObservationIdentifier>> composites = new HashMap<>();
+        private int size;
+
+        void add(Observation observation) {
+            if (observation instanceof SingleObservation) {
+                if (root.getOrCreate(((SingleObservation) observation).getPath()).observations
+                        .add(observation.getId())) {
+                    size++;
+                }
+            } else if (observation instanceof CompositeObservation) {
+                if (composites.computeIfAbsent(((CompositeObservation) observation).getPaths(), p -> new HashSet<>())
+                        .add(observation.getId())) {
+                    size++;
+                }
+            }
+        }
+
+        void remove(Observation observation) {
+            if (observation instanceof SingleObservation) {
+                if (root.remove(segments(((SingleObservation) observation).getPath()), 0, observation.getId())) {
+                    size--;
+                }
+            } else if (observation instanceof CompositeObservation) {
+                List<LwM2mPath> paths = ((CompositeObservation) observation).getPaths();
+                Set<ObservationIdentifier> ids = composites.get(paths);
+                if (ids != null && ids.remove(observation.getId())) {
+                    size--;
+                    if (ids.isEmpty()) {
+                        composites.remove(paths);
+                    }
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    private static class PathNode {
+        private final Map<Integer, PathNode> children = new HashMap<>(4);
+        private final Set<ObservationIdentifier> observations = new HashSet<>(2);
+
+        PathNode find(LwM2mPath path) {
+            PathNode node = this;
+            for (int segment : segments(path)) {
+                node = node.children.get(segment);
+                if (node == null) {
+                    return null;
+                }
+            }
+            return node;
+        }
+
+        PathNode getOrCreate(LwM2mPath path) {
+            PathNode node = this;
+            for (int segment : segments(path)) {
+                node = node.children.computeIfAbsent(segment, s -> new PathNode());
+            }
+            return node;
+        }
+
+        /**
+         * @return true if observation was removed, empty nodes are pruned.
+         */
+        boolean remove(int[] segments, int depth, ObservationIdentifier id) {
+            if (depth == segments.length) {
+                return observations.remove(id);
+            }
+            PathNode child = children.get(segments[depth]);
+            if (child == null) {
+                return false;
+            }
+            boolean removed = child.remove(segments, depth + 1, id);
+            if (child.observations.isEmpty() && child.children.isEmpty()) {
+                children.remove(segments[depth]);
+            }
+            return removed;
+        }
+    }
+
+    private static int[] segments(LwM2mPath path) {
+        if (path.isRoot()) {
+            return new int[0];
+        } else if (path.isObject()) {
+            return new int[] { path.getObjectId() };
+        } else if (path.isObjectInstance()) {
+            return new int[] { path.getObjectId(), path.getObjectInstanceId() };
+        } else if (path.isResource()) {
+            return new int[] { path.getObjectId(), path.getObjectInstanceId(), path.getResourceId() };
+        } else {
+            return new int[] { path.getObjectId(), path.getObjectInstanceId(), path.getResourceId(),
+                    path.getResourceInstanceId() };
+        }
+    }
+}
@@ -28,7 +28,6 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
 
 import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
 import org.eclipse.leshan.core.LwM2m.Version;
@@ -69,22 +68,12 @@ public class Registration {
 
     private final String id;
 
-    private final Link[] objectLinks;
+    // Object links and data extracted from them (root path, supported content formats and objects, available
+    // instances)
+    private final RegistrationProfile profile;
 
     private final Map<String, String> additionalRegistrationAttributes;
 
-    // The location where LWM2M objects are hosted on the device
-    private final String rootPath;
-
-    // All ContentFormat supported by the client
-    private final Set<ContentFormat> supportedContentFormats;
-
-    // All supported object (object id => version)
-    private final Map<Integer, Version> supportedObjects;
-
-    // All available instances
-    private final Set<LwM2mPath> availableInstances;
-
     private final Date lastUpdate;
 
     private final Map<String, String> customRegistrationData;
@@ -101,11 +90,7 @@ public class Registration {
         endpointUri = builder.endpointUri;
 
         // object links related params
-        objectLinks = builder.objectLinks;
-        rootPath = builder.rootPath;
-        supportedContentFormats = builder.supportedContentFormats;
-        supportedObjects = builder.supportedObjects;
-        availableInstances = builder.availableInstances;
+        profile = builder.profile;
 
         // other params
         lifeTimeInSec = builder.lifeTimeInSec;
@@ -177,17 +162,16 @@ public class Registration {
     }
 
     public Link[] getObjectLinks() {
-        return objectLinks;
+        return profile.getObjectLinks();
     }
 
     public Link[] getSortedObjectLinks() {
-        // sort the list of objects
-        if (objectLinks == null) {
+        // sort a copy of the list of objects
+        Link[] res = profile.getObjectLinks();
+        if (res == null) {
             return null;
         }
 
-        Link[] res = Arrays.copyOf(objectLinks, objectLinks.length);
-
         Arrays.sort(res, (o1, o2) -> {
             if (o1 == null && o2 == null)
                 return 0;
@@ -250,21 +234,21 @@ public class Registration {
      * @return the path where the objects are hosted on the device
      */
     public String getRootPath() {
-        return rootPath;
+        return profile.getRootPath();
     }
 
     /**
      * @return all {@link ContentFormat} supported by the client.
      */
     public Set<ContentFormat> getSupportedContentFormats() {
-        return supportedContentFormats;
+        return profile.getSupportedContentFormats();
     }
 
     /**
      * @return all available object instance by the client
      */
     public Set<LwM2mPath> getAvailableInstances() {
-        return availableInstances;
+        return profile.getAvailableInstances();
     }
 
     /**
@@ -338,7 +322,14 @@ public class Registration {
      * @return a map from {@code objectId} {@literal =>} {@code supportedVersion} for each supported objects. supported.
      */
     public Map<Integer, Version> getSupportedObject() {
-        return supportedObjects;
+        return profile.getSupportedObjects();
+    }
+
+    /**
+     * @return the {@link RegistrationProfile} gathering object links and data extracted from them.
+     */
+    public RegistrationProfile getProfile() {
+        return profile;
     }
 
     /**
@@ -360,9 +351,9 @@ public class Registration {
         return String.format(
                 "Registration [registrationDate=%s, clientTransportData=%s, lifeTimeInSec=%s, smsNumber=%s, lwM2mVersion=%s, bindingMode=%s, queueMode=%s, endpoint=%s, id=%s, objectLinks=%s, additionalRegistrationAttributes=%s, rootPath=%s, supportedContentFormats=%s, supportedObjects=%s, availableInstances=%s, lastUpdate=%s, customRegistrationData=%s, endpointUri=%s]",
                 registrationDate, clientTransportData, lifeTimeInSec, smsNumber, lwM2mVersion, bindingMode, queueMode,
-                endpoint, id, Arrays.toString(objectLinks), additionalRegistrationAttributes, rootPath,
-                supportedContentFormats, supportedObjects, availableInstances, lastUpdate, customRegistrationData,
-                endpointUri);
+                endpoint, id, Arrays.toString(profile.getObjectLinks()), additionalRegistrationAttributes,
+                profile.getRootPath(), profile.getSupportedContentFormats(), profile.getSupportedObjects(),
+                profile.getAvailableInstances(), lastUpdate, customRegistrationData, endpointUri);
     }
 
     @Override
@@ -377,12 +368,8 @@ public class Registration {
                 && Objects.equals(smsNumber, that.smsNumber) && Objects.equals(lwM2mVersion, that.lwM2mVersion)
                 && Objects.equals(bindingMode, that.bindingMode) && Objects.equals(queueMode, that.queueMode)
                 && Objects.equals(endpoint, that.endpoint) && Objects.equals(id, that.id)
-                && Arrays.equals(objectLinks, that.objectLinks)
+                && Objects.equals(profile, that.profile)
                 && Objects.equals(additionalRegistrationAttributes, that.additionalRegistrationAttributes)
-                && Objects.equals(rootPath, that.rootPath)
-                && Objects.equals(supportedContentFormats, that.supportedContentFormats)
-                && Objects.equals(supportedObjects, that.supportedObjects)
-                && Objects.equals(availableInstances, that.availableInstances)
                 && Objects.equals(lastUpdate, that.lastUpdate)
                 && Objects.equals(customRegistrationData, that.customRegistrationData)
                 && Objects.equals(endpointUri, that.endpointUri);
@@ -391,8 +378,7 @@ public class Registration {
     @Override
     public final int hashCode() {
         return Objects.hash(registrationDate, clientTransportData, lifeTimeInSec, smsNumber, lwM2mVersion, bindingMode,
-                queueMode, endpoint, id, Arrays.hashCode(objectLinks), additionalRegistrationAttributes, rootPath,
-                supportedContentFormats, supportedObjects, availableInstances, lastUpdate, customRegistrationData,
+                queueMode, endpoint, id, profile, additionalRegistrationAttributes, lastUpdate, customRegistrationData,
                 endpointUri);
     }
 
@@ -414,6 +400,8 @@ public class Registration {
         private Set<ContentFormat> supportedContentFormats;
         private Map<Integer, Version> supportedObjects;
         private Set<LwM2mPath> availableInstances;
+        private RegistrationProfile profile;
+        private RegistrationProfileInterner profileInterner;
         private Map<String, String> additionalRegistrationAttributes;
         private Map<String, String> customRegistrationData;
 
@@ -426,11 +414,7 @@ public class Registration {
             endpointUri = registration.endpointUri;
 
             // object links related params
-            objectLinks = registration.objectLinks;
-            rootPath = registration.rootPath;
-            supportedContentFormats = registration.supportedContentFormats;
-            supportedObjects = registration.supportedObjects;
-            availableInstances = registration.availableInstances;
+            profile(registration.profile);
 
             // other params
             lifeTimeInSec = registration.lifeTimeInSec;
@@ -494,21 +478,25 @@ public class Registration {
         }
 
         public Builder objectLinks(Link[] objectLinks) {
+            this.profile = null;
             this.objectLinks = objectLinks;
             return this;
         }
 
         public Builder rootPath(String rootPath) {
+            this.profile = null;
             this.rootPath = rootPath;
             return this;
         }
 
         public Builder supportedContentFormats(Set<ContentFormat> supportedContentFormats) {
+            this.profile = null;
             this.supportedContentFormats = supportedContentFormats;
             return this;
         }
 
         public Builder supportedContentFormats(ContentFormat... supportedContentFormats) {
+            this.profile = null;
             this.supportedContentFormats = new HashSet<>();
             for (ContentFormat contentFormat : supportedContentFormats) {
                 this.supportedContentFormats.add(contentFormat);
@@ -517,15 +505,42 @@ public class Registration {
         }
 
         public Builder supportedObjects(Map<Integer, Version> supportedObjects) {
+            this.profile = null;
             this.supportedObjects = supportedObjects;
             return this;
         }
 
         public Builder availableInstances(Set<LwM2mPath> availableInstances) {
+            this.profile = null;
             this.availableInstances = availableInstances;
             return this;
         }
 
+        /**
+         * Set object links and all data extracted from them at once. Unlike other setters, the given profile is not
+         * copied and so can be shared with other registrations.
+         */
+        public Builder profile(RegistrationProfile profile) {
+            this.profile = profile;
+            if (profile != null) {
+                this.objectLinks = profile.getObjectLinks();
+                this.rootPath = profile.getRootPath();
+                this.supportedContentFormats = profile.getSupportedContentFormats();
+                this.supportedObjects = profile.getSupportedObjects();
+                this.availableInstances = profile.getAvailableInstances();
+            }
+            return this;
+        }
+
+        /**
+         * Set the {@link RegistrationProfileInterner} used to share {@link RegistrationProfile} between registrations
+         * with same object links.
+         */
+        public Builder profileInterner(RegistrationProfileInterner profileInterner) {
+            this.profileInterner = profileInterner;
+            return this;
+        }
+
         public Builder additionalRegistrationAttributes(Map<String, String> additionalRegistrationAttributes) {
             this.additionalRegistrationAttributes = additionalRegistrationAttributes;
             return this;
@@ -538,7 +553,6 @@ public class Registration {
 
         public Registration build() {
             // Define Default value
-            rootPath = rootPath == null ? "/" : rootPath;
             lifeTimeInSec = lifeTimeInSec == null ? DEFAULT_LIFETIME_IN_SEC : lifeTimeInSec;
             lwM2mVersion = lwM2mVersion == null ? LwM2mVersion.getDefault() : lwM2mVersion;
             bindingMode = bindingMode == null ? EnumSet.of(BindingMode.U) : bindingMode;
@@ -546,23 +560,19 @@ public class Registration {
             registrationDate = registrationDate == null ? new Date() : registrationDate;
             lastUpdate = lastUpdate == null ? new Date() : lastUpdate;
 
-            // Make collection immutable
-            // We create a new Collection and make it "unmodifiable".
-            if (supportedContentFormats == null || supportedContentFormats.isEmpty()) {
-                supportedContentFormats = Collections.emptySet();
-            } else {
-                supportedContentFormats = Collections.unmodifiableSet(new HashSet<>(supportedContentFormats));
+            if (profile == null) {
+                profile = new RegistrationProfile(objectLinks, rootPath, supportedContentFormats, supportedObjects,
+                        availableInstances);
+                RegistrationProfile shared = profileInterner == null ? null : profileInterner.find(profile);
+                // Data given to the builder are only copied if there is no equal profile to share
+                profile = shared != null ? shared : profile.copy();
             }
-            if (supportedObjects == null || supportedObjects.isEmpty()) {
-                supportedObjects = Collections.emptyMap();
-            } else {
-                supportedObjects = Collections.unmodifiableMap(new HashMap<>(supportedObjects));
-            }
-            if (availableInstances == null || availableInstances.isEmpty()) {
-                availableInstances = Collections.emptySet();
-            } else {
-                availableInstances = Collections.unmodifiableSet(new TreeSet<>(availableInstances));
+            if (profileInterner != null) {
+                profile = profileInterner.intern(profile);
             }
+
+            // Make collection immutable
+            // We create a new Collection and make it "unmodifiable".
             if (additionalRegistrationAttributes == null || additionalRegistrationAttributes.isEmpty()) {
                 additionalRegistrationAttributes = Collections.emptyMap();
             } else {
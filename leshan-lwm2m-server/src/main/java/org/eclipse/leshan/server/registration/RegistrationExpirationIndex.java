@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * An index of {@link Registration} ordered by expiration time.
+ * <p>
+ * It allows to find registrations which are expired without having to check all registrations of a store. Index must be
+ * updated each time a registration is added, updated or removed from the store.
+ * <p>
+ * This class is thread-safe.
+ */
+class RegistrationExpirationIndex {
+
+    private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>();
+
+    /**
+     * Add the given registration to the index.
+     */
+    public void add(Registration registration) {
+        entries.add(new Entry(registration.getExpirationTimeStamp(), registration.getId()));
+    }
+
+    /**
+     * Remove the given registration from the index.
+     */
+    public void remove(Registration registration) {
+        entries.remove(new Entry(registration.getExpirationTimeStamp(), registration.getId()));
+    }
+
+    /**
+     * Replace the previous version of a registration by its updated version.
+     */
+    public void update(Registration previous, Registration updated) {
+        if (previous.getExpirationTimeStamp() != updated.getExpirationTimeStamp()
+                || !previous.getId().equals(updated.getId())) {
+            remove(previous);
+            add(updated);
+        }
+    }
+
+    /**
+     * @param timestamp a time in milliseconds since epoch.
+     * @return the ids of all registrations which expires at the given time or before, ordered by expiration time.
+     */
+    public List<String> getExpiredRegistrationIds(long timestamp) {
+        List<String> res = new ArrayList<>();
+        Iterator<Entry> it = entries.iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.expirationTimestamp > timestamp) {
+                break;
+            }
+            res.add(entry.registrationId);
+        }
+        return res;
+    }
+
+    /**
+     * @return the number of registrations indexed.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        private final long expirationTimestamp;
+        private final String registrationId;
+
+        public Entry(long expirationTimestamp, String registrationId) {
+            this.expirationTimestamp = expirationTimestamp;
+            this.registrationId = registrationId;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            int res = Long.compare(expirationTimestamp, o.expirationTimestamp);
+            if (res != 0) {
+                return res;
+            }
+            return registrationId.compareTo(o.registrationId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Entry))
+                return false;
+            Entry that = (Entry) o;
+            return expirationTimestamp == that.expirationTimestamp && registrationId.equals(that.registrationId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(expirationTimestamp) + registrationId.hashCode();
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.util.Date;
 
 import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
 import org.eclipse.leshan.core.endpoint.EndpointUri;
+import org.eclipse.leshan.core.link.Link;
 import org.eclipse.leshan.core.peer.LwM2mPeer;
 import org.eclipse.leshan.core.request.DeregisterRequest;
 import org.eclipse.leshan.core.request.RegisterRequest;
@@ -49,15 +50,28 @@ public class RegistrationHandler {
     private final Authorizer authorizer;
     private final RegistrationDataExtractor dataExtractor;
     private final ServerEndpointNameProvider endpointNameProvider;
+    private final RegistrationProfileInterner profileInterner;
 
     public RegistrationHandler(RegistrationServiceImpl registrationService, Authorizer authorizer,
             RegistrationIdProvider registrationIdProvider, RegistrationDataExtractor dataExtractor,
             ServerEndpointNameProvider endpointNameProvider) {
+        this(registrationService, authorizer, registrationIdProvider, dataExtractor, endpointNameProvider,
+                RegistrationProfileInterner.getShared());
+    }
+
+    /**
+     * @param profileInterner used to share {@link RegistrationProfile} between registrations of devices sending same
+     *        object links.
+     */
+    public RegistrationHandler(RegistrationServiceImpl registrationService, Authorizer authorizer,
+            RegistrationIdProvider registrationIdProvider, RegistrationDataExtractor dataExtractor,
+            ServerEndpointNameProvider endpointNameProvider, RegistrationProfileInterner profileInterner) {
         this.registrationService = registrationService;
         this.authorizer = authorizer;
         this.registrationIdProvider = registrationIdProvider;
         this.dataExtractor = dataExtractor;
         this.endpointNameProvider = endpointNameProvider;
+        this.profileInterner = profileInterner;
     }
 
     public SendableResponse<RegisterResponse> register(LwM2mPeer sender, RegisterRequest registerRequest,
@@ -92,11 +106,7 @@ public class RegistrationHandler {
                 .smsNumber(registerRequest.getSmsNumber()) //
                 .registrationDate(new Date()).lastUpdate(new Date()) //
                 .additionalRegistrationAttributes(registerRequest.getAdditionalAttributes())//
-                .objectLinks(registerRequest.getObjectLinks()) //
-                .rootPath(objLinksData.getAlternatePath()) //
-                .supportedContentFormats(objLinksData.getSupportedContentFormats()) //
-                .supportedObjects(objLinksData.getSupportedObjects()) //
-                .availableInstances(objLinksData.getAvailableInstances());
+                .profile(toProfile(registerRequest.getObjectLinks(), objLinksData));
 
         Registration registrationToApproved = builder.build();
 
@@ -161,10 +171,8 @@ public class RegistrationHandler {
         // Create update
         final RegistrationUpdate update = new RegistrationUpdate(updateRequest.getRegistrationId(), sender,
                 updateRequest.getLifeTimeInSec(), updateRequest.getSmsNumber(), updateRequest.getBindingMode(),
-                updateRequest.getObjectLinks(), objLinksData.getAlternatePath(),
-                objLinksData.getSupportedContentFormats(), objLinksData.getSupportedObjects(),
-                objLinksData.getAvailableInstances(), updateRequest.getAdditionalAttributes(),
-                authorization.getCustomData());
+                updateRequest.getObjectLinks() == null ? null : toProfile(updateRequest.getObjectLinks(), objLinksData),
+                updateRequest.getAdditionalAttributes(), authorization.getCustomData());
 
         // update registration
         final UpdatedRegistration updatedRegistration = registrationService.getStore().updateRegistration(update);
@@ -180,6 +188,12 @@ public class RegistrationHandler {
         }
     }
 
+    private RegistrationProfile toProfile(Link[] objectLinks, RegistrationData objLinksData) {
+        return profileInterner.intern(new RegistrationProfile(objectLinks, objLinksData.getAlternatePath(),
+                objLinksData.getSupportedContentFormats(), objLinksData.getSupportedObjects(),
+                objLinksData.getAvailableInstances()));
+    }
+
     public SendableResponse<DeregisterResponse> deregister(LwM2mPeer sender, DeregisterRequest deregisterRequest,
             EndpointUri endpointUsed) {
 
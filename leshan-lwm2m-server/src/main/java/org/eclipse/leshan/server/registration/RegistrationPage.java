@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A page of {@link Registration}s matching a {@link RegistrationQuery}.
+ * <p>
+ * Registrations are sorted by registration id. The {@link #getNextCursor()} can be used to get the next page.
+ */
+public class RegistrationPage {
+
+    private final List<Registration> registrations;
+    private final String nextCursor;
+
+    public RegistrationPage(List<Registration> registrations, String nextCursor) {
+        this.registrations = Collections.unmodifiableList(registrations);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return registrations of this page.
+     */
+    public List<Registration> getRegistrations() {
+        return registrations;
+    }
+
+    /**
+     * @return the cursor to use to get next page or <code>null</code> if this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RegistrationPage [registrations=%d, nextCursor=%s]", registrations.size(), nextCursor);
+    }
+}
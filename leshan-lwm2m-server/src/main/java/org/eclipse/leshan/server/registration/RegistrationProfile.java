@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.leshan.core.LwM2m.Version;
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.request.ContentFormat;
+
+/**
+ * An immutable structure which gathers all {@link Registration} data extracted from object links : object links
+ * themselves, root path, supported content formats, supported objects and available instances.
+ * <p>
+ * Devices running the same firmware generally share the same profile. As it is immutable, a profile can be shared by
+ * several registrations (see {@link RegistrationProfileInterner}).
+ */
+public class RegistrationProfile {
+
+    private static final String DEFAULT_ROOT_PATH = "/";
+
+    private final Link[] objectLinks;
+    private final String rootPath;
+    private final Set<ContentFormat> supportedContentFormats;
+    private final Map<Integer, Version> supportedObjects;
+    private final Set<LwM2mPath> availableInstances;
+
+    private final int hashCode;
+
+    /**
+     * Create a profile over given data.
+     * <p>
+     * Collections are wrapped in unmodifiable views but not copied, so they must not be modified afterwards. Use
+     * {@link #copy()} to get a profile which owns its data.
+     */
+    public RegistrationProfile(Link[] objectLinks, String rootPath, Set<ContentFormat> supportedContentFormats,
+            Map<Integer, Version> supportedObjects, Set<LwM2mPath> availableInstances) {
+        this.objectLinks = objectLinks;
+        this.rootPath = rootPath == null ? DEFAULT_ROOT_PATH : rootPath;
+
+        if (supportedContentFormats == null || supportedContentFormats.isEmpty()) {
+            this.supportedContentFormats = Collections.emptySet();
+        } else {
+            this.supportedContentFormats = Collections.unmodifiableSet(supportedContentFormats);
+        }
+        if (supportedObjects == null || supportedObjects.isEmpty()) {
+            this.supportedObjects = Collections.emptyMap();
+        } else {
+            this.supportedObjects = Collections.unmodifiableMap(supportedObjects);
+        }
+        if (availableInstances == null || availableInstances.isEmpty()) {
+            this.availableInstances = Collections.emptySet();
+        } else {
+            this.availableInstances = Collections.unmodifiableSet(availableInstances);
+        }
+
+        this.hashCode = Objects.hash(Arrays.hashCode(this.objectLinks), this.rootPath, this.supportedContentFormats,
+                this.supportedObjects, this.availableInstances);
+    }
+
+    /**
+     * @return an equal profile which owns a copy of all data of this profile.
+     */
+    public RegistrationProfile copy() {
+        return new RegistrationProfile(objectLinks == null ? null : objectLinks.clone(), rootPath,
+                new HashSet<>(supportedContentFormats), new HashMap<>(supportedObjects),
+                new TreeSet<>(availableInstances));
+    }
+
+    /**
+     * @return a copy of the object links, so the shared profile can not be modified.
+     */
+    public Link[] getObjectLinks() {
+        return objectLinks == null ? null : objectLinks.clone();
+    }
+
+    /**
+     * @return the path where the objects are hosted on the device
+     */
+    public String getRootPath() {
+        return rootPath;
+    }
+
+    /**
+     * @return all {@link ContentFormat} supported by the client.
+     */
+    public Set<ContentFormat> getSupportedContentFormats() {
+        return supportedContentFormats;
+    }
+
+    /**
+     * @return a map from {@code objectId} {@literal =>} {@code supportedVersion} for each supported objects.
+     */
+    public Map<Integer, Version> getSupportedObjects() {
+        return supportedObjects;
+    }
+
+    /**
+     * @return all available object instance by the client
+     */
+    public Set<LwM2mPath> getAvailableInstances() {
+        return availableInstances;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "RegistrationProfile [objectLinks=%s, rootPath=%s, supportedContentFormats=%s, supportedObjects=%s, availableInstances=%s]",
+                Arrays.toString(objectLinks), rootPath, supportedContentFormats, supportedObjects, availableInstances);
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof RegistrationProfile))
+            return false;
+        RegistrationProfile that = (RegistrationProfile) o;
+        return hashCode == that.hashCode && Arrays.equals(objectLinks, that.objectLinks)
+                && Objects.equals(rootPath, that.rootPath)
+                && Objects.equals(supportedContentFormats, that.supportedContentFormats)
+                && Objects.equals(supportedObjects, that.supportedObjects)
+                && Objects.equals(availableInstances, that.availableInstances);
+    }
+
+    @Override
+    public final int hashCode() {
+        return hashCode;
+    }
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Deduplicates {@link RegistrationProfile}s by content, so registrations of devices sharing the same object links share
+ * the same profile instance in memory.
+ * <p>
+ * Profiles are weakly referenced : a profile is removed from the interner once no registration uses it anymore.
+ * <p>
+ * This class is thread-safe.
+ */
+public class RegistrationProfileInterner {
+
+    private static final RegistrationProfileInterner SHARED = new RegistrationProfileInterner();
+
+    /**
+     * @return the interner shared by default by all components creating registrations, so a profile is shared by
+     *         registrations whatever the way they were created (registration, update or deserialization).
+     */
+    public static RegistrationProfileInterner getShared() {
+        return SHARED;
+    }
+
+    private final Map<RegistrationProfile, WeakReference<RegistrationProfile>> profiles = new WeakHashMap<>();
+
+    /**
+     * @return the shared profile equal to the given one, or the given profile if there is no such profile yet.
+     */
+    public RegistrationProfile intern(RegistrationProfile profile) {
+        if (profile == null) {
+            return null;
+        }
+        synchronized (profiles) {
+            WeakReference<RegistrationProfile> ref = profiles.get(profile);
+            RegistrationProfile interned = ref == null ? null : ref.get();
+            if (interned != null) {
+                return interned;
+            }
+            profiles.put(profile, new WeakReference<>(profile));
+            return profile;
+        }
+    }
+
+    /**
+     * @return the shared profile equal to the given one, or <code>null</code> if there is no such profile yet.
+     */
+    public RegistrationProfile find(RegistrationProfile profile) {
+        synchronized (profiles) {
+            WeakReference<RegistrationProfile> ref = profiles.get(profile);
+            return ref == null ? null : ref.get();
+        }
+    }
+
+    /**
+     * @return the number of distinct profiles currently interned.
+     */
+    public int size() {
+        synchronized (profiles) {
+            return profiles.size();
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.StreamSupport;
+
+import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
+import org.eclipse.leshan.core.LwM2m.Version;
+import org.eclipse.leshan.core.request.BindingMode;
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A query used to search {@link Registration}s in a {@link RegistrationStore}.
+ * <p>
+ * A query is a set of criteria which must all be satisfied by a registration to match. Each criterion is backed by a
+ * secondary index maintained by the store, so searching does not need to go through all registrations.
+ * <p>
+ * E.g. all registrations supporting object 5 in version 1.1 for tenant X :
+ *
+ * <pre>
+ * RegistrationQuery query = new RegistrationQuery.Builder() //
+ *         .supportedObject(5, new Version("1.1")) //
+ *         .customData("tenant", "X") //
+ *         .build();
+ * </pre>
+ *
+ * A query without criterion matches all registrations.
+ */
+public class RegistrationQuery {
+
+    /**
+     * The index key shared by all registrations.
+     */
+    public static final String ALL_KEY = "*";
+
+    public static final RegistrationQuery ALL = new Builder().build();
+
+    private final List<Criterion> criteria;
+
+    private RegistrationQuery(List<Criterion> criteria) {
+        this.criteria = Collections.unmodifiableList(criteria);
+    }
+
+    /**
+     * @return the index keys which must all be associated to a registration to match this query. For a query without
+     *         criterion, {@link #ALL_KEY} is returned.
+     */
+    public List<String> getIndexKeys() {
+        if (criteria.isEmpty()) {
+            return Collections.singletonList(ALL_KEY);
+        }
+        List<String> keys = new ArrayList<>(criteria.size());
+        for (Criterion criterion : criteria) {
+            keys.add(criterion.indexKey);
+        }
+        return keys;
+    }
+
+    /**
+     * @return true if the given registration satisfies all criteria of this query.
+     */
+    public boolean matches(Registration registration) {
+        for (Criterion criterion : criteria) {
+            if (!criterion.predicate.test(registration)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get registrations matching this query without using any index, for stores which do not maintain them.
+     *
+     * @param registrations all registrations.
+     * @return an {@link Iterator} over registrations matching this query.
+     */
+    public Iterator<Registration> filter(Iterator<Registration> registrations) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(registrations, Spliterator.ORDERED), false)
+                .filter(this::matches).iterator();
+    }
+
+    /**
+     * Get a page of registrations matching this query without using any index, for stores which do not maintain them.
+     * All registrations are walked for each page.
+     *
+     * @param registrations all registrations.
+     * @param cursor the cursor returned by {@link RegistrationPage#getNextCursor()} for the previous page or
+     *        <code>null</code> to get the first page.
+     * @param pageSize the maximum number of registrations in the page.
+     * @return the {@link RegistrationPage} of registrations matching this query, sorted by registration id.
+     */
+    public RegistrationPage filter(Iterator<Registration> registrations, String cursor, int pageSize) {
+        Validate.isTrue(pageSize > 0, "pageSize must be greater than 0");
+        // keep one more registration than page size to know if there is a next page
+        TreeMap<String, Registration> page = new TreeMap<>();
+        while (registrations.hasNext()) {
+            Registration registration = registrations.next();
+            if ((cursor == null || registration.getId().compareTo(cursor) > 0) && matches(registration)) {
+                page.put(registration.getId(), registration);
+                if (page.size() > pageSize + 1) {
+                    page.pollLastEntry();
+                }
+            }
+        }
+        String nextCursor = null;
+        if (page.size() > pageSize) {
+            page.pollLastEntry();
+            nextCursor = page.lastKey();
+        }
+        return new RegistrationPage(new ArrayList<>(page.values()), nextCursor);
+    }
+
+    /**
+     * Compute all index keys of a registration. Stores must associate the registration to each of this keys in their
+     * secondary indexes.
+     */
+    public static Set<String> getIndexKeys(Registration registration) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(ALL_KEY);
+        for (Entry<Integer, Version> supportedObject : registration.getSupportedObject().entrySet()) {
+            keys.add(objectKey(supportedObject.getKey()));
+            keys.add(objectKey(supportedObject.getKey(), supportedObject.getValue()));
+        }
+        keys.add(lwM2mVersionKey(registration.getLwM2mVersion()));
+        for (BindingMode bindingMode : registration.getBindingMode()) {
+            keys.add(bindingModeKey(bindingMode));
+        }
+        keys.add(queueModeKey(registration.usesQueueMode()));
+        for (Entry<String, String> data : registration.getCustomRegistrationData().entrySet()) {
+            keys.add(customDataKey(data.getKey(), data.getValue()));
+        }
+        return keys;
+    }
+
+    private static String objectKey(int objectId) {
+        return "obj:" + objectId;
+    }
+
+    private static String objectKey(int objectId, Version version) {
+        return "obj:" + objectId + "@" + version;
+    }
+
+    private static String lwM2mVersionKey(LwM2mVersion version) {
+        return "lwm2m:" + version;
+    }
+
+    private static String bindingModeKey(BindingMode bindingMode) {
+        return "binding:" + bindingMode.name();
+    }
+
+    private static String queueModeKey(boolean queueMode) {
+        return "queue:" + queueMode;
+    }
+
+    private static String customDataKey(String key, String value) {
+        // key length is used to avoid ambiguity if key contains '='
+        return "data:" + key.length() + ":" + key + "=" + value;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RegistrationQuery %s", getIndexKeys());
+    }
+
+    private static class Criterion {
+        private final String indexKey;
+        private final Predicate<Registration> predicate;
+
+        public Criterion(String indexKey, Predicate<Registration> predicate) {
+            this.indexKey = indexKey;
+            this.predicate = predicate;
+        }
+    }
+
+    /**
+     * Class helping to build a {@link RegistrationQuery}.
+     */
+    public static class Builder {
+
+        private final List<Criterion> criteria = new ArrayList<>();
+
+        /**
+         * Registration must support the given object, whatever its version.
+         */
+        public Builder supportedObject(int objectId) {
+            criteria.add(new Criterion(objectKey(objectId),
+                    registration -> registration.getSupportedVersion(objectId) != null));
+            return this;
+        }
+
+        /**
+         * Registration must support the given object in the given version.
+         */
+        public Builder supportedObject(int objectId, Version version) {
+            Validate.notNull(version);
+            criteria.add(new Criterion(objectKey(objectId, version),
+                    registration -> version.equals(registration.getSupportedVersion(objectId))));
+            return this;
+        }
+
+        /**
+         * Registration must use the given LWM2M version.
+         */
+        public Builder lwM2mVersion(LwM2mVersion version) {
+            Validate.notNull(version);
+            criteria.add(new Criterion(lwM2mVersionKey(version),
+                    registration -> version.equals(registration.getLwM2mVersion())));
+            return this;
+        }
+
+        /**
+         * Registration binding must contain the given {@link BindingMode}.
+         */
+        public Builder bindingMode(BindingMode bindingMode) {
+            Validate.notNull(bindingMode);
+            criteria.add(new Criterion(bindingModeKey(bindingMode),
+                    registration -> registration.getBindingMode().contains(bindingMode)));
+            return this;
+        }
+
+        /**
+         * Registration must use (or not) queue mode.
+         *
+         * @see Registration#usesQueueMode()
+         */
+        public Builder queueMode(boolean queueMode) {
+            criteria.add(
+                    new Criterion(queueModeKey(queueMode), registration -> registration.usesQueueMode() == queueMode));
+            return this;
+        }
+
+        /**
+         * Registration must have the given custom registration data.
+         *
+         * @see Registration#getCustomRegistrationData()
+         */
+        public Builder customData(String key, String value) {
+            Validate.notNull(key);
+            Validate.notNull(value);
+            criteria.add(new Criterion(customDataKey(key, value),
+                    registration -> value.equals(registration.getCustomRegistrationData().get(key))));
+            return this;
+        }
+
+        public RegistrationQuery build() {
+            return new RegistrationQuery(new ArrayList<>(criteria));
+        }
+    }
+}
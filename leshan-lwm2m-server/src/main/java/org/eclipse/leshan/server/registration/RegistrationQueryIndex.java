@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Secondary indexes of {@link Registration} used to execute {@link RegistrationQuery}.
+ * <p>
+ * For each index key (see {@link RegistrationQuery#getIndexKeys(Registration)}), ids of registrations are kept sorted,
+ * so results can be paged using the last returned registration id as cursor. Index must be updated each time a
+ * registration is added, updated or removed from the store.
+ * <p>
+ * This class is thread-safe.
+ */
+class RegistrationQueryIndex {
+
+    private final ConcurrentMap<String, IndexEntry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Add the given registration to the index.
+     */
+    public void add(Registration registration) {
+        for (String key : RegistrationQuery.getIndexKeys(registration)) {
+            add(key, registration.getId());
+        }
+    }
+
+    /**
+     * Remove the given registration from the index.
+     */
+    public void remove(Registration registration) {
+        for (String key : RegistrationQuery.getIndexKeys(registration)) {
+            remove(key, registration.getId());
+        }
+    }
+
+    /**
+     * Replace the previous version of a registration by its updated version.
+     */
+    public void update(Registration previous, Registration updated) {
+        if (!previous.getId().equals(updated.getId())) {
+            remove(previous);
+            add(updated);
+            return;
+        }
+        Set<String> previousKeys = RegistrationQuery.getIndexKeys(previous);
+        Set<String> updatedKeys = RegistrationQuery.getIndexKeys(updated);
+        for (String key : previousKeys) {
+            if (!updatedKeys.contains(key)) {
+                remove(key, previous.getId());
+            }
+        }
+        for (String key : updatedKeys) {
+            if (!previousKeys.contains(key)) {
+                add(key, updated.getId());
+            }
+        }
+    }
+
+    private void add(String key, String registrationId) {
+        entries.compute(key, (k, entry) -> {
+            if (entry == null) {
+                entry = new IndexEntry();
+            }
+            if (entry.ids.add(registrationId)) {
+                entry.size++;
+            }
+            return entry;
+        });
+    }
+
+    private void remove(String key, String registrationId) {
+        entries.computeIfPresent(key, (k, entry) -> {
+            if (entry.ids.remove(registrationId)) {
+                entry.size--;
+            }
+            return entry.size == 0 ? null : entry;
+        });
+    }
+
+    /**
+     * Search registrations matching the given query.
+     *
+     * @param query the query to execute.
+     * @param cursor the registration id after which the page starts or <code>null</code> for the first page.
+     * @param pageSize the maximum number of registrations returned.
+     * @param registrationsById the function used to get a registration from its id.
+     * @return the page of registrations matching the query.
+     */
+    public RegistrationPage query(RegistrationQuery query, String cursor, int pageSize,
+            Function<String, Registration> registrationsById) {
+        // Use the most selective index key, other criteria are checked on the registration itself.
+        NavigableSet<String> ids = null;
+        int size = Integer.MAX_VALUE;
+        for (String key : new HashSet<>(query.getIndexKeys())) {
+            IndexEntry entry = entries.get(key);
+            if (entry == null) {
+                return new RegistrationPage(new ArrayList<>(), null);
+            }
+            if (entry.size < size) {
+                ids = entry.ids;
+                size = entry.size;
+            }
+        }
+
+        List<Registration> registrations = new ArrayList<>(Math.min(pageSize, size));
+        String lastId = null;
+        for (String id : cursor == null ? ids : ids.tailSet(cursor, false)) {
+            Registration registration = registrationsById.apply(id);
+            if (registration != null && query.matches(registration)) {
+                registrations.add(registration);
+                lastId = id;
+                if (registrations.size() >= pageSize) {
+                    return new RegistrationPage(registrations, lastId);
+                }
+            }
+        }
+        return new RegistrationPage(registrations, null);
+    }
+
+    private static final class IndexEntry {
+        private final NavigableSet<String> ids = new ConcurrentSkipListSet<>();
+        // only modified in ConcurrentMap.compute functions
+        private volatile int size;
+    }
+}
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link Iterator} over the results of a {@link RegistrationQuery} which fetches results lazily page by page using
+ * {@link RegistrationStore#getRegistrations(RegistrationQuery, String, int)}.
+ */
+public class RegistrationQueryIterator implements Iterator<Registration> {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final RegistrationStore store;
+    private final RegistrationQuery query;
+    private final int pageSize;
+
+    private Iterator<Registration> current;
+    private String nextCursor;
+    private boolean lastPage = false;
+
+    public RegistrationQueryIterator(RegistrationStore store, RegistrationQuery query) {
+        this(store, query, DEFAULT_PAGE_SIZE);
+    }
+
+    public RegistrationQueryIterator(RegistrationStore store, RegistrationQuery query, int pageSize) {
+        this.store = store;
+        this.query = query;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (current == null || !current.hasNext()) {
+            if (lastPage) {
+                return false;
+            }
+            RegistrationPage page = store.getRegistrations(query, nextCursor, pageSize);
+            current = page.getRegistrations().iterator();
+            nextCursor = page.getNextCursor();
+            lastPage = !page.hasNext();
+        }
+        return true;
+    }
+
+    @Override
+    public Registration next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+}
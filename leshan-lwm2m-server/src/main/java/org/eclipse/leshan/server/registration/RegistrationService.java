@@ -45,6 +45,34 @@ public interface RegistrationService {
      */
     Iterator<Registration> getAllRegistrations();
 
+    /**
+     * Returns an iterator over registrations matching the given query.
+     * <p>
+     * Default implementation filters {@link #getAllRegistrations()}, implementations should override it to use
+     * secondary indexes of the store.
+     *
+     * @param query the {@link RegistrationQuery} to execute.
+     * @return an {@link Iterator} over matching registrations
+     */
+    default Iterator<Registration> getRegistrations(RegistrationQuery query) {
+        return query.filter(getAllRegistrations());
+    }
+
+    /**
+     * Returns a page of registrations matching the given query. Registrations are sorted by registration id.
+     * <p>
+     * Default implementation walks all registrations for each page.
+     *
+     * @param query the {@link RegistrationQuery} to execute.
+     * @param cursor the cursor returned by {@link RegistrationPage#getNextCursor()} for the previous page or
+     *        <code>null</code> to get the first page.
+     * @param pageSize the maximum number of registrations in the page.
+     * @return the {@link RegistrationPage} of matching registrations
+     */
+    default RegistrationPage getRegistrations(RegistrationQuery query, String cursor, int pageSize) {
+        return query.filter(getAllRegistrations(), cursor, pageSize);
+    }
+
     /**
      * Adds a new listener to be notified with client registration events.
      *
@@ -51,6 +51,16 @@ public class RegistrationServiceImpl implements RegistrationService, ExpirationL
         return store.getAllRegistrations();
     }
 
+    @Override
+    public Iterator<Registration> getRegistrations(RegistrationQuery query) {
+        return store.getRegistrations(query);
+    }
+
+    @Override
+    public RegistrationPage getRegistrations(RegistrationQuery query, String cursor, int pageSize) {
+        return store.getRegistrations(query, cursor, pageSize);
+    }
+
     @Override
     public Registration getByEndpoint(String endpoint) {
         return store.getRegistrationByEndpoint(endpoint);
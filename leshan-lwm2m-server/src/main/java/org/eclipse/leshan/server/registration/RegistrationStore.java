@@ -16,11 +16,16 @@
 package org.eclipse.leshan.server.registration;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.observation.CompositeObservation;
 import org.eclipse.leshan.core.observation.Observation;
 import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.observation.SingleObservation;
 import org.eclipse.leshan.core.peer.LwM2mIdentity;
 
 /**
@@ -63,6 +68,27 @@ public interface RegistrationStore {
      */
     Registration getRegistrationByEndpoint(String endpoint);
 
+    /**
+     * Get registrations for several endpoints at once.
+     * <p>
+     * Default implementation gets registrations one by one, stores should override it if they can fetch several
+     * registrations at once.
+     *
+     * @param endpoints of the registrations.
+     * @return the registrations found, endpoints without registration are ignored.
+     * @since 2.0
+     */
+    default Collection<Registration> getRegistrations(Collection<String> endpoints) {
+        Collection<Registration> result = new ArrayList<>(endpoints.size());
+        for (String endpoint : endpoints) {
+            Registration registration = getRegistrationByEndpoint(endpoint);
+            if (registration != null) {
+                result.add(registration);
+            }
+        }
+        return result;
+    }
+
     /**
      * Get the registration by socket address. If there are 2 Registrations linked to the same address, the most recent
      * one should be returned. Generally this happened when devices are behind NAT and so address could be reused.
@@ -88,6 +114,36 @@ public interface RegistrationStore {
      */
     Iterator<Registration> getAllRegistrations();
 
+    /**
+     * Returns a page of registrations matching the given query. Registrations are sorted by registration id.
+     * <p>
+     * Default implementation walks all registrations for each page, stores should override it using secondary indexes.
+     *
+     * @param query the {@link RegistrationQuery} to execute.
+     * @param cursor the cursor returned by {@link RegistrationPage#getNextCursor()} for the previous page or
+     *        <code>null</code> to get the first page.
+     * @param pageSize the maximum number of registrations in the page.
+     * @return the {@link RegistrationPage} of registrations matching the query.
+     * @since 2.0
+     */
+    default RegistrationPage getRegistrations(RegistrationQuery query, String cursor, int pageSize) {
+        return query.filter(getAllRegistrations(), cursor, pageSize);
+    }
+
+    /**
+     * Returns an iterator over the registrations matching the given query.
+     * <p>
+     * Default implementation filters {@link #getAllRegistrations()}, stores should override it to fetch registrations
+     * lazily page by page using secondary indexes (see {@link RegistrationQueryIterator}).
+     *
+     * @param query the {@link RegistrationQuery} to execute.
+     * @return an {@link Iterator} over registrations matching the query.
+     * @since 2.0
+     */
+    default Iterator<Registration> getRegistrations(RegistrationQuery query) {
+        return query.filter(getAllRegistrations());
+    }
+
     /**
      * Remove the registration with the given registration Id
      *
@@ -128,6 +184,42 @@ public interface RegistrationStore {
      */
     Collection<Observation> getObservations(String registrationId);
 
+    /**
+     * Get all {@link SingleObservation}s for the given registrationId targeting exactly the given path.
+     * <p>
+     * Default implementation filters {@link #getObservations(String)}, stores maintaining an index by path should
+     * override it.
+     *
+     * @since 2.0
+     */
+    default Collection<Observation> getObservations(String registrationId, LwM2mPath path) {
+        Collection<Observation> result = new ArrayList<>();
+        for (Observation obs : getObservations(registrationId)) {
+            if (obs instanceof SingleObservation && path.equals(((SingleObservation) obs).getPath())) {
+                result.add(obs);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get all {@link CompositeObservation}s for the given registrationId targeting exactly the given list of paths.
+     * <p>
+     * Default implementation filters {@link #getObservations(String)}, stores maintaining an index by path should
+     * override it.
+     *
+     * @since 2.0
+     */
+    default Collection<Observation> getCompositeObservations(String registrationId, List<LwM2mPath> paths) {
+        Collection<Observation> result = new ArrayList<>();
+        for (Observation obs : getObservations(registrationId)) {
+            if (obs instanceof CompositeObservation && paths.equals(((CompositeObservation) obs).getPaths())) {
+                result.add(obs);
+            }
+        }
+        return result;
+    }
+
     /**
      * Remove all observations for the given registrationId
      */
@@ -56,6 +56,8 @@ public class RegistrationUpdate {
     private final Map<Integer, Version> supportedObjects;
     // All available instances
     private final Set<LwM2mPath> availableInstances;
+    // Object links and data extracted from them, when given at once
+    private final RegistrationProfile profile;
     private final Map<String, String> additionalAttributes;
     private final Map<String, String> customRegistrationData;
 
@@ -64,6 +66,33 @@ public class RegistrationUpdate {
             Set<ContentFormat> supportedContentFormats, Map<Integer, Version> supportedObjects,
             Set<LwM2mPath> availableInstances, Map<String, String> additionalAttributes,
             Map<String, String> customRegistrationData) {
+        this(registrationId, clientTransportData, lifeTimeInSec, smsNumber, bindingMode, objectLinks, alternatePath,
+                supportedContentFormats, supportedObjects, availableInstances, null, additionalAttributes,
+                customRegistrationData);
+    }
+
+    /**
+     * Create a {@link RegistrationUpdate} where object links and data extracted from them are given as a
+     * {@link RegistrationProfile}, which allows to share it with other registrations.
+     *
+     * @param profile the new profile or <code>null</code> if object links are not updated.
+     */
+    public RegistrationUpdate(String registrationId, LwM2mPeer clientTransportData, Long lifeTimeInSec,
+            String smsNumber, EnumSet<BindingMode> bindingMode, RegistrationProfile profile,
+            Map<String, String> additionalAttributes, Map<String, String> customRegistrationData) {
+        this(registrationId, clientTransportData, lifeTimeInSec, smsNumber, bindingMode,
+                profile == null ? null : profile.getObjectLinks(), profile == null ? null : profile.getRootPath(),
+                profile == null ? null : profile.getSupportedContentFormats(),
+                profile == null ? null : profile.getSupportedObjects(),
+                profile == null ? null : profile.getAvailableInstances(), profile, additionalAttributes,
+                customRegistrationData);
+    }
+
+    private RegistrationUpdate(String registrationId, LwM2mPeer clientTransportData, Long lifeTimeInSec,
+            String smsNumber, EnumSet<BindingMode> bindingMode, Link[] objectLinks, String alternatePath,
+            Set<ContentFormat> supportedContentFormats, Map<Integer, Version> supportedObjects,
+            Set<LwM2mPath> availableInstances, RegistrationProfile profile, Map<String, String> additionalAttributes,
+            Map<String, String> customRegistrationData) {
 
         // mandatory params
         Validate.notNull(registrationId);
@@ -82,6 +111,7 @@ public class RegistrationUpdate {
         this.supportedContentFormats = supportedContentFormats;
         this.supportedObjects = supportedObjects;
         this.availableInstances = availableInstances;
+        this.profile = profile;
 
         // out of spec data
         if (additionalAttributes == null)
@@ -107,15 +137,6 @@ public class RegistrationUpdate {
         EnumSet<BindingMode> bindingMode = this.bindingMode != null ? this.bindingMode : registration.getBindingMode();
         String smsNumber = this.smsNumber != null ? this.smsNumber : registration.getSmsNumber();
 
-        Link[] linkObject = this.objectLinks != null ? this.objectLinks : registration.getObjectLinks();
-        String alternatePath = this.alternatePath != null ? this.alternatePath : registration.getRootPath();
-        Set<ContentFormat> supportedContentFormats = this.supportedContentFormats != null ? this.supportedContentFormats
-                : registration.getSupportedContentFormats();
-        Map<Integer, Version> supportedObjects = this.supportedObjects != null ? this.supportedObjects
-                : registration.getSupportedObject();
-        Set<LwM2mPath> availableInstances = this.availableInstances != null ? this.availableInstances
-                : registration.getAvailableInstances();
-
         Map<String, String> additionalAttributes = this.additionalAttributes.isEmpty()
                 ? registration.getAdditionalRegistrationAttributes()
                 : updateAdditionalAttributes(registration.getAdditionalRegistrationAttributes());
@@ -140,16 +161,27 @@ public class RegistrationUpdate {
                 .lifeTimeInSec(lifeTimeInSec) //
                 .bindingMode(bindingMode) //
                 .smsNumber(smsNumber) //
-                // object link data
-                .objectLinks(linkObject) //
-                .rootPath(alternatePath) //
-                .supportedContentFormats(supportedContentFormats) //
-                .supportedObjects(supportedObjects) //
-                .availableInstances(availableInstances) //
                 // out of spec data
                 .additionalRegistrationAttributes(additionalAttributes) //
                 .customRegistrationData(customRegistrationData);
 
+        // object link data
+        if (profile != null) {
+            builder.profile(profile);
+        } else if (objectLinks == null && alternatePath == null && supportedContentFormats == null
+                && supportedObjects == null && availableInstances == null) {
+            // nothing changed, profile can be shared with previous registration
+            builder.profile(registration.getProfile());
+        } else {
+            builder.objectLinks(objectLinks != null ? objectLinks : registration.getObjectLinks()) //
+                    .rootPath(alternatePath != null ? alternatePath : registration.getRootPath()) //
+                    .supportedContentFormats(supportedContentFormats != null ? supportedContentFormats
+                            : registration.getSupportedContentFormats()) //
+                    .supportedObjects(supportedObjects != null ? supportedObjects : registration.getSupportedObject()) //
+                    .availableInstances(
+                            availableInstances != null ? availableInstances : registration.getAvailableInstances());
+        }
+
         return builder.build();
     }
 
@@ -215,6 +247,13 @@ public class RegistrationUpdate {
         return availableInstances;
     }
 
+    /**
+     * @return the new {@link RegistrationProfile} if it was given at once, else <code>null</code>.
+     */
+    public RegistrationProfile getProfile() {
+        return profile;
+    }
+
     private Map<String, String> updateAdditionalAttributes(Map<String, String> oldAdditionalAttributes) {
         // putAll method updates already present key values or add them if not present.
         Map<String, String> aux = new HashMap<>();
@@ -246,7 +285,7 @@ public class RegistrationUpdate {
                 && Objects.equals(alternatePath, that.alternatePath)
                 && Objects.equals(supportedContentFormats, that.supportedContentFormats)
                 && Objects.equals(supportedObjects, that.supportedObjects)
-                && Objects.equals(availableInstances, that.availableInstances)
+                && Objects.equals(availableInstances, that.availableInstances) && Objects.equals(profile, that.profile)
                 && Objects.equals(additionalAttributes, that.additionalAttributes)
                 && Objects.equals(customRegistrationData, that.customRegistrationData);
     }
@@ -255,6 +294,6 @@ public class RegistrationUpdate {
     public final int hashCode() {
         return Objects.hash(registrationId, clientTransportData, lifeTimeInSec, smsNumber, bindingMode,
                 Arrays.hashCode(objectLinks), alternatePath, supportedContentFormats, supportedObjects,
-                availableInstances, additionalAttributes, customRegistrationData);
+                availableInstances, profile, additionalAttributes, customRegistrationData);
     }
 }
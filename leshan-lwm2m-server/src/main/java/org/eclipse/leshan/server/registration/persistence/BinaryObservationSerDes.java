@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.leshan.core.endpoint.DefaultEndPointUriHandler;
+import org.eclipse.leshan.core.endpoint.EndPointUriHandler;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.observation.CompositeObservation;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.observation.SingleObservation;
+import org.eclipse.leshan.core.request.ContentFormat;
+
+/**
+ * Functions for serialize and deserialize an {@link Observation} in a compact binary format.
+ *
+ * @see BinaryRegistrationSerDes
+ */
+public class BinaryObservationSerDes {
+
+    protected static final byte VERSION_1 = 1;
+
+    protected static final byte KIND_SINGLE = 1;
+    protected static final byte KIND_COMPOSITE = 2;
+
+    private final EndPointUriHandler uriHandler;
+
+    public BinaryObservationSerDes() {
+        this(new DefaultEndPointUriHandler());
+    }
+
+    public BinaryObservationSerDes(EndPointUriHandler uriHandler) {
+        this.uriHandler = uriHandler;
+    }
+
+    /* *************** Observation **************** */
+
+    public byte[] serialize(Observation obs) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            serialize(obs, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public void serialize(Observation obs, DataOutput out) throws IOException {
+        out.writeByte(VERSION_1);
+        serializeIdentifier(obs.getId(), out);
+        out.writeUTF(obs.getRegistrationId());
+        BinaryRegistrationSerDes.writeMap(obs.getContext(), out);
+        BinaryRegistrationSerDes.writeMap(obs.getProtocolData(), out);
+
+        if (obs instanceof SingleObservation) {
+            SingleObservation sobs = (SingleObservation) obs;
+            out.writeByte(KIND_SINGLE);
+            writeContentFormat(sobs.getContentFormat(), out);
+            out.writeUTF(sobs.getPath().toString());
+        } else if (obs instanceof CompositeObservation) {
+            CompositeObservation cobs = (CompositeObservation) obs;
+            out.writeByte(KIND_COMPOSITE);
+            writeContentFormat(cobs.getRequestContentFormat(), out);
+            writeContentFormat(cobs.getResponseContentFormat(), out);
+            out.writeInt(cobs.getPaths().size());
+            for (LwM2mPath path : cobs.getPaths()) {
+                out.writeUTF(path.toString());
+            }
+        } else {
+            throw new IllegalArgumentException(String.format("Unsupported kind of Observation : %s", obs));
+        }
+    }
+
+    public Observation deserialize(byte[] data) {
+        try {
+            return deserialize(new DataInputStream(new ByteArrayInputStream(data)));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to deserialize Observation", e);
+        }
+    }
+
+    public Observation deserialize(DataInput in) throws IOException {
+        byte version = in.readByte();
+        if (version != VERSION_1) {
+            throw new IllegalArgumentException(
+                    String.format("Unable to deserialize Observation : unsupported version %d", version));
+        }
+        ObservationIdentifier id = deserializeIdentifier(in);
+        String regId = in.readUTF();
+        Map<String, String> context = BinaryRegistrationSerDes.readMap(in);
+        Map<String, String> protocolData = BinaryRegistrationSerDes.readMap(in);
+
+        byte kind = in.readByte();
+        if (kind == KIND_SINGLE) {
+            ContentFormat contentFormat = readContentFormat(in);
+            LwM2mPath path = new LwM2mPath(in.readUTF());
+            return new SingleObservation(id, regId, path, contentFormat, context, protocolData);
+        } else if (kind == KIND_COMPOSITE) {
+            ContentFormat reqContentFormat = readContentFormat(in);
+            ContentFormat respContentFormat = readContentFormat(in);
+            int nbPaths = in.readInt();
+            List<LwM2mPath> paths = new ArrayList<>(nbPaths);
+            for (int i = 0; i < nbPaths; i++) {
+                paths.add(new LwM2mPath(in.readUTF()));
+            }
+            return new CompositeObservation(id, regId, paths, reqContentFormat, respContentFormat, context,
+                    protocolData);
+        } else {
+            throw new IllegalArgumentException(String.format("Unsupported kind of Observation : %d", kind));
+        }
+    }
+
+    /* *************** ObservationIdentifier **************** */
+
+    public void serializeIdentifier(ObservationIdentifier id, DataOutput out) throws IOException {
+        out.writeUTF(id.getEndpointUri().toString());
+        BinaryRegistrationSerDes.writeBytes(id.getBytes(), out);
+    }
+
+    public ObservationIdentifier deserializeIdentifier(DataInput in) throws IOException {
+        return new ObservationIdentifier(uriHandler.createUri(in.readUTF()), BinaryRegistrationSerDes.readBytes(in));
+    }
+
+    /* *************** Utility functions **************** */
+
+    private void writeContentFormat(ContentFormat contentFormat, DataOutput out) throws IOException {
+        out.writeInt(contentFormat == null ? -1 : contentFormat.getCode());
+    }
+
+    private ContentFormat readContentFormat(DataInput in) throws IOException {
+        int code = in.readInt();
+        return code < 0 ? null : ContentFormat.fromCode(code);
+    }
+}
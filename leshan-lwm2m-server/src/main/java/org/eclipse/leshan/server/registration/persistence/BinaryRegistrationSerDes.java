@@ -0,0 +1,409 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
+import org.eclipse.leshan.core.LwM2m.Version;
+import org.eclipse.leshan.core.endpoint.DefaultEndPointUriHandler;
+import org.eclipse.leshan.core.endpoint.EndPointUriHandler;
+import org.eclipse.leshan.core.endpoint.EndpointUri;
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.link.attributes.Attribute;
+import org.eclipse.leshan.core.link.attributes.AttributeModel;
+import org.eclipse.leshan.core.link.attributes.AttributeParser;
+import org.eclipse.leshan.core.link.attributes.Attributes;
+import org.eclipse.leshan.core.link.attributes.DefaultAttributeParser;
+import org.eclipse.leshan.core.link.attributes.InvalidAttributeException;
+import org.eclipse.leshan.core.link.lwm2m.MixedLwM2mLink;
+import org.eclipse.leshan.core.link.lwm2m.attributes.LwM2mAttributes;
+import org.eclipse.leshan.core.link.lwm2m.attributes.MixedLwM2mAttributeSet;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.peer.LwM2mIdentity;
+import org.eclipse.leshan.core.peer.LwM2mPeer;
+import org.eclipse.leshan.core.peer.OscoreIdentity;
+import org.eclipse.leshan.core.peer.PskIdentity;
+import org.eclipse.leshan.core.peer.RpkIdentity;
+import org.eclipse.leshan.core.peer.SocketIdentity;
+import org.eclipse.leshan.core.peer.X509Identity;
+import org.eclipse.leshan.core.request.BindingMode;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.core.security.util.SecurityUtil;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationProfile;
+import org.eclipse.leshan.server.registration.RegistrationProfileInterner;
+
+/**
+ * Functions for serialize and deserialize a {@link Registration} in a compact binary format.
+ * <p>
+ * Contrary to JSON serialization, this format is not human readable but it is faster to write/read and smaller. It
+ * starts by a version byte, so format can evolve without breaking already stored data.
+ */
+public class BinaryRegistrationSerDes {
+
+    protected static final byte VERSION_1 = 1;
+
+    // LwM2mPeer types
+    protected static final byte PEER_TYPE_IP = 1;
+
+    // LwM2mIdentity types
+    protected static final byte IDENTITY_TYPE_UNSECURE = 1;
+    protected static final byte IDENTITY_TYPE_PSK = 2;
+    protected static final byte IDENTITY_TYPE_RPK = 3;
+    protected static final byte IDENTITY_TYPE_X509 = 4;
+    protected static final byte IDENTITY_TYPE_OSCORE = 5;
+
+    private final AttributeParser attributeParser;
+    private final EndPointUriHandler uriHandler;
+    private final RegistrationProfileInterner profileInterner;
+
+    public BinaryRegistrationSerDes() {
+        // Define all supported Attributes
+        Collection<AttributeModel<?>> suppportedAttributes = new ArrayList<>();
+        suppportedAttributes.addAll(Attributes.ALL);
+        suppportedAttributes.addAll(LwM2mAttributes.ALL);
+
+        this.attributeParser = new DefaultAttributeParser(suppportedAttributes);
+        this.uriHandler = new DefaultEndPointUriHandler();
+        this.profileInterner = RegistrationProfileInterner.getShared();
+    }
+
+    public BinaryRegistrationSerDes(AttributeParser attributeParser, EndPointUriHandler uriHandler) {
+        this(attributeParser, uriHandler, RegistrationProfileInterner.getShared());
+    }
+
+    /**
+     * @param profileInterner used to share {@link RegistrationProfile} between deserialized registrations with same
+     *        object links, could be <code>null</code> to disable it.
+     */
+    public BinaryRegistrationSerDes(AttributeParser attributeParser, EndPointUriHandler uriHandler,
+            RegistrationProfileInterner profileInterner) {
+        this.attributeParser = attributeParser;
+        this.uriHandler = uriHandler;
+        this.profileInterner = profileInterner;
+    }
+
+    /* *************** Registration **************** */
+
+    public byte[] serialize(Registration r) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            serialize(r, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public void serialize(Registration r, DataOutput out) throws IOException {
+        out.writeByte(VERSION_1);
+
+        // mandatory params
+        out.writeUTF(r.getId());
+        out.writeUTF(r.getEndpoint());
+        out.writeUTF(r.getEndpointUri().toString());
+        serializePeer(r.getClientTransportData(), out);
+
+        // other params
+        out.writeLong(r.getRegistrationDate().getTime());
+        out.writeLong(r.getLastUpdate().getTime());
+        out.writeLong(r.getLifeTimeInSec());
+        writeNullableString(r.getSmsNumber(), out);
+        out.writeUTF(r.getLwM2mVersion().toString());
+        out.writeUTF(BindingMode.toString(r.getBindingMode()));
+        out.writeByte(r.getQueueMode() == null ? 0 : r.getQueueMode() ? 2 : 1);
+        writeMap(r.getAdditionalRegistrationAttributes(), out);
+        writeMap(r.getCustomRegistrationData(), out);
+
+        // object links related params
+        out.writeUTF(r.getRootPath());
+        Link[] links = r.getObjectLinks();
+        if (links == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(links.length);
+            for (Link link : links) {
+                out.writeUTF(link.getUriReference());
+                out.writeShort(link.getAttributes().asCollection().size());
+                for (Attribute attribute : link.getAttributes()) {
+                    out.writeUTF(attribute.getName());
+                    writeNullableString(attribute.hasValue() ? attribute.getCoreLinkValue() : null, out);
+                }
+            }
+        }
+
+        Set<ContentFormat> contentFormats = r.getSupportedContentFormats();
+        out.writeShort(contentFormats.size());
+        for (ContentFormat contentFormat : contentFormats) {
+            out.writeShort(contentFormat.getCode());
+        }
+
+        Map<Integer, Version> supportedObjects = r.getSupportedObject();
+        out.writeInt(supportedObjects.size());
+        for (Entry<Integer, Version> supportedObject : supportedObjects.entrySet()) {
+            out.writeInt(supportedObject.getKey());
+            out.writeUTF(supportedObject.getValue().toString());
+        }
+
+        Set<LwM2mPath> availableInstances = r.getAvailableInstances();
+        out.writeInt(availableInstances.size());
+        for (LwM2mPath instance : availableInstances) {
+            out.writeUTF(instance.toString());
+        }
+    }
+
+    public Registration deserialize(byte[] data) {
+        try {
+            return deserialize(new DataInputStream(new ByteArrayInputStream(data)));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to deserialize Registration", e);
+        }
+    }
+
+    public Registration deserialize(DataInput in) throws IOException {
+        byte version = in.readByte();
+        if (version != VERSION_1) {
+            throw new IllegalArgumentException(
+                    String.format("Unable to deserialize Registration : unsupported version %d", version));
+        }
+
+        // mandatory params
+        String regId = in.readUTF();
+        String endpoint = in.readUTF();
+        String endpointUriAsString = in.readUTF();
+        EndpointUri endpointUri;
+        try {
+            endpointUri = uriHandler.createUri(endpointUriAsString);
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException(
+                    String.format("Unable to deserialize last endpoint used URI %s of registration %s/%s",
+                            endpointUriAsString, regId, endpoint),
+                    e);
+        }
+        Registration.Builder b = new Registration.Builder(regId, endpoint, deserializePeer(in), endpointUri);
+
+        // other params
+        b.registrationDate(new Date(in.readLong()));
+        b.lastUpdate(new Date(in.readLong()));
+        b.lifeTimeInSec(in.readLong());
+        b.smsNumber(readNullableString(in));
+        b.lwM2mVersion(LwM2mVersion.get(in.readUTF()));
+        b.bindingMode(BindingMode.parse(in.readUTF()));
+        byte queueMode = in.readByte();
+        b.queueMode(queueMode == 0 ? null : queueMode == 2);
+        b.additionalRegistrationAttributes(readMap(in));
+        b.customRegistrationData(readMap(in));
+
+        // object links related params
+        String rootPath = in.readUTF();
+        b.rootPath(rootPath);
+        int nbLinks = in.readInt();
+        if (nbLinks >= 0) {
+            Link[] links = new Link[nbLinks];
+            for (int i = 0; i < nbLinks; i++) {
+                String uriReference = in.readUTF();
+                int nbAttributes = in.readUnsignedShort();
+                List<Attribute> attributes = new ArrayList<>(nbAttributes);
+                for (int j = 0; j < nbAttributes; j++) {
+                    String name = in.readUTF();
+                    String value = readNullableString(in);
+                    try {
+                        attributes.add(attributeParser.parseCoreLinkValue(name, value));
+                    } catch (InvalidAttributeException e) {
+                        throw new IllegalStateException(
+                                String.format("Unable to deserialize attribute value from links of registration %s/%s",
+                                        regId, endpoint),
+                                e);
+                    }
+                }
+                // handle lwm2m path
+                if (uriReference.startsWith(rootPath)) {
+                    LwM2mPath path = LwM2mPath.parse(uriReference, rootPath);
+                    links[i] = new MixedLwM2mLink(rootPath, path, new MixedLwM2mAttributeSet(attributes));
+                } else {
+                    links[i] = new Link(uriReference, attributes);
+                }
+            }
+            b.objectLinks(links);
+        }
+
+        int nbContentFormats = in.readUnsignedShort();
+        Set<ContentFormat> contentFormats = new HashSet<>();
+        for (int i = 0; i < nbContentFormats; i++) {
+            contentFormats.add(ContentFormat.fromCode(in.readUnsignedShort()));
+        }
+        b.supportedContentFormats(contentFormats);
+
+        int nbSupportedObjects = in.readInt();
+        Map<Integer, Version> supportedObjects = new HashMap<>();
+        for (int i = 0; i < nbSupportedObjects; i++) {
+            supportedObjects.put(in.readInt(), new Version(in.readUTF()));
+        }
+        b.supportedObjects(supportedObjects);
+
+        int nbAvailableInstances = in.readInt();
+        Set<LwM2mPath> availableInstances = new HashSet<>();
+        for (int i = 0; i < nbAvailableInstances; i++) {
+            availableInstances.add(new LwM2mPath(in.readUTF()));
+        }
+        b.availableInstances(availableInstances);
+
+        b.profileInterner(profileInterner);
+        return b.build();
+    }
+
+    /* *************** LwM2mPeer **************** */
+
+    public void serializePeer(LwM2mPeer peer, DataOutput out) throws IOException {
+        if (peer.getClass() == IpPeer.class) {
+            InetSocketAddress address = ((IpPeer) peer).getSocketAddress();
+            out.writeByte(PEER_TYPE_IP);
+            out.writeUTF(address.getHostString());
+            out.writeShort(address.getPort());
+        } else {
+            throw new IllegalStateException(String.format("Can not serialize %s", peer.getClass().getSimpleName()));
+        }
+        serializeIdentity(peer.getIdentity(), out);
+    }
+
+    public LwM2mPeer deserializePeer(DataInput in) throws IOException {
+        byte type = in.readByte();
+        if (type == PEER_TYPE_IP) {
+            InetSocketAddress address = new InetSocketAddress(in.readUTF(), in.readUnsignedShort());
+            return new IpPeer(address, deserializeIdentity(in));
+        } else {
+            throw new IllegalStateException(String.format("Invalid type of LWM2M Peer : %d is not supported", type));
+        }
+    }
+
+    /* *************** LwM2mIdentity **************** */
+
+    public void serializeIdentity(LwM2mIdentity identity, DataOutput out) throws IOException {
+        if (identity.getClass() == SocketIdentity.class) {
+            InetSocketAddress address = ((SocketIdentity) identity).getSocketAddress();
+            out.writeByte(IDENTITY_TYPE_UNSECURE);
+            out.writeUTF(address.getHostString());
+            out.writeShort(address.getPort());
+        } else if (identity.getClass() == PskIdentity.class) {
+            out.writeByte(IDENTITY_TYPE_PSK);
+            out.writeUTF(((PskIdentity) identity).getPskIdentity());
+        } else if (identity.getClass() == RpkIdentity.class) {
+            out.writeByte(IDENTITY_TYPE_RPK);
+            writeBytes(((RpkIdentity) identity).getPublicKey().getEncoded(), out);
+        } else if (identity.getClass() == X509Identity.class) {
+            out.writeByte(IDENTITY_TYPE_X509);
+            out.writeUTF(((X509Identity) identity).getX509CommonName());
+        } else if (identity.getClass() == OscoreIdentity.class) {
+            out.writeByte(IDENTITY_TYPE_OSCORE);
+            writeBytes(((OscoreIdentity) identity).getRecipientId(), out);
+        } else {
+            throw new IllegalStateException(String.format("Can not serialize %s", identity.getClass().getSimpleName()));
+        }
+    }
+
+    public LwM2mIdentity deserializeIdentity(DataInput in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+        case IDENTITY_TYPE_UNSECURE:
+            return new SocketIdentity(new InetSocketAddress(in.readUTF(), in.readUnsignedShort()));
+        case IDENTITY_TYPE_PSK:
+            return new PskIdentity(in.readUTF());
+        case IDENTITY_TYPE_RPK:
+            try {
+                return new RpkIdentity(SecurityUtil.publicKey.decode(readBytes(in)));
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Invalid RPK identity content", e);
+            }
+        case IDENTITY_TYPE_X509:
+            return new X509Identity(in.readUTF());
+        case IDENTITY_TYPE_OSCORE:
+            return new OscoreIdentity(readBytes(in));
+        default:
+            throw new IllegalStateException(
+                    String.format("Invalid type of LWM2M Identity : %d is not supported", type));
+        }
+    }
+
+    /* *************** Utility functions **************** */
+
+    protected static void writeNullableString(String value, DataOutput out) throws IOException {
+        if (value == null) {
+            out.writeBoolean(false);
+        } else {
+            out.writeBoolean(true);
+            out.writeUTF(value);
+        }
+    }
+
+    protected static String readNullableString(DataInput in) throws IOException {
+        if (in.readBoolean()) {
+            return in.readUTF();
+        }
+        return null;
+    }
+
+    protected static void writeBytes(byte[] value, DataOutput out) throws IOException {
+        out.writeShort(value.length);
+        out.write(value);
+    }
+
+    protected static byte[] readBytes(DataInput in) throws IOException {
+        byte[] value = new byte[in.readUnsignedShort()];
+        in.readFully(value);
+        return value;
+    }
+
+    protected static void writeMap(Map<String, String> map, DataOutput out) throws IOException {
+        if (map == null) {
+            out.writeInt(0);
+            return;
+        }
+        out.writeInt(map.size());
+        for (Entry<String, String> entry : map.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeNullableString(entry.getValue(), out);
+        }
+    }
+
+    protected static Map<String, String> readMap(DataInput in) throws IOException {
+        int size = in.readInt();
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(in.readUTF(), readNullableString(in));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Describe the format of files used by {@link PersistentRegistrationStore}.
+ * <p>
+ * Journal and snapshot files share the same layout : a header (magic number + version) followed by records. Each record
+ * is :
+ *
+ * <pre>
+ * | length (int) | type (byte) | payload (length - 1 bytes) | crc32 of type and payload (int) |
+ * </pre>
+ *
+ * A record with a length of 0 means end of file.
+ */
+class JournalFormat {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JournalFormat.class);
+
+    static final int MAGIC = 0x4C53524A; // "LSRJ"
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = 5;
+    // length and crc32 around each record
+    static final int RECORD_OVERHEAD = 8;
+
+    // record types
+    static final byte ADD_REGISTRATION = 1;
+    static final byte UPDATE_REGISTRATION = 2;
+    static final byte REMOVE_REGISTRATION = 3;
+    static final byte ADD_OBSERVATION = 4;
+    static final byte REMOVE_OBSERVATION = 5;
+
+    interface RecordHandler {
+        void handle(byte type, DataInput payload) throws IOException;
+    }
+
+    private JournalFormat() {
+    }
+
+    static byte[] header() {
+        return ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).put(VERSION).array();
+    }
+
+    static byte[] encodeRecord(byte type, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload, 0, payload.length);
+
+        ByteBuffer buffer = ByteBuffer.allocate(payload.length + 9);
+        buffer.putInt(payload.length + 1);
+        buffer.put(type);
+        buffer.put(payload);
+        buffer.putInt((int) crc.getValue());
+        return buffer.array();
+    }
+
+    /**
+     * Read all valid records of the given file. Reading stops at the end of file or at first corrupted/truncated record
+     * (which could happen if the server crashed while writing it).
+     *
+     * @return the number of records read.
+     */
+    static long read(File file, RecordHandler handler) throws IOException {
+        long count = 0;
+        long fileLength = file.length();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            int magic = in.readInt();
+            byte version = in.readByte();
+            if (magic != MAGIC || version != VERSION) {
+                throw new IOException(String.format("Invalid header for file %s", file));
+            }
+
+            CRC32 crc = new CRC32();
+            long position = HEADER_SIZE;
+            while (true) {
+                int length;
+                byte[] record;
+                int expectedCrc;
+                try {
+                    length = in.readInt();
+                    if (length == 0) {
+                        // end of file
+                        break;
+                    }
+                    // a torn or garbage length must not make us allocate more than what the file could contain
+                    if (length < 0 || length > fileLength - position - RECORD_OVERHEAD) {
+                        LOG.warn("Invalid record length {} in {} after {} records", length, file, count);
+                        break;
+                    }
+                    record = new byte[length];
+                    in.readFully(record);
+                    expectedCrc = in.readInt();
+                    position += length + RECORD_OVERHEAD;
+                } catch (EOFException e) {
+                    LOG.warn("Truncated record in {} after {} records", file, count);
+                    break;
+                }
+
+                crc.reset();
+                crc.update(record, 0, record.length);
+                if ((int) crc.getValue() != expectedCrc) {
+                    LOG.warn("Corrupted record in {} after {} records", file, count);
+                    break;
+                }
+
+                handler.handle(record[0], new DataInputStream(new ByteArrayInputStream(record, 1, length - 1)));
+                count++;
+            }
+        } catch (EOFException e) {
+            throw new IOException(String.format("Invalid header for file %s", file), e);
+        }
+        return count;
+    }
+}
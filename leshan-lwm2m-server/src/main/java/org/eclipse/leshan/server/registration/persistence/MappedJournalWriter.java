@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration.persistence;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * Append records to a journal file using memory mapped regions.
+ * <p>
+ * File is mapped region by region, a new region is mapped when the current one is full. As data are written to memory
+ * mapped file, there are not lost if the process crashes. {@link #force()} should be called to be sure data are written
+ * on disk, in case of OS crash.
+ * <p>
+ * This class is not thread-safe.
+ */
+class MappedJournalWriter implements Closeable {
+
+    private final File file;
+    private final RandomAccessFile raf;
+    private final FileChannel channel;
+    private final int regionSize;
+
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long size;
+
+    MappedJournalWriter(File file, int regionSize) throws IOException {
+        this.file = file;
+        this.regionSize = regionSize;
+        this.raf = new RandomAccessFile(file, "rw");
+        this.channel = raf.getChannel();
+
+        this.regionStart = 0;
+        this.region = channel.map(MapMode.READ_WRITE, regionStart, regionSize);
+        write(JournalFormat.header());
+    }
+
+    public void append(byte type, byte[] payload) throws IOException {
+        write(JournalFormat.encodeRecord(type, payload));
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!region.hasRemaining()) {
+                // current region is full, map the next one
+                region.force();
+                regionStart += regionSize;
+                region = channel.map(MapMode.READ_WRITE, regionStart, regionSize);
+            }
+            int length = Math.min(region.remaining(), bytes.length - offset);
+            region.put(bytes, offset, length);
+            offset += length;
+        }
+        size += bytes.length;
+    }
+
+    /**
+     * Force written data to be stored on disk.
+     */
+    public void force() {
+        region.force();
+    }
+
+    /**
+     * @return the number of bytes written in this journal.
+     */
+    public long size() {
+        return size;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+        raf.close();
+    }
+}
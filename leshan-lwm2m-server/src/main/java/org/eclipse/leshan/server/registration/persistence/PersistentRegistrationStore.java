@@ -0,0 +1,910 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration.persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.Startable;
+import org.eclipse.leshan.core.Stoppable;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.peer.LwM2mIdentity;
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.eclipse.leshan.server.registration.ConcurrentInMemoryRegistrationStore;
+import org.eclipse.leshan.server.registration.Deregistration;
+import org.eclipse.leshan.server.registration.ExpirationListener;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationPage;
+import org.eclipse.leshan.server.registration.RegistrationQuery;
+import org.eclipse.leshan.server.registration.RegistrationStore;
+import org.eclipse.leshan.server.registration.RegistrationUpdate;
+import org.eclipse.leshan.server.registration.UpdatedRegistration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link RegistrationStore} which keeps registrations and observations in memory and persists them on disk, so they
+ * can be reloaded when the server is restarted.
+ * <p>
+ * All read operations are directly handled by an in-memory delegate store (by default a
+ * {@link ConcurrentInMemoryRegistrationStore}). Each modification is appended to a memory-mapped journal file. Journal
+ * is regularly compacted in a snapshot file which contains only current registrations and observations.
+ * <p>
+ * At creation, the store reloads the last snapshot and replays the journals written after it.
+ */
+public class PersistentRegistrationStore implements RegistrationStore, Startable, Stoppable, Destroyable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PersistentRegistrationStore.class);
+
+    private static final String SNAPSHOT_PREFIX = "snapshot.";
+    private static final String JOURNAL_PREFIX = "journal.";
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+    private static final int CONCURRENCY_LEVEL = 64;
+
+    private final File directory;
+    private final RegistrationStore delegate;
+    private final BinaryRegistrationSerDes registrationSerDes;
+    private final BinaryObservationSerDes observationSerDes;
+    private final int journalRegionSize; // in bytes
+    private final long maxJournalSize; // in bytes
+    private final long compactionPeriod; // in seconds
+    private final long flushPeriod; // in milliseconds
+    private final ScheduledExecutorService schedExecutor;
+
+    // Locks used to keep the journal in the same order than the modifications done on delegate store for a given
+    // endpoint, modifications of different endpoints are done in parallel.
+    private final Lock[] locks;
+    // Lock used to serialize writes in the journal
+    private final Lock journalLock = new ReentrantLock();
+    private MappedJournalWriter journal; // created at first write
+    private long journalIndex;
+    private final AtomicBoolean compacting = new AtomicBoolean(false);
+
+    // Listener use to notify when a registration expires
+    private volatile ExpirationListener expirationListener;
+
+    private ScheduledFuture<?> flushTask;
+    private ScheduledFuture<?> compactionTask;
+    private boolean started = false;
+
+    /**
+     * Create a store with default configuration.
+     *
+     * @param directory the directory where journal and snapshot files will be stored.
+     */
+    public PersistentRegistrationStore(File directory) {
+        this(new Builder(directory).validate().generateDefaultValue());
+    }
+
+    protected PersistentRegistrationStore(Builder builder) {
+        this.directory = builder.directory;
+        this.delegate = builder.delegate;
+        this.registrationSerDes = builder.registrationSerDes;
+        this.observationSerDes = builder.observationSerDes;
+        this.journalRegionSize = builder.journalRegionSize;
+        this.maxJournalSize = builder.maxJournalSize;
+        this.compactionPeriod = builder.compactionPeriod;
+        this.flushPeriod = builder.flushPeriod;
+        this.schedExecutor = builder.schedExecutor;
+
+        this.locks = new Lock[CONCURRENCY_LEVEL];
+        for (int i = 0; i < CONCURRENCY_LEVEL; i++) {
+            locks[i] = new ReentrantLock();
+        }
+
+        this.delegate.setExpirationListener(this::onRegistrationExpired);
+        load();
+    }
+
+    /* *************** Leshan Registration API **************** */
+
+    @Override
+    public Deregistration addRegistration(Registration registration) {
+        Lock lock = getLock(registration.getEndpoint());
+        lock.lock();
+        try {
+            Deregistration deregistration = delegate.addRegistration(registration);
+            append(JournalFormat.ADD_REGISTRATION, registrationSerDes.serialize(registration));
+            return deregistration;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public UpdatedRegistration updateRegistration(RegistrationUpdate update) {
+        Lock lock = getLockByRegistrationId(update.getRegistrationId());
+        if (lock == null) {
+            return null;
+        }
+        lock.lock();
+        try {
+            UpdatedRegistration updatedRegistration = delegate.updateRegistration(update);
+            if (updatedRegistration != null) {
+                append(JournalFormat.UPDATE_REGISTRATION,
+                        registrationSerDes.serialize(updatedRegistration.getUpdatedRegistration()));
+            }
+            return updatedRegistration;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Registration getRegistration(String registrationId) {
+        return delegate.getRegistration(registrationId);
+    }
+
+    @Override
+    public Registration getRegistrationByEndpoint(String endpoint) {
+        return delegate.getRegistrationByEndpoint(endpoint);
+    }
+
+    @Override
+    public Collection<Registration> getRegistrations(Collection<String> endpoints) {
+        return delegate.getRegistrations(endpoints);
+    }
+
+    @Override
+    public Registration getRegistrationByAdress(InetSocketAddress address) {
+        return delegate.getRegistrationByAdress(address);
+    }
+
+    @Override
+    public Registration getRegistrationByIdentity(LwM2mIdentity identity) {
+        return delegate.getRegistrationByIdentity(identity);
+    }
+
+    @Override
+    public Iterator<Registration> getAllRegistrations() {
+        return delegate.getAllRegistrations();
+    }
+
+    @Override
+    public RegistrationPage getRegistrations(RegistrationQuery query, String cursor, int pageSize) {
+        return delegate.getRegistrations(query, cursor, pageSize);
+    }
+
+    @Override
+    public Iterator<Registration> getRegistrations(RegistrationQuery query) {
+        return delegate.getRegistrations(query);
+    }
+
+    @Override
+    public Deregistration removeRegistration(String registrationId) {
+        Lock lock = getLockByRegistrationId(registrationId);
+        if (lock == null) {
+            return null;
+        }
+        lock.lock();
+        try {
+            Deregistration deregistration = delegate.removeRegistration(registrationId);
+            if (deregistration != null) {
+                appendRemoveRegistration(registrationId);
+            }
+            return deregistration;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* *************** Leshan Observation API **************** */
+
+    @Override
+    public Collection<Observation> addObservation(String registrationId, Observation observation, boolean addIfAbsent) {
+        Lock lock = getLockByRegistrationId(registrationId);
+        if (lock == null) {
+            // let delegate report the missing registration
+            return delegate.addObservation(registrationId, observation, addIfAbsent);
+        }
+        lock.lock();
+        try {
+            Collection<Observation> removed = delegate.addObservation(registrationId, observation, addIfAbsent);
+            for (Observation obs : removed) {
+                if (!obs.getId().equals(observation.getId())) {
+                    appendRemoveObservation(obs.getId());
+                }
+            }
+            // with addIfAbsent, the observation stored could be the previous one
+            Observation stored = delegate.getObservation(observation.getId());
+            if (stored != null) {
+                append(JournalFormat.ADD_OBSERVATION, observationSerDes.serialize(stored));
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Observation getObservation(String registrationId, ObservationIdentifier observationId) {
+        return delegate.getObservation(registrationId, observationId);
+    }
+
+    @Override
+    public Observation getObservation(ObservationIdentifier observationId) {
+        return delegate.getObservation(observationId);
+    }
+
+    @Override
+    public Observation removeObservation(String registrationId, ObservationIdentifier observationId) {
+        Lock lock = getLockByRegistrationId(registrationId);
+        if (lock == null) {
+            return null;
+        }
+        lock.lock();
+        try {
+            Observation removed = delegate.removeObservation(registrationId, observationId);
+            if (removed != null) {
+                appendRemoveObservation(observationId);
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Collection<Observation> getObservations(String registrationId) {
+        return delegate.getObservations(registrationId);
+    }
+
+    @Override
+    public Collection<Observation> getObservations(String registrationId, LwM2mPath path) {
+        return delegate.getObservations(registrationId, path);
+    }
+
+    @Override
+    public Collection<Observation> getCompositeObservations(String registrationId, List<LwM2mPath> paths) {
+        return delegate.getCompositeObservations(registrationId, paths);
+    }
+
+    @Override
+    public Collection<Observation> removeObservations(String registrationId) {
+        Lock lock = getLockByRegistrationId(registrationId);
+        if (lock == null) {
+            // registration is already removed, so no observation can be added concurrently
+            return appendRemoveObservations(delegate.removeObservations(registrationId));
+        }
+        lock.lock();
+        try {
+            return appendRemoveObservations(delegate.removeObservations(registrationId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Collection<Observation> appendRemoveObservations(Collection<Observation> removed) {
+        for (Observation obs : removed) {
+            appendRemoveObservation(obs.getId());
+        }
+        return removed;
+    }
+
+    /* *************** Lock striping **************** */
+
+    private Lock getLock(String endpoint) {
+        // spread bits like ConcurrentHashMap does to limit collisions
+        int h = endpoint.hashCode();
+        h ^= (h >>> 16);
+        return locks[h & (locks.length - 1)];
+    }
+
+    /**
+     * @return the lock of the endpoint of the given registration or <code>null</code> if there is no registration with
+     *         this id.
+     */
+    private Lock getLockByRegistrationId(String registrationId) {
+        // endpoint of a registration never changes, so lock is the same even if registration is modified meanwhile
+        Registration registration = delegate.getRegistration(registrationId);
+        return registration == null ? null : getLock(registration.getEndpoint());
+    }
+
+    /* *************** Expiration handling **************** */
+
+    @Override
+    public void setExpirationListener(ExpirationListener listener) {
+        this.expirationListener = listener;
+    }
+
+    private void onRegistrationExpired(Registration registration, Collection<Observation> observations) {
+        // wait for modifications of this endpoint which are not yet written in journal
+        Lock lock = getLock(registration.getEndpoint());
+        lock.lock();
+        try {
+            appendRemoveRegistration(registration.getId());
+        } catch (UncheckedIOException e) {
+            LOG.error("Unable to write expiration of registration {} in journal", registration.getId(), e);
+        } finally {
+            lock.unlock();
+        }
+        if (expirationListener != null) {
+            expirationListener.registrationExpired(registration, observations);
+        }
+    }
+
+    /* *************** Journal **************** */
+
+    private void appendRemoveRegistration(String registrationId) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(registrationId);
+            append(JournalFormat.REMOVE_REGISTRATION, bytes.toByteArray());
+        } catch (IOException e) {
+            LOG.error("Unable to write removal of registration {} in journal", registrationId, e);
+        }
+    }
+
+    private void appendRemoveObservation(ObservationIdentifier observationId) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            observationSerDes.serializeIdentifier(observationId, out);
+            append(JournalFormat.REMOVE_OBSERVATION, bytes.toByteArray());
+        } catch (IOException e) {
+            LOG.error("Unable to write removal of observation {} in journal", observationId, e);
+        }
+    }
+
+    /**
+     * Append a record to the journal. To keep records in the same order than modifications, it MUST be called while
+     * holding the lock of the endpoint concerned by the modification.
+     *
+     * @throws UncheckedIOException if record can not be written, the modification is then only applied in memory.
+     */
+    private void append(byte type, byte[] payload) {
+        boolean full;
+        journalLock.lock();
+        try {
+            if (journal == null) {
+                journal = new MappedJournalWriter(journalFile(journalIndex), journalRegionSize);
+            }
+            journal.append(type, payload);
+            full = journal.size() > maxJournalSize;
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    String.format("Unable to write record in registration journal %s", journalFile(journalIndex)), e);
+        } finally {
+            journalLock.unlock();
+        }
+        if (full) {
+            triggerCompaction();
+        }
+    }
+
+    private File snapshotFile(long index) {
+        return new File(directory, SNAPSHOT_PREFIX + index);
+    }
+
+    private File journalFile(long index) {
+        return new File(directory, JOURNAL_PREFIX + index);
+    }
+
+    private TreeSet<Long> listIndexes(String prefix) {
+        TreeSet<Long> indexes = new TreeSet<>();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.startsWith(prefix) && !name.endsWith(TMP_SUFFIX) && !name.endsWith(CORRUPT_SUFFIX)) {
+                    try {
+                        indexes.add(Long.parseLong(name.substring(prefix.length())));
+                    } catch (NumberFormatException e) {
+                        LOG.warn("Unexpected file {} in registration store directory", file);
+                    }
+                }
+            }
+        }
+        return indexes;
+    }
+
+    /* *************** Load **************** */
+
+    private void load() {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IllegalStateException(String.format("Unable to create directory %s", directory));
+        }
+
+        long start = System.currentTimeMillis();
+        TreeSet<Long> snapshots = listIndexes(SNAPSHOT_PREFIX);
+        TreeSet<Long> journals = listIndexes(JOURNAL_PREFIX);
+
+        // Replay last snapshot and journals written after it
+        ReplayState state = new ReplayState();
+        long firstJournal = 0;
+        if (!snapshots.isEmpty()) {
+            long lastSnapshot = snapshots.last();
+            firstJournal = lastSnapshot;
+            try {
+                JournalFormat.read(snapshotFile(lastSnapshot), state);
+            } catch (IOException | RuntimeException e) {
+                LOG.error("Unable to load registration snapshot {}", snapshotFile(lastSnapshot), e);
+                moveAside(snapshotFile(lastSnapshot));
+            }
+        }
+        for (Long index : journals.tailSet(firstJournal)) {
+            try {
+                JournalFormat.read(journalFile(index), state);
+            } catch (IOException | RuntimeException e) {
+                LOG.error("Unable to load registration journal {}", journalFile(index), e);
+                moveAside(journalFile(index));
+            }
+        }
+
+        // Fill the in-memory store
+        for (Registration registration : state.registrationsByEndpoint.values()) {
+            delegate.addRegistration(registration);
+        }
+        for (Observation observation : state.observations.values()) {
+            delegate.addObservation(observation.getRegistrationId(), observation, false);
+        }
+        if (!state.registrationsByEndpoint.isEmpty()) {
+            LOG.info("{} registrations and {} observations loaded from {} in {}ms",
+                    state.registrationsByEndpoint.size(), state.observations.size(), directory,
+                    System.currentTimeMillis() - start);
+        }
+
+        // Next journal will be created at first write
+        long lastIndex = Math.max(snapshots.isEmpty() ? 0 : snapshots.last(), journals.isEmpty() ? 0 : journals.last());
+        journalIndex = lastIndex + 1;
+    }
+
+    /**
+     * Rename the given file with a {@code .corrupt} suffix, so it is kept for a manual recovery and not removed by next
+     * compaction. Throws {@link IllegalStateException} if this is not possible.
+     */
+    private void moveAside(File file) {
+        File corruptFile = new File(file.getPath() + CORRUPT_SUFFIX);
+        try {
+            Files.move(file.toPath(), corruptFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            LOG.warn("Unreadable registration file moved to {}", corruptFile);
+        } catch (IOException e) {
+            throw new IllegalStateException(
+                    String.format("Unable to move unreadable registration file %s to %s", file, corruptFile), e);
+        }
+    }
+
+    /**
+     * Current state computed from journal records.
+     * <p>
+     * Each record describes the state of a registration or observation, not a delta. This means records can be replayed
+     * on top of a snapshot which already contains some of the modifications they describe.
+     */
+    private class ReplayState implements JournalFormat.RecordHandler {
+        private final Map<String /* end-point */, Registration> registrationsByEndpoint = new HashMap<>();
+        private final Map<String /* reg-id */, String /* end-point */> endpointsByRegId = new HashMap<>();
+        private final Map<ObservationIdentifier, Observation> observations = new HashMap<>();
+        private final Map<String /* reg-id */, Set<ObservationIdentifier>> observationsByRegId = new HashMap<>();
+
+        @Override
+        public void handle(byte type, DataInput payload) throws IOException {
+            switch (type) {
+            case JournalFormat.ADD_REGISTRATION:
+                addRegistration(registrationSerDes.deserialize(payload));
+                break;
+            case JournalFormat.UPDATE_REGISTRATION:
+                updateRegistration(registrationSerDes.deserialize(payload));
+                break;
+            case JournalFormat.REMOVE_REGISTRATION:
+                removeRegistration(payload.readUTF());
+                break;
+            case JournalFormat.ADD_OBSERVATION:
+                addObservation(observationSerDes.deserialize(payload));
+                break;
+            case JournalFormat.REMOVE_OBSERVATION:
+                removeObservation(observationSerDes.deserializeIdentifier(payload));
+                break;
+            default:
+                LOG.warn("Unknown record type {} in registration journal : ignored", type);
+            }
+        }
+
+        private void addRegistration(Registration registration) {
+            Registration previous = registrationsByEndpoint.put(registration.getEndpoint(), registration);
+            if (previous != null) {
+                // like in store, previous registration and its observations are removed
+                removeObservations(previous.getId());
+                if (!previous.getId().equals(registration.getId())) {
+                    endpointsByRegId.remove(previous.getId());
+                }
+            }
+            endpointsByRegId.put(registration.getId(), registration.getEndpoint());
+        }
+
+        private void updateRegistration(Registration registration) {
+            Registration previous = registrationsByEndpoint.put(registration.getEndpoint(), registration);
+            if (previous != null && !previous.getId().equals(registration.getId())) {
+                removeObservations(previous.getId());
+                endpointsByRegId.remove(previous.getId());
+            }
+            endpointsByRegId.put(registration.getId(), registration.getEndpoint());
+        }
+
+        private void removeRegistration(String registrationId) {
+            String endpoint = endpointsByRegId.remove(registrationId);
+            if (endpoint != null) {
+                registrationsByEndpoint.remove(endpoint);
+            }
+            removeObservations(registrationId);
+        }
+
+        private void addObservation(Observation observation) {
+            removeObservation(observation.getId());
+            if (endpointsByRegId.containsKey(observation.getRegistrationId())) {
+                observations.put(observation.getId(), observation);
+                observationsByRegId.computeIfAbsent(observation.getRegistrationId(), k -> new HashSet<>())
+                        .add(observation.getId());
+            }
+        }
+
+        private void removeObservation(ObservationIdentifier observationId) {
+            Observation removed = observations.remove(observationId);
+            if (removed != null) {
+                Set<ObservationIdentifier> ids = observationsByRegId.get(removed.getRegistrationId());
+                if (ids != null) {
+                    ids.remove(observationId);
+                    if (ids.isEmpty()) {
+                        observationsByRegId.remove(removed.getRegistrationId());
+                    }
+                }
+            }
+        }
+
+        private void removeObservations(String registrationId) {
+            Set<ObservationIdentifier> ids = observationsByRegId.remove(registrationId);
+            if (ids != null) {
+                for (ObservationIdentifier id : ids) {
+                    observations.remove(id);
+                }
+            }
+        }
+    }
+
+    /* *************** Compaction **************** */
+
+    private void triggerCompaction() {
+        if (!compacting.get() && !schedExecutor.isShutdown()) {
+            schedExecutor.execute(this::compact);
+        }
+    }
+
+    /**
+     * Write a snapshot of the current state of the store and remove journals and snapshots which are no more needed.
+     * <p>
+     * Modifications are not blocked while snapshot is written : a new journal is started before to write the snapshot
+     * and will be replayed on top of it at next load.
+     */
+    public void compact() {
+        if (!compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // Start a new journal
+            long snapshotIndex;
+            journalLock.lock();
+            try {
+                MappedJournalWriter previous = journal;
+                snapshotIndex = journalIndex + 1;
+                journal = null;
+                journalIndex = snapshotIndex;
+                if (previous != null) {
+                    previous.close();
+                }
+            } finally {
+                journalLock.unlock();
+            }
+
+            // Write snapshot
+            long start = System.currentTimeMillis();
+            long count = writeSnapshot(snapshotIndex);
+            LOG.debug("Registration snapshot {} with {} records written in {}ms", snapshotFile(snapshotIndex), count,
+                    System.currentTimeMillis() - start);
+
+            // Remove files which are no more needed
+            for (Long index : listIndexes(SNAPSHOT_PREFIX).headSet(snapshotIndex)) {
+                Files.deleteIfExists(snapshotFile(index).toPath());
+            }
+            for (Long index : listIndexes(JOURNAL_PREFIX).headSet(snapshotIndex)) {
+                Files.deleteIfExists(journalFile(index).toPath());
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Unable to compact registration journal", e);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private long writeSnapshot(long index) throws IOException {
+        File tmpFile = new File(directory, SNAPSHOT_PREFIX + index + TMP_SUFFIX);
+        long count = 0;
+        try (FileOutputStream fileOut = new FileOutputStream(tmpFile);
+                BufferedOutputStream out = new BufferedOutputStream(fileOut, 1 << 16)) {
+            out.write(JournalFormat.header());
+            for (Iterator<Registration> it = delegate.getAllRegistrations(); it.hasNext();) {
+                Registration registration = it.next();
+                out.write(JournalFormat.encodeRecord(JournalFormat.ADD_REGISTRATION,
+                        registrationSerDes.serialize(registration)));
+                count++;
+                for (Observation observation : delegate.getObservations(registration.getId())) {
+                    out.write(JournalFormat.encodeRecord(JournalFormat.ADD_OBSERVATION,
+                            observationSerDes.serialize(observation)));
+                    count++;
+                }
+            }
+            // end of file marker
+            out.write(new byte[4]);
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        Files.move(tmpFile.toPath(), snapshotFile(index).toPath(), StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /* *************** Life cycle **************** */
+
+    private void flush() {
+        journalLock.lock();
+        try {
+            if (journal != null) {
+                journal.force();
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to flush registration journal", e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    /**
+     * Start the registration store : start the delegate store, regular flush of the journal and regular compaction.
+     */
+    @Override
+    public synchronized void start() {
+        if (!started) {
+            started = true;
+            if (delegate instanceof Startable) {
+                ((Startable) delegate).start();
+            }
+            flushTask = schedExecutor.scheduleWithFixedDelay(this::flush, flushPeriod, flushPeriod,
+                    TimeUnit.MILLISECONDS);
+            compactionTask = schedExecutor.scheduleWithFixedDelay(this::compact, compactionPeriod, compactionPeriod,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stop the registration store : stop the delegate store and regular tasks, journal is flushed.
+     */
+    @Override
+    public synchronized void stop() {
+        if (started) {
+            started = false;
+            if (delegate instanceof Stoppable) {
+                ((Stoppable) delegate).stop();
+            }
+            if (flushTask != null) {
+                flushTask.cancel(false);
+                flushTask = null;
+            }
+            if (compactionTask != null) {
+                compactionTask.cancel(false);
+                compactionTask = null;
+            }
+            flush();
+        }
+    }
+
+    /**
+     * Destroy the registration store : journal is closed and scheduler is shutdown.
+     */
+    @Override
+    public synchronized void destroy() {
+        started = false;
+        if (delegate instanceof Destroyable) {
+            ((Destroyable) delegate).destroy();
+        }
+        schedExecutor.shutdownNow();
+        try {
+            schedExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            LOG.warn("Destroying PersistentRegistrationStore was interrupted.", e);
+            Thread.currentThread().interrupt();
+        }
+        journalLock.lock();
+        try {
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to close registration journal", e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    /**
+     * Class helping to build and configure a {@link PersistentRegistrationStore}.
+     */
+    public static class Builder {
+
+        private final File directory;
+        private RegistrationStore delegate;
+        private BinaryRegistrationSerDes registrationSerDes;
+        private BinaryObservationSerDes observationSerDes;
+        private int journalRegionSize;
+        private long maxJournalSize;
+        private long compactionPeriod;
+        private long flushPeriod;
+        private ScheduledExecutorService schedExecutor;
+
+        /**
+         * @param directory the directory where journal and snapshot files will be stored.
+         */
+        public Builder(File directory) {
+            this.directory = directory;
+            this.journalRegionSize = 16 * 1024 * 1024;
+            this.maxJournalSize = 256 * 1024 * 1024;
+            this.compactionPeriod = 3600;
+            this.flushPeriod = 1000;
+        }
+
+        /**
+         * Set the in-memory {@link RegistrationStore} used to handle all read operations. It must not be shared with
+         * anything else.
+         * <p>
+         * Default value is a {@link ConcurrentInMemoryRegistrationStore}.
+         */
+        public Builder setDelegate(RegistrationStore delegate) {
+            this.delegate = delegate;
+            return this;
+        }
+
+        /**
+         * Set {@link BinaryRegistrationSerDes} instance used to serialize/de-serialize {@link Registration}.
+         */
+        public Builder setRegistrationSerDes(BinaryRegistrationSerDes registrationSerDes) {
+            this.registrationSerDes = registrationSerDes;
+            return this;
+        }
+
+        /**
+         * Set {@link BinaryObservationSerDes} instance used to serialize/de-serialize {@link Observation}.
+         */
+        public Builder setObservationSerDes(BinaryObservationSerDes observationSerDes) {
+            this.observationSerDes = observationSerDes;
+            return this;
+        }
+
+        /**
+         * Set the size of the memory mapped regions of the journal file.
+         * <p>
+         * Default value is {@literal 16 MB}.
+         */
+        public Builder setJournalRegionSize(int journalRegionSize) {
+            this.journalRegionSize = journalRegionSize;
+            return this;
+        }
+
+        /**
+         * Set the size of journal from which a compaction is triggered.
+         * <p>
+         * Default value is {@literal 256 MB}.
+         */
+        public Builder setMaxJournalSize(long maxJournalSize) {
+            this.maxJournalSize = maxJournalSize;
+            return this;
+        }
+
+        /**
+         * Set time in seconds between 2 periodic compactions.
+         * <p>
+         * Default value is {@literal 3600 seconds}.
+         */
+        public Builder setCompactionPeriod(long compactionPeriod) {
+            this.compactionPeriod = compactionPeriod;
+            return this;
+        }
+
+        /**
+         * Set time in milliseconds between 2 forced writes of the journal on disk.
+         * <p>
+         * Default value is {@literal 1000 milliseconds}.
+         */
+        public Builder setFlushPeriod(long flushPeriod) {
+            this.flushPeriod = flushPeriod;
+            return this;
+        }
+
+        /**
+         * Set {@link ScheduledExecutorService} used to launch periodic flush and compaction.
+         */
+        public Builder setSchedExecutor(ScheduledExecutorService schedExecutor) {
+            this.schedExecutor = schedExecutor;
+            return this;
+        }
+
+        protected Builder validate() throws IllegalArgumentException {
+            if (directory == null) {
+                throw new IllegalArgumentException("directory should not be null");
+            }
+            if (journalRegionSize <= 0) {
+                throw new IllegalArgumentException("journalRegionSize must be greater than 0");
+            }
+            if (compactionPeriod <= 0 || flushPeriod <= 0) {
+                throw new IllegalArgumentException("compactionPeriod and flushPeriod must be greater than 0");
+            }
+            return this;
+        }
+
+        protected Builder generateDefaultValue() {
+            if (delegate == null) {
+                delegate = new ConcurrentInMemoryRegistrationStore();
+            }
+            if (registrationSerDes == null) {
+                registrationSerDes = new BinaryRegistrationSerDes();
+            }
+            if (observationSerDes == null) {
+                observationSerDes = new BinaryObservationSerDes();
+            }
+            if (schedExecutor == null) {
+                schedExecutor = Executors.newScheduledThreadPool(1,
+                        new NamedThreadFactory("PersistentRegistrationStore Journal"));
+            }
+            return this;
+        }
+
+        /**
+         * Create the {@link PersistentRegistrationStore} and load data already persisted.
+         * <p>
+         * Throws {@link IllegalArgumentException} if configuration is not valid.
+         */
+        public PersistentRegistrationStore build() throws IllegalArgumentException {
+            validate();
+            generateDefaultValue();
+            return new PersistentRegistrationStore(this);
+        }
+    }
+}
@@ -17,6 +17,7 @@
  *******************************************************************************/
 package org.eclipse.leshan.server.request;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.eclipse.leshan.core.model.LwM2mModel;
@@ -145,6 +146,25 @@ public class DefaultDownlinkRequestSender implements DownlinkRequestSender {
         }, errorCallback, lowerLayerConfig, timeoutInMs);
     }
 
+    @Override
+    public <T extends LwM2mResponse> CompletableFuture<T> sendAsync(Registration destination,
+            DownlinkDeviceManagementRequest<T> request, LowerLayerConfig lowerLayerConfig, long timeoutInMs) {
+        try {
+            // find endpoint to use
+            LwM2mServerEndpoint endpoint = getEndpoint(destination);
+
+            // Retrieve the objects definition
+            final LwM2mModel model = modelProvider.getObjectModel(destination);
+
+            // Send requests asynchronously
+            return endpoint.sendAsync(new ClientProfile(destination, model), request, lowerLayerConfig, timeoutInMs);
+        } catch (RuntimeException e) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+
     @Override
     public void cancelOngoingRequests(Registration registration) {
         for (LwM2mServerEndpoint endpoint : endpointsProvider.getEndpoints()) {
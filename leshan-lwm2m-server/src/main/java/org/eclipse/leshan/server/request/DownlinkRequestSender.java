@@ -16,6 +16,8 @@
  *******************************************************************************/
 package org.eclipse.leshan.server.request;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.leshan.core.node.codec.CodecException;
 import org.eclipse.leshan.core.request.DownlinkDeviceManagementRequest;
 import org.eclipse.leshan.core.request.DownlinkRequest;
@@ -96,6 +98,42 @@ public interface DownlinkRequestSender {
             LowerLayerConfig lowerLayerConfig, long timeoutInMs, ResponseCallback<T> responseCallback,
             ErrorCallback errorCallback);
 
+    /**
+     * Send a Lightweight M2M {@link DownlinkRequest} asynchronously to a LWM2M client and return a
+     * {@link CompletableFuture} which can be composed with other requests without blocking any thread.
+     * <p>
+     * The future is completed with the response (successful or error response) or completed exceptionally with one of
+     * the exceptions listed for {@link ErrorCallback} in
+     * {@link #send(Registration, DownlinkDeviceManagementRequest, LowerLayerConfig, long, ResponseCallback, ErrorCallback)}.
+     * Errors which happen before the request is sent (e.g. {@link CodecException}) are also reported through the
+     * future.
+     * <p>
+     * Default implementation adapts
+     * {@link #send(Registration, DownlinkDeviceManagementRequest, LowerLayerConfig, long, ResponseCallback, ErrorCallback)}
+     * and so cancelling the future does not cancel the ongoing request. Implementations able to do it (like
+     * {@link DefaultDownlinkRequestSender}) cancel the ongoing request, as {@link #cancelOngoingRequests(Registration)}
+     * does for all requests of a client.
+     *
+     * @param destination The {@link Registration} associate to the device we want to sent the request.
+     * @param request The request to send to the client.
+     * @param lowerLayerConfig to tweak lower layer request (e.g. coap request)
+     * @param timeoutInMs The global timeout to wait in milliseconds (see
+     *        https://github.com/eclipse/leshan/wiki/Request-Timeout)
+     * @param <T> The expected type of the response received.
+     * @return the future response.
+     * @since 2.0
+     */
+    default <T extends LwM2mResponse> CompletableFuture<T> sendAsync(Registration destination,
+            DownlinkDeviceManagementRequest<T> request, LowerLayerConfig lowerLayerConfig, long timeoutInMs) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            send(destination, request, lowerLayerConfig, timeoutInMs, future::complete, future::completeExceptionally);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     /**
      * cancel all ongoing messages for a LWM2M client identified by the registration identifier. In case a client
      * de-registers, the consumer can use this method to cancel all ongoing messages for the given client.
@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.bulk;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.request.DownlinkDeviceManagementRequest;
+import org.eclipse.leshan.core.request.ReadRequest;
+import org.eclipse.leshan.core.response.ErrorCallback;
+import org.eclipse.leshan.core.response.LwM2mResponse;
+import org.eclipse.leshan.core.response.ReadResponse;
+import org.eclipse.leshan.core.response.ResponseCallback;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.request.DownlinkRequestSender;
+import org.eclipse.leshan.server.request.LowerLayerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BulkRequestSenderTest {
+
+    private ScheduledExecutorService responseExecutor;
+    private AsyncRequestSender requestSender;
+    private BulkRequestSender bulkSender;
+
+    @BeforeEach
+    void start() {
+        responseExecutor = Executors.newScheduledThreadPool(4);
+        requestSender = new AsyncRequestSender();
+        bulkSender = new BulkRequestSender(requestSender);
+    }
+
+    @AfterEach
+    void stop() {
+        bulkSender.destroy();
+        responseExecutor.shutdownNow();
+    }
+
+    @Test
+    void send_to_all_devices_respecting_concurrency_limits() throws InterruptedException {
+        List<Registration> registrations = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            registrations.add(givenARegistration("ep" + i));
+        }
+        // same endpoint several times
+        for (int i = 0; i < 5; i++) {
+            registrations.add(givenARegistration("ep0"));
+        }
+        CollectingListener listener = new CollectingListener();
+
+        BulkOperation<ReadResponse> operation = bulkSender.send(registrations.iterator(),
+                registration -> registration.getEndpoint().equals("ep1") ? null : new ReadRequest(3, 0, 0),
+                new BulkRequestOptions.Builder().setMaxConcurrentRequests(8).build(), listener);
+
+        assertTrue(operation.awaitCompletion(10, TimeUnit.SECONDS));
+        assertEquals(1, listener.completed.get());
+        assertEquals(54, listener.responses.get());
+        assertTrue(listener.errors.isEmpty());
+        assertEquals(54, operation.getSuccessCount());
+        assertEquals(1, operation.getSkippedCount());
+        assertEquals(0, operation.getInFlightCount());
+        assertTrue(requestSender.maxInFlight.get() <= 8);
+        assertEquals(1, requestSender.maxInFlightForAnEndpoint.get());
+    }
+
+    @Test
+    void stop_sending_requests_when_cancelled() throws InterruptedException {
+        CollectingListener listener = new CollectingListener();
+        List<Registration> registrations = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            registrations.add(givenARegistration("ep" + i));
+        }
+
+        BulkOperation<ReadResponse> operation = bulkSender.send(registrations.iterator(),
+                registration -> new ReadRequest(3, 0, 0),
+                new BulkRequestOptions.Builder().setRequestsPerSecond(100).setBurst(10).build(), listener);
+        Thread.sleep(100);
+        operation.cancel();
+
+        assertTrue(operation.awaitCompletion(10, TimeUnit.SECONDS));
+        assertTrue(operation.isCancelled());
+        assertEquals(1, listener.completed.get());
+        assertTrue(operation.getSentCount() < 1000);
+        assertEquals(operation.getSentCount(), listener.responses.get());
+    }
+
+    private Registration givenARegistration(String endpoint) {
+        return new Registration.Builder(endpoint + "-id", endpoint, new IpPeer(new InetSocketAddress(5683)),
+                uriHandler.createUri("coap://localhost:5683")).build();
+    }
+
+    private class AsyncRequestSender implements DownlinkRequestSender {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private final Map<String, Integer> inFlightByEndpoint = new HashMap<>();
+        private final AtomicInteger maxInFlightForAnEndpoint = new AtomicInteger();
+
+        @Override
+        public <T extends LwM2mResponse> T send(Registration destination, DownlinkDeviceManagementRequest<T> request,
+                LowerLayerConfig lowerLayerConfig, long timeoutInMs) throws InterruptedException {
+            throw new UnsupportedOperationException();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T extends LwM2mResponse> void send(Registration destination, DownlinkDeviceManagementRequest<T> request,
+                LowerLayerConfig lowerLayerConfig, long timeoutInMs, ResponseCallback<T> responseCallback,
+                ErrorCallback errorCallback) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            synchronized (inFlightByEndpoint) {
+                int count = inFlightByEndpoint.merge(destination.getEndpoint(), 1, Integer::sum);
+                maxInFlightForAnEndpoint.accumulateAndGet(count, Math::max);
+            }
+            responseExecutor.schedule(() -> {
+                inFlight.decrementAndGet();
+                synchronized (inFlightByEndpoint) {
+                    inFlightByEndpoint.merge(destination.getEndpoint(), -1, Integer::sum);
+                }
+                responseCallback.onResponse((T) ReadResponse.success(0, "value"));
+            }, 5, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void cancelOngoingRequests(Registration registration) {
+        }
+    }
+
+    private static class CollectingListener implements BulkResponseListener<ReadResponse> {
+        private final AtomicInteger responses = new AtomicInteger();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final List<Exception> errors = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void onResponse(Registration registration, DownlinkDeviceManagementRequest<ReadResponse> request,
+                ReadResponse response) {
+            responses.incrementAndGet();
+        }
+
+        @Override
+        public void onError(Registration registration, DownlinkDeviceManagementRequest<ReadResponse> request,
+                Exception error) {
+            errors.add(error);
+        }
+
+        @Override
+        public void onCompleted(BulkOperation<ReadResponse> operation) {
+            completed.incrementAndGet();
+        }
+    }
+}
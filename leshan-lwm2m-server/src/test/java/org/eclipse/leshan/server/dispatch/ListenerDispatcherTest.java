@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.dispatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ListenerDispatcherTest {
+
+    private ListenerDispatcher dispatcher;
+
+    @AfterEach
+    void destroy() {
+        if (dispatcher != null) {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    void drop_oldest_events_when_queue_is_full() throws InterruptedException {
+        dispatcher = new ListenerDispatcher.Builder().setNbThreads(1).setQueueCapacity(2)
+                .setOverflowPolicy(OverflowPolicy.DROP_OLDEST).build();
+        DispatchQueue queue = dispatcher.createQueue("test");
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch blocked = givenABlockedQueue(queue);
+
+        for (int i = 0; i < 5; i++) {
+            final int event = i;
+            queue.submit(null, () -> received.add(event));
+        }
+        assertEquals(2, queue.getDepth());
+        assertEquals(3, dispatcher.getDroppedCount());
+
+        blocked.countDown();
+        waitUntilEmpty(queue);
+        assertEquals(Arrays.asList(3, 4), received);
+    }
+
+    @Test
+    void conflate_events_with_same_key_when_queue_is_full() throws InterruptedException {
+        dispatcher = new ListenerDispatcher.Builder().setNbThreads(1).setQueueCapacity(2)
+                .setOverflowPolicy(OverflowPolicy.CONFLATE).build();
+        DispatchQueue queue = dispatcher.createQueue("test");
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch blocked = givenABlockedQueue(queue);
+
+        queue.submit("obs1", () -> received.add("obs1-v1"));
+        queue.submit("obs2", () -> received.add("obs2-v1"));
+        queue.submit("obs1", () -> received.add("obs1-v2"));
+        queue.submit("obs1", () -> received.add("obs1-v3"));
+        assertEquals(2, queue.getDepth());
+        assertEquals(2, queue.getConflatedCount());
+        assertEquals(0, queue.getDroppedCount());
+
+        blocked.countDown();
+        waitUntilEmpty(queue);
+        assertEquals(Arrays.asList("obs1-v3", "obs2-v1"), received);
+    }
+
+    @Test
+    void conflate_notifications_while_listener_is_busy() throws InterruptedException {
+        dispatcher = new ListenerDispatcher.Builder().setNbThreads(1).setQueueCapacity(100)
+                .setConflateNotifications(true).build();
+        DispatchQueue queue = dispatcher.createQueue("test");
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch blocked = givenABlockedQueue(queue);
+
+        for (int i = 1; i <= 10; i++) {
+            final int value = i;
+            queue.submit("obs1", () -> received.add("obs1-v" + value));
+            queue.submit("obs2", () -> received.add("obs2-v" + value));
+        }
+        queue.submit(null, () -> received.add("cancel"));
+        assertEquals(3, queue.getDepth());
+        assertEquals(18, queue.getConflatedCount());
+
+        blocked.countDown();
+        waitUntilEmpty(queue);
+        assertEquals(Arrays.asList("obs1-v10", "obs2-v10", "cancel"), received);
+    }
+
+    @Test
+    void block_producer_when_queue_is_full() throws InterruptedException {
+        dispatcher = new ListenerDispatcher.Builder().setNbThreads(1).setQueueCapacity(1)
+                .setOverflowPolicy(OverflowPolicy.BLOCK).build();
+        DispatchQueue queue = dispatcher.createQueue("test");
+        CountDownLatch blocked = givenABlockedQueue(queue);
+        queue.submit(null, () -> {
+        });
+
+        CountDownLatch submitted = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            queue.submit(null, () -> {
+            });
+            submitted.countDown();
+        });
+        producer.start();
+        assertFalse(submitted.await(200, TimeUnit.MILLISECONDS));
+
+        blocked.countDown();
+        assertTrue(submitted.await(1, TimeUnit.SECONDS));
+        waitUntilEmpty(queue);
+        assertEquals(3, queue.getDispatchedCount());
+        assertEquals(0, queue.getDroppedCount());
+    }
+
+    @Test
+    void deliver_all_pending_events_on_destroy() throws InterruptedException {
+        dispatcher = new ListenerDispatcher.Builder().setNbThreads(1).setQueueCapacity(1000).build();
+        DispatchQueue queue = dispatcher.createQueue("test");
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch blocked = givenABlockedQueue(queue);
+
+        // more events than delivered by one executor task
+        for (int i = 0; i < 200; i++) {
+            final int event = i;
+            queue.submit(null, () -> received.add(event));
+        }
+
+        // unblock the listener once the executor is shut down
+        Thread unblocker = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            blocked.countDown();
+        });
+        unblocker.start();
+        dispatcher.destroy();
+
+        assertEquals(200, received.size());
+        assertEquals(0, queue.getDepth());
+        assertEquals(0, queue.getDroppedCount());
+        assertEquals(201, queue.getDispatchedCount());
+    }
+
+    private CountDownLatch givenABlockedQueue(DispatchQueue queue) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        queue.submit(null, () -> {
+            started.countDown();
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        return blocked;
+    }
+
+    private void waitUntilEmpty(DispatchQueue queue) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while ((queue.getDepth() > 0 || queue.getDispatchedCount() == 0) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        dispatcher.destroy();
+    }
+}
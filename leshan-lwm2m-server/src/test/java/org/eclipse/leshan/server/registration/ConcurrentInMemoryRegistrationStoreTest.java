@@ -0,0 +1,269 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.leshan.core.LwM2m.Version;
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.observation.SingleObservation;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.request.BindingMode;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentInMemoryRegistrationStoreTest {
+
+    private final String ep = "urn:endpoint";
+    private final int port = 23452;
+    private final Long lifetime = 10000L;
+    private final String sms = "0171-32423545";
+    private final EnumSet<BindingMode> binding = EnumSet.of(BindingMode.U, BindingMode.Q, BindingMode.S);
+    private final Link[] objectLinks = new Link[] { new Link("/3") };
+    private final String registrationId = "4711";
+
+    RegistrationStore store;
+    InetAddress address;
+    Registration registration;
+
+    @BeforeEach
+    public void setUp() throws UnknownHostException {
+        address = InetAddress.getLocalHost();
+        store = new ConcurrentInMemoryRegistrationStore();
+    }
+
+    @Test
+    public void update_registration_keeps_properties_unchanged() {
+        givenASimpleRegistration(lifetime);
+        store.addRegistration(registration);
+
+        RegistrationUpdate update = new RegistrationUpdate(registrationId,
+                new IpPeer(new InetSocketAddress(address, port)), null, null, null, null, null, null, null, null, null,
+                null);
+        UpdatedRegistration updatedRegistration = store.updateRegistration(update);
+        assertEquals(lifetime, updatedRegistration.getUpdatedRegistration().getLifeTimeInSec());
+        assertSame(binding, updatedRegistration.getUpdatedRegistration().getBindingMode());
+        assertEquals(sms, updatedRegistration.getUpdatedRegistration().getSmsNumber());
+
+        assertEquals(registration, updatedRegistration.getPreviousRegistration());
+
+        Registration reg = store.getRegistrationByEndpoint(ep);
+        assertEquals(lifetime, reg.getLifeTimeInSec());
+        assertSame(binding, reg.getBindingMode());
+        assertEquals(sms, reg.getSmsNumber());
+    }
+
+    @Test
+    public void update_registration_to_extend_time_to_live() {
+        givenASimpleRegistration(0L);
+        store.addRegistration(registration);
+        assertFalse(registration.isAlive());
+
+        RegistrationUpdate update = new RegistrationUpdate(registrationId,
+                new IpPeer(new InetSocketAddress(address, port)), lifetime, null, null, null, null, null, null, null,
+                null, null);
+        UpdatedRegistration updatedRegistration = store.updateRegistration(update);
+        assertTrue(updatedRegistration.getUpdatedRegistration().isAlive());
+
+        Registration reg = store.getRegistrationByEndpoint(ep);
+        assertTrue(reg.isAlive());
+    }
+
+    @Test
+    public void new_registration_replaces_previous_one_and_its_observations() {
+        givenASimpleRegistration(lifetime);
+        store.addRegistration(registration);
+        Observation observation = givenAnObservation(registrationId, new byte[] { 1 }, "/3/0/1");
+        store.addObservation(registrationId, observation, false);
+
+        Registration newRegistration = new Registration.Builder("4712", ep,
+                new IpPeer(new InetSocketAddress(address, port + 1)), uriHandler.createUri("coap://localhost:5683"))
+                        .build();
+        Deregistration deregistration = store.addRegistration(newRegistration);
+
+        assertEquals(registration, deregistration.getRegistration());
+        assertEquals(1, deregistration.getObservations().size());
+        assertNull(store.getRegistration(registrationId));
+        assertNull(store.getRegistrationByAdress(new InetSocketAddress(address, port)));
+        assertNull(store.getObservation(observation.getId()));
+        assertSame(newRegistration, store.getRegistrationByEndpoint(ep));
+        assertSame(newRegistration, store.getRegistrationByAdress(new InetSocketAddress(address, port + 1)));
+    }
+
+    @Test
+    public void add_observation_replaces_observation_with_same_path() {
+        givenASimpleRegistration(lifetime);
+        store.addRegistration(registration);
+        Observation first = givenAnObservation(registrationId, new byte[] { 1 }, "/3/0/1");
+        Observation second = givenAnObservation(registrationId, new byte[] { 2 }, "/3/0/1");
+
+        assertTrue(store.addObservation(registrationId, first, false).isEmpty());
+        Collection<Observation> removed = store.addObservation(registrationId, second, false);
+
+        assertEquals(1, removed.size());
+        assertSame(first, removed.iterator().next());
+        assertEquals(1, store.getObservations(registrationId).size());
+        assertNotNull(store.getObservation(registrationId, second.getId()));
+    }
+
+    @Test
+    public void concurrent_registrations_are_all_stored() throws Exception {
+        int nbEndpoints = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < nbEndpoints; i++) {
+                final int index = i;
+                futures.add(executor.submit(() -> {
+                    Registration reg = new Registration.Builder("id" + index, "ep" + index,
+                            new IpPeer(new InetSocketAddress(address, 10000 + index)),
+                            uriHandler.createUri("coap://localhost:5683")).build();
+                    store.addRegistration(reg);
+                    store.addObservation(reg.getId(),
+                            givenAnObservation(reg.getId(), new byte[] { (byte) index, (byte) (index >> 8) }, "/3/0/1"),
+                            false);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int count = 0;
+        for (Iterator<Registration> it = store.getAllRegistrations(); it.hasNext(); it.next()) {
+            count++;
+        }
+        assertEquals(nbEndpoints, count);
+        for (int i = 0; i < nbEndpoints; i++) {
+            assertNotNull(store.getRegistrationByAdress(new InetSocketAddress(address, 10000 + i)));
+            assertEquals(1, store.getObservations("id" + i).size());
+        }
+        assertEquals(2, store.getRegistrations(Arrays.asList("ep0", "unknown", "ep999")).size());
+    }
+
+    @Test
+    public void query_registrations_by_supported_object_and_custom_data() {
+        int nbEndpoints = 25;
+        for (int i = 0; i < nbEndpoints; i++) {
+            Map<Integer, Version> supportedObjects = new HashMap<>();
+            supportedObjects.put(3, Version.V1_0);
+            supportedObjects.put(5, i % 2 == 0 ? new Version("1.1") : Version.V1_0);
+            store.addRegistration(new Registration.Builder(String.format("id%02d", i), "ep" + i,
+                    new IpPeer(new InetSocketAddress(address, 10000 + i)),
+                    uriHandler.createUri("coap://localhost:5683")).supportedObjects(supportedObjects)
+                            .customRegistrationData(Collections.singletonMap("tenant", i < 20 ? "X" : "Y")).build());
+        }
+        RegistrationQuery query = new RegistrationQuery.Builder().supportedObject(5, new Version("1.1"))
+                .customData("tenant", "X").build();
+
+        // paged
+        RegistrationPage page = store.getRegistrations(query, null, 4);
+        assertEquals(4, page.getRegistrations().size());
+        assertEquals("id00", page.getRegistrations().get(0).getId());
+        assertEquals("id06", page.getRegistrations().get(3).getId());
+        page = store.getRegistrations(query, page.getNextCursor(), 8);
+        assertEquals(6, page.getRegistrations().size());
+        assertFalse(page.hasNext());
+
+        // streamed
+        int count = 0;
+        for (Iterator<Registration> it = store.getRegistrations(query); it.hasNext(); it.next()) {
+            count++;
+        }
+        assertEquals(10, count);
+
+        // index is updated on removal
+        store.removeRegistration("id00");
+        assertEquals("id02", store.getRegistrations(query, null, 1).getRegistrations().get(0).getId());
+        assertTrue(store.getRegistrations(new RegistrationQuery.Builder().supportedObject(4).build(), null, 10)
+                .getRegistrations().isEmpty());
+    }
+
+    @Test
+    public void get_observations_by_path() {
+        givenASimpleRegistration(lifetime);
+        store.addRegistration(registration);
+        store.addObservation(registrationId, givenAnObservation(registrationId, new byte[] { 1 }, "/3/0/1"), false);
+        store.addObservation(registrationId, givenAnObservation(registrationId, new byte[] { 2 }, "/3/0/2"), false);
+        store.addObservation(registrationId, givenAnObservation(registrationId, new byte[] { 3 }, "/3/0"), false);
+        store.addObservation(registrationId, givenAnObservation(registrationId, new byte[] { 4 }, "/5/0/1"), false);
+
+        // exact
+        assertEquals(1, store.getObservations(registrationId, new LwM2mPath("/3/0/1")).size());
+        assertTrue(store.getObservations(registrationId, new LwM2mPath("/3")).isEmpty());
+        assertEquals(1, store.getObservations(registrationId, new LwM2mPath("/3/0")).size());
+        assertEquals(4, store.getObservations(registrationId).size());
+
+        // same path replaces previous observation
+        Collection<Observation> removed = store.addObservation(registrationId,
+                givenAnObservation(registrationId, new byte[] { 5 }, "/3/0/1"), false);
+        assertEquals(1, removed.size());
+        assertEquals(new ObservationIdentifier(uriHandler.createUri("coap://localhost:5683"), new byte[] { 1 }),
+                removed.iterator().next().getId());
+        assertEquals(1, store.getObservations(registrationId, new LwM2mPath("/3/0/1")).size());
+
+        // index is updated on removal
+        store.removeObservation(registrationId, removed.iterator().next().getId());
+        store.removeObservation(registrationId,
+                new ObservationIdentifier(uriHandler.createUri("coap://localhost:5683"), new byte[] { 2 }));
+        assertTrue(store.getObservations(registrationId, new LwM2mPath("/3/0/2")).isEmpty());
+        assertEquals(3, store.getObservations(registrationId).size());
+        store.removeObservations(registrationId);
+        assertTrue(store.getObservations(registrationId, new LwM2mPath("/3/0")).isEmpty());
+    }
+
+    private void givenASimpleRegistration(Long lifetime) {
+
+        Registration.Builder builder = new Registration.Builder(registrationId, ep,
+                new IpPeer(new InetSocketAddress(address, port)), uriHandler.createUri("coap://localhost:5683"));
+
+        registration = builder.lifeTimeInSec(lifetime).smsNumber(sms).bindingMode(binding).objectLinks(objectLinks)
+                .build();
+    }
+
+    private Observation givenAnObservation(String registrationId, byte[] token, String path) {
+        return new SingleObservation(new ObservationIdentifier(uriHandler.createUri("coap://localhost:5683"), token),
+                registrationId, new LwM2mPath(path), ContentFormat.DEFAULT, null, null);
+    }
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
+import org.eclipse.leshan.core.LwM2m.Version;
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.link.LinkParseException;
+import org.eclipse.leshan.core.link.lwm2m.DefaultLwM2mLinkParser;
+import org.eclipse.leshan.server.registration.RegistrationDataExtractor.RegistrationData;
+import org.junit.jupiter.api.Test;
+
+class DefaultRegistrationDataExtractorTest {
+
+    @Test
+    void identical_object_links_are_extracted_once() throws LinkParseException {
+        DefaultRegistrationDataExtractor extractor = new DefaultRegistrationDataExtractor(2);
+
+        RegistrationData data = extractor.extractDataFromObjectLinks(parse("</>;rt=\"oma.lwm2m\",</1/0>,</3>;ver=1.1"),
+                LwM2mVersion.V1_1);
+        assertEquals(new Version("1.1"), data.getSupportedObjects().get(3));
+        assertEquals(1, extractor.getCacheMisses());
+
+        // same payload parsed again
+        data = extractor.extractDataFromObjectLinks(parse("</>;rt=\"oma.lwm2m\",</1/0>,</3>;ver=1.1"),
+                LwM2mVersion.V1_1);
+        assertEquals(new Version("1.1"), data.getSupportedObjects().get(3));
+        assertEquals(1, extractor.getCacheHits());
+        assertEquals(1, extractor.getCacheMisses());
+
+        // cached data can not be modified
+        RegistrationData cached = data;
+        assertThrows(UnsupportedOperationException.class, () -> cached.getSupportedObjects().clear());
+
+        // other LWM2M version is a different entry
+        extractor.extractDataFromObjectLinks(parse("</>;rt=\"oma.lwm2m\",</1/0>,</3>;ver=1.1"), LwM2mVersion.V1_0);
+        assertEquals(2, extractor.getCacheMisses());
+    }
+
+    @Test
+    void object_links_with_same_uris_but_different_attributes_are_different_entries() throws LinkParseException {
+        DefaultRegistrationDataExtractor extractor = new DefaultRegistrationDataExtractor(2);
+
+        Link[] links = parse("</>;rt=\"oma.lwm2m\",</1/0>,</3>;ver=1.1");
+        extractor.extractDataFromObjectLinks(links, LwM2mVersion.V1_1);
+        RegistrationData data = extractor.extractDataFromObjectLinks(parse("</>;rt=\"oma.lwm2m\",</1/0>,</3>;ver=1.2"),
+                LwM2mVersion.V1_1);
+        assertEquals(new Version("1.2"), data.getSupportedObjects().get(3));
+        assertEquals(2, extractor.getCacheMisses());
+
+        // modifying the array given by caller does not modify cached entry
+        links[2] = null;
+        data = extractor.extractDataFromObjectLinks(parse("</>;rt=\"oma.lwm2m\",</1/0>,</3>;ver=1.1"),
+                LwM2mVersion.V1_1);
+        assertEquals(new Version("1.1"), data.getSupportedObjects().get(3));
+        assertEquals(1, extractor.getCacheHits());
+    }
+
+    private Link[] parse(String links) throws LinkParseException {
+        return new DefaultLwM2mLinkParser().parseCoreLinkFormat(links.getBytes());
+    }
+}
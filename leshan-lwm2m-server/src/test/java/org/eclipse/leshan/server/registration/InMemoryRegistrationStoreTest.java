@@ -20,6 +20,8 @@ package org.eclipse.leshan.server.registration;
 import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -27,6 +29,8 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
 import java.util.EnumSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.leshan.core.link.Link;
 import org.eclipse.leshan.core.peer.IpPeer;
@@ -98,6 +102,51 @@ public class InMemoryRegistrationStoreTest {
         assertTrue(reg.isAlive());
     }
 
+    @Test
+    public void only_expired_registration_is_removed_by_cleaner() throws InterruptedException {
+        InMemoryRegistrationStore store = new InMemoryRegistrationStore(1);
+        try {
+            givenASimpleRegistration(0L);
+            store.addRegistration(registration);
+            Registration aliveRegistration = new Registration.Builder("4712", "urn:alive",
+                    new IpPeer(new InetSocketAddress(address, port + 1)), uriHandler.createUri("coap://localhost:5683"))
+                            .lifeTimeInSec(lifetime).build();
+            store.addRegistration(aliveRegistration);
+
+            CountDownLatch expired = new CountDownLatch(1);
+            store.setExpirationListener((reg, observations) -> {
+                assertEquals(registrationId, reg.getId());
+                expired.countDown();
+            });
+            store.start();
+
+            assertTrue(expired.await(5, TimeUnit.SECONDS));
+            assertNull(store.getRegistration(registrationId));
+            assertNotNull(store.getRegistration("4712"));
+        } finally {
+            store.destroy();
+        }
+    }
+
+    @Test
+    public void filtered_query_pages_are_the_same_as_indexed_query_pages() {
+        for (int i = 0; i < 5; i++) {
+            store.addRegistration(new Registration.Builder("reg" + i, "urn:ep" + i,
+                    new IpPeer(new InetSocketAddress(address, port + i)), uriHandler.createUri("coap://localhost:5683"))
+                            .objectLinks(i % 2 == 0 ? objectLinks : new Link[] { new Link("/4") }).build());
+        }
+        RegistrationQuery query = new RegistrationQuery.Builder().supportedObject(3).build();
+
+        String cursor = null;
+        do {
+            RegistrationPage indexed = store.getRegistrations(query, cursor, 2);
+            RegistrationPage filtered = query.filter(store.getAllRegistrations(), cursor, 2);
+            assertEquals(indexed.getRegistrations(), filtered.getRegistrations());
+            assertEquals(indexed.getNextCursor(), filtered.getNextCursor());
+            cursor = indexed.getNextCursor();
+        } while (cursor != null);
+    }
+
     private void givenASimpleRegistration(Long lifetime) {
 
         Registration.Builder builder = new Registration.Builder(registrationId, ep,
@@ -17,6 +17,7 @@ package org.eclipse.leshan.server.registration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.net.InetSocketAddress;
 import java.util.EnumSet;
@@ -130,6 +131,27 @@ class RegistrationHandlerTest {
         assertNull(registration);
     }
 
+    @Test
+    void test_registrations_with_same_object_links_share_profile() {
+        authorizer.willReturn(Authorization.approved());
+
+        // handle REGISTER requests
+        registrationHandler.register(givenIdentity(), givenRegisterRequestWithEndpoint("myEndpoint1"),
+                givenServerEndpointUri());
+        registrationHandler.register(givenIdentity(), givenRegisterRequestWithEndpoint("myEndpoint2"),
+                givenServerEndpointUri());
+
+        // check result
+        Registration registration1 = registrationStore.getRegistrationByEndpoint("myEndpoint1");
+        Registration registration2 = registrationStore.getRegistrationByEndpoint("myEndpoint2");
+        assertSame(registration1.getProfile(), registration2.getProfile());
+
+        // handle UPDATE request without object links
+        registrationHandler.update(givenIdentity(), givenUpdateRequestWithID(registration1.getId()),
+                givenServerEndpointUri());
+        assertSame(registration2.getProfile(), registrationStore.getRegistrationByEndpoint("myEndpoint1").getProfile());
+    }
+
     private IpPeer givenIdentity() {
         return new IpPeer(new InetSocketAddress(0));
     }
@@ -18,12 +18,15 @@ package org.eclipse.leshan.server.registration;
 
 import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.InetSocketAddress;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -277,6 +280,38 @@ public class RegistrationTest {
         return given_a_registration_with_object_link_like(objectLinks, LwM2mVersion.V1_0);
     }
 
+    @Test
+    public void test_builder_copies_data_unless_profile_is_shared() throws LinkParseException {
+        RegistrationProfileInterner interner = new RegistrationProfileInterner();
+        Link[] links = linkParser.parseCoreLinkFormat("</1/0>,</3/0>".getBytes());
+        Map<Integer, Version> supportedObjects = new HashMap<>();
+        supportedObjects.put(3, new Version("1.0"));
+
+        Registration reg1 = given_a_registration_builder("id1").objectLinks(links).supportedObjects(supportedObjects)
+                .profileInterner(interner).build();
+        // data given to the builder can be modified after build
+        links[0] = null;
+        supportedObjects.put(5, new Version("1.0"));
+        assertEquals(1, reg1.getSupportedObject().size());
+        assertNotNull(reg1.getObjectLinks()[0]);
+
+        // profile can not be modified through returned object links
+        reg1.getObjectLinks()[0] = null;
+        assertNotNull(reg1.getObjectLinks()[0]);
+
+        // registration with same data shares the profile
+        supportedObjects.remove(5);
+        Registration reg2 = given_a_registration_builder("id2")
+                .objectLinks(linkParser.parseCoreLinkFormat("</1/0>,</3/0>".getBytes()))
+                .supportedObjects(supportedObjects).profileInterner(interner).build();
+        assertSame(reg1.getProfile(), reg2.getProfile());
+    }
+
+    private Builder given_a_registration_builder(String id) {
+        return new Registration.Builder(id, "endpoint", new IpPeer(InetSocketAddress.createUnresolved("localhost", 0)),
+                uriHandler.createUri("coap://localhost:5683"));
+    }
+
     private Registration given_a_registration_with_object_link_like(String objectLinks, LwM2mVersion version)
             throws LinkParseException {
         Builder builder = new Registration.Builder("id", "endpoint",
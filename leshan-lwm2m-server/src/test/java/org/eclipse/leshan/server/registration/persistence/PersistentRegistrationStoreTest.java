@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration.persistence;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.observation.SingleObservation;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.request.BindingMode;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationUpdate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PersistentRegistrationStoreTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    public void registrations_and_observations_are_reloaded_after_restart() throws Exception {
+        PersistentRegistrationStore store = newStore();
+        Registration reg1 = givenARegistration("id1", "ep1", 10001);
+        Registration reg2 = givenARegistration("id2", "ep2", 10002);
+        Observation obs1 = givenAnObservation("id1", new byte[] { 1 }, "/3/0/1");
+        Observation obs2 = givenAnObservation("id2", new byte[] { 2 }, "/3/0/2");
+        try {
+            store.addRegistration(reg1);
+            store.addRegistration(reg2);
+            store.addObservation("id1", obs1, false);
+            store.addObservation("id2", obs2, false);
+            store.updateRegistration(new RegistrationUpdate("id1",
+                    new IpPeer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 10001)), 500L, null, null, null,
+                    null, null, null, null, null, null));
+            store.removeRegistration("id2");
+        } finally {
+            store.destroy();
+        }
+
+        store = newStore();
+        try {
+            Registration reloaded = store.getRegistrationByEndpoint("ep1");
+            assertNotNull(reloaded);
+            assertEquals("id1", reloaded.getId());
+            assertEquals(500L, reloaded.getLifeTimeInSec());
+            assertEquals(reg1.getObjectLinks().length, reloaded.getObjectLinks().length);
+            assertNotNull(
+                    store.getRegistrationByAdress(new InetSocketAddress(InetAddress.getLoopbackAddress(), 10001)));
+            assertNotNull(store.getObservation("id1", obs1.getId()));
+
+            assertNull(store.getRegistrationByEndpoint("ep2"));
+            assertNull(store.getObservation(obs2.getId()));
+        } finally {
+            store.destroy();
+        }
+    }
+
+    @Test
+    public void journal_written_after_compaction_is_replayed_on_snapshot() throws Exception {
+        PersistentRegistrationStore store = newStore();
+        try {
+            store.addRegistration(givenARegistration("id1", "ep1", 10001));
+            store.addRegistration(givenARegistration("id2", "ep2", 10002));
+            store.compact();
+            store.removeRegistration("id1");
+            store.addRegistration(givenARegistration("id3", "ep3", 10003));
+        } finally {
+            store.destroy();
+        }
+
+        store = newStore();
+        try {
+            assertNull(store.getRegistrationByEndpoint("ep1"));
+            assertNotNull(store.getRegistrationByEndpoint("ep2"));
+            assertNotNull(store.getRegistrationByEndpoint("ep3"));
+        } finally {
+            store.destroy();
+        }
+    }
+
+    @Test
+    public void store_created_with_default_configuration() throws Exception {
+        PersistentRegistrationStore store = new PersistentRegistrationStore(directory);
+        try {
+            store.addRegistration(givenARegistration("id1", "ep1", 10001));
+        } finally {
+            store.destroy();
+        }
+
+        store = new PersistentRegistrationStore(directory);
+        try {
+            assertNotNull(store.getRegistrationByEndpoint("ep1"));
+        } finally {
+            store.destroy();
+        }
+    }
+
+    @Test
+    public void concurrent_modifications_are_reloaded_after_restart() throws Exception {
+        PersistentRegistrationStore store = newStore();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int n = i;
+                futures.add(executor.submit(() -> {
+                    store.addRegistration(givenARegistration("id" + n, "ep" + n, 10000 + n));
+                    if (n % 2 == 0) {
+                        store.removeRegistration("id" + n);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+            store.destroy();
+        }
+
+        PersistentRegistrationStore reloaded = newStore();
+        try {
+            for (int i = 0; i < 200; i++) {
+                if (i % 2 == 0) {
+                    assertNull(reloaded.getRegistrationByEndpoint("ep" + i));
+                } else {
+                    assertNotNull(reloaded.getRegistrationByEndpoint("ep" + i));
+                }
+            }
+        } finally {
+            reloaded.destroy();
+        }
+    }
+
+    @Test
+    public void unreadable_snapshot_is_kept_aside() throws Exception {
+        PersistentRegistrationStore store = newStore();
+        try {
+            store.addRegistration(givenARegistration("id1", "ep1", 10001));
+            store.compact();
+        } finally {
+            store.destroy();
+        }
+        File[] snapshots = directory.listFiles((dir, name) -> name.startsWith("snapshot."));
+        assertEquals(1, snapshots.length);
+        byte[] content = Files.readAllBytes(snapshots[0].toPath());
+
+        // simulate a snapshot written by an unsupported version
+        try (RandomAccessFile raf = new RandomAccessFile(snapshots[0], "rw")) {
+            raf.seek(4);
+            raf.writeByte(42);
+        }
+
+        store = newStore();
+        try {
+            assertNull(store.getRegistrationByEndpoint("ep1"));
+            store.compact();
+        } finally {
+            store.destroy();
+        }
+        content[4] = 42;
+        assertArrayEquals(content, Files.readAllBytes(new File(snapshots[0].getPath() + ".corrupt").toPath()));
+    }
+
+    @Test
+    public void journal_is_created_at_first_write() throws Exception {
+        PersistentRegistrationStore store = newStore();
+        store.destroy();
+        assertEquals(0, directory.listFiles((dir, name) -> name.startsWith("journal.")).length);
+
+        store = newStore();
+        try {
+            store.addRegistration(givenARegistration("id1", "ep1", 10001));
+        } finally {
+            store.destroy();
+        }
+        assertEquals(1, directory.listFiles((dir, name) -> name.startsWith("journal.")).length);
+    }
+
+    @Test
+    public void garbage_record_length_ends_journal() throws Exception {
+        File journal = new File(directory, "garbage.journal");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(journal))) {
+            out.write(JournalFormat.header());
+            out.write(JournalFormat.encodeRecord(JournalFormat.REMOVE_REGISTRATION, new byte[] { 1, 2, 3 }));
+            out.writeInt(Integer.MAX_VALUE - 8);
+            out.write(new byte[16]);
+        }
+
+        List<Byte> types = new ArrayList<>();
+        long count = JournalFormat.read(journal, (type, payload) -> types.add(type));
+
+        assertEquals(1, count);
+        assertEquals(Arrays.asList(JournalFormat.REMOVE_REGISTRATION), types);
+    }
+
+    private PersistentRegistrationStore newStore() {
+        return new PersistentRegistrationStore.Builder(directory).setJournalRegionSize(4096).build();
+    }
+
+    private Registration givenARegistration(String regId, String endpoint, int port) {
+        return new Registration.Builder(regId, endpoint,
+                new IpPeer(new InetSocketAddress(InetAddress.getLoopbackAddress(), port)),
+                uriHandler.createUri("coap://localhost:5683")).lifeTimeInSec(10000L).smsNumber("0171-32423545")
+                        .bindingMode(EnumSet.of(BindingMode.U, BindingMode.Q))
+                        .objectLinks(new Link[] { new Link("/3"), new Link("/1/0") }).build();
+    }
+
+    private Observation givenAnObservation(String registrationId, byte[] token, String path) {
+        return new SingleObservation(new ObservationIdentifier(uriHandler.createUri("coap://localhost:5683"), token),
+                registrationId, new LwM2mPath(path), ContentFormat.DEFAULT, null, null);
+    }
+}
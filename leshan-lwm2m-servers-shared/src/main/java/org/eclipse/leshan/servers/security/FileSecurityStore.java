@@ -15,13 +15,36 @@
  *******************************************************************************/
 package org.eclipse.leshan.servers.security;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
 
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.util.NamedThreadFactory;
 import org.eclipse.leshan.core.util.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,20 +52,55 @@ import org.slf4j.LoggerFactory;
 /**
  * A {@link SecurityStore} which persists {@link SecurityInfo} in a file.
  * <p>
- * This implementation serializes the store content into a file to be able to re-load the {@link SecurityInfo} when the
- * server is restarted.
- * </p>
+ * This implementation keeps the store content in memory and persists it in an append-only log file to be able to
+ * re-load the {@link SecurityInfo} when the server is restarted :
+ * <ul>
+ * <li>each {@link #add(SecurityInfo)} or {@link #remove(String, boolean)} appends a small record to the log. Records of
+ * concurrent modifications are written and synced to disk together (group commit). Lookups are never blocked by disk
+ * accesses.</li>
+ * <li>when the log contains too many outdated records, it is compacted in background by rewriting the current content
+ * of the store in a new log.</li>
+ * </ul>
+ * Files written by previous versions (a serialized array of {@link SecurityInfo}) are still read and converted to the
+ * log format. A file which can not be read (e.g. written by a newer version) is renamed with a {@code .corrupt} suffix
+ * before a new log is started.
  */
-public class FileSecurityStore extends InMemorySecurityStore {
+public class FileSecurityStore extends InMemorySecurityStore implements Destroyable {
 
     private static final Logger LOG = LoggerFactory.getLogger(FileSecurityStore.class);
 
+    // log format : a header (magic number, version), then records (payload length, payload CRC32, payload)
+    private static final int LOG_MAGIC = 0x4C534543; // "LSEC"
+    private static final byte LOG_VERSION = 1;
+    private static final int HEADER_SIZE = 5;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+
+    // log is compacted when it contains more than this number of records and twice more records than security infos.
+    private static final long COMPACTION_MIN_RECORDS = 1000;
+
     // the name of the file used to persist the store content
     private final String filename;
 
     // default location for persistence
     private static final String DEFAULT_FILE = "data/security.data";
 
+    // records of modifications applied in memory but not written yet, queued in modification order (under write lock).
+    private final Queue<PendingRecord> pendingRecords = new ConcurrentLinkedQueue<>();
+    // held while writing the log
+    private final Object logLock = new Object();
+    private FileChannel log; // null if log can not be opened
+    private long logRecords; // number of records in the log
+
+    // daemon thread, as compaction can be interrupted safely (new log is written in a temporary file)
+    private final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new NamedThreadFactory("FileSecurityStore Compaction").newThread(r);
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean(false);
+
     public FileSecurityStore() {
         this(DEFAULT_FILE);
     }
@@ -59,69 +117,413 @@ public class FileSecurityStore extends InMemorySecurityStore {
 
     @Override
     public SecurityInfo add(SecurityInfo info) throws NonUniqueSecurityInfoException {
+        byte[] payload = encodeAddRecord(info);
+
+        PendingRecord record;
+        SecurityInfo previous;
         writeLock.lock();
         try {
-            SecurityInfo previous = addToStore(info);
-            saveToFile();
-            return previous;
+            previous = addToStore(info);
+            record = enqueue(payload);
         } finally {
             writeLock.unlock();
         }
+        flush(record);
+        return previous;
     }
 
     @Override
     public SecurityInfo remove(String endpoint, boolean infosAreCompromised) {
+        byte[] payload = encodeRemoveRecord(endpoint);
+
+        PendingRecord record = null;
+        SecurityInfo info;
         writeLock.lock();
         try {
-            SecurityInfo info = super.remove(endpoint, infosAreCompromised);
+            info = super.remove(endpoint, infosAreCompromised);
             if (info != null) {
-                saveToFile();
+                record = enqueue(payload);
             }
-            return info;
         } finally {
             writeLock.unlock();
         }
+        if (record != null) {
+            flush(record);
+        }
+        return info;
     }
 
+    /* *************** Load **************** */
+
+    /**
+     * Load the store content from the file (log or file written by previous versions) and open the log.
+     */
     protected void loadFromFile() {
         File file = new File(filename);
-        if (!file.exists()) {
-            return;
+        synchronized (logLock) {
+            if (!file.exists() || file.length() == 0) {
+                writeSnapshot(getAll());
+                return;
+            }
+
+            try {
+                long validLength = isLog(file) ? loadLog(file) : loadLegacyFile(file);
+                if (validLength < 0) {
+                    // convert file written by previous versions
+                    writeSnapshot(getAll());
+                } else {
+                    openLog(validLength);
+                }
+            } catch (IOException | ClassNotFoundException | RuntimeException e) {
+                LOG.error("Could not load security infos from file", e);
+                // keep the unreadable file aside for a manual recovery, before to write a new one with store content
+                moveAside(file);
+                writeSnapshot(getAll());
+            }
         }
+    }
 
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file));) {
+    /**
+     * Rename the given file with a {@code .corrupt} suffix. Throws {@link IllegalStateException} if this is not
+     * possible as the file would be overwritten.
+     */
+    private void moveAside(File file) {
+        Path path = file.toPath().toAbsolutePath();
+        Path corruptFile = path.resolveSibling(path.getFileName() + ".corrupt");
+        try {
+            Files.move(path, corruptFile, StandardCopyOption.REPLACE_EXISTING);
+            LOG.warn("Unreadable security infos file moved to {}", corruptFile);
+        } catch (IOException e) {
+            throw new IllegalStateException(
+                    String.format("Unable to move unreadable security infos file %s to %s", path, corruptFile), e);
+        }
+    }
+
+    private boolean isLog(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readInt() == LOG_MAGIC;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return -1 as the file must be converted to log format
+     */
+    private long loadLegacyFile(File file) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
             SecurityInfo[] infos = (SecurityInfo[]) in.readObject();
 
             if (infos != null) {
                 for (SecurityInfo info : infos) {
-                    addToStore(info);
+                    addToStoreOnLoad(info);
                 }
                 if (infos.length > 0) {
                     LOG.debug("{} security infos loaded", infos.length);
                 }
             }
-        } catch (NonUniqueSecurityInfoException | IOException | ClassNotFoundException e) {
-            LOG.error("Could not load security infos from file", e);
         }
+        return -1;
     }
 
-    protected void saveToFile() {
-        try {
-            File file = new File(filename);
-            if (!file.exists()) {
-                File parent = file.getParentFile();
-                if (parent != null) {
-                    parent.mkdirs();
+    /**
+     * @return the length of the valid part of the log, anything after is an incomplete record (e.g. crash during write)
+     */
+    private long loadLog(File file) throws IOException, ClassNotFoundException {
+        long fileLength = file.length();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 64 * 1024))) {
+            in.readInt(); // magic
+            byte version = in.readByte();
+            if (version != LOG_VERSION) {
+                throw new IOException(String.format("Unsupported security store log version %d", version));
+            }
+
+            long position = HEADER_SIZE;
+            long records = 0;
+            CRC32 crc = new CRC32();
+            while (true) {
+                byte[] payload;
+                try {
+                    int length = in.readInt();
+                    int checksum = in.readInt();
+                    if (length <= 0 || length > fileLength - position - RECORD_HEADER_SIZE) {
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                    crc.reset();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != checksum) {
+                        break;
+                    }
+                } catch (EOFException e) {
+                    break;
                 }
-                if (!file.createNewFile()) {
-                    LOG.error("Can not create file {} for SecurityStore", filename);
+                applyRecord(payload);
+                position += RECORD_HEADER_SIZE + payload.length;
+                records++;
+            }
+
+            if (position < fileLength) {
+                LOG.warn("Ignoring {} bytes of incomplete records at the end of {}", fileLength - position, filename);
+            }
+            logRecords = records;
+            LOG.debug("{} security infos loaded from {} records", size(), records);
+            return position;
+        }
+    }
+
+    private void applyRecord(byte[] payload) throws IOException, ClassNotFoundException {
+        if (payload[0] == ADD) {
+            try (ObjectInputStream in = new ObjectInputStream(
+                    new ByteArrayInputStream(payload, 1, payload.length - 1))) {
+                addToStoreOnLoad((SecurityInfo) in.readObject());
+            }
+        } else if (payload[0] == REMOVE) {
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload, 1, payload.length - 1))) {
+                super.remove(in.readUTF(), false);
+            }
+        } else {
+            throw new IOException(String.format("Unknown security store log record type %d", payload[0]));
+        }
+    }
+
+    private void addToStoreOnLoad(SecurityInfo info) {
+        try {
+            addToStore(info);
+        } catch (NonUniqueSecurityInfoException e) {
+            LOG.error("Could not load security info of {} from file", info.getEndpoint(), e);
+        }
+    }
+
+    /* *************** Log writing **************** */
+
+    private byte[] encodeAddRecord(SecurityInfo info) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        bytes.write(ADD);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(info);
+        } catch (IOException e) {
+            throw new IllegalStateException(
+                    String.format("Unable to serialize security info of %s", info.getEndpoint()), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private byte[] encodeRemoveRecord(String endpoint) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        bytes.write(REMOVE);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(endpoint);
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("Unable to serialize removal of %s", endpoint), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private PendingRecord enqueue(byte[] payload) {
+        PendingRecord record = new PendingRecord(payload);
+        pendingRecords.add(record);
+        return record;
+    }
+
+    /**
+     * Wait until the given record is written to the log. The first waiting thread writes and syncs all pending records
+     * at once, while others wait for it.
+     */
+    private void flush(PendingRecord record) {
+        synchronized (logLock) {
+            if (record.written) {
+                return;
+            }
+            List<PendingRecord> batch = drainPendingRecords();
+            appendToLog(batch);
+        }
+        scheduleCompactionIfNeeded();
+    }
+
+    private List<PendingRecord> drainPendingRecords() {
+        List<PendingRecord> records = new ArrayList<>();
+        PendingRecord record;
+        while ((record = pendingRecords.poll()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * Append records to the log and mark them as written. Must be called holding {@link #logLock}.
+     */
+    private void appendToLog(List<PendingRecord> records) {
+        if (log != null && !records.isEmpty()) {
+            try {
+                writeRecords(log, records);
+                logRecords += records.size();
+            } catch (IOException e) {
+                LOG.error("Could not save security infos to file", e);
+            }
+        }
+        for (PendingRecord record : records) {
+            record.written = true;
+        }
+    }
+
+    private void writeRecords(FileChannel channel, List<PendingRecord> records) throws IOException {
+        int size = 0;
+        for (PendingRecord record : records) {
+            size += RECORD_HEADER_SIZE + record.payload.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        CRC32 crc = new CRC32();
+        for (PendingRecord record : records) {
+            crc.reset();
+            crc.update(record.payload);
+            buffer.putInt(record.payload.length);
+            buffer.putInt((int) crc.getValue());
+            buffer.put(record.payload);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    private void openLog(long validLength) throws IOException {
+        log = FileChannel.open(new File(filename).toPath(), StandardOpenOption.WRITE);
+        if (log.size() > validLength) {
+            // drop incomplete records
+            log.truncate(validLength);
+        }
+        log.position(validLength);
+    }
+
+    /* *************** Compaction **************** */
+
+    /**
+     * Rewrite the whole store content in the log, removing outdated records.
+     */
+    protected void saveToFile() {
+        synchronized (logLock) {
+            // pending records are already applied in memory, so they are part of the snapshot
+            List<PendingRecord> batch;
+            List<SecurityInfo> infos;
+            writeLock.lock();
+            try {
+                batch = drainPendingRecords();
+                infos = new ArrayList<>(getAll());
+            } finally {
+                writeLock.unlock();
+            }
+
+            if (writeSnapshot(infos)) {
+                for (PendingRecord record : batch) {
+                    record.written = true;
                 }
+            } else {
+                appendToLog(batch);
+            }
+        }
+    }
+
+    /**
+     * Write given security infos in a new log which replaces the current one. Must be called holding {@link #logLock}.
+     *
+     * @return true if succeed
+     */
+    private boolean writeSnapshot(Collection<SecurityInfo> infos) {
+        Path file = new File(filename).toPath().toAbsolutePath();
+        Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
             }
-            try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(filename));) {
-                out.writeObject(this.getAll().toArray(new SecurityInfo[0]));
+
+            List<PendingRecord> records = new ArrayList<>(infos.size());
+            for (SecurityInfo info : infos) {
+                records.add(new PendingRecord(encodeAddRecord(info)));
+            }
+            try (FileChannel snapshot = FileChannel.open(tmpFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(LOG_MAGIC).put(LOG_VERSION);
+                header.flip();
+                while (header.hasRemaining()) {
+                    snapshot.write(header);
+                }
+                writeRecords(snapshot, records);
             }
+
+            closeLog();
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            openLog(Files.size(file));
+            logRecords = records.size();
+            return true;
         } catch (IOException e) {
             LOG.error("Could not save security infos to file", e);
+            if (log == null) {
+                // try to keep appending to the current file
+                try {
+                    if (Files.exists(file)) {
+                        openLog(Files.size(file));
+                    }
+                } catch (IOException e1) {
+                    LOG.error("Could not open security infos file", e1);
+                }
+            }
+            return false;
+        }
+    }
+
+    private void closeLog() {
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                LOG.warn("Unable to close security store log", e);
+            }
+            log = null;
+        }
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        long records;
+        synchronized (logLock) {
+            records = logRecords;
+        }
+        if (records <= COMPACTION_MIN_RECORDS || records <= 2L * size()) {
+            return;
+        }
+        if (compactionScheduled.compareAndSet(false, true)) {
+            try {
+                compactionExecutor.execute(() -> {
+                    compactionScheduled.set(false);
+                    saveToFile();
+                });
+            } catch (RejectedExecutionException e) {
+                // store is destroyed
+                compactionScheduled.set(false);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        compactionExecutor.shutdownNow();
+        synchronized (logLock) {
+            closeLog();
+        }
+    }
+
+    private int size() {
+        return securityByEp.size();
+    }
+
+    private static class PendingRecord {
+        private final byte[] payload;
+        private boolean written; // guarded by logLock
+
+        public PendingRecord(byte[] payload) {
+            this.payload = payload;
         }
     }
 }
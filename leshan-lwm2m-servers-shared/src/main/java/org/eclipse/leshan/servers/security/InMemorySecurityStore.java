@@ -18,34 +18,34 @@ package org.eclipse.leshan.servers.security;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.leshan.core.peer.OscoreIdentity;
 
 /**
  * A {@link SecurityStore} which store {@link SecurityInfo} in memory.
+ * <p>
+ * Security info are indexed by endpoint, PSK identity and OSCORE identity. Lookups are lock-free, modifications are
+ * serialized using {@link #writeLock}.
  */
 public class InMemorySecurityStore implements EditableSecurityStore {
 
-    // lock for the two maps
-    protected final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
-    protected final Lock readLock = readWriteLock.readLock();
-    protected final Lock writeLock = readWriteLock.writeLock();
+    // lock for the maps, only used for modifications as maps support concurrent reads
+    protected final Lock writeLock = new ReentrantLock();
 
     // by client end-point
-    protected Map<String, SecurityInfo> securityByEp = new HashMap<>();
+    protected Map<String, SecurityInfo> securityByEp = new ConcurrentHashMap<>();
 
     // by PSK identity
-    protected Map<String, SecurityInfo> securityByPskIdentity = new HashMap<>();
+    protected Map<String, SecurityInfo> securityByPskIdentity = new ConcurrentHashMap<>();
 
     // by PSK oscoreIdentity
-    protected Map<OscoreIdentity, SecurityInfo> securityByOscoreIdentity = new HashMap<>();
+    protected Map<OscoreIdentity, SecurityInfo> securityByOscoreIdentity = new ConcurrentHashMap<>();
 
     private final List<SecurityStoreListener> listeners = new CopyOnWriteArrayList<>();
 
@@ -57,12 +57,7 @@ public class InMemorySecurityStore implements EditableSecurityStore {
      */
     @Override
     public SecurityInfo getByEndpoint(String endpoint) {
-        readLock.lock();
-        try {
-            return securityByEp.get(endpoint);
-        } finally {
-            readLock.unlock();
-        }
+        return securityByEp.get(endpoint);
     }
 
     /**
@@ -70,12 +65,7 @@ public class InMemorySecurityStore implements EditableSecurityStore {
      */
     @Override
     public SecurityInfo getByIdentity(String identity) {
-        readLock.lock();
-        try {
-            return securityByPskIdentity.get(identity);
-        } finally {
-            readLock.unlock();
-        }
+        return securityByPskIdentity.get(identity);
     }
 
     /**
@@ -83,22 +73,12 @@ public class InMemorySecurityStore implements EditableSecurityStore {
      */
     @Override
     public SecurityInfo getByOscoreIdentity(OscoreIdentity oscoreIdentity) {
-        readLock.lock();
-        try {
-            return securityByOscoreIdentity.get(oscoreIdentity);
-        } finally {
-            readLock.unlock();
-        }
+        return securityByOscoreIdentity.get(oscoreIdentity);
     }
 
     @Override
     public Collection<SecurityInfo> getAll() {
-        readLock.lock();
-        try {
-            return Collections.unmodifiableCollection(new ArrayList<>(securityByEp.values()));
-        } finally {
-            readLock.unlock();
-        }
+        return Collections.unmodifiableCollection(new ArrayList<>(securityByEp.values()));
     }
 
     @Override
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.servers.security;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileSecurityStoreTest {
+
+    @TempDir
+    File folder;
+
+    private SecurityInfo psk(String endpoint, String identity) {
+        return SecurityInfo.newPreSharedKeyInfo(endpoint, identity, new byte[] { 1, 2, 3 });
+    }
+
+    @Test
+    void content_is_reloaded_from_log() throws NonUniqueSecurityInfoException {
+        String file = new File(folder, "security.data").getPath();
+        FileSecurityStore store = new FileSecurityStore(file);
+        store.add(psk("ep1", "id1"));
+        store.add(psk("ep2", "id2"));
+        store.add(psk("ep1", "id3"));
+        store.remove("ep2", false);
+        store.destroy();
+
+        FileSecurityStore reloaded = new FileSecurityStore(file);
+        assertEquals(psk("ep1", "id3"), reloaded.getByEndpoint("ep1"));
+        assertEquals(psk("ep1", "id3"), reloaded.getByIdentity("id3"));
+        assertNull(reloaded.getByIdentity("id1"));
+        assertNull(reloaded.getByEndpoint("ep2"));
+        reloaded.destroy();
+    }
+
+    @Test
+    void incomplete_record_is_ignored() throws NonUniqueSecurityInfoException, IOException {
+        String file = new File(folder, "security.data").getPath();
+        FileSecurityStore store = new FileSecurityStore(file);
+        store.add(psk("ep1", "id1"));
+        store.add(psk("ep2", "id2"));
+        store.destroy();
+
+        // simulate a crash during last write
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 10);
+        }
+
+        FileSecurityStore reloaded = new FileSecurityStore(file);
+        assertEquals(psk("ep1", "id1"), reloaded.getByEndpoint("ep1"));
+        assertNull(reloaded.getByEndpoint("ep2"));
+        reloaded.add(psk("ep3", "id3"));
+        reloaded.destroy();
+
+        reloaded = new FileSecurityStore(file);
+        assertEquals(psk("ep3", "id3"), reloaded.getByEndpoint("ep3"));
+        reloaded.destroy();
+    }
+
+    @Test
+    void file_of_previous_versions_is_converted() throws IOException, NonUniqueSecurityInfoException {
+        String file = new File(folder, "security.data").getPath();
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(file))) {
+            out.writeObject(new SecurityInfo[] { psk("ep1", "id1") });
+        }
+
+        FileSecurityStore store = new FileSecurityStore(file);
+        assertEquals(psk("ep1", "id1"), store.getByEndpoint("ep1"));
+        store.add(psk("ep2", "id2"));
+        store.destroy();
+
+        store = new FileSecurityStore(file);
+        Set<SecurityInfo> expected = new HashSet<>();
+        expected.add(psk("ep1", "id1"));
+        expected.add(psk("ep2", "id2"));
+        assertEquals(expected, new HashSet<>(store.getAll()));
+        store.destroy();
+    }
+
+    @Test
+    void unreadable_file_is_kept_aside() throws NonUniqueSecurityInfoException, IOException {
+        String file = new File(folder, "security.data").getPath();
+        FileSecurityStore store = new FileSecurityStore(file);
+        store.add(psk("ep1", "id1"));
+        store.destroy();
+        byte[] content = Files.readAllBytes(new File(file).toPath());
+
+        // simulate a log written by an unsupported version
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(4);
+            raf.writeByte(42);
+        }
+
+        FileSecurityStore reloaded = new FileSecurityStore(file);
+        assertNull(reloaded.getByEndpoint("ep1"));
+        reloaded.destroy();
+
+        byte[] corrupt = Files.readAllBytes(new File(file + ".corrupt").toPath());
+        content[4] = 42;
+        assertArrayEquals(content, corrupt);
+    }
+
+    @Test
+    void compaction_keeps_content() throws NonUniqueSecurityInfoException {
+        String file = new File(folder, "security.data").getPath();
+        FileSecurityStore store = new FileSecurityStore(file);
+        for (int i = 0; i < 3000; i++) {
+            store.add(psk("ep", "id" + i));
+        }
+        store.saveToFile();
+        long compactedLength = new File(file).length();
+        store.destroy();
+
+        FileSecurityStore reloaded = new FileSecurityStore(file);
+        assertEquals(psk("ep", "id2999"), reloaded.getByEndpoint("ep"));
+        assertEquals(1, reloaded.getAll().size());
+        assertEquals(compactedLength, new File(file).length());
+        reloaded.destroy();
+    }
+}
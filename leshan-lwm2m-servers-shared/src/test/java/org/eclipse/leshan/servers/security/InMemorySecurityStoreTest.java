@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.servers.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collection;
+
+import org.junit.jupiter.api.Test;
+
+class InMemorySecurityStoreTest {
+
+    private final InMemorySecurityStore store = new InMemorySecurityStore();
+
+    @Test
+    void psk_identity_index_follows_security_info_changes() throws NonUniqueSecurityInfoException {
+        SecurityInfo info = SecurityInfo.newPreSharedKeyInfo("ep", "id", new byte[] { 1 });
+        store.add(info);
+        assertEquals(info, store.getByIdentity("id"));
+
+        // index is updated when identity changes
+        SecurityInfo newInfo = SecurityInfo.newPreSharedKeyInfo("ep", "newId", new byte[] { 2 });
+        assertEquals(info, store.add(newInfo));
+        assertNull(store.getByIdentity("id"));
+        assertEquals(newInfo, store.getByIdentity("newId"));
+
+        // index is removed with security info
+        store.remove("ep", false);
+        assertNull(store.getByIdentity("newId"));
+        assertNull(store.getByEndpoint("ep"));
+    }
+
+    @Test
+    void psk_identity_can_not_be_used_by_two_endpoints() throws NonUniqueSecurityInfoException {
+        SecurityInfo info = SecurityInfo.newPreSharedKeyInfo("ep", "id", new byte[] { 1 });
+        store.add(info);
+
+        assertThrows(NonUniqueSecurityInfoException.class,
+                () -> store.add(SecurityInfo.newPreSharedKeyInfo("otherEp", "id", new byte[] { 2 })));
+        assertEquals(info, store.getByIdentity("id"));
+        assertNull(store.getByEndpoint("otherEp"));
+    }
+
+    @Test
+    void get_all_returns_a_snapshot() throws NonUniqueSecurityInfoException {
+        store.add(SecurityInfo.newPreSharedKeyInfo("ep", "id", new byte[] { 1 }));
+        Collection<SecurityInfo> all = store.getAll();
+
+        store.add(SecurityInfo.newX509CertInfo("otherEp"));
+
+        assertEquals(1, all.size());
+        assertEquals(2, store.getAll().size());
+    }
+}
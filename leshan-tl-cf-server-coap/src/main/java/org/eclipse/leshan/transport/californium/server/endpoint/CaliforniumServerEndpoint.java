@@ -16,6 +16,7 @@
 package org.eclipse.leshan.transport.californium.server.endpoint;
 
 import java.util.SortedMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ScheduledExecutorService;
@@ -150,6 +151,34 @@ public class CaliforniumServerEndpoint implements LwM2mServerEndpoint {
         Validate.notNull(responseCallback);
         Validate.notNull(errorCallback);
 
+        sendCoapRequest(destination, lwm2mRequest, responseCallback, errorCallback, lowerLayerConfig, timeoutInMs);
+    }
+
+    @Override
+    public <T extends LwM2mResponse> CompletableFuture<T> sendAsync(ClientProfile destination,
+            DownlinkDeviceManagementRequest<T> lwm2mRequest, LowerLayerConfig lowerLayerConfig, long timeoutInMs) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        final Request coapRequest;
+        try {
+            coapRequest = sendCoapRequest(destination, lwm2mRequest, future::complete, future::completeExceptionally,
+                    lowerLayerConfig, timeoutInMs);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        // Propagate cancellation to the ongoing CoAP request
+        future.whenComplete((response, e) -> {
+            if (future.isCancelled()) {
+                coapRequest.cancel();
+            }
+        });
+        return future;
+    }
+
+    private <T extends LwM2mResponse> Request sendCoapRequest(ClientProfile destination,
+            DownlinkDeviceManagementRequest<T> lwm2mRequest, ResponseCallback<T> responseCallback,
+            ErrorCallback errorCallback, LowerLayerConfig lowerLayerConfig, long timeoutInMs) {
         // Create the CoAP request from LwM2m request
         final Request coapRequest = translator.createCoapRequest(destination, lwm2mRequest, toolbox, identityHandler);
 
@@ -188,6 +217,7 @@ public class CaliforniumServerEndpoint implements LwM2mServerEndpoint {
 
         // Send CoAP request asynchronously
         endpoint.sendRequest(coapRequest);
+        return coapRequest;
     }
 
     @Override
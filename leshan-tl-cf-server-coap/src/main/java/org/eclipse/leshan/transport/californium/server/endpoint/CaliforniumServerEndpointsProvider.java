@@ -74,7 +74,7 @@ public class CaliforniumServerEndpointsProvider implements LwM2mServerEndpointsP
 
     private final Configuration serverConfig;
     private final List<CaliforniumServerEndpointFactory> endpointsFactory;
-    private final ServerCoapMessageTranslator messagetranslator = new ServerCoapMessageTranslator();
+    private final ServerCoapMessageTranslator messagetranslator;
     private final List<CaliforniumServerEndpoint> endpoints;
     private CoapServer coapServer;
 
@@ -85,6 +85,7 @@ public class CaliforniumServerEndpointsProvider implements LwM2mServerEndpointsP
     protected CaliforniumServerEndpointsProvider(Builder builder) {
         this.serverConfig = builder.serverConfiguration;
         this.endpointsFactory = builder.endpointsFactory;
+        this.messagetranslator = new ServerCoapMessageTranslator(builder.lazyPayloadDecoding);
         this.endpoints = new ArrayList<>();
     }
 
@@ -226,6 +227,7 @@ public class CaliforniumServerEndpointsProvider implements LwM2mServerEndpointsP
         private Configuration serverConfiguration;
         private final List<CaliforniumServerEndpointFactory> endpointsFactory;
         private final EndPointUriHandler uriHandler;
+        private boolean lazyPayloadDecoding = false;
 
         public Builder(ServerProtocolProvider... protocolProviders) {
             this(new DefaultEndPointUriHandler(), protocolProviders);
@@ -351,6 +353,22 @@ public class CaliforniumServerEndpointsProvider implements LwM2mServerEndpointsP
             return this;
         }
 
+        /**
+         * If <code>true</code>, payload of successful Read responses and Observe responses/notifications is kept
+         * encoded and decoded only on first access to their content (see
+         * {@link org.eclipse.leshan.core.response.EncodedContent}). This is useful when listeners only forward raw
+         * payloads. Note that in this mode, an invalid payload is detected on first access to the content and not when
+         * the response is received.
+         * <p>
+         * Default value is <code>false</code>.
+         *
+         * @since 2.0
+         */
+        public Builder setLazyPayloadDecoding(boolean lazyPayloadDecoding) {
+            this.lazyPayloadDecoding = lazyPayloadDecoding;
+            return this;
+        }
+
         protected Builder generateDefaultValue() {
             if (serverConfiguration == null) {
                 serverConfiguration = createDefaultConfiguration();
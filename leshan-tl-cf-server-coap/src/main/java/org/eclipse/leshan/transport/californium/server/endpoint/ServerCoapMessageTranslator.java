@@ -34,9 +34,11 @@ import org.eclipse.leshan.core.request.ContentFormat;
 import org.eclipse.leshan.core.request.DownlinkDeviceManagementRequest;
 import org.eclipse.leshan.core.request.exception.InvalidResponseException;
 import org.eclipse.leshan.core.response.AbstractLwM2mResponse;
+import org.eclipse.leshan.core.response.EncodedContent;
 import org.eclipse.leshan.core.response.LwM2mResponse;
 import org.eclipse.leshan.core.response.ObserveCompositeResponse;
 import org.eclipse.leshan.core.response.ObserveResponse;
+import org.eclipse.leshan.core.response.ReadResponse;
 import org.eclipse.leshan.core.util.Hex;
 import org.eclipse.leshan.server.endpoint.ServerEndpointToolbox;
 import org.eclipse.leshan.server.profile.ClientProfile;
@@ -54,6 +56,21 @@ public class ServerCoapMessageTranslator {
 
     private final Logger LOG = LoggerFactory.getLogger(ServerCoapMessageTranslator.class);
 
+    private final boolean lazyPayloadDecoding;
+
+    public ServerCoapMessageTranslator() {
+        this(false);
+    }
+
+    /**
+     * @param lazyPayloadDecoding if <code>true</code> payload of successful {@link ReadResponse} and
+     *        {@link ObserveResponse} are decoded on first access (see {@link EncodedContent}).
+     * @since 2.0
+     */
+    public ServerCoapMessageTranslator(boolean lazyPayloadDecoding) {
+        this.lazyPayloadDecoding = lazyPayloadDecoding;
+    }
+
     public Request createCoapRequest(ClientProfile clientProfile,
             DownlinkDeviceManagementRequest<? extends LwM2mResponse> lwm2mRequest, ServerEndpointToolbox toolbox,
             IdentityHandler identityHandler) {
@@ -71,7 +88,8 @@ public class ServerCoapMessageTranslator {
 
         LwM2mResponseBuilder<T> builder = new LwM2mResponseBuilder<T>(coapRequest, coapResponse,
                 clientProfile.getEndpoint(), clientProfile.getRootPath(), clientProfile.getModel(),
-                clientProfile.getRegistration().getEndpointUri(), toolbox.getDecoder(), toolbox.getLinkParser());
+                clientProfile.getRegistration().getEndpointUri(), toolbox.getDecoder(), toolbox.getLinkParser(),
+                lazyPayloadDecoding);
         lwm2mRequest.accept(builder);
         return builder.getResponse();
     }
@@ -104,6 +122,11 @@ public class ServerCoapMessageTranslator {
                 if (responseCode.isError()) {
                     return new ObserveResponse(responseCode, null, null, null, null, coapResponse.getPayloadString(),
                             coapResponse);
+                } else if (lazyPayloadDecoding) {
+                    EncodedContent encodedContent = new EncodedContent(coapResponse.getPayload(), contentFormat,
+                            (payload, format) -> toolbox.getDecoder().decodeTimestampedData(payload, format,
+                                    profile.getRootPath(), singleObservation.getPath(), profile.getModel()));
+                    return new ObserveResponse(responseCode, encodedContent, singleObservation, coapResponse);
                 } else {
                     List<TimestampedLwM2mNode> timestampedNodes = toolbox.getDecoder().decodeTimestampedData(
                             coapResponse.getPayload(), contentFormat, profile.getRootPath(),
@@ -17,6 +17,8 @@ package org.eclipse.leshan.transport.californium.server.observation;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.californium.core.coap.Token;
@@ -29,19 +31,51 @@ import org.eclipse.leshan.server.observation.LwM2mNotificationReceiver;
 import org.eclipse.leshan.server.registration.RegistrationStore;
 import org.eclipse.leshan.transport.californium.ObserveUtil;
 
+/**
+ * A Californium {@link ObservationStore} which stores observations in Leshan {@link RegistrationStore}.
+ * <p>
+ * Californium gets the observation for each notification received. To avoid to deserialize it each time, the last used
+ * Californium observations are kept in a bounded cache, indexed by token. A cached observation is only used if the
+ * serialized form stored in {@link RegistrationStore} is still the same, and cache is invalidated when observation is
+ * removed or replaced through this store.
+ */
 public class LwM2mObservationStore implements ObservationStore {
 
+    public static final int DEFAULT_CACHE_SIZE = 10000;
+
     private final RegistrationStore registrationStore;
     private final LwM2mNotificationReceiver notificationListener;
     private final ObservationSerDes observationSerDes;
     private final EffectiveEndpointUriProvider uriProvider;
+    private final Map<Token, CachedObservation> cache; // guarded by itself, null if cache is disabled
 
     public LwM2mObservationStore(EffectiveEndpointUriProvider uriProvider, RegistrationStore registrationStore,
             LwM2mNotificationReceiver notificationListener, ObservationSerDes observationSerDes) {
+        this(uriProvider, registrationStore, notificationListener, observationSerDes, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheSize maximum number of decoded Californium observations kept in memory, 0 to disable the cache.
+     * @since 2.0
+     */
+    public LwM2mObservationStore(EffectiveEndpointUriProvider uriProvider, RegistrationStore registrationStore,
+            LwM2mNotificationReceiver notificationListener, ObservationSerDes observationSerDes, int cacheSize) {
         this.registrationStore = registrationStore;
         this.notificationListener = notificationListener;
         this.observationSerDes = observationSerDes;
         this.uriProvider = uriProvider;
+        if (cacheSize > 0) {
+            this.cache = new LinkedHashMap<Token, CachedObservation>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Token, CachedObservation> eldest) {
+                    return size() > cacheSize;
+                }
+            };
+        } else {
+            this.cache = null;
+        }
     }
 
     @Override
@@ -52,6 +86,9 @@ public class LwM2mObservationStore implements ObservationStore {
 
         Observation previousObservation = null;
         if (removed != null && !removed.isEmpty()) {
+            for (org.eclipse.leshan.core.observation.Observation observation : removed) {
+                invalidate(observation);
+            }
             for (org.eclipse.leshan.core.observation.Observation observation : removed) {
                 if (Arrays.equals(observation.getId().getBytes(), token.getBytes())) {
                     previousObservation = buildCoapObservation(observation);
@@ -59,6 +96,9 @@ public class LwM2mObservationStore implements ObservationStore {
                 }
             }
         }
+        if (previousObservation == null) {
+            cache(token, lwm2mObservation, obs);
+        }
         for (org.eclipse.leshan.core.observation.Observation observation : removed) {
             notificationListener.cancelled(observation);
         }
@@ -69,10 +109,13 @@ public class LwM2mObservationStore implements ObservationStore {
     public Observation put(Token token, Observation obs) {
         org.eclipse.leshan.core.observation.Observation lwm2mObservation = buildLwM2mObservation(obs);
         Collection<org.eclipse.leshan.core.observation.Observation> removed = registrationStore
-                .addObservation(lwm2mObservation.getRegistrationId(), buildLwM2mObservation(obs), false);
+                .addObservation(lwm2mObservation.getRegistrationId(), lwm2mObservation, false);
 
         Observation previousObservation = null;
         if (removed != null && !removed.isEmpty()) {
+            for (org.eclipse.leshan.core.observation.Observation observation : removed) {
+                invalidate(observation);
+            }
             for (org.eclipse.leshan.core.observation.Observation observation : removed) {
                 if (Arrays.equals(observation.getId().getBytes(), token.getBytes())) {
                     previousObservation = buildCoapObservation(observation);
@@ -80,6 +123,7 @@ public class LwM2mObservationStore implements ObservationStore {
                 }
             }
         }
+        cache(token, lwm2mObservation, obs);
         for (org.eclipse.leshan.core.observation.Observation observation : removed) {
             notificationListener.cancelled(observation);
         }
@@ -88,6 +132,12 @@ public class LwM2mObservationStore implements ObservationStore {
 
     @Override
     public void remove(Token token) {
+        if (cache != null) {
+            synchronized (cache) {
+                cache.remove(token);
+            }
+        }
+
         // try to find observation for given token
         org.eclipse.leshan.core.observation.Observation observation = registrationStore
                 .getObservation(new ObservationIdentifier(uriProvider.getEndpointUri(), token.getBytes()));
@@ -108,10 +158,30 @@ public class LwM2mObservationStore implements ObservationStore {
         org.eclipse.leshan.core.observation.Observation observation = registrationStore
                 .getObservation(new ObservationIdentifier(uriProvider.getEndpointUri(), token.getBytes()));
         if (observation == null) {
+            if (cache != null) {
+                synchronized (cache) {
+                    cache.remove(token);
+                }
+            }
             return null;
-        } else {
-            return buildCoapObservation(observation);
         }
+
+        String serializedObservation = ObserveUtil.extractSerializedObservation(observation);
+        if (cache != null) {
+            CachedObservation cached;
+            synchronized (cache) {
+                cached = cache.get(token);
+            }
+            if (cached != null && cached.serializedObservation.equals(serializedObservation)) {
+                return cached.observation;
+            }
+        }
+        if (serializedObservation == null)
+            return null;
+
+        Observation coapObservation = observationSerDes.deserialize(serializedObservation);
+        cache(token, observation, coapObservation);
+        return coapObservation;
     }
 
     @Override
@@ -139,6 +209,26 @@ public class LwM2mObservationStore implements ObservationStore {
         return ObserveUtil.createLwM2mObservation(uriProvider.getEndpointUri(), observation, obs);
     }
 
+    private void cache(Token token, org.eclipse.leshan.core.observation.Observation lwm2mObservation,
+            Observation coapObservation) {
+        if (cache != null) {
+            String serializedObservation = ObserveUtil.extractSerializedObservation(lwm2mObservation);
+            if (serializedObservation != null) {
+                synchronized (cache) {
+                    cache.put(token, new CachedObservation(serializedObservation, coapObservation));
+                }
+            }
+        }
+    }
+
+    private void invalidate(org.eclipse.leshan.core.observation.Observation lwm2mObservation) {
+        if (cache != null) {
+            synchronized (cache) {
+                cache.remove(new Token(lwm2mObservation.getId().getBytes()));
+            }
+        }
+    }
+
     private Observation buildCoapObservation(org.eclipse.leshan.core.observation.Observation observation) {
         String serializedObservation = ObserveUtil.extractSerializedObservation(observation);
         if (serializedObservation == null)
@@ -146,4 +236,14 @@ public class LwM2mObservationStore implements ObservationStore {
 
         return observationSerDes.deserialize(serializedObservation);
     }
+
+    private static class CachedObservation {
+        private final String serializedObservation;
+        private final Observation observation;
+
+        public CachedObservation(String serializedObservation, Observation observation) {
+            this.serializedObservation = serializedObservation;
+            this.observation = observation;
+        }
+    }
 }
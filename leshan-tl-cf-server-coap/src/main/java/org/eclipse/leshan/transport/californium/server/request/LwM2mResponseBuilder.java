@@ -63,6 +63,7 @@ import org.eclipse.leshan.core.response.CancelObservationResponse;
 import org.eclipse.leshan.core.response.CreateResponse;
 import org.eclipse.leshan.core.response.DeleteResponse;
 import org.eclipse.leshan.core.response.DiscoverResponse;
+import org.eclipse.leshan.core.response.EncodedContent;
 import org.eclipse.leshan.core.response.ExecuteResponse;
 import org.eclipse.leshan.core.response.LwM2mResponse;
 import org.eclipse.leshan.core.response.ObserveCompositeResponse;
@@ -97,9 +98,21 @@ public class LwM2mResponseBuilder<T extends LwM2mResponse> implements DownlinkDe
     private final EndpointUri endpointUri;
     private final LwM2mDecoder decoder;
     private final LwM2mLinkParser linkParser;
+    private final boolean lazyPayloadDecoding;
 
     public LwM2mResponseBuilder(Request coapRequest, Response coapResponse, String clientEndpoint, String rootPath,
             LwM2mModel model, EndpointUri endpointUri, LwM2mDecoder decoder, LwM2mLinkParser linkParser) {
+        this(coapRequest, coapResponse, clientEndpoint, rootPath, model, endpointUri, decoder, linkParser, false);
+    }
+
+    /**
+     * @param lazyPayloadDecoding if <code>true</code> payload of successful {@link ReadResponse} and
+     *        {@link ObserveResponse} are decoded on first access (see {@link EncodedContent}).
+     * @since 2.0
+     */
+    public LwM2mResponseBuilder(Request coapRequest, Response coapResponse, String clientEndpoint, String rootPath,
+            LwM2mModel model, EndpointUri endpointUri, LwM2mDecoder decoder, LwM2mLinkParser linkParser,
+            boolean lazyPayloadDecoding) {
         this.coapRequest = coapRequest;
         this.coapResponse = coapResponse;
         this.clientEndpoint = clientEndpoint;
@@ -108,6 +121,7 @@ public class LwM2mResponseBuilder<T extends LwM2mResponse> implements DownlinkDe
         this.endpointUri = endpointUri;
         this.decoder = decoder;
         this.linkParser = linkParser;
+        this.lazyPayloadDecoding = lazyPayloadDecoding;
     }
 
     @Override
@@ -118,9 +132,14 @@ public class LwM2mResponseBuilder<T extends LwM2mResponse> implements DownlinkDe
                     coapResponse.getPayloadString(), coapResponse);
         } else if (isResponseCodeContent()) {
             // handle success response
-            TimestampedLwM2mNode timestampedNode = decodeCoapTimestampedResponse(request.getPath(), coapResponse,
-                    request, clientEndpoint);
-            lwM2mresponse = new ReadResponse(ResponseCode.CONTENT, null, timestampedNode, null, coapResponse);
+            if (lazyPayloadDecoding) {
+                lwM2mresponse = new ReadResponse(ResponseCode.CONTENT, createEncodedContent(request.getPath()),
+                        coapResponse);
+            } else {
+                TimestampedLwM2mNode timestampedNode = decodeCoapTimestampedResponse(request.getPath(), coapResponse,
+                        request, clientEndpoint);
+                lwM2mresponse = new ReadResponse(ResponseCode.CONTENT, null, timestampedNode, null, coapResponse);
+            }
         } else {
             // handle unexpected response:
             handleUnexpectedResponseCode(clientEndpoint, request, coapResponse);
@@ -247,8 +266,6 @@ public class LwM2mResponseBuilder<T extends LwM2mResponse> implements DownlinkDe
                 || isResponseCodeChanged()) {
 
             // handle success response:
-            TimestampedLwM2mNode timestampedNode = decodeCoapTimestampedResponse(request.getPath(), coapResponse,
-                    request, clientEndpoint);
             SingleObservation observation = null;
             if (coapResponse.getOptions().hasObserve()) {
 
@@ -269,8 +286,15 @@ public class LwM2mResponseBuilder<T extends LwM2mResponse> implements DownlinkDe
                 // observe request successful
                 observation = ObserveUtil.createLwM2mObservation(endpointUri, coapRequest);
             }
-            lwM2mresponse = new ObserveResponse(toLwM2mResponseCode(coapResponse.getCode()), null, timestampedNode,
-                    null, observation, null, coapResponse);
+            if (lazyPayloadDecoding) {
+                lwM2mresponse = new ObserveResponse(toLwM2mResponseCode(coapResponse.getCode()),
+                        createEncodedContent(request.getPath()), observation, coapResponse);
+            } else {
+                TimestampedLwM2mNode timestampedNode = decodeCoapTimestampedResponse(request.getPath(), coapResponse,
+                        request, clientEndpoint);
+                lwM2mresponse = new ObserveResponse(toLwM2mResponseCode(coapResponse.getCode()), null, timestampedNode,
+                        null, observation, null, coapResponse);
+            }
         } else {
             // handle unexpected response:
             handleUnexpectedResponseCode(clientEndpoint, request, coapResponse);
@@ -420,6 +444,11 @@ public class LwM2mResponseBuilder<T extends LwM2mResponse> implements DownlinkDe
         }
     }
 
+    private EncodedContent createEncodedContent(LwM2mPath path) {
+        return new EncodedContent(coapResponse.getPayload(), getContentFormat(coapResponse),
+                (payload, format) -> decoder.decodeTimestampedData(payload, format, rootPath, path, model));
+    }
+
     private ContentFormat getContentFormat(Response coapResponse) {
         ContentFormat contentFormat = null;
         if (coapResponse.getOptions().hasContentFormat()) {
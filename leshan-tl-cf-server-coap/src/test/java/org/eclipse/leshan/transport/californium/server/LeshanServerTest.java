@@ -17,14 +17,22 @@ package org.eclipse.leshan.transport.californium.server;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.InetSocketAddress;
 import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.leshan.core.endpoint.Protocol;
 import org.eclipse.leshan.core.peer.IpPeer;
 import org.eclipse.leshan.core.request.BindingMode;
 import org.eclipse.leshan.core.request.ReadRequest;
+import org.eclipse.leshan.core.request.exception.RequestCanceledException;
+import org.eclipse.leshan.core.response.ReadResponse;
 import org.eclipse.leshan.server.LeshanServer;
 import org.eclipse.leshan.server.LeshanServerBuilder;
 import org.eclipse.leshan.server.queue.PresenceServiceImpl;
@@ -122,6 +130,33 @@ class LeshanServerTest {
         assertEquals(numberOfThreadbefore, Thread.activeCount(), "All news created threads must be destroyed");
     }
 
+    @Test
+    void cancel_async_request() throws InterruptedException {
+        Builder endpointProviderbuilder = new CaliforniumServerEndpointsProvider.Builder();
+        endpointProviderbuilder.addEndpoint(new InetSocketAddress(0), Protocol.COAP);
+        LeshanServer server = new LeshanServerBuilder().setEndpointsProviders(endpointProviderbuilder.build()).build();
+        server.start();
+        try {
+            Registration reg = new Registration.Builder("id", "endpoint", new IpPeer(new InetSocketAddress(5555)),
+                    server.getEndpoint(Protocol.COAP).getURI()).build();
+
+            // cancelling the future cancels the request
+            CompletableFuture<ReadResponse> future = server.sendAsync(reg, new ReadRequest(3));
+            assertTrue(future.cancel(true));
+            assertTrue(future.isCancelled());
+
+            // cancelling ongoing requests completes the future
+            future = server.sendAsync(reg, new ReadRequest(3));
+            server.getEndpoint(Protocol.COAP).cancelRequests(reg.getId());
+            CompletableFuture<ReadResponse> cancelledFuture = future;
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> cancelledFuture.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(RequestCanceledException.class, exception.getCause());
+        } finally {
+            server.destroy();
+        }
+    }
+
     private void forceThreadsCreation(LeshanServer server) {
         Registration reg = new Registration.Builder("id", "endpoint", new IpPeer(new InetSocketAddress(5555)),
                 server.getEndpoint(Protocol.COAP).getURI()).bindingMode(EnumSet.of(BindingMode.U, BindingMode.Q))
@@ -19,6 +19,7 @@ import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.InetAddress;
@@ -189,6 +190,27 @@ public class LwM2mObservationStoreTest {
         assertNull(leshanObservation);
     }
 
+    @Test
+    public void get_cached_observation_until_removed_from_registration_store() {
+        // given
+        givenASimpleRegistration(lifetime);
+        store.addRegistration(registration);
+        org.eclipse.californium.core.observe.Observation observationToStore = prepareCoapObservation();
+        observationStore.put(exampleToken, observationToStore);
+
+        // when
+        org.eclipse.californium.core.observe.Observation first = observationStore.get(exampleToken);
+        org.eclipse.californium.core.observe.Observation second = observationStore.get(exampleToken);
+
+        // then
+        assertSame(observationToStore, first);
+        assertSame(first, second);
+
+        // when registration is removed, observation is not available anymore
+        store.removeRegistration(registrationId);
+        assertNull(observationStore.get(exampleToken));
+    }
+
     private org.eclipse.californium.core.observe.Observation prepareCoapObservation() {
         ObserveRequest observeRequest = new ObserveRequest(null, examplePath);
 
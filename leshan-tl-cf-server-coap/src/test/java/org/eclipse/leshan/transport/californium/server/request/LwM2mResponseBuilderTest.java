@@ -18,7 +18,9 @@ package org.eclipse.leshan.transport.californium.server.request;
 
 import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
 import java.util.List;
@@ -34,6 +36,7 @@ import org.eclipse.leshan.core.link.lwm2m.LwM2mLinkParser;
 import org.eclipse.leshan.core.node.LwM2mPath;
 import org.eclipse.leshan.core.observation.CompositeObservation;
 import org.eclipse.leshan.core.observation.SingleObservation;
+import org.eclipse.leshan.core.request.ContentFormat;
 import org.eclipse.leshan.core.request.ObserveCompositeRequest;
 import org.eclipse.leshan.core.request.ObserveRequest;
 import org.eclipse.leshan.core.response.ObserveCompositeResponse;
@@ -78,6 +81,36 @@ public class LwM2mResponseBuilderTest {
         assertEquals(examplePath, observation.getPath().toString());
     }
 
+    @Test
+    public void visit_observe_request_with_lazy_payload_decoding() {
+        // given
+        ObserveRequest observeRequest = new ObserveRequest(null, "/1/2/3");
+
+        Map<String, String> userContext = ObserveUtil.createCoapObserveRequestContext(null, null, observeRequest);
+
+        Request coapRequest = new Request(null);
+        coapRequest.setToken(Token.EMPTY);
+        coapRequest.setUserContext(userContext);
+
+        Response coapResponse = new Response(CoAP.ResponseCode.CONTENT);
+        coapResponse.getOptions().setObserve(1);
+        coapResponse.getOptions().setContentFormat(ContentFormat.TEXT_CODE);
+        coapResponse.setPayload("Example");
+
+        LwM2mResponseBuilder<ObserveResponse> responseBuilder = new LwM2mResponseBuilder<>(coapRequest, coapResponse,
+                null, null, null, endpointUri, decoder, linkParser, true);
+        // when
+        responseBuilder.visit(observeRequest);
+
+        // then
+        ObserveResponse response = responseBuilder.getResponse();
+        assertNotNull(response.getEncodedContent());
+        assertFalse(response.getEncodedContent().isDecoded());
+
+        assertNotNull(response.getContent());
+        assertTrue(response.getEncodedContent().isDecoded());
+    }
+
     @Test
     public void visit_observe_composite_request() {
         // given